@@ -10,6 +10,10 @@
 -dontwarn kotlin.Unit
 -dontwarn retrofit2.KotlinExtensions
 -dontwarn retrofit2.KotlinExtensions$*
+# Endpoint metadata read at runtime through retrofit2.Invocation
+-keep @interface com.laundrybuddy.api.NoAutoLogout
+# Diagnostics key metrics by API interface and method name
+-keepnames,allowshrinking interface com.laundrybuddy.api.*Api { <methods>; }
 
 # Gson
 -keepattributes Signature
@@ -5,9 +5,12 @@ import android.content.Context;
 import android.content.SharedPreferences;
 
 import com.laundrybuddy.api.ApiClient;
+import com.laundrybuddy.api.SessionExpiryCoordinator;
 import com.laundrybuddy.db.AppDatabase;
 import com.laundrybuddy.models.User;
+import com.laundrybuddy.repositories.OrderSubmissionQueue;
 import com.laundrybuddy.utils.SessionManager;
+import com.laundrybuddy.utils.StartupOrchestrator;
 import com.laundrybuddy.utils.ThemeManager;
 
 /**
@@ -18,8 +21,9 @@ public class LaundryBuddyApp extends Application {
 
     private static LaundryBuddyApp instance;
     private SharedPreferences sharedPreferences;
-    private ThemeManager themeManager;
-    private AppDatabase database;
+    private final StartupOrchestrator startup = new StartupOrchestrator();
+    private StartupOrchestrator.Component<ThemeManager> themeManager;
+    private StartupOrchestrator.Component<AppDatabase> database;
 
     @Override
     public void onCreate() {
@@ -27,26 +31,65 @@ public class LaundryBuddyApp extends Application {
         instance = this;
         sharedPreferences = getSharedPreferences("LaundryBuddyPrefs", Context.MODE_PRIVATE);
 
-        // Initialize theme manager and apply saved theme
-        themeManager = new ThemeManager(this);
-        themeManager.applySavedTheme();
+        registerStartup(startup);
+        startup.start();
+    }
 
-        // Initialize API client
-        ApiClient.init(this);
+    /**
+     * The startup component graph. Each step below runs once, on whichever thread
+     * the orchestrator gives it.
+     */
+    void registerStartup(StartupOrchestrator startup) {
+        // Main thread: the theme must be applied before the first window, and the
+        // session manager must see the first activity's lifecycle callbacks
+        themeManager = startup.main("theme", this::createThemeManager);
+        startup.main("sessionManager", this::startSessionManager);
+        StartupOrchestrator.Component<Context> network = startup.main("network", this::initNetwork);
 
-        // Initialize Database
-        database = AppDatabase.getDatabase(this);
+        // Background: OkHttp/Gson/Retrofit and opening Room dominate cold start on low-end devices
+        startup.background("apiClient", this::createApiClient, network);
+        database = startup.background("database", this::openDatabase);
+    }
 
-        // Initialize Session Manager for auto-logout
+    ThemeManager createThemeManager() {
+        ThemeManager manager = new ThemeManager(this);
+        manager.applySavedTheme();
+        return manager;
+    }
+
+    SessionManager startSessionManager() {
         SessionManager.init(this);
+        return SessionManager.getInstance();
+    }
+
+    Context initNetwork() {
+        ApiClient.init(this);
+        return this;
+    }
+
+    ApiClient createApiClient() {
+        return ApiClient.getInstance();
     }
 
+    AppDatabase openDatabase() {
+        AppDatabase db = AppDatabase.getDatabase(this);
+        db.getOpenHelper().getWritableDatabase(); // open and migrate now, not on the first query
+        return db;
+    }
+
+    /**
+     * Blocks only if the database is still being opened in the background
+     */
     public AppDatabase getDatabase() {
-        return database;
+        return database.get();
     }
 
     public ThemeManager getThemeManager() {
-        return themeManager;
+        return themeManager.get();
+    }
+
+    public StartupOrchestrator getStartup() {
+        return startup;
     }
 
     public static LaundryBuddyApp getInstance() {
@@ -81,7 +124,12 @@ public class LaundryBuddyApp extends Application {
                 .remove("phone")
                 .remove("profile_photo")
                 .remove("session_active")
+                .remove("photo_upload_file")
+                .remove("photo_upload_type")
+                .remove("photo_upload_id")
                 .apply();
+        // Queued orders keep their owner and wait for that user's next sign-in
+        OrderSubmissionQueue.cancelDrain(this);
     }
 
     public void saveUserInfo(String userId, String name, String email, String role) {
@@ -134,6 +182,12 @@ public class LaundryBuddyApp extends Application {
 
     public void setSessionActive(boolean active) {
         sharedPreferences.edit().putBoolean("session_active", active).apply();
+        if (active) {
+            // New session: allow the next 401 to trigger logout again
+            SessionExpiryCoordinator.reset();
+            // Send anything this user queued before signing out or expiring
+            OrderSubmissionQueue.scheduleDrain(this);
+        }
     }
 
     // Theme preference
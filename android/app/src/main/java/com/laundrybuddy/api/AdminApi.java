@@ -2,6 +2,9 @@ package com.laundrybuddy.api;
 
 import com.laundrybuddy.models.ApiResponse;
 import com.laundrybuddy.models.Order;
+import com.laundrybuddy.models.requests.BulkStatusRequest;
+import com.laundrybuddy.models.requests.StatusUpdateRequest;
+import com.laundrybuddy.models.requests.VerifyLabelsRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -9,6 +12,7 @@ import java.util.Map;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
+import retrofit2.http.POST;
 import retrofit2.http.PUT;
 import retrofit2.http.Path;
 import retrofit2.http.Query;
@@ -30,15 +34,27 @@ Call<ApiResponse<List<Order>>> getAllOrders(
 @GET("admin/orders")
 Call<ApiResponse<List<Order>>> getAllOrders(
 @Query("status") String status,
-@Query("dateFilter") String dateFilter,
+@Query("date") String date,
 @Query("search") String search,
 @Query("page") int page,
 @Query("limit") int limit);
 
+/**
+ * Orders whose scanned v1 labels carry a valid server signature; forged or edited labels are left out
+ */
+@POST("admin/orders/verify-labels")
+Call<ApiResponse<List<Order>>> verifyLabels(@Body VerifyLabelsRequest body);
+
 @PUT("admin/orders/{id}/status")
 Call<ApiResponse<Order>> updateOrderStatus(
 @Path("id") String orderId,
-@Body Map<String, Object> body);
+@Body StatusUpdateRequest body);
+
+/**
+ * Move several orders to one status in a single transaction; on any failure no order changes
+ */
+@POST("admin/orders/bulk-status")
+Call<ApiResponse<List<Order>>> bulkUpdateStatus(@Body BulkStatusRequest body);
 
 @GET("admin/stats")
 Call<ApiResponse<Map<String, Object>>> getStats();
@@ -4,14 +4,18 @@ import android.content.Context;
 import android.util.Log;
 
 import com.laundrybuddy.BuildConfig;
+import com.laundrybuddy.utils.ConnectionQualityMonitor;
 
 import java.net.CookieManager;
 import java.net.CookiePolicy;
 import java.util.concurrent.TimeUnit;
 
+import okhttp3.Dispatcher;
 import okhttp3.JavaNetCookieJar;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import okhttp3.logging.HttpLoggingInterceptor;
+import retrofit2.Invocation;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
@@ -22,10 +26,18 @@ import retrofit2.converter.gson.GsonConverterFactory;
 public class ApiClient {
 
     private static final String TAG = "ApiClient";
-    private static ApiClient instance;
-    private static volatile boolean isLoggingOut = false;
+    private static volatile ApiClient instance;
+    private static Context appContext;
+
+    // Total in-flight calls across all hosts
+    static final int MAX_REQUESTS = 64;
+    // All traffic goes to one backend host; OkHttp's default of 5 serializes dashboard bulk updates.
+    // Over HTTP/2 these share a single multiplexed connection.
+    static final int DEFAULT_MAX_REQUESTS_PER_HOST = 16;
 
     private final Retrofit retrofit;
+    private final Dispatcher dispatcher;
+    private volatile Protocol negotiatedProtocol;
     private final AuthApi authApi;
     private final OrderApi orderApi;
     private final TrackingApi trackingApi;
@@ -43,10 +55,19 @@ public class ApiClient {
                 ? HttpLoggingInterceptor.Level.BODY
                 : HttpLoggingInterceptor.Level.NONE);
 
-        // OkHttp client with cookie jar and timeouts
+        dispatcher = newDispatcher();
+
+        // OkHttp client with cookie jar and timeouts. Protocols and the connection pool
+        // stay at OkHttp's defaults: HTTP/2 is offered via ALPN over TLS (cleartext debug
+        // builds use HTTP/1.1), and one multiplexed connection carries all backend calls.
         OkHttpClient okHttpClient = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
                 .cookieJar(new JavaNetCookieJar(cookieManager))
+                // Per-endpoint DNS/connect/TLS/TTFB/body timings for the diagnostics screen
+                .eventListenerFactory(NetworkEventListener.FACTORY)
                 .addInterceptor(loggingInterceptor)
+                // Feed call timings into the connection quality estimate
+                .addNetworkInterceptor(ConnectionQualityMonitor.getInstance().getInterceptor())
                 .addInterceptor(chain -> {
                     okhttp3.Request original = chain.request();
                     String token = com.laundrybuddy.LaundryBuddyApp.getInstance().getAuthToken();
@@ -66,46 +87,23 @@ public class ApiClient {
                     okhttp3.Request request = chain.request();
                     okhttp3.Response response = chain.proceed(request);
 
-                    if (response.code() == 401) {
-                        // Skip auto-logout for auth-related endpoints
-                        // (login, register, logout, etc. can legitimately return 401)
-                        String url = request.url().toString();
-                        boolean isAuthEndpoint = url.contains("auth/login")
-                                || url.contains("auth/register")
-                                || url.contains("auth/logout")
-                                || url.contains("auth/google")
-                                || url.contains("auth/forgot-password")
-                                || url.contains("auth/me")
-                                || url.contains("auth/check");
-
-                        if (!isAuthEndpoint && !isLoggingOut) {
-                            Log.w(TAG, "Received 401 on protected endpoint - token expired: " + url);
-                            isLoggingOut = true;
-                            // Clear auth on main thread and redirect to login
-                            android.os.Handler mainHandler = new android.os.Handler(android.os.Looper.getMainLooper());
-                            mainHandler.post(() -> {
-                                try {
-                                    com.laundrybuddy.LaundryBuddyApp app = com.laundrybuddy.LaundryBuddyApp
-                                            .getInstance();
-                                    if (app != null && app.isLoggedIn()) {
-                                        app.clearAuth();
-                                        android.content.Intent intent = new android.content.Intent(app,
-                                                com.laundrybuddy.ui.auth.LoginActivity.class);
-                                        intent.setFlags(android.content.Intent.FLAG_ACTIVITY_NEW_TASK
-                                                | android.content.Intent.FLAG_ACTIVITY_CLEAR_TASK);
-                                        intent.putExtra("session_expired", true);
-                                        app.startActivity(intent);
-                                    }
-                                } catch (Exception e) {
-                                    Log.e(TAG, "Error handling 401 redirect", e);
-                                } finally {
-                                    isLoggingOut = false;
-                                }
-                            });
-                        }
+                    if (response.code() == 401 && !isNoAutoLogout(request)) {
+                        SessionExpiryCoordinator.onSessionExpired(request.url().toString());
                     }
                     return response;
                 })
+                // Gzip large JSON bodies; runs after logging so debug logs stay readable
+                .addInterceptor(new GzipRequestInterceptor(PayloadMetrics.getInstance()))
+                // Remember which protocol the backend actually negotiated
+                .addNetworkInterceptor(chain -> {
+                    okhttp3.Connection connection = chain.connection();
+                    if (connection != null) {
+                        negotiatedProtocol = connection.protocol();
+                    }
+                    return chain.proceed(chain.request());
+                })
+                // Count compressed bytes as they cross the wire
+                .addNetworkInterceptor(PayloadMetrics.getInstance().networkInterceptor())
                 .connectTimeout(90, TimeUnit.SECONDS)
                 .readTimeout(90, TimeUnit.SECONDS)
                 .writeTimeout(90, TimeUnit.SECONDS)
@@ -113,17 +111,19 @@ public class ApiClient {
                 .retryOnConnectionFailure(true)
                 .build();
 
-        // Custom Gson with UserFieldAdapter to handle user field as String or Object
+        // Custom Gson with UserFieldAdapter to handle user field as String or Object,
+        // and streaming writers for typed request bodies
         com.google.gson.Gson gson = new com.google.gson.GsonBuilder()
                 .registerTypeAdapter(com.laundrybuddy.models.Order.PopulatedUser.class,
                         new com.laundrybuddy.models.UserFieldAdapter())
+                .registerTypeAdapterFactory(new JsonRequestAdapterFactory())
                 .create();
 
         // Retrofit instance
         retrofit = new Retrofit.Builder()
                 .baseUrl(BuildConfig.API_BASE_URL + "/")
                 .client(okHttpClient)
-                .addConverterFactory(GsonConverterFactory.create(gson))
+                .addConverterFactory(new TracingConverterFactory(GsonConverterFactory.create(gson)))
                 .build();
 
         // Create API interfaces
@@ -136,18 +136,52 @@ public class ApiClient {
         Log.d(TAG, "API Client initialized with base URL: " + BuildConfig.API_BASE_URL);
     }
 
+    /**
+     * Explicit dispatcher so parallel dashboard loads aren't queued behind OkHttp's defaults.
+     * Shared with the concurrency benchmark so it measures the shipped limits.
+     */
+    static Dispatcher newDispatcher() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(MAX_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(DEFAULT_MAX_REQUESTS_PER_HOST);
+        return dispatcher;
+    }
+
+    /**
+     * Auth endpoints (login, register, logout, etc.) can legitimately return 401,
+     * so they are annotated with @NoAutoLogout instead of being matched by URL.
+     */
+    private static boolean isNoAutoLogout(okhttp3.Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        return invocation != null && invocation.method().isAnnotationPresent(NoAutoLogout.class);
+    }
+
+    /**
+     * Cheap registration only. OkHttp, Gson and the Retrofit proxies are built on the
+     * first {@link #getInstance()}, which app startup issues from a background thread.
+     */
     public static synchronized void init(Context context) {
-        if (instance == null) {
-            instance = new ApiClient(context.getApplicationContext());
+        if (appContext == null) {
+            appContext = context.getApplicationContext();
+            ConnectionQualityMonitor.init(appContext);
         }
     }
 
     public static ApiClient getInstance() {
-        if (instance == null) {
-            throw new IllegalStateException(
-                    "ApiClient must be initialized first. Call init() in Application.onCreate()");
+        ApiClient client = instance;
+        if (client == null) {
+            synchronized (ApiClient.class) {
+                if (instance == null) {
+                    if (appContext == null) {
+                        throw new IllegalStateException(
+                                "ApiClient must be initialized first. Call init() in Application.onCreate()");
+                    }
+                    instance = new ApiClient(appContext);
+                }
+                client = instance;
+            }
         }
-        return instance;
+        return client;
     }
 
     public AuthApi getAuthApi() {
@@ -170,6 +204,25 @@ public class ApiClient {
         return adminApi;
     }
 
+    /**
+     * Cap on concurrent calls to the backend host. Bulk operations fan out one
+     * call per order, so this bounds how hard a single dashboard action hits the server.
+     */
+    public void setMaxRequestsPerHost(int maxRequestsPerHost) {
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+    }
+
+    public int getMaxRequestsPerHost() {
+        return dispatcher.getMaxRequestsPerHost();
+    }
+
+    /**
+     * Protocol of the most recent backend connection (h2 or http/1.1), or null before the first call.
+     */
+    public Protocol getNegotiatedProtocol() {
+        return negotiatedProtocol;
+    }
+
     public Retrofit getRetrofit() {
         return retrofit;
     }
@@ -1,11 +1,15 @@
 package com.laundrybuddy.api;
 
 import com.laundrybuddy.models.ApiResponse;
+import com.laundrybuddy.models.PhotoUploadSession;
 import com.laundrybuddy.models.User;
+import com.laundrybuddy.models.requests.AuthRequest;
+import com.laundrybuddy.models.requests.PhotoUploadRequest;
 
 import java.util.Map;
 
 import okhttp3.MultipartBody;
+import okhttp3.RequestBody;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
@@ -13,58 +17,87 @@ import retrofit2.http.Multipart;
 import retrofit2.http.POST;
 import retrofit2.http.PUT;
 import retrofit2.http.Part;
+import retrofit2.http.Path;
 
 /**
  * Authentication API endpoints
  */
 public interface AuthApi {
 
+    @NoAutoLogout
     @POST("auth/register")
-    Call<ApiResponse<User>> register(@Body Map<String, Object> body);
+    Call<ApiResponse<User>> register(@Body AuthRequest body);
 
+    @NoAutoLogout
     @POST("auth/login")
-    Call<ApiResponse<User>> login(@Body Map<String, Object> body);
+    Call<ApiResponse<User>> login(@Body AuthRequest body);
 
+    @NoAutoLogout
     @POST("auth/google")
-    Call<ApiResponse<User>> googleLogin(@Body Map<String, Object> body);
+    Call<ApiResponse<User>> googleLogin(@Body AuthRequest body);
 
+    @NoAutoLogout
     @POST("auth/logout")
     Call<ApiResponse<Void>> logout();
 
+    @NoAutoLogout
     @GET("auth/me")
     Call<ApiResponse<User>> getCurrentUser();
 
+    @NoAutoLogout
     @GET("auth/check")
     Call<ApiResponse<Map<String, Object>>> checkAuth();
 
     // OTP-based Login
+    @NoAutoLogout
     @POST("auth/request-login-otp")
-    Call<ApiResponse<Void>> requestLoginOTP(@Body Map<String, Object> body);
+    Call<ApiResponse<Void>> requestLoginOTP(@Body AuthRequest body);
 
+    @NoAutoLogout
     @POST("auth/verify-login-otp")
-    Call<ApiResponse<User>> verifyLoginOTP(@Body Map<String, Object> body);
+    Call<ApiResponse<User>> verifyLoginOTP(@Body AuthRequest body);
 
     // OTP-based Signup
+    @NoAutoLogout
     @POST("auth/request-signup-otp")
-    Call<ApiResponse<Void>> requestSignupOTP(@Body Map<String, Object> body);
+    Call<ApiResponse<Void>> requestSignupOTP(@Body AuthRequest body);
 
+    @NoAutoLogout
     @POST("auth/verify-signup-otp")
-    Call<ApiResponse<User>> verifySignupOTP(@Body Map<String, Object> body);
+    Call<ApiResponse<User>> verifySignupOTP(@Body AuthRequest body);
 
     // OTP-based Password Reset
+    @NoAutoLogout
     @POST("auth/request-reset-otp")
-    Call<ApiResponse<Void>> requestResetOTP(@Body Map<String, Object> body);
+    Call<ApiResponse<Void>> requestResetOTP(@Body AuthRequest body);
 
+    @NoAutoLogout
     @POST("auth/verify-reset-otp")
-    Call<ApiResponse<Void>> verifyResetOTP(@Body Map<String, Object> body);
+    Call<ApiResponse<Void>> verifyResetOTP(@Body AuthRequest body);
 
+    @NoAutoLogout
     @POST("auth/forgot-password")
-    Call<ApiResponse<Void>> requestPasswordReset(@Body Map<String, Object> body);
+    Call<ApiResponse<Void>> requestPasswordReset(@Body AuthRequest body);
 
     @Multipart
     @POST("users/profile-photo")
     Call<ApiResponse<User>> uploadProfilePhoto(@Part MultipartBody.Part photo);
 
+    // Resumable profile photo upload: start, query progress, PUT chunks, complete
+
+    @POST("users/profile-photo/uploads")
+    Call<ApiResponse<PhotoUploadSession>> createPhotoUpload(@Body PhotoUploadRequest body);
+
+    @GET("users/profile-photo/uploads/{uploadId}")
+    Call<ApiResponse<PhotoUploadSession>> getPhotoUpload(@Path("uploadId") String uploadId);
+
+    @PUT("users/profile-photo/uploads/{uploadId}/chunks/{index}")
+    Call<ApiResponse<PhotoUploadSession>> uploadPhotoChunk(@Path("uploadId") String uploadId,
+            @Path("index") int index, @Body RequestBody chunk);
+
+    @POST("users/profile-photo/uploads/{uploadId}/complete")
+    Call<ApiResponse<User>> completePhotoUpload(@Path("uploadId") String uploadId);
+
     @PUT("users/profile")
-    Call<ApiResponse<User>> updateProfile(@Body Map<String, String> body);
+    Call<ApiResponse<User>> updateProfile(@Body AuthRequest body);
 }
@@ -0,0 +1,92 @@
+package com.laundrybuddy.api;
+
+import androidx.annotation.NonNull;
+
+import com.laundrybuddy.utils.ObservedResponseBody;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+
+/**
+ * Gzips large JSON request bodies and records raw payload sizes.
+ *
+ * OkHttp already negotiates gzip for responses; this covers the other
+ * direction (the backend's body-parser inflates Content-Encoding: gzip).
+ * Small bodies go out as-is since gzip overhead outweighs the saving, and
+ * multipart uploads are skipped because images are already compressed.
+ */
+public class GzipRequestInterceptor implements Interceptor {
+
+    // Below this the gzip header and deflate framing cost more than they save
+    static final long MIN_GZIP_BYTES = 1024;
+
+    private final PayloadMetrics metrics;
+
+    public GzipRequestInterceptor(PayloadMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request original = chain.request();
+        String endpoint = PayloadMetrics.endpointKey(original);
+        RequestBody body = original.body();
+
+        Request request = original;
+        if (body == null) {
+            metrics.recordRequest(endpoint, 0, 0);
+        } else if (shouldCompress(original, body)) {
+            Buffer raw = new Buffer();
+            body.writeTo(raw);
+            long rawBytes = raw.size();
+
+            if (rawBytes >= MIN_GZIP_BYTES) {
+                Buffer compressed = new Buffer();
+                try (BufferedSink gzip = Okio.buffer(new GzipSink(compressed))) {
+                    gzip.writeAll(raw);
+                }
+                metrics.recordRequest(endpoint, rawBytes, compressed.size());
+                request = original.newBuilder()
+                        .header("Content-Encoding", "gzip")
+                        .method(original.method(), RequestBody.create(compressed.readByteString(), body.contentType()))
+                        .build();
+            } else {
+                metrics.recordRequest(endpoint, rawBytes, rawBytes);
+                request = original.newBuilder()
+                        .method(original.method(), RequestBody.create(raw.readByteString(), body.contentType()))
+                        .build();
+            }
+        } else {
+            long length = body.contentLength();
+            metrics.recordRequest(endpoint, length, length);
+        }
+
+        Response response = chain.proceed(request);
+        ResponseBody responseBody = response.body();
+        if (responseBody == null) {
+            return response;
+        }
+        return response.newBuilder()
+                .body(new ObservedResponseBody(responseBody, bytes -> metrics.recordResponseRaw(endpoint, bytes)))
+                .build();
+    }
+
+    private static boolean shouldCompress(Request request, RequestBody body) {
+        if (request.header("Content-Encoding") != null) {
+            return false;
+        }
+        MediaType type = body.contentType();
+        return type != null && "json".equals(type.subtype());
+    }
+}
@@ -0,0 +1,42 @@
+package com.laundrybuddy.api;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.laundrybuddy.models.requests.JsonRequest;
+
+import java.io.IOException;
+
+/**
+ * Serialises {@link JsonRequest} bodies with their own streaming writers instead of
+ * Gson's reflective adapter. Reads fall through to the adapter Gson would otherwise
+ * use, so a request type parsed from JSON (a test fixture, a logged body) still works.
+ */
+class JsonRequestAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (!JsonRequest.class.isAssignableFrom(type.getRawType())) {
+            return null;
+        }
+        TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+        return new TypeAdapter<T>() {
+            @Override
+            public void write(JsonWriter out, T value) throws IOException {
+                if (value == null) {
+                    out.nullValue();
+                } else {
+                    ((JsonRequest) value).writeTo(out);
+                }
+            }
+
+            @Override
+            public T read(JsonReader in) throws IOException {
+                return delegate.read(in);
+            }
+        };
+    }
+}
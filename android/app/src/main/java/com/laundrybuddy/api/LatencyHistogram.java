@@ -0,0 +1,85 @@
+package com.laundrybuddy.api;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with log-scale buckets.
+ *
+ * Each power of two of milliseconds is split into four sub-buckets, giving
+ * ~19% resolution from 1 ms up to ~2 minutes. Recording is a single atomic
+ * increment, so it is safe to call from OkHttp threads without locking.
+ * Percentiles report the upper bound of the bucket they fall in.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 4;
+    private static final int MAX_POWER = 17; // 2^17 ms ≈ 131 s
+    private static final int BUCKET_COUNT = MAX_POWER * SUB_BUCKETS + 1;
+    private static final long[] UPPER_BOUNDS_MS = new long[BUCKET_COUNT];
+
+    static {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            UPPER_BOUNDS_MS[i] = Math.round(Math.pow(2, (double) i / SUB_BUCKETS));
+        }
+    }
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sumMs = new AtomicLong();
+    private final AtomicLong maxMs = new AtomicLong();
+
+    public void record(long millis) {
+        if (millis < 0) {
+            return;
+        }
+        buckets.incrementAndGet(bucketFor(millis));
+        count.incrementAndGet();
+        sumMs.addAndGet(millis);
+        long max;
+        do {
+            max = maxMs.get();
+        } while (millis > max && !maxMs.compareAndSet(max, millis));
+    }
+
+    private static int bucketFor(long millis) {
+        if (millis <= 1) {
+            return 0;
+        }
+        int index = (int) Math.ceil(SUB_BUCKETS * Math.log(millis) / Math.log(2));
+        return Math.min(index, BUCKET_COUNT - 1);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getMaxMs() {
+        return maxMs.get();
+    }
+
+    public long getMeanMs() {
+        long n = count.get();
+        return n == 0 ? 0 : sumMs.get() / n;
+    }
+
+    /**
+     * @param percentile 0-100, e.g. 95 for p95
+     * @return upper bound in ms of the bucket holding that percentile, or 0 if empty
+     */
+    public long getPercentileMs(double percentile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(UPPER_BOUNDS_MS[i], maxMs.get());
+            }
+        }
+        return maxMs.get();
+    }
+}
@@ -0,0 +1,183 @@
+package com.laundrybuddy.api;
+
+import android.content.Context;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-endpoint call timing collected by {@link NetworkEventListener}.
+ *
+ * Connection phases (DNS, connect, TLS) are only recorded for calls that
+ * opened a new connection, so a high connect/TLS share points at cold starts
+ * while a high TTFB with reused connections points at slow backend queries.
+ */
+public class NetworkDiagnostics {
+
+    private static final NetworkDiagnostics instance = new NetworkDiagnostics();
+    private static final String EXPORT_DIR = "exports";
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    public static NetworkDiagnostics getInstance() {
+        return instance;
+    }
+
+    public static class EndpointStats {
+        public final LatencyHistogram dns = new LatencyHistogram();
+        public final LatencyHistogram connect = new LatencyHistogram();
+        public final LatencyHistogram tls = new LatencyHistogram();
+        public final LatencyHistogram ttfb = new LatencyHistogram();
+        public final LatencyHistogram bodyRead = new LatencyHistogram();
+        public final LatencyHistogram total = new LatencyHistogram();
+        final AtomicLong calls = new AtomicLong();
+        final AtomicLong failures = new AtomicLong();
+        final AtomicLong httpErrors = new AtomicLong();
+        final AtomicLong newConnections = new AtomicLong();
+        final AtomicLong responseBytes = new AtomicLong();
+
+        public long getCalls() {
+            return calls.get();
+        }
+
+        public long getFailures() {
+            return failures.get();
+        }
+
+        public long getHttpErrors() {
+            return httpErrors.get();
+        }
+
+        public long getNewConnections() {
+            return newConnections.get();
+        }
+
+        public long getResponseBytes() {
+            return responseBytes.get();
+        }
+
+        public double getErrorRate() {
+            long n = calls.get();
+            return n == 0 ? 0 : (double) (failures.get() + httpErrors.get()) / n;
+        }
+    }
+
+    EndpointStats statsFor(String endpoint) {
+        EndpointStats stats = endpoints.get(endpoint);
+        if (stats == null) {
+            stats = endpoints.computeIfAbsent(endpoint, key -> new EndpointStats());
+        }
+        return stats;
+    }
+
+    /**
+     * Endpoints sorted by call count, busiest first.
+     */
+    public List<Map.Entry<String, EndpointStats>> getEndpoints() {
+        List<Map.Entry<String, EndpointStats>> entries = new ArrayList<>(endpoints.entrySet());
+        Collections.sort(entries, (a, b) -> Long.compare(b.getValue().getCalls(), a.getValue().getCalls()));
+        return entries;
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    /**
+     * Plain-text table of p50/p95/p99 per endpoint.
+     */
+    public String formatReport() {
+        List<Map.Entry<String, EndpointStats>> entries = getEndpoints();
+        if (entries.isEmpty()) {
+            return "No calls recorded yet";
+        }
+
+        StringBuilder report = new StringBuilder();
+        for (Map.Entry<String, EndpointStats> entry : entries) {
+            EndpointStats s = entry.getValue();
+            report.append(entry.getKey()).append('\n')
+                    .append(String.format(Locale.US, "  %d calls, %d new conn, %.1f%% errors, %d KB\n",
+                            s.getCalls(), s.getNewConnections(), s.getErrorRate() * 100,
+                            s.getResponseBytes() / 1024));
+            appendPhase(report, "total", s.total);
+            appendPhase(report, "ttfb", s.ttfb);
+            appendPhase(report, "body", s.bodyRead);
+            appendPhase(report, "dns", s.dns);
+            appendPhase(report, "connect", s.connect);
+            appendPhase(report, "tls", s.tls);
+            report.append('\n');
+        }
+        return report.toString();
+    }
+
+    private static void appendPhase(StringBuilder report, String name, LatencyHistogram histogram) {
+        if (histogram.getCount() == 0) {
+            return;
+        }
+        report.append(String.format(Locale.US, "  %-8s p50 %5d  p95 %5d  p99 %5d ms\n", name,
+                histogram.getPercentileMs(50), histogram.getPercentileMs(95), histogram.getPercentileMs(99)));
+    }
+
+    /**
+     * Write all endpoint stats as JSON into the shareable exports directory.
+     */
+    public File exportToJson(Context context) throws IOException {
+        File exportDir = new File(context.getCacheDir(), EXPORT_DIR);
+        if (!exportDir.exists()) {
+            exportDir.mkdirs();
+        }
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss", Locale.US).format(new Date());
+        File file = new File(exportDir, "network_diagnostics_" + timestamp + ".json");
+
+        try (JsonWriter writer = new JsonWriter(new BufferedWriter(new FileWriter(file)))) {
+            writer.setIndent("  ");
+            writer.beginObject();
+            writer.name("exportedAt").value(System.currentTimeMillis());
+            writer.name("endpoints").beginArray();
+            for (Map.Entry<String, EndpointStats> entry : getEndpoints()) {
+                EndpointStats s = entry.getValue();
+                writer.beginObject();
+                writer.name("endpoint").value(entry.getKey());
+                writer.name("calls").value(s.getCalls());
+                writer.name("failures").value(s.getFailures());
+                writer.name("httpErrors").value(s.getHttpErrors());
+                writer.name("newConnections").value(s.getNewConnections());
+                writer.name("responseBytes").value(s.getResponseBytes());
+                writePhase(writer, "total", s.total);
+                writePhase(writer, "ttfb", s.ttfb);
+                writePhase(writer, "bodyRead", s.bodyRead);
+                writePhase(writer, "dns", s.dns);
+                writePhase(writer, "connect", s.connect);
+                writePhase(writer, "tls", s.tls);
+                writer.endObject();
+            }
+            writer.endArray();
+            writer.endObject();
+        }
+        return file;
+    }
+
+    private static void writePhase(JsonWriter writer, String name, LatencyHistogram histogram) throws IOException {
+        writer.name(name).beginObject();
+        writer.name("count").value(histogram.getCount());
+        writer.name("meanMs").value(histogram.getMeanMs());
+        writer.name("p50Ms").value(histogram.getPercentileMs(50));
+        writer.name("p95Ms").value(histogram.getPercentileMs(95));
+        writer.name("p99Ms").value(histogram.getPercentileMs(99));
+        writer.name("maxMs").value(histogram.getMaxMs());
+        writer.endObject();
+    }
+}
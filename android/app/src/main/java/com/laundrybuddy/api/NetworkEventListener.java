@@ -0,0 +1,123 @@
+package com.laundrybuddy.api;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Response;
+
+/**
+ * Records the phases of each OkHttp call into {@link NetworkDiagnostics}.
+ * One listener is created per call, so the timestamps need no synchronization.
+ */
+public class NetworkEventListener extends EventListener {
+
+    public static final EventListener.Factory FACTORY = call -> new NetworkEventListener(
+            NetworkDiagnostics.getInstance().statsFor(PayloadMetrics.endpointKey(call.request())));
+
+    private final NetworkDiagnostics.EndpointStats stats;
+
+    private long callStart;
+    private long dnsStart;
+    private long connectStart;
+    private long secureConnectStart;
+    private long requestHeadersStart;
+    private long responseBodyStart;
+
+    private NetworkEventListener(NetworkDiagnostics.EndpointStats stats) {
+        this.stats = stats;
+    }
+
+    private static long now() {
+        return SystemClock.elapsedRealtime();
+    }
+
+    @Override
+    public void callStart(@NonNull Call call) {
+        callStart = now();
+        stats.calls.incrementAndGet();
+    }
+
+    @Override
+    public void dnsStart(@NonNull Call call, @NonNull String domainName) {
+        dnsStart = now();
+    }
+
+    @Override
+    public void dnsEnd(@NonNull Call call, @NonNull String domainName, @NonNull List<InetAddress> inetAddressList) {
+        stats.dns.record(now() - dnsStart);
+    }
+
+    @Override
+    public void connectStart(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress, @NonNull Proxy proxy) {
+        connectStart = now();
+        stats.newConnections.incrementAndGet();
+    }
+
+    @Override
+    public void secureConnectStart(@NonNull Call call) {
+        secureConnectStart = now();
+    }
+
+    @Override
+    public void secureConnectEnd(@NonNull Call call, @Nullable Handshake handshake) {
+        stats.tls.record(now() - secureConnectStart);
+    }
+
+    @Override
+    public void connectEnd(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress, @NonNull Proxy proxy,
+            @Nullable Protocol protocol) {
+        stats.connect.record(now() - connectStart);
+    }
+
+    @Override
+    public void requestHeadersStart(@NonNull Call call) {
+        // A retried call sends headers again; TTFB measures the last attempt
+        requestHeadersStart = now();
+    }
+
+    @Override
+    public void responseHeadersStart(@NonNull Call call) {
+        stats.ttfb.record(now() - requestHeadersStart);
+    }
+
+    @Override
+    public void responseHeadersEnd(@NonNull Call call, @NonNull Response response) {
+        if (response.code() >= 400) {
+            stats.httpErrors.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void responseBodyStart(@NonNull Call call) {
+        responseBodyStart = now();
+    }
+
+    @Override
+    public void responseBodyEnd(@NonNull Call call, long byteCount) {
+        stats.bodyRead.record(now() - responseBodyStart);
+        stats.responseBytes.addAndGet(byteCount);
+    }
+
+    @Override
+    public void callEnd(@NonNull Call call) {
+        stats.total.record(now() - callStart);
+    }
+
+    @Override
+    public void callFailed(@NonNull Call call, @NonNull IOException ioe) {
+        stats.failures.incrementAndGet();
+        stats.total.record(now() - callStart);
+    }
+}
@@ -0,0 +1,19 @@
+package com.laundrybuddy.api;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an API method whose 401 response must not end the user's session.
+ * Login, register, logout and session-check endpoints legitimately return 401,
+ * so ApiClient reads this through Retrofit's Invocation tag and skips the
+ * session-expiry redirect for them.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface NoAutoLogout {
+}
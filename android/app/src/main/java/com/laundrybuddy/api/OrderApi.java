@@ -2,14 +2,18 @@ package com.laundrybuddy.api;
 
 import com.laundrybuddy.models.ApiResponse;
 import com.laundrybuddy.models.Order;
+import com.laundrybuddy.models.requests.CreateOrderRequest;
+import com.laundrybuddy.models.requests.StatusUpdateRequest;
+import com.laundrybuddy.models.requests.UpdateOrderRequest;
 
 import java.util.List;
-import java.util.Map;
 
+import okhttp3.RequestBody;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.DELETE;
 import retrofit2.http.GET;
+import retrofit2.http.Header;
 import retrofit2.http.POST;
 import retrofit2.http.PUT;
 import retrofit2.http.Path;
@@ -21,7 +25,17 @@ import retrofit2.http.Query;
 public interface OrderApi {
 
         @POST("orders")
-        Call<ApiResponse<Order>> createOrder(@Body Map<String, Object> body);
+        Call<ApiResponse<Order>> createOrder(@Body CreateOrderRequest body);
+
+        /**
+         * Create an order at most once per key; a repeated key returns the original order.
+         * The body is pre-serialised JSON (see {@link CreateOrderRequest#toJson()}), as
+         * stored by the submission queue.
+         */
+        @POST("orders")
+        Call<ApiResponse<Order>> createOrder(
+                        @Header("Idempotency-Key") String idempotencyKey,
+                        @Body RequestBody body);
 
         @GET("orders/my-orders")
         Call<ApiResponse<List<Order>>> getMyOrders();
@@ -32,12 +46,12 @@ public interface OrderApi {
         @PUT("orders/{id}/status")
         Call<ApiResponse<Order>> updateOrderStatus(
                         @Path("id") String orderId,
-                        @Body Map<String, Object> body);
+                        @Body StatusUpdateRequest body);
 
         @PUT("orders/{id}")
         Call<ApiResponse<Order>> updateOrder(
                         @Path("id") String orderId,
-                        @Body Map<String, Object> body);
+                        @Body UpdateOrderRequest body);
 
         @DELETE("orders/{id}")
         Call<ApiResponse<Void>> deleteOrder(@Path("id") String orderId);
@@ -55,5 +69,5 @@ public interface OrderApi {
         @POST("orders/{id}/rate")
         Call<ApiResponse<Order>> rateOrder(
                         @Path("id") String orderId,
-                        @Body Map<String, Object> body);
+                        @Body UpdateOrderRequest body);
 }
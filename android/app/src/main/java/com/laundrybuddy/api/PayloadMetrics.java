@@ -0,0 +1,173 @@
+package com.laundrybuddy.api;
+
+import androidx.annotation.NonNull;
+
+import com.laundrybuddy.utils.ObservedResponseBody;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import retrofit2.Invocation;
+
+/**
+ * Per-endpoint byte counters for request and response payloads.
+ *
+ * "Raw" is the size the app produced or consumed, "wire" is what actually went
+ * over the network after gzip. Endpoints are keyed by Retrofit method
+ * (e.g. "AdminApi.getAllOrders"), falling back to the URL path.
+ */
+public class PayloadMetrics {
+
+    private static final PayloadMetrics instance = new PayloadMetrics();
+
+    private final Map<String, EndpointCounters> endpoints = new ConcurrentHashMap<>();
+
+    public static PayloadMetrics getInstance() {
+        return instance;
+    }
+
+    public static class EndpointCounters {
+        final AtomicLong calls = new AtomicLong();
+        final AtomicLong requestRawBytes = new AtomicLong();
+        final AtomicLong requestWireBytes = new AtomicLong();
+        final AtomicLong responseWireBytes = new AtomicLong();
+        final AtomicLong responseRawBytes = new AtomicLong();
+
+        public long getCalls() {
+            return calls.get();
+        }
+
+        public long getRequestRawBytes() {
+            return requestRawBytes.get();
+        }
+
+        public long getRequestWireBytes() {
+            return requestWireBytes.get();
+        }
+
+        public long getResponseWireBytes() {
+            return responseWireBytes.get();
+        }
+
+        public long getResponseRawBytes() {
+            return responseRawBytes.get();
+        }
+    }
+
+    /**
+     * Stable name for the endpoint a request belongs to.
+     */
+    public static String endpointKey(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation != null) {
+            return invocation.method().getDeclaringClass().getSimpleName() + "." + invocation.method().getName();
+        }
+        return request.method() + " " + request.url().encodedPath();
+    }
+
+    void recordRequest(String endpoint, long rawBytes, long wireBytes) {
+        EndpointCounters counters = countersFor(endpoint);
+        counters.calls.incrementAndGet();
+        if (rawBytes > 0) {
+            counters.requestRawBytes.addAndGet(rawBytes);
+            counters.requestWireBytes.addAndGet(wireBytes);
+        }
+    }
+
+    void recordResponseRaw(String endpoint, long bytes) {
+        countersFor(endpoint).responseRawBytes.addAndGet(bytes);
+    }
+
+    void recordResponseWire(String endpoint, long bytes) {
+        countersFor(endpoint).responseWireBytes.addAndGet(bytes);
+    }
+
+    private EndpointCounters countersFor(String endpoint) {
+        EndpointCounters counters = endpoints.get(endpoint);
+        if (counters == null) {
+            counters = endpoints.computeIfAbsent(endpoint, key -> new EndpointCounters());
+        }
+        return counters;
+    }
+
+    public Map<String, EndpointCounters> getEndpoints() {
+        return Collections.unmodifiableMap(endpoints);
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    /**
+     * Network interceptor counting compressed response bytes as received.
+     */
+    public Interceptor networkInterceptor() {
+        return chain -> {
+            Response response = chain.proceed(chain.request());
+            ResponseBody body = response.body();
+            if (body == null) {
+                return response;
+            }
+            String endpoint = endpointKey(chain.request());
+            return response.newBuilder()
+                    .body(new ObservedResponseBody(body, bytes -> recordResponseWire(endpoint, bytes)))
+                    .build();
+        };
+    }
+
+    /**
+     * Human-readable summary, largest response payloads first.
+     */
+    @NonNull
+    public String formatReport() {
+        List<Map.Entry<String, EndpointCounters>> entries = new ArrayList<>(endpoints.entrySet());
+        Collections.sort(entries, (a, b) -> Long.compare(
+                b.getValue().getResponseRawBytes(), a.getValue().getResponseRawBytes()));
+
+        StringBuilder report = new StringBuilder();
+        long totalRaw = 0;
+        long totalWire = 0;
+        for (Map.Entry<String, EndpointCounters> entry : entries) {
+            EndpointCounters c = entry.getValue();
+            report.append(entry.getKey())
+                    .append(" (").append(c.getCalls()).append(" calls)\n")
+                    .append("  ↓ ").append(formatBytes(c.getResponseRawBytes()))
+                    .append(" raw, ").append(formatBytes(c.getResponseWireBytes())).append(" wire\n");
+            if (c.getRequestRawBytes() > 0) {
+                report.append("  ↑ ").append(formatBytes(c.getRequestRawBytes()))
+                        .append(" raw, ").append(formatBytes(c.getRequestWireBytes())).append(" wire\n");
+            }
+            totalRaw += c.getResponseRawBytes() + c.getRequestRawBytes();
+            totalWire += c.getResponseWireBytes() + c.getRequestWireBytes();
+        }
+
+        if (entries.isEmpty()) {
+            return "No requests recorded yet";
+        }
+        report.append("\nTotal: ").append(formatBytes(totalRaw)).append(" raw, ")
+                .append(formatBytes(totalWire)).append(" wire");
+        if (totalRaw > 0) {
+            report.append(String.format(Locale.US, " (%.0f%% saved)", 100.0 * (totalRaw - totalWire) / totalRaw));
+        }
+        return report.toString();
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format(Locale.US, "%.1f KB", bytes / 1024.0);
+        }
+        return String.format(Locale.US, "%.2f MB", bytes / (1024.0 * 1024.0));
+    }
+}
@@ -0,0 +1,60 @@
+package com.laundrybuddy.api;
+
+import android.content.Intent;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.laundrybuddy.LaundryBuddyApp;
+import com.laundrybuddy.ui.auth.LoginActivity;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coordinates logout when the backend rejects our token.
+ * Parallel requests often fail with 401 at the same time; only the first one
+ * wins the latch, so auth is cleared and LoginActivity is launched exactly once.
+ * The latch re-arms when a new session starts.
+ */
+public final class SessionExpiryCoordinator {
+
+    private static final String TAG = "SessionExpiry";
+    private static final AtomicBoolean expiryHandled = new AtomicBoolean(false);
+
+    private SessionExpiryCoordinator() {
+    }
+
+    /**
+     * Called from the OkHttp interceptor thread on a 401 from a protected endpoint.
+     * Returns true if this call triggered the logout.
+     */
+    public static boolean onSessionExpired(String url) {
+        if (!expiryHandled.compareAndSet(false, true)) {
+            return false;
+        }
+
+        Log.w(TAG, "Received 401 on protected endpoint - token expired: " + url);
+        new Handler(Looper.getMainLooper()).post(() -> {
+            try {
+                LaundryBuddyApp app = LaundryBuddyApp.getInstance();
+                if (app != null && app.isLoggedIn()) {
+                    app.clearAuth();
+                    Intent intent = new Intent(app, LoginActivity.class);
+                    intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
+                    intent.putExtra("session_expired", true);
+                    app.startActivity(intent);
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Error handling 401 redirect", e);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Re-arm the coordinator once the user has signed in again.
+     */
+    public static void reset() {
+        expiryHandled.set(false);
+    }
+}
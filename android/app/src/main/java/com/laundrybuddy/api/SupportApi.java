@@ -3,9 +3,10 @@ package com.laundrybuddy.api;
 import com.laundrybuddy.models.ApiResponse;
 import com.laundrybuddy.models.ContactMessage;
 import com.laundrybuddy.models.SupportTicket;
+import com.laundrybuddy.models.requests.ContactRequest;
+import com.laundrybuddy.models.requests.TicketRequest;
 
 import java.util.List;
-import java.util.Map;
 
 import retrofit2.Call;
 import retrofit2.http.Body;
@@ -13,19 +14,22 @@ import retrofit2.http.GET;
 import retrofit2.http.POST;
 import retrofit2.http.PUT;
 import retrofit2.http.Path;
+import retrofit2.http.Query;
 
 /**
  * Support and Contact API endpoints
  */
 public interface SupportApi {
 
-    // Support Tickets
     // Support Tickets
     @POST("support/report")
-    Call<ApiResponse<SupportTicket>> createTicket(@Body Map<String, Object> body);
+    Call<ApiResponse<SupportTicket>> createTicket(@Body TicketRequest body);
 
+    /**
+     * @param updatedSince ISO date; only tickets changed after it are returned. Null for all.
+     */
     @GET("support/my-tickets")
-    Call<ApiResponse<List<SupportTicket>>> getMyTickets();
+    Call<ApiResponse<List<SupportTicket>>> getMyTickets(@Query("updatedSince") String updatedSince);
 
     // Not present in backend file viewed
     // @GET("support/tickets/{id}")
@@ -34,15 +38,15 @@ public interface SupportApi {
     @PUT("support/update-ticket/{id}")
     Call<ApiResponse<SupportTicket>> updateTicket(
             @Path("id") String ticketId,
-            @Body Map<String, Object> body);
+            @Body TicketRequest body);
 
     // Contact Messages
     @POST("contact/submit")
-    Call<ApiResponse<ContactMessage>> sendContactMessage(@Body Map<String, Object> body);
+    Call<ApiResponse<ContactMessage>> sendContactMessage(@Body ContactRequest body);
 
     // Admin endpoints
     @GET("support/all-tickets")
-    Call<ApiResponse<List<SupportTicket>>> getAllTickets();
+    Call<ApiResponse<List<SupportTicket>>> getAllTickets(@Query("updatedSince") String updatedSince);
 
     @GET("contact/all")
     Call<ApiResponse<List<ContactMessage>>> getAllContactMessages();
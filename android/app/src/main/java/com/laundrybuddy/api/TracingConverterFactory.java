@@ -0,0 +1,63 @@
+package com.laundrybuddy.api;
+
+import androidx.annotation.NonNull;
+
+import com.laundrybuddy.utils.TraceSection;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Wraps another converter factory so JSON (de)serialisation shows up as trace
+ * sections named after the target type, e.g. "parse ApiResponse<List<Order>>".
+ * Response parsing runs on OkHttp threads, so this separates parse cost from network time.
+ */
+class TracingConverterFactory extends Converter.Factory {
+
+    private final Converter.Factory delegate;
+
+    TracingConverterFactory(Converter.Factory delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(@NonNull Type type, @NonNull Annotation[] annotations,
+            @NonNull Retrofit retrofit) {
+        Converter<ResponseBody, ?> converter = delegate.responseBodyConverter(type, annotations, retrofit);
+        if (converter == null) {
+            return null;
+        }
+        String section = "parse " + simpleName(type);
+        return body -> {
+            TraceSection.begin(section);
+            try {
+                return converter.convert(body);
+            } finally {
+                TraceSection.end();
+            }
+        };
+    }
+
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(@NonNull Type type,
+            @NonNull Annotation[] parameterAnnotations, @NonNull Annotation[] methodAnnotations,
+            @NonNull Retrofit retrofit) {
+        return delegate.requestBodyConverter(type, parameterAnnotations, methodAnnotations, retrofit);
+    }
+
+    @Override
+    public Converter<?, String> stringConverter(@NonNull Type type, @NonNull Annotation[] annotations,
+            @NonNull Retrofit retrofit) {
+        return delegate.stringConverter(type, annotations, retrofit);
+    }
+
+    private static String simpleName(Type type) {
+        // "com.laundrybuddy.models.ApiResponse<java.util.List<...Order>>" -> "ApiResponse<List<Order>>"
+        return type.getTypeName().replaceAll("[\\w$]+\\.", "");
+    }
+}
@@ -2,9 +2,9 @@ package com.laundrybuddy.api;
 
 import com.laundrybuddy.models.ApiResponse;
 import com.laundrybuddy.models.Tracking;
+import com.laundrybuddy.models.requests.StatusUpdateRequest;
 
 import java.util.List;
-import java.util.Map;
 
 import retrofit2.Call;
 import retrofit2.http.Body;
@@ -31,7 +31,7 @@ public interface TrackingApi {
         @PUT("tracking/order/{orderNumber}")
         Call<ApiResponse<Tracking>> updateOrderStatus(
                         @Path("orderNumber") String orderNumber,
-                        @Body Map<String, Object> body);
+                        @Body StatusUpdateRequest body);
 
         // Admin endpoints
         @GET("tracking/all")
@@ -2,15 +2,19 @@ package com.laundrybuddy.db;
 
 import android.content.Context;
 
+import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
 import androidx.room.TypeConverters;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
 
 import com.laundrybuddy.models.Order;
+import com.laundrybuddy.models.PendingOrder;
 import com.laundrybuddy.models.SupportTicket;
 
-@Database(entities = { Order.class, SupportTicket.class }, version = 2, exportSchema = false)
+@Database(entities = { Order.class, SupportTicket.class, PendingOrder.class }, version = 6, exportSchema = false)
 @TypeConverters({ Converters.class })
 public abstract class AppDatabase extends RoomDatabase {
 
@@ -18,15 +22,35 @@ public abstract class AppDatabase extends RoomDatabase {
 
     public abstract TicketDao ticketDao();
 
+    public abstract PendingOrderDao pendingOrderDao();
+
     private static volatile AppDatabase INSTANCE;
 
+    // Version 5 adds the cached avatar URL to orders
+    static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE orders ADD COLUMN userPhoto TEXT");
+        }
+    };
+
+    // Version 6 caches the server-signed QR label payload
+    static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE orders ADD COLUMN qrPayload TEXT");
+        }
+    };
+
     public static AppDatabase getDatabase(final Context context) {
         if (INSTANCE == null) {
             synchronized (AppDatabase.class) {
                 if (INSTANCE == null) {
                     INSTANCE = Room.databaseBuilder(context.getApplicationContext(),
                             AppDatabase.class, "laundry_buddy_db")
-                            .fallbackToDestructiveMigration()
+                            .addMigrations(MIGRATION_4_5, MIGRATION_5_6)
+                            // Versions before 4 had no pending_orders, only caches that reload from the server
+                            .fallbackToDestructiveMigrationFrom(1, 2, 3)
                             .build();
                 }
             }
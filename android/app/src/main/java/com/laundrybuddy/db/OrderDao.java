@@ -18,18 +18,37 @@ public interface OrderDao {
     @Query("SELECT * FROM orders WHERE id = :id")
     Order getOrderById(String id);
 
+    @Query("SELECT * FROM orders WHERE orderNumber = :orderNumber LIMIT 1")
+    Order getOrderByNumber(String orderNumber);
+
     @Query("SELECT * FROM orders WHERE userId = :userId ORDER BY createdAt DESC")
     LiveData<List<Order>> getOrdersForUser(String userId);
 
-    @Query("DELETE FROM orders WHERE userId = :userId")
+    // Provisional orders from the submission queue survive a server refresh until reconciled
+    @Query("DELETE FROM orders WHERE userId = :userId AND id NOT LIKE '" + Order.LOCAL_ID_PREFIX + "%'")
     void clearOrdersForUser(String userId);
 
+    @Query("SELECT COUNT(*) FROM orders WHERE :userId IS NULL OR userId = :userId")
+    int countOrders(String userId);
+
+    // Paged read for streaming exports; a null userId means every cached order.
+    // id breaks createdAt ties so consecutive pages neither repeat nor skip rows.
+    @Query("SELECT * FROM orders WHERE :userId IS NULL OR userId = :userId "
+            + "ORDER BY createdAt DESC, id DESC LIMIT :limit OFFSET :offset")
+    List<Order> getOrdersPage(String userId, int limit, int offset);
+
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     void insertOrders(List<Order> orders);
 
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     void insertOrder(Order order);
 
-    @Query("DELETE FROM orders")
+    @Query("DELETE FROM orders WHERE id NOT LIKE '" + Order.LOCAL_ID_PREFIX + "%'")
     void clearAll();
+
+    @Query("DELETE FROM orders WHERE id = :id")
+    void deleteOrder(String id);
+
+    @Query("UPDATE orders SET status = :status WHERE id = :id")
+    void updateStatus(String id, String status);
 }
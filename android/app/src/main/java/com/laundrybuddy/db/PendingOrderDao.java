@@ -0,0 +1,34 @@
+package com.laundrybuddy.db;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import com.laundrybuddy.models.PendingOrder;
+
+import java.util.List;
+
+@Dao
+public interface PendingOrderDao {
+    @Query("SELECT * FROM pending_orders ORDER BY queuedAt ASC")
+    List<PendingOrder> getAll();
+
+    @Query("SELECT * FROM pending_orders WHERE userId = :userId ORDER BY queuedAt ASC")
+    List<PendingOrder> getForUser(String userId);
+
+    @Query("SELECT * FROM pending_orders WHERE idempotencyKey = :key")
+    PendingOrder getByKey(String key);
+
+    @Query("SELECT COUNT(*) FROM pending_orders")
+    int count();
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insert(PendingOrder pendingOrder);
+
+    @Query("UPDATE pending_orders SET attempts = attempts + 1, lastError = :error WHERE idempotencyKey = :key")
+    void recordAttempt(String key, String error);
+
+    @Query("DELETE FROM pending_orders WHERE idempotencyKey = :key")
+    void delete(String key);
+}
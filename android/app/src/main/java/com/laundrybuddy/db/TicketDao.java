@@ -15,6 +15,16 @@ public interface TicketDao {
     @Query("SELECT * FROM tickets ORDER BY createdAt DESC")
     LiveData<List<SupportTicket>> getAllTickets();
 
+    @Query("SELECT * FROM tickets WHERE userId = :userId ORDER BY createdAt DESC")
+    LiveData<List<SupportTicket>> getTicketsForUser(String userId);
+
+    /**
+     * Newest server updatedAt among cached tickets (all tickets when userId is null);
+     * null means nothing is cached for that scope.
+     */
+    @Query("SELECT MAX(updatedAt) FROM tickets WHERE :userId IS NULL OR userId = :userId")
+    String getLatestUpdatedAt(String userId);
+
     @Query("SELECT * FROM tickets WHERE id = :id")
     SupportTicket getTicketById(String id);
 
@@ -28,6 +28,10 @@ public class ApiResponse<T> {
     @SerializedName("refreshToken")
     private String refreshToken;
 
+    // Present on paged list endpoints
+    @SerializedName("pagination")
+    private Pagination pagination;
+
     public boolean isSuccess() {
         return success;
     }
@@ -75,4 +79,38 @@ public class ApiResponse<T> {
     public String getRefreshToken() {
         return refreshToken;
     }
+
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    public static class Pagination {
+        @SerializedName("page")
+        private int page;
+
+        @SerializedName("limit")
+        private int limit;
+
+        @SerializedName("total")
+        private int total;
+
+        @SerializedName("pages")
+        private int pages;
+
+        public int getPage() {
+            return page;
+        }
+
+        public int getLimit() {
+            return limit;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int getPages() {
+            return pages;
+        }
+    }
 }
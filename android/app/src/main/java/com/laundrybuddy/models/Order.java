@@ -3,21 +3,28 @@ package com.laundrybuddy.models;
 import androidx.annotation.NonNull;
 import androidx.room.Entity;
 import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import androidx.room.TypeConverters;
 
 import com.google.gson.annotations.SerializedName;
 import com.laundrybuddy.db.Converters;
+import com.laundrybuddy.utils.IsoDates;
 
 import java.util.List;
 
 /**
  * Order model matching backend Order schema
  */
-@Entity(tableName = "orders")
+@Entity(tableName = "orders", indices = { @Index(value = "orderNumber", unique = true) })
 @TypeConverters({ Converters.class })
 public class Order {
 
+    // Provisional orders created by the offline submission queue
+    public static final String LOCAL_ID_PREFIX = "local-";
+    public static final String STATUS_QUEUED = "queued";
+    public static final String STATUS_FAILED = "failed";
+
     @PrimaryKey
     @NonNull
     @SerializedName(value = "_id", alternate = {"id"})
@@ -38,6 +45,14 @@ public class Order {
     @SerializedName("hostelRoom")
     private String hostelRoom;
 
+    // Avatar of the ordering user, copied from the populated user so Room keeps it
+    @SerializedName("userPhoto")
+    private String userPhoto;
+
+    // Server-signed QR label payload; null for provisional orders and older caches
+    @SerializedName("qrPayload")
+    private String qrPayload;
+
     // Populated user object from backend (when using .populate('user'))
     // Ignored by Room - only used for JSON parsing
     @Ignore
@@ -65,6 +80,16 @@ public class Order {
     @SerializedName("estimatedDelivery")
     private String estimatedDelivery;
 
+    // Parsed timestamps, cached against the string they came from; not stored or serialised
+    @Ignore
+    private transient String parsedCreatedAt;
+    @Ignore
+    private transient long createdAtMillis;
+    @Ignore
+    private transient String parsedEstimatedDelivery;
+    @Ignore
+    private transient long estimatedDeliveryMillis;
+
     // Removed root 'rating' field as it's not in backend schema at root level
     // @SerializedName("rating")
     // private Integer rating;
@@ -119,6 +144,9 @@ public class Order {
         @SerializedName("address")
         private String address;
 
+        @SerializedName("profilePhoto")
+        private String profilePhoto;
+
         public String getId() {
             return id;
         }
@@ -138,6 +166,10 @@ public class Order {
         public String getAddress() {
             return address;
         }
+
+        public String getProfilePhoto() {
+            return profilePhoto;
+        }
     }
 
     public Integer getRating() {
@@ -289,6 +321,28 @@ public class Order {
         this.userName = userName;
     }
 
+    public String getUserPhoto() {
+        if (userPhoto != null && !userPhoto.isEmpty()) {
+            return userPhoto;
+        }
+        if (user != null && user.getProfilePhoto() != null) {
+            return user.getProfilePhoto();
+        }
+        return null;
+    }
+
+    public void setUserPhoto(String userPhoto) {
+        this.userPhoto = userPhoto;
+    }
+
+    public String getQrPayload() {
+        return qrPayload;
+    }
+
+    public void setQrPayload(String qrPayload) {
+        this.qrPayload = qrPayload;
+    }
+
     public String getUserEmail() {
         // First try direct field
         if (userEmail != null && !userEmail.isEmpty()) {
@@ -378,6 +432,18 @@ public class Order {
         this.createdAt = createdAt;
     }
 
+    /**
+     * Creation time in epoch millis, or {@link IsoDates#UNKNOWN}
+     */
+    public long getCreatedAtMillis() {
+        String value = createdAt;
+        if (value != parsedCreatedAt || value == null) {
+            createdAtMillis = IsoDates.parse(value);
+            parsedCreatedAt = value;
+        }
+        return createdAtMillis;
+    }
+
     public String getUpdatedAt() {
         return updatedAt;
     }
@@ -394,6 +460,18 @@ public class Order {
         this.estimatedDelivery = estimatedDelivery;
     }
 
+    /**
+     * Estimated delivery time in epoch millis, or {@link IsoDates#UNKNOWN}
+     */
+    public long getEstimatedDeliveryMillis() {
+        String value = estimatedDelivery;
+        if (value != parsedEstimatedDelivery || value == null) {
+            estimatedDeliveryMillis = IsoDates.parse(value);
+            parsedEstimatedDelivery = value;
+        }
+        return estimatedDeliveryMillis;
+    }
+
     // Helper method to get formatted status
     public String getStatusDisplay() {
         if (status == null)
@@ -415,11 +493,22 @@ public class Order {
                 return "Delivered";
             case "cancelled":
                 return "Cancelled";
+            case STATUS_QUEUED:
+                return "Waiting to Send";
+            case STATUS_FAILED:
+                return "Not Submitted";
             default:
                 return status;
         }
     }
 
+    /**
+     * True for a queued submission that has no server-assigned order number yet
+     */
+    public boolean isProvisional() {
+        return id != null && id.startsWith(LOCAL_ID_PREFIX);
+    }
+
     public boolean isDelivered() {
         return "delivered".equalsIgnoreCase(status) || "completed".equalsIgnoreCase(status);
     }
@@ -0,0 +1,92 @@
+package com.laundrybuddy.models;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Order submission waiting to reach the server.
+ *
+ * The idempotency key is generated on the device and sent with every attempt, so
+ * a retry after a lost response returns the order the server already created.
+ * The matching provisional row in the orders table has id
+ * {@link Order#LOCAL_ID_PREFIX} + idempotencyKey.
+ */
+@Entity(tableName = "pending_orders")
+public class PendingOrder {
+
+    @PrimaryKey
+    @NonNull
+    private String idempotencyKey;
+
+    private String userId;
+
+    // Request body as JSON, exactly as it will be posted
+    private String requestBody;
+
+    private long queuedAt;
+
+    private int attempts;
+
+    private String lastError;
+
+    public PendingOrder(@NonNull String idempotencyKey, String userId, String requestBody, long queuedAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.userId = userId;
+        this.requestBody = requestBody;
+        this.queuedAt = queuedAt;
+    }
+
+    @NonNull
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(@NonNull String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getRequestBody() {
+        return requestBody;
+    }
+
+    public void setRequestBody(String requestBody) {
+        this.requestBody = requestBody;
+    }
+
+    public long getQueuedAt() {
+        return queuedAt;
+    }
+
+    public void setQueuedAt(long queuedAt) {
+        this.queuedAt = queuedAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public String getLocalOrderId() {
+        return Order.LOCAL_ID_PREFIX + idempotencyKey;
+    }
+}
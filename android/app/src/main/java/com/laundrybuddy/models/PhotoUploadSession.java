@@ -0,0 +1,52 @@
+package com.laundrybuddy.models;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Server state of a resumable photo upload: the declared size, the chunk size
+ * the server expects, and which chunks it already holds
+ */
+public class PhotoUploadSession {
+
+    @SerializedName("uploadId")
+    private String uploadId;
+
+    @SerializedName("size")
+    private long size;
+
+    @SerializedName("chunkSize")
+    private int chunkSize;
+
+    @SerializedName("mimeType")
+    private String mimeType;
+
+    @SerializedName("receivedChunks")
+    private List<Integer> receivedChunks;
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    public List<Integer> getReceivedChunks() {
+        return receivedChunks != null ? receivedChunks : Collections.emptyList();
+    }
+
+    public int getChunkCount() {
+        return chunkSize > 0 ? (int) ((size + chunkSize - 1) / chunkSize) : 0;
+    }
+}
@@ -68,6 +68,12 @@ public class UserFieldAdapter implements JsonDeserializer<Order.PopulatedUser>,
                 if (obj.has("address") && !obj.get("address").isJsonNull()) {
                     addressField.set(user, obj.get("address").getAsString());
                 }
+
+                java.lang.reflect.Field photoField = Order.PopulatedUser.class.getDeclaredField("profilePhoto");
+                photoField.setAccessible(true);
+                if (obj.has("profilePhoto") && !obj.get("profilePhoto").isJsonNull()) {
+                    photoField.set(user, obj.get("profilePhoto").getAsString());
+                }
             } catch (Exception e) {
                 android.util.Log.e("UserFieldAdapter", "Error parsing PopulatedUser", e);
                 return null;
@@ -91,6 +97,7 @@ public class UserFieldAdapter implements JsonDeserializer<Order.PopulatedUser>,
         if (src.getEmail() != null) obj.addProperty("email", src.getEmail());
         if (src.getPhone() != null) obj.addProperty("phone", src.getPhone());
         if (src.getAddress() != null) obj.addProperty("address", src.getAddress());
+        if (src.getProfilePhoto() != null) obj.addProperty("profilePhoto", src.getProfilePhoto());
         return obj;
     }
 }
@@ -0,0 +1,100 @@
+package com.laundrybuddy.models.requests;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Body for the auth and profile endpoints. Each endpoint uses a different subset
+ * of fields, so instances come from the factory methods below.
+ */
+public final class AuthRequest extends JsonRequest {
+
+    private String name;
+    private String email;
+    private String password;
+    private String newPassword;
+    private String otp;
+    private String credential;
+    private String hostelRoom;
+    private String phone;
+
+    private AuthRequest() {
+    }
+
+    /**
+     * Password login, and the login OTP request
+     */
+    public static AuthRequest login(String email, String password) {
+        AuthRequest request = new AuthRequest();
+        request.email = email;
+        request.password = password;
+        return request;
+    }
+
+    /**
+     * Login or signup OTP verification
+     */
+    public static AuthRequest otp(String email, String otp) {
+        AuthRequest request = new AuthRequest();
+        request.email = email;
+        request.otp = otp;
+        return request;
+    }
+
+    /**
+     * Google sign-in with an ID token
+     */
+    public static AuthRequest google(String idToken) {
+        AuthRequest request = new AuthRequest();
+        request.credential = idToken;
+        return request;
+    }
+
+    /**
+     * Password reset OTP request
+     */
+    public static AuthRequest email(String email) {
+        AuthRequest request = new AuthRequest();
+        request.email = email;
+        return request;
+    }
+
+    public static AuthRequest resetPassword(String email, String otp, String newPassword) {
+        AuthRequest request = otp(email, otp);
+        request.newPassword = newPassword;
+        return request;
+    }
+
+    /**
+     * Signup OTP request; phone is optional
+     */
+    public static AuthRequest signup(String name, String email, String hostelRoom, String password, String phone) {
+        AuthRequest request = login(email, password);
+        request.name = name;
+        request.hostelRoom = hostelRoom;
+        request.phone = phone;
+        return request;
+    }
+
+    public static AuthRequest profile(String hostelRoom, String phone) {
+        AuthRequest request = new AuthRequest();
+        request.hostelRoom = hostelRoom;
+        request.phone = phone;
+        return request;
+    }
+
+    @Override
+    public void writeTo(JsonWriter out) throws IOException {
+        out.beginObject();
+        field(out, "name", name);
+        field(out, "email", email);
+        field(out, "password", password);
+        field(out, "newPassword", newPassword);
+        field(out, "otp", otp);
+        field(out, "credential", credential);
+        field(out, "hostelRoom", hostelRoom);
+        field(out, "phone", phone);
+        out.endObject();
+    }
+}
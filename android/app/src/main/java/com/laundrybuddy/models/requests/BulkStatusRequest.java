@@ -0,0 +1,32 @@
+package com.laundrybuddy.models.requests;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Body for POST /admin/orders/bulk-status: the orders to move and their new status
+ */
+public final class BulkStatusRequest extends JsonRequest {
+
+    private final List<String> ids;
+    private final String status;
+
+    public BulkStatusRequest(List<String> ids, String status) {
+        this.ids = ids;
+        this.status = status;
+    }
+
+    @Override
+    public void writeTo(JsonWriter out) throws IOException {
+        out.beginObject();
+        out.name("ids").beginArray();
+        for (String id : ids) {
+            out.value(id);
+        }
+        out.endArray();
+        field(out, "status", status);
+        out.endObject();
+    }
+}
@@ -0,0 +1,36 @@
+package com.laundrybuddy.models.requests;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Body for POST /contact/submit
+ */
+public final class ContactRequest extends JsonRequest {
+
+    private final String name;
+    private final String email;
+    private final String subject;
+    private final String message;
+    private final String hostelRoom;
+
+    public ContactRequest(String name, String email, String subject, String message, String hostelRoom) {
+        this.name = name;
+        this.email = email;
+        this.subject = subject;
+        this.message = message;
+        this.hostelRoom = hostelRoom;
+    }
+
+    @Override
+    public void writeTo(JsonWriter out) throws IOException {
+        out.beginObject();
+        field(out, "name", name);
+        field(out, "email", email);
+        field(out, "subject", subject);
+        field(out, "message", message);
+        field(out, "hostelRoom", hostelRoom);
+        out.endObject();
+    }
+}
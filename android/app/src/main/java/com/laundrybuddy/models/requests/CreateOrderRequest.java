@@ -0,0 +1,93 @@
+package com.laundrybuddy.models.requests;
+
+import com.google.gson.stream.JsonWriter;
+import com.laundrybuddy.models.Order;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Body for POST /orders
+ */
+public final class CreateOrderRequest extends JsonRequest {
+
+    private final List<Order.OrderItem> items;
+    private final int totalItems;
+    private String serviceType;
+    private String pickupDate;
+    private String pickupTime;
+    private String deliveryDate;
+    private int totalAmount;
+    private String address;
+    private String phone;
+    private String specialInstructions;
+
+    public CreateOrderRequest(List<Order.OrderItem> items) {
+        this.items = items;
+        int total = 0;
+        for (Order.OrderItem item : items) {
+            total += item.getQuantity();
+        }
+        this.totalItems = total;
+    }
+
+    public CreateOrderRequest setService(String serviceType, int totalAmount) {
+        this.serviceType = serviceType;
+        this.totalAmount = totalAmount;
+        return this;
+    }
+
+    public CreateOrderRequest setSchedule(String pickupDate, String pickupTime, String deliveryDate) {
+        this.pickupDate = pickupDate;
+        this.pickupTime = pickupTime;
+        this.deliveryDate = deliveryDate;
+        return this;
+    }
+
+    public CreateOrderRequest setContact(String address, String phone) {
+        this.address = address;
+        this.phone = phone;
+        return this;
+    }
+
+    public CreateOrderRequest setSpecialInstructions(String specialInstructions) {
+        this.specialInstructions = specialInstructions;
+        return this;
+    }
+
+    public List<Order.OrderItem> getItems() {
+        return items;
+    }
+
+    public int getTotalItems() {
+        return totalItems;
+    }
+
+    public String getSpecialInstructions() {
+        return specialInstructions;
+    }
+
+    @Override
+    public void writeTo(JsonWriter out) throws IOException {
+        out.beginObject();
+        out.name("items").beginArray();
+        for (Order.OrderItem item : items) {
+            out.beginObject();
+            field(out, "name", item.getName());
+            field(out, "quantity", item.getQuantity());
+            field(out, "category", item.getCategory());
+            out.endObject();
+        }
+        out.endArray();
+        field(out, "totalItems", totalItems);
+        field(out, "serviceType", serviceType);
+        field(out, "pickupDate", pickupDate);
+        field(out, "pickupTime", pickupTime);
+        field(out, "deliveryDate", deliveryDate);
+        field(out, "totalAmount", totalAmount);
+        field(out, "address", address);
+        field(out, "phone", phone);
+        field(out, "specialInstructions", specialInstructions);
+        out.endObject();
+    }
+}
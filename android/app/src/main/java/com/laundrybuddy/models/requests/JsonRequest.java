@@ -0,0 +1,52 @@
+package com.laundrybuddy.models.requests;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Base class for request bodies that write their own JSON.
+ *
+ * Each subclass streams its fields straight into the writer, so sending a request
+ * costs no reflection and no intermediate maps or boxed values. ApiClient's Gson
+ * routes every subclass through {@link com.laundrybuddy.api.JsonRequestAdapterFactory}.
+ * Null fields are omitted, matching how the old map bodies left keys out.
+ */
+public abstract class JsonRequest {
+
+    public abstract void writeTo(JsonWriter out) throws IOException;
+
+    /**
+     * Serialise without a Gson instance, e.g. to persist a body for later sending
+     */
+    @NonNull
+    public String toJson() {
+        StringWriter buffer = new StringWriter(256);
+        try (JsonWriter out = new JsonWriter(buffer)) {
+            writeTo(out);
+        } catch (IOException e) {
+            // StringWriter doesn't throw
+            throw new IllegalStateException(e);
+        }
+        return buffer.toString();
+    }
+
+    protected static void field(JsonWriter out, String name, String value) throws IOException {
+        if (value != null) {
+            out.name(name).value(value);
+        }
+    }
+
+    protected static void field(JsonWriter out, String name, Boolean value) throws IOException {
+        if (value != null) {
+            out.name(name).value(value.booleanValue());
+        }
+    }
+
+    protected static void field(JsonWriter out, String name, long value) throws IOException {
+        out.name(name).value(value);
+    }
+}
@@ -0,0 +1,27 @@
+package com.laundrybuddy.models.requests;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Body for starting a resumable profile photo upload
+ */
+public final class PhotoUploadRequest extends JsonRequest {
+
+    private final long size;
+    private final String mimeType;
+
+    public PhotoUploadRequest(long size, String mimeType) {
+        this.size = size;
+        this.mimeType = mimeType;
+    }
+
+    @Override
+    public void writeTo(JsonWriter out) throws IOException {
+        out.beginObject();
+        field(out, "size", size);
+        field(out, "mimeType", mimeType);
+        out.endObject();
+    }
+}
@@ -0,0 +1,24 @@
+package com.laundrybuddy.models.requests;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Body for the order status endpoints (admin, order and tracking)
+ */
+public final class StatusUpdateRequest extends JsonRequest {
+
+    private final String status;
+
+    public StatusUpdateRequest(String status) {
+        this.status = status;
+    }
+
+    @Override
+    public void writeTo(JsonWriter out) throws IOException {
+        out.beginObject();
+        field(out, "status", status);
+        out.endObject();
+    }
+}
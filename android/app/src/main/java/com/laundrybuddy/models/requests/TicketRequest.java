@@ -0,0 +1,61 @@
+package com.laundrybuddy.models.requests;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Body for creating a support ticket (student) or updating one (staff)
+ */
+public final class TicketRequest extends JsonRequest {
+
+    private String orderId;
+    private String orderNumber;
+    private String type;
+    private String details;
+    private String damageType;
+    private String status;
+    private String response;
+
+    private TicketRequest() {
+    }
+
+    /**
+     * @param type backend enum: missing-clothes, damage or contact
+     */
+    public static TicketRequest create(String orderId, String orderNumber, String type, String details,
+            String damageType) {
+        TicketRequest request = new TicketRequest();
+        request.orderId = orderId;
+        request.orderNumber = orderNumber;
+        request.type = type;
+        request.details = details;
+        request.damageType = damageType;
+        return request;
+    }
+
+    /**
+     * @param response optional staff reply; null leaves the previous one
+     */
+    public static TicketRequest update(String status, String response) {
+        TicketRequest request = new TicketRequest();
+        request.status = status;
+        request.response = response;
+        return request;
+    }
+
+    @Override
+    public void writeTo(JsonWriter out) throws IOException {
+        out.beginObject();
+        field(out, "orderId", orderId);
+        field(out, "orderNumber", orderNumber);
+        field(out, "type", type);
+        // The backend requires 'items' and reads 'details'; both carry the description
+        field(out, "items", details);
+        field(out, "details", details);
+        field(out, "damageType", damageType);
+        field(out, "status", status);
+        field(out, "response", response);
+        out.endObject();
+    }
+}
@@ -0,0 +1,50 @@
+package com.laundrybuddy.models.requests;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Body for PUT /orders/{id}: a priority flag or the student's feedback
+ */
+public final class UpdateOrderRequest extends JsonRequest {
+
+    private Boolean isPriority;
+    private Integer rating;
+    private String comment;
+    private String submittedAt;
+
+    private UpdateOrderRequest() {
+    }
+
+    public static UpdateOrderRequest priority(boolean isPriority) {
+        UpdateOrderRequest request = new UpdateOrderRequest();
+        request.isPriority = isPriority;
+        return request;
+    }
+
+    /**
+     * @param submittedAt ISO-8601 UTC timestamp
+     */
+    public static UpdateOrderRequest feedback(int rating, String comment, String submittedAt) {
+        UpdateOrderRequest request = new UpdateOrderRequest();
+        request.rating = rating;
+        request.comment = comment;
+        request.submittedAt = submittedAt;
+        return request;
+    }
+
+    @Override
+    public void writeTo(JsonWriter out) throws IOException {
+        out.beginObject();
+        field(out, "isPriority", isPriority);
+        if (rating != null) {
+            out.name("feedback").beginObject();
+            field(out, "rating", rating);
+            field(out, "comment", comment);
+            field(out, "submittedAt", submittedAt);
+            out.endObject();
+        }
+        out.endObject();
+    }
+}
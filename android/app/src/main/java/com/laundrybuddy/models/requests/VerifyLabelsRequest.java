@@ -0,0 +1,29 @@
+package com.laundrybuddy.models.requests;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Body for POST /admin/orders/verify-labels: scanned v1 label payloads, as printed
+ */
+public final class VerifyLabelsRequest extends JsonRequest {
+
+    private final List<String> labels;
+
+    public VerifyLabelsRequest(List<String> labels) {
+        this.labels = labels;
+    }
+
+    @Override
+    public void writeTo(JsonWriter out) throws IOException {
+        out.beginObject();
+        out.name("labels").beginArray();
+        for (String label : labels) {
+            out.value(label);
+        }
+        out.endArray();
+        out.endObject();
+    }
+}
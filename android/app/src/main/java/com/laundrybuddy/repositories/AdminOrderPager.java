@@ -0,0 +1,99 @@
+package com.laundrybuddy.repositories;
+
+import androidx.annotation.Nullable;
+
+import com.laundrybuddy.api.AdminApi;
+import com.laundrybuddy.models.ApiResponse;
+import com.laundrybuddy.models.Order;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import retrofit2.Response;
+
+/**
+ * Reads every order matching a filter from the admin endpoint, one page per call.
+ *
+ * The dashboard caches only its newest page of orders, so exports and bulk jobs
+ * that need the full set go to the server instead. Pages are fetched on demand, so
+ * a caller streaming rows to a file holds one page at a time. An order pushed
+ * across a page boundary by new orders arriving mid-read is returned only once.
+ * Blocking; call off the main thread.
+ */
+public class AdminOrderPager {
+
+    public static final int PAGE_SIZE = 100;
+
+    private final AdminApi adminApi;
+    private final String status;
+    private final String date;
+    private final Set<String> seen = new HashSet<>();
+    private int nextPage = 1;
+    private int total = -1;
+    private boolean exhausted;
+
+    /**
+     * @param status backend status filter, or null for all
+     * @param date   backend date filter ("today", "week", ...), or null for all time
+     */
+    public AdminOrderPager(AdminApi adminApi, @Nullable String status, @Nullable String date) {
+        this.adminApi = adminApi;
+        this.status = status;
+        this.date = date;
+    }
+
+    /**
+     * The next page of orders, or an empty list once every page has been read
+     *
+     * @throws IOException if a page can't be fetched, so callers never mistake a partial read for the full set
+     */
+    public List<Order> next() throws IOException {
+        while (!exhausted) {
+            Response<ApiResponse<List<Order>>> response = adminApi
+                    .getAllOrders(status, date, null, nextPage, PAGE_SIZE).execute();
+            if (!response.isSuccessful() || response.body() == null) {
+                throw new IOException("Orders page " + nextPage + " failed: HTTP " + response.code());
+            }
+            ApiResponse<List<Order>> body = response.body();
+            List<Order> orders = body.getData() != null ? body.getData() : Collections.emptyList();
+            if (body.getPagination() != null) {
+                total = body.getPagination().getTotal();
+            }
+            exhausted = orders.size() < PAGE_SIZE;
+            nextPage++;
+
+            List<Order> fresh = new ArrayList<>(orders.size());
+            for (Order order : orders) {
+                if (order.getId() == null || seen.add(order.getId())) {
+                    fresh.add(order);
+                }
+            }
+            if (!fresh.isEmpty()) {
+                return fresh;
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Orders matching the filter as of the last page read, or -1 before the first
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Every remaining page in one list; for bounded sets such as one day's intake
+     */
+    public List<Order> readAll() throws IOException {
+        List<Order> all = new ArrayList<>();
+        for (List<Order> page = next(); !page.isEmpty(); page = next()) {
+            all.addAll(page);
+        }
+        return all;
+    }
+}
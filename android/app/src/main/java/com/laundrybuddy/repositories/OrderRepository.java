@@ -1,6 +1,8 @@
 package com.laundrybuddy.repositories;
 
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 
 import androidx.lifecycle.LiveData;
@@ -10,12 +12,19 @@ import com.laundrybuddy.LaundryBuddyApp;
 import com.laundrybuddy.api.ApiClient;
 import com.laundrybuddy.api.AdminApi;
 import com.laundrybuddy.api.OrderApi;
+import com.laundrybuddy.api.TrackingApi;
 import com.laundrybuddy.db.AppDatabase;
 import com.laundrybuddy.db.OrderDao;
 import com.laundrybuddy.models.ApiResponse;
 import com.laundrybuddy.models.Order;
+import com.laundrybuddy.models.Tracking;
+import com.laundrybuddy.utils.AvatarLoader;
+import com.laundrybuddy.utils.ConnectionQualityMonitor;
+import com.laundrybuddy.utils.NetworkScheduler;
 import com.laundrybuddy.utils.NetworkUtils;
+import com.laundrybuddy.utils.TraceSection;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -28,14 +37,25 @@ public class OrderRepository {
     private static final String TAG = "OrderRepository";
     private OrderApi orderApi;
     private AdminApi adminApi;
+    private TrackingApi trackingApi;
     private OrderDao orderDao;
     private Context context;
     private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    public interface OrderLookupCallback {
+        void onFound(Order order);
+
+        void onNotFound();
+
+        void onError(String message);
+    }
 
     public OrderRepository(Context context) {
         this.context = context;
         this.orderApi = ApiClient.getInstance().getOrderApi();
         this.adminApi = ApiClient.getInstance().getAdminApi();
+        this.trackingApi = ApiClient.getInstance().getTrackingApi();
         AppDatabase db = LaundryBuddyApp.getInstance().getDatabase();
         if (db != null) {
             this.orderDao = db.orderDao();
@@ -77,10 +97,15 @@ public class OrderRepository {
                     }
 
                     executor.execute(() -> {
-                        // Clear old data for simple sync? Or assume upsert is enough?
-                        // For full consistency, clear user's orders first.
-                        orderDao.clearOrdersForUser(userId);
-                        orderDao.insertOrders(orders);
+                        TraceSection.begin("OrderRepository.storeMyOrders");
+                        try {
+                            // Clear old data for simple sync? Or assume upsert is enough?
+                            // For full consistency, clear user's orders first.
+                            orderDao.clearOrdersForUser(userId);
+                            orderDao.insertOrders(orders);
+                        } finally {
+                            TraceSection.end();
+                        }
                     });
                 } else {
                     Log.e(TAG, "Failed to refresh my orders: " + response.message());
@@ -99,8 +124,12 @@ public class OrderRepository {
             return;
         }
 
-        // Use admin endpoint to get ALL orders for staff dashboard
-        Call<ApiResponse<List<Order>>> call = adminApi.getAllOrders();
+        // Use admin endpoint to get ALL orders for staff dashboard.
+        // Page size follows link quality so congested Wi-Fi still gets the newest orders quickly.
+        NetworkScheduler scheduler = NetworkScheduler.getInstance();
+        int limit = scheduler.getOrdersPageSize();
+        boolean partialPage = scheduler.isPoorLink();
+        Call<ApiResponse<List<Order>>> call = adminApi.getAllOrders(null, 1, limit);
 
         call.enqueue(new Callback<ApiResponse<List<Order>>>() {
             @Override
@@ -109,10 +138,19 @@ public class OrderRepository {
                     List<Order> orders = response.body().getData();
                     if (orders != null) {
                         executor.execute(() -> {
-                            orderDao.clearAll();
-                            orderDao.insertOrders(orders);
+                            TraceSection.begin("OrderRepository.storeOrders");
+                            try {
+                                // A reduced page only refreshes the newest orders; keep older cached rows
+                                if (!partialPage) {
+                                    orderDao.clearAll();
+                                }
+                                orderDao.insertOrders(orders);
+                            } finally {
+                                TraceSection.end();
+                            }
                         });
-                        Log.d(TAG, "Loaded " + orders.size() + " orders from admin endpoint");
+                        prefetchAvatars(orders);
+                        Log.d(TAG, "Loaded " + orders.size() + " orders from admin endpoint (limit " + limit + ")");
                     } else {
                         Log.e(TAG, "No orders in response");
                     }
@@ -127,4 +165,63 @@ public class OrderRepository {
             }
         });
     }
+
+    /**
+     * Warm the disk cache with the avatars the staff list is about to show.
+     * Skipped on poor or metered links, where rows fall back to loading on demand.
+     */
+    private void prefetchAvatars(List<Order> orders) {
+        NetworkScheduler scheduler = NetworkScheduler.getInstance();
+        if (!scheduler.shouldLoadImages() || ConnectionQualityMonitor.getInstance().isMetered()) {
+            return;
+        }
+        List<String> photos = new ArrayList<>();
+        for (Order order : orders) {
+            if (order.getUserPhoto() != null) {
+                photos.add(order.getUserPhoto());
+            }
+        }
+        AvatarLoader.prefetch(context, photos, AvatarLoader.listAvatarPx(context));
+    }
+
+    /**
+     * Resolve an order by number from the indexed local table, falling back to the
+     * tracking endpoint on a miss. Remote hits are cached so the next scan is local.
+     * Callbacks run on the main thread.
+     */
+    public void findOrderByNumber(String orderNumber, OrderLookupCallback callback) {
+        executor.execute(() -> {
+            Order local = orderDao.getOrderByNumber(orderNumber);
+            if (local != null) {
+                mainHandler.post(() -> callback.onFound(local));
+                return;
+            }
+            if (!NetworkUtils.isNetworkAvailable(context)) {
+                mainHandler.post(callback::onNotFound);
+                return;
+            }
+            trackingApi.getOrderByNumber(orderNumber).enqueue(new Callback<ApiResponse<Tracking>>() {
+                @Override
+                public void onResponse(Call<ApiResponse<Tracking>> call, Response<ApiResponse<Tracking>> response) {
+                    Tracking tracking = response.body() != null ? response.body().getData() : null;
+                    Order order = tracking != null ? tracking.getOrder() : null;
+                    if (response.isSuccessful() && order != null && order.getId() != null) {
+                        executor.execute(() -> orderDao.insertOrder(order));
+                        callback.onFound(order);
+                    } else if (response.isSuccessful() || response.code() == 404) {
+                        callback.onNotFound();
+                    } else {
+                        Log.e(TAG, "Order lookup failed: " + response.code() + " - " + response.message());
+                        callback.onError("Lookup failed");
+                    }
+                }
+
+                @Override
+                public void onFailure(Call<ApiResponse<Tracking>> call, Throwable t) {
+                    Log.e(TAG, "Order lookup failed", t);
+                    callback.onError("Network error");
+                }
+            });
+        });
+    }
 }
@@ -0,0 +1,303 @@
+package com.laundrybuddy.repositories;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+
+import com.laundrybuddy.LaundryBuddyApp;
+import com.laundrybuddy.api.ApiClient;
+import com.laundrybuddy.db.AppDatabase;
+import com.laundrybuddy.db.OrderDao;
+import com.laundrybuddy.db.PendingOrderDao;
+import com.laundrybuddy.models.ApiResponse;
+import com.laundrybuddy.models.Order;
+import com.laundrybuddy.models.PendingOrder;
+import com.laundrybuddy.models.requests.CreateOrderRequest;
+import com.laundrybuddy.utils.IsoDates;
+import com.laundrybuddy.workers.OrderSubmissionWorker;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Durable order submission.
+ *
+ * A submission is written to the pending_orders table together with a provisional
+ * order (and QR) before anything touches the network, so nothing the student typed
+ * is lost if the request fails or the app dies. One attempt is made straight away;
+ * if the server can't be reached, {@link OrderSubmissionWorker} retries with
+ * backoff once the device is online. Every attempt carries the same idempotency
+ * key, and a successful response replaces the provisional order with the server's.
+ *
+ * Entries belong to the user who made them and are only sent while that user is
+ * signed in. Signing out cancels the drain; the entries wait for the same user to
+ * sign in again, as do entries that got a 401 because the session had expired.
+ */
+public class OrderSubmissionQueue {
+
+    private static final String TAG = "OrderSubmissionQueue";
+    private static final String WORK_NAME = "order_submission_queue";
+    // Spreads retries from many devices that went offline together (e.g. a drop-off rush)
+    private static final long MAX_START_JITTER_MS = 5_000;
+    // The first attempt happens while the student watches a spinner; past this the
+    // order is shown as queued and the worker carries on with the normal timeouts
+    private static final long FIRST_ATTEMPT_TIMEOUT_S = 10;
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    private static volatile OrderSubmissionQueue instance;
+
+    private final Context appContext;
+    private final OrderDao orderDao;
+    private final PendingOrderDao pendingOrderDao;
+    private final AppDatabase database;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    public interface SubmitCallback {
+        /**
+         * The server accepted the order
+         */
+        void onSubmitted(Order order);
+
+        /**
+         * The server couldn't be reached; the provisional order will be sent later
+         */
+        void onQueued(Order provisionalOrder);
+
+        /**
+         * The server rejected the order as invalid; it won't be retried
+         */
+        void onRejected(String message);
+    }
+
+    /**
+     * Outcome of one send attempt
+     */
+    enum Attempt {
+        SUBMITTED, RETRY, UNAUTHORIZED, REJECTED
+    }
+
+    private OrderSubmissionQueue(Context context) {
+        appContext = context.getApplicationContext();
+        database = LaundryBuddyApp.getInstance().getDatabase();
+        orderDao = database.orderDao();
+        pendingOrderDao = database.pendingOrderDao();
+    }
+
+    public static OrderSubmissionQueue getInstance(Context context) {
+        if (instance == null) {
+            synchronized (OrderSubmissionQueue.class) {
+                if (instance == null) {
+                    instance = new OrderSubmissionQueue(context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Persist and send an order. Callbacks run on the main thread.
+     */
+    public void submit(CreateOrderRequest request, SubmitCallback callback) {
+        String key = UUID.randomUUID().toString();
+        String userId = LaundryBuddyApp.getInstance().getUserId();
+        PendingOrder pending = new PendingOrder(key, userId, request.toJson(), System.currentTimeMillis());
+        Order provisional = buildProvisionalOrder(pending, request);
+
+        executor.execute(() -> {
+            database.runInTransaction(() -> {
+                pendingOrderDao.insert(pending);
+                orderDao.insertOrder(provisional);
+            });
+
+            Order[] created = new Order[1];
+            String[] error = new String[1];
+            Attempt result = send(pending, created, error, FIRST_ATTEMPT_TIMEOUT_S);
+            switch (result) {
+                case SUBMITTED:
+                    mainHandler.post(() -> callback.onSubmitted(created[0]));
+                    break;
+                case REJECTED:
+                    mainHandler.post(() -> callback.onRejected(error[0]));
+                    break;
+                case UNAUTHORIZED:
+                    // Sent after the user signs in again
+                    mainHandler.post(() -> callback.onQueued(provisional));
+                    break;
+                default:
+                    scheduleDrain(appContext);
+                    mainHandler.post(() -> callback.onQueued(provisional));
+                    break;
+            }
+        });
+    }
+
+    /**
+     * Send the signed-in user's queued submissions, oldest first. Runs on the worker thread.
+     *
+     * @return true if anything is still waiting for a retry
+     */
+    public boolean drain() {
+        String userId = LaundryBuddyApp.getInstance().getUserId();
+        if (userId == null) {
+            // Signed out: nothing is sent until someone signs in and schedules a drain
+            return false;
+        }
+        boolean retry = false;
+        for (PendingOrder pending : pendingOrderDao.getForUser(userId)) {
+            Attempt result = send(pending, new Order[1], new String[1], 0);
+            if (result == Attempt.UNAUTHORIZED) {
+                // The rest would get the same 401; signing in again schedules the next drain
+                return false;
+            }
+            if (result == Attempt.RETRY) {
+                retry = true;
+            }
+        }
+        return retry;
+    }
+
+    /**
+     * Make one attempt and reconcile local state with the outcome. Blocking.
+     *
+     * @param callTimeoutSeconds limit for the whole call, or 0 for the client's timeouts
+     */
+    private Attempt send(PendingOrder pending, Order[] created, String[] error, long callTimeoutSeconds) {
+        // Sent exactly as serialised at submit time, so retries are byte-for-byte identical
+        RequestBody body = RequestBody.create(pending.getRequestBody(), JSON);
+
+        try {
+            Call<ApiResponse<Order>> call = ApiClient.getInstance().getOrderApi()
+                    .createOrder(pending.getIdempotencyKey(), body);
+            if (callTimeoutSeconds > 0) {
+                call.timeout().timeout(callTimeoutSeconds, TimeUnit.SECONDS);
+            }
+            Response<ApiResponse<Order>> response = call.execute();
+
+            if (response.isSuccessful() && response.body() != null && response.body().getData() != null) {
+                Order order = response.body().getData();
+                if (order.getUserId() == null) {
+                    order.setUserId(pending.getUserId());
+                }
+                database.runInTransaction(() -> {
+                    orderDao.deleteOrder(pending.getLocalOrderId());
+                    orderDao.insertOrder(order);
+                    pendingOrderDao.delete(pending.getIdempotencyKey());
+                });
+                Log.d(TAG, "Submitted " + pending.getIdempotencyKey() + " as " + order.getOrderNumber());
+                created[0] = order;
+                return Attempt.SUBMITTED;
+            }
+
+            int code = response.code();
+            String message = "Failed: " + code;
+            if (isTransient(code)) {
+                pendingOrderDao.recordAttempt(pending.getIdempotencyKey(), message);
+                Log.w(TAG, "Server unavailable (" + code + "), keeping " + pending.getIdempotencyKey());
+                return Attempt.RETRY;
+            }
+            if (code == 401) {
+                // The session expired, not the order: keep it for when the user signs in again
+                pendingOrderDao.recordAttempt(pending.getIdempotencyKey(), message);
+                Log.w(TAG, "Not signed in, keeping " + pending.getIdempotencyKey());
+                return Attempt.UNAUTHORIZED;
+            }
+
+            // Resending the same body won't help: drop it from the queue but keep the
+            // provisional order, marked failed, so the student can see what happened
+            error[0] = readErrorMessage(response, message);
+            database.runInTransaction(() -> {
+                orderDao.updateStatus(pending.getLocalOrderId(), Order.STATUS_FAILED);
+                pendingOrderDao.delete(pending.getIdempotencyKey());
+            });
+            Log.e(TAG, "Order " + pending.getIdempotencyKey() + " rejected: " + error[0]);
+            return Attempt.REJECTED;
+        } catch (IOException e) {
+            pendingOrderDao.recordAttempt(pending.getIdempotencyKey(), e.getMessage());
+            Log.w(TAG, "Network error, keeping " + pending.getIdempotencyKey(), e);
+            return Attempt.RETRY;
+        }
+    }
+
+    private static boolean isTransient(int code) {
+        // Timeouts, throttling and a cold-starting or overloaded backend
+        return code == 408 || code == 429 || code >= 500;
+    }
+
+    private static String readErrorMessage(Response<?> response, String fallback) {
+        try {
+            if (response.errorBody() != null) {
+                org.json.JSONObject json = new org.json.JSONObject(response.errorBody().string());
+                if (json.has("message")) {
+                    return json.getString("message");
+                }
+            }
+        } catch (Exception ignored) {
+        }
+        return fallback;
+    }
+
+    private static Order buildProvisionalOrder(PendingOrder pending, CreateOrderRequest request) {
+        Order order = new Order();
+        order.setId(pending.getLocalOrderId());
+        order.setOrderNumber(provisionalNumber(pending.getIdempotencyKey()));
+        order.setUserId(pending.getUserId());
+        order.setItems(new ArrayList<>(request.getItems()));
+        order.setTotalItems(request.getTotalItems());
+        order.setSpecialInstructions(request.getSpecialInstructions());
+        order.setStatus(Order.STATUS_QUEUED);
+        String now = IsoDates.toIso(pending.getQueuedAt());
+        order.setCreatedAt(now);
+        order.setUpdatedAt(now);
+        return order;
+    }
+
+    /**
+     * Stand-in order number for the provisional QR, replaced by the server's on sync
+     */
+    public static String provisionalNumber(String idempotencyKey) {
+        return "TMP" + idempotencyKey.replace("-", "").substring(0, 10).toUpperCase(Locale.US);
+    }
+
+    /**
+     * Make sure a drain is scheduled for when the network is available
+     */
+    public static void scheduleDrain(Context context) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .build();
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(OrderSubmissionWorker.class)
+                .setConstraints(constraints)
+                .setInitialDelay(ThreadLocalRandom.current().nextLong(MAX_START_JITTER_MS), TimeUnit.MILLISECONDS)
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, 15, TimeUnit.SECONDS)
+                .build();
+        // Append rather than keep: a drain already running may have read the queue before this entry
+        WorkManager.getInstance(context).enqueueUniqueWork(WORK_NAME, ExistingWorkPolicy.APPEND_OR_REPLACE, request);
+    }
+
+    /**
+     * Stop sending on sign-out. Queued entries stay for their user's next session.
+     */
+    public static void cancelDrain(Context context) {
+        WorkManager.getInstance(context).cancelUniqueWork(WORK_NAME);
+    }
+}
@@ -0,0 +1,404 @@
+package com.laundrybuddy.repositories;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+
+import com.laundrybuddy.LaundryBuddyApp;
+import com.laundrybuddy.api.ApiClient;
+import com.laundrybuddy.api.AuthApi;
+import com.laundrybuddy.models.ApiResponse;
+import com.laundrybuddy.models.PhotoUploadSession;
+import com.laundrybuddy.models.User;
+import com.laundrybuddy.models.requests.PhotoUploadRequest;
+import com.laundrybuddy.utils.ConnectionQualityMonitor;
+import com.laundrybuddy.utils.ProgressRequestBody;
+import com.laundrybuddy.workers.ProfilePhotoUploadWorker;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Source;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Resumable profile photo upload.
+ *
+ * The photo is copied into app storage and the upload state (file, type, server
+ * upload id) kept in SharedPreferences, so an interrupted upload continues where
+ * it stopped rather than starting over, including after process death via
+ * {@link ProfilePhotoUploadWorker}. The server is the source of truth for which
+ * chunks it holds; each attempt asks it and sends only the missing ones, several
+ * at a time on a good link.
+ */
+public class ProfilePhotoUploader {
+
+    private static final String TAG = "ProfilePhotoUploader";
+    private static final String WORK_NAME = "profile_photo_upload";
+    private static final String KEY_FILE = "photo_upload_file";
+    private static final String KEY_TYPE = "photo_upload_type";
+    private static final String KEY_UPLOAD_ID = "photo_upload_id";
+    private static final int MAX_PARALLEL_CHUNKS = 3;
+    // Picks up an upload the process didn't live to finish or reschedule
+    private static final long SAFETY_NET_DELAY_SECONDS = 30;
+    private static final MediaType OCTET_STREAM = MediaType.get("application/octet-stream");
+
+    private static volatile ProfilePhotoUploader instance;
+
+    private final Context appContext;
+    private final SharedPreferences prefs;
+    private final Supplier<AuthApi> authApi;
+    private final IntSupplier parallelism;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    public interface UploadCallback {
+        void onProgress(int percent);
+
+        void onUploaded(User user);
+
+        /**
+         * The link dropped; the upload resumes in the background when it is back
+         */
+        void onQueued();
+
+        void onFailed(String message);
+    }
+
+    /**
+     * Outcome of one upload attempt
+     */
+    enum Attempt {
+        UPLOADED, RETRY, REJECTED
+    }
+
+    /**
+     * The server refused a request for a reason retrying won't fix
+     */
+    private static class RejectedException extends Exception {
+        final int code;
+
+        RejectedException(int code, String message) {
+            super(message);
+            this.code = code;
+        }
+    }
+
+    private ProfilePhotoUploader(Context context) {
+        this(context.getApplicationContext(), LaundryBuddyApp.getInstance().getPrefs(),
+                () -> ApiClient.getInstance().getAuthApi(), ProfilePhotoUploader::parallelism);
+    }
+
+    /**
+     * For tests: explicit storage, API and chunk parallelism instead of the app's singletons
+     */
+    ProfilePhotoUploader(Context appContext, SharedPreferences prefs, Supplier<AuthApi> authApi,
+            IntSupplier parallelism) {
+        this.appContext = appContext;
+        this.prefs = prefs;
+        this.authApi = authApi;
+        this.parallelism = parallelism;
+    }
+
+    public static ProfilePhotoUploader getInstance(Context context) {
+        if (instance == null) {
+            synchronized (ProfilePhotoUploader.class) {
+                if (instance == null) {
+                    instance = new ProfilePhotoUploader(context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Upload a prepared photo, replacing any upload still pending. Callbacks run on the main thread.
+     */
+    public void upload(File photo, MediaType type, UploadCallback callback) {
+        executor.execute(() -> {
+            Attempt result;
+            synchronized (this) {
+                try {
+                    File pending = new File(appContext.getFilesDir(), "pending_" + photo.getName());
+                    // The cache directory may be cleared before a resume
+                    copy(photo, pending);
+                    photo.delete();
+                    prefs.edit()
+                            .putString(KEY_FILE, pending.getPath())
+                            .putString(KEY_TYPE, type.toString())
+                            .remove(KEY_UPLOAD_ID)
+                            .apply();
+                } catch (IOException e) {
+                    Log.e(TAG, "Failed to stage photo", e);
+                    mainHandler.post(() -> callback.onFailed("Failed to process image"));
+                    return;
+                }
+                scheduleResume(appContext, SAFETY_NET_DELAY_SECONDS);
+                result = run(callback);
+            }
+            if (result == Attempt.RETRY) {
+                scheduleResume(appContext, 0);
+                mainHandler.post(callback::onQueued);
+            }
+        });
+    }
+
+    /**
+     * Continue a pending upload. Blocking; runs on the worker thread.
+     *
+     * @return true if the upload still needs a retry
+     */
+    public boolean resume() {
+        return run(null) == Attempt.RETRY;
+    }
+
+    private synchronized Attempt run(@Nullable UploadCallback callback) {
+        String path = prefs.getString(KEY_FILE, null);
+        if (path == null) {
+            return Attempt.UPLOADED;
+        }
+        File file = new File(path);
+        if (!file.exists()) {
+            Log.w(TAG, "Pending photo is gone, dropping upload");
+            clearState(file);
+            return Attempt.REJECTED;
+        }
+        MediaType type = MediaType.get(prefs.getString(KEY_TYPE, "image/jpeg"));
+        AuthApi api = authApi.get();
+
+        try {
+            PhotoUploadSession session = openSession(api, file, type);
+            sendMissingChunks(api, file, session, callback);
+
+            ApiResponse<User> done = execute(api.completePhotoUpload(session.getUploadId()));
+            User user = done.getUser() != null ? done.getUser() : done.getData();
+            if (user == null || user.getProfilePhoto() == null) {
+                throw new RejectedException(200, "Response missing photo data");
+            }
+            prefs.edit().putString("profile_photo", user.getProfilePhoto()).apply();
+            clearState(file);
+            Log.d(TAG, "Profile photo uploaded: " + user.getProfilePhoto());
+            if (callback != null) {
+                mainHandler.post(() -> callback.onUploaded(user));
+            }
+            return Attempt.UPLOADED;
+        } catch (IOException e) {
+            Log.w(TAG, "Upload interrupted, will resume", e);
+            return Attempt.RETRY;
+        } catch (RejectedException e) {
+            if (e.code == 409) {
+                // Chunks went missing between the last check and completion; the next attempt resends them
+                return Attempt.RETRY;
+            }
+            Log.e(TAG, "Upload rejected: " + e.getMessage());
+            clearState(file);
+            if (callback != null) {
+                mainHandler.post(() -> callback.onFailed(e.getMessage()));
+            }
+            return Attempt.REJECTED;
+        }
+    }
+
+    /**
+     * The stored upload session if the server still has it, otherwise a new one
+     */
+    private PhotoUploadSession openSession(AuthApi api, File file, MediaType type)
+            throws IOException, RejectedException {
+        String uploadId = prefs.getString(KEY_UPLOAD_ID, null);
+        if (uploadId != null) {
+            try {
+                PhotoUploadSession session = execute(api.getPhotoUpload(uploadId)).getData();
+                if (session != null && session.getSize() == file.length()) {
+                    return session;
+                }
+            } catch (RejectedException e) {
+                if (e.code != 404) {
+                    throw e;
+                }
+                Log.d(TAG, "Upload " + uploadId + " expired on the server, starting over");
+            }
+        }
+
+        PhotoUploadSession session = execute(api.createPhotoUpload(
+                new PhotoUploadRequest(file.length(), type.toString()))).getData();
+        if (session == null || session.getChunkSize() <= 0) {
+            throw new IOException("Server returned no upload session");
+        }
+        prefs.edit().putString(KEY_UPLOAD_ID, session.getUploadId()).apply();
+        return session;
+    }
+
+    private void sendMissingChunks(AuthApi api, File file, PhotoUploadSession session,
+            @Nullable UploadCallback callback) throws IOException, RejectedException {
+        Set<Integer> received = new HashSet<>(session.getReceivedChunks());
+        AtomicLong sent = new AtomicLong();
+        List<Integer> missing = new ArrayList<>();
+        for (int index = 0; index < session.getChunkCount(); index++) {
+            if (received.contains(index)) {
+                sent.addAndGet(chunkLength(session, index));
+            } else {
+                missing.add(index);
+            }
+        }
+        reportProgress(callback, sent.get(), session.getSize());
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        ExecutorService chunkExecutor = Executors.newFixedThreadPool(Math.min(parallelism.getAsInt(), missing.size()));
+        List<Future<Void>> futures = new ArrayList<>();
+        try {
+            for (int index : missing) {
+                futures.add(chunkExecutor.submit(() -> {
+                    sendChunk(api, file, session, index, sent, callback);
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Upload interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RejectedException) {
+                throw (RejectedException) cause;
+            }
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        } finally {
+            chunkExecutor.shutdownNow();
+        }
+    }
+
+    private void sendChunk(AuthApi api, File file, PhotoUploadSession session, int index, AtomicLong sent,
+            @Nullable UploadCallback callback) throws IOException, RejectedException {
+        long offset = (long) index * session.getChunkSize();
+        byte[] bytes = new byte[chunkLength(session, index)];
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            in.seek(offset);
+            in.readFully(bytes);
+        }
+
+        RequestBody body = new ProgressRequestBody(RequestBody.create(bytes, OCTET_STREAM),
+                new ProgressRequestBody.Listener() {
+                    private long reported;
+
+                    @Override
+                    public void onProgress(long bytesWritten, long contentLength) {
+                        reportProgress(callback, sent.addAndGet(bytesWritten - reported), session.getSize());
+                        reported = bytesWritten;
+                    }
+                });
+        execute(api.uploadPhotoChunk(session.getUploadId(), index, body));
+    }
+
+    private void reportProgress(@Nullable UploadCallback callback, long sent, long total) {
+        if (callback != null && total > 0) {
+            // 100% is reported by onUploaded, once the server has processed the photo
+            int percent = (int) Math.min(99, sent * 100 / total);
+            mainHandler.post(() -> callback.onProgress(percent));
+        }
+    }
+
+    private static int chunkLength(PhotoUploadSession session, int index) {
+        long offset = (long) index * session.getChunkSize();
+        return (int) Math.min(session.getChunkSize(), session.getSize() - offset);
+    }
+
+    private static int parallelism() {
+        switch (ConnectionQualityMonitor.getInstance().getQuality()) {
+            case GOOD:
+                return MAX_PARALLEL_CHUNKS;
+            case MODERATE:
+                return 2;
+            default:
+                // Parallel requests only compete for a poor link
+                return 1;
+        }
+    }
+
+    private static <T> ApiResponse<T> execute(Call<ApiResponse<T>> call) throws IOException, RejectedException {
+        Response<ApiResponse<T>> response = call.execute();
+        if (response.isSuccessful() && response.body() != null) {
+            return response.body();
+        }
+        int code = response.code();
+        if (isTransient(code)) {
+            throw new IOException("Server unavailable: " + code);
+        }
+        throw new RejectedException(code, readErrorMessage(response, "Failed to upload photo"));
+    }
+
+    private static boolean isTransient(int code) {
+        // Timeouts, throttling and a cold-starting or overloaded backend
+        return code == 408 || code == 429 || code >= 500;
+    }
+
+    private static String readErrorMessage(Response<?> response, String fallback) {
+        try {
+            if (response.errorBody() != null) {
+                org.json.JSONObject json = new org.json.JSONObject(response.errorBody().string());
+                if (json.has("message")) {
+                    return json.getString("message");
+                }
+            }
+        } catch (Exception ignored) {
+        }
+        return fallback;
+    }
+
+    private void clearState(File file) {
+        file.delete();
+        prefs.edit().remove(KEY_FILE).remove(KEY_TYPE).remove(KEY_UPLOAD_ID).apply();
+    }
+
+    private static void copy(File from, File to) throws IOException {
+        try (Source source = Okio.source(from); BufferedSink sink = Okio.buffer(Okio.sink(to))) {
+            sink.writeAll(source);
+        }
+    }
+
+    /**
+     * Make sure a resume is scheduled for when the network is available
+     */
+    public static void scheduleResume(Context context, long delaySeconds) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .build();
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(ProfilePhotoUploadWorker.class)
+                .setConstraints(constraints)
+                .setInitialDelay(delaySeconds, TimeUnit.SECONDS)
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, 15, TimeUnit.SECONDS)
+                .build();
+        WorkManager.getInstance(context).enqueueUniqueWork(WORK_NAME, ExistingWorkPolicy.REPLACE, request);
+    }
+}
@@ -0,0 +1,171 @@
+package com.laundrybuddy.repositories;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+
+import com.laundrybuddy.LaundryBuddyApp;
+import com.laundrybuddy.api.ApiClient;
+import com.laundrybuddy.api.SupportApi;
+import com.laundrybuddy.db.AppDatabase;
+import com.laundrybuddy.db.TicketDao;
+import com.laundrybuddy.models.ApiResponse;
+import com.laundrybuddy.models.SupportTicket;
+import com.laundrybuddy.models.requests.TicketRequest;
+import com.laundrybuddy.utils.NetworkUtils;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Cache-first access to support tickets.
+ *
+ * Screens observe the Room table and render immediately; refreshes ask the server
+ * only for tickets updated since the last sync of that scope (one user's tickets,
+ * or all tickets for staff) and upsert them. Ticket
+ * updates are written back locally from the server's response, so the list
+ * changes without another round trip.
+ */
+public class SupportRepository {
+    private static final String TAG = "SupportRepository";
+    private static final String PREF_SYNC_CURSOR = "tickets_synced_at_";
+    private static final String SCOPE_ALL = "all";
+    private SupportApi supportApi;
+    private TicketDao ticketDao;
+    private Context context;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    /**
+     * Outcome of a background refresh, delivered on the main thread
+     */
+    public interface RefreshCallback {
+        void onComplete(boolean success);
+    }
+
+    public interface TicketCallback {
+        void onSuccess(SupportTicket ticket);
+
+        void onError(String message);
+    }
+
+    public SupportRepository(Context context) {
+        this.context = context;
+        this.supportApi = ApiClient.getInstance().getSupportApi();
+        AppDatabase db = LaundryBuddyApp.getInstance().getDatabase();
+        if (db != null) {
+            this.ticketDao = db.ticketDao();
+        }
+    }
+
+    public LiveData<List<SupportTicket>> getMyTickets(String userId) {
+        return ticketDao.getTicketsForUser(userId);
+    }
+
+    public LiveData<List<SupportTicket>> getAllTickets() {
+        return ticketDao.getAllTickets();
+    }
+
+    public void refreshMyTickets(String userId, RefreshCallback callback) {
+        refresh(userId, callback);
+    }
+
+    /**
+     * Staff only: refresh every ticket
+     */
+    public void refreshAllTickets(RefreshCallback callback) {
+        refresh(null, callback);
+    }
+
+    private void refresh(String userId, RefreshCallback callback) {
+        if (!NetworkUtils.isNetworkAvailable(context)) {
+            callback.onComplete(false);
+            return;
+        }
+
+        SharedPreferences prefs = LaundryBuddyApp.getInstance().getPrefs();
+        String cursorKey = PREF_SYNC_CURSOR + (userId != null ? userId : SCOPE_ALL);
+        executor.execute(() -> {
+            // An empty cache (first run, or the table was rebuilt) needs a full fetch
+            String since = ticketDao.getLatestUpdatedAt(userId) != null
+                    ? prefs.getString(cursorKey, null)
+                    : null;
+            Call<ApiResponse<List<SupportTicket>>> call = userId != null
+                    ? supportApi.getMyTickets(since)
+                    : supportApi.getAllTickets(since);
+
+            call.enqueue(new Callback<ApiResponse<List<SupportTicket>>>() {
+                @Override
+                public void onResponse(Call<ApiResponse<List<SupportTicket>>> call,
+                        Response<ApiResponse<List<SupportTicket>>> response) {
+                    if (response.isSuccessful() && response.body() != null && response.body().getData() != null) {
+                        List<SupportTicket> tickets = response.body().getData();
+                        if (!tickets.isEmpty()) {
+                            String newest = newestUpdatedAt(tickets, since);
+                            executor.execute(() -> {
+                                ticketDao.insertTickets(tickets);
+                                prefs.edit().putString(cursorKey, newest).apply();
+                            });
+                        }
+                        Log.d(TAG, "Refreshed " + tickets.size() + " tickets" + (since != null ? " since " + since : ""));
+                        callback.onComplete(true);
+                    } else {
+                        Log.e(TAG, "Failed to refresh tickets: " + response.code() + " - " + response.message());
+                        callback.onComplete(false);
+                    }
+                }
+
+                @Override
+                public void onFailure(Call<ApiResponse<List<SupportTicket>>> call, Throwable t) {
+                    Log.e(TAG, "Failed to refresh tickets", t);
+                    callback.onComplete(false);
+                }
+            });
+        });
+    }
+
+    private static String newestUpdatedAt(List<SupportTicket> tickets, String current) {
+        // Server timestamps are ISO-8601 UTC, so string order is time order
+        String newest = current;
+        for (SupportTicket ticket : tickets) {
+            String updatedAt = ticket.getUpdatedAt();
+            if (updatedAt != null && (newest == null || updatedAt.compareTo(newest) > 0)) {
+                newest = updatedAt;
+            }
+        }
+        return newest;
+    }
+
+    /**
+     * Update a ticket on the server and store the returned ticket locally.
+     * Callbacks run on the main thread.
+     */
+    public void updateTicket(String ticketId, TicketRequest body, TicketCallback callback) {
+        supportApi.updateTicket(ticketId, body).enqueue(new Callback<ApiResponse<SupportTicket>>() {
+            @Override
+            public void onResponse(Call<ApiResponse<SupportTicket>> call, Response<ApiResponse<SupportTicket>> response) {
+                if (response.isSuccessful() && response.body() != null && response.body().isSuccess()) {
+                    SupportTicket ticket = response.body().getData();
+                    if (ticket != null) {
+                        executor.execute(() -> ticketDao.insertTicket(ticket));
+                    }
+                    callback.onSuccess(ticket);
+                } else {
+                    callback.onError("Failed to update ticket");
+                }
+            }
+
+            @Override
+            public void onFailure(Call<ApiResponse<SupportTicket>> call, Throwable t) {
+                Log.e(TAG, "Failed to update ticket", t);
+                callback.onError("Failed to update ticket");
+            }
+        });
+    }
+}
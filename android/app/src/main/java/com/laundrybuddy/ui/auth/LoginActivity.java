@@ -27,12 +27,10 @@ import com.laundrybuddy.api.ApiClient;
 import com.laundrybuddy.databinding.ActivityLoginBinding;
 import com.laundrybuddy.models.ApiResponse;
 import com.laundrybuddy.models.User;
+import com.laundrybuddy.models.requests.AuthRequest;
 import com.laundrybuddy.ui.home.MainActivity;
 import com.laundrybuddy.ui.staff.StaffDashboardActivity;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -160,9 +158,7 @@ public class LoginActivity extends AppCompatActivity {
         pendingEmail = email;
         pendingPassword = password;
 
-        Map<String, Object> body = new HashMap<>();
-        body.put("email", email);
-        body.put("password", password);
+        AuthRequest body = AuthRequest.login(email, password);
 
         if (isStaffMode) {
             // Staff login: direct login without OTP
@@ -251,9 +247,7 @@ public class LoginActivity extends AppCompatActivity {
             verifyButton.setEnabled(false);
             otpLoading.setVisibility(View.VISIBLE);
 
-            Map<String, Object> body = new HashMap<>();
-            body.put("email", pendingEmail);
-            body.put("otp", otp);
+            AuthRequest body = AuthRequest.otp(pendingEmail, otp);
 
             ApiClient.getInstance().getAuthApi().verifyLoginOTP(body).enqueue(new Callback<ApiResponse<User>>() {
                 @Override
@@ -293,9 +287,7 @@ public class LoginActivity extends AppCompatActivity {
 
         resendOtp.setOnClickListener(v -> {
             resendOtp.setEnabled(false);
-            Map<String, Object> body = new HashMap<>();
-            body.put("email", pendingEmail);
-            body.put("password", pendingPassword);
+            AuthRequest body = AuthRequest.login(pendingEmail, pendingPassword);
 
             ApiClient.getInstance().getAuthApi().requestLoginOTP(body).enqueue(new Callback<ApiResponse<Void>>() {
                 @Override
@@ -348,8 +340,7 @@ public class LoginActivity extends AppCompatActivity {
     private void sendGoogleTokenToBackend(String idToken) {
         setLoading(true);
 
-        Map<String, Object> body = new HashMap<>();
-        body.put("credential", idToken);
+        AuthRequest body = AuthRequest.google(idToken);
 
         ApiClient.getInstance().getAuthApi().googleLogin(body).enqueue(new Callback<ApiResponse<User>>() {
             @Override
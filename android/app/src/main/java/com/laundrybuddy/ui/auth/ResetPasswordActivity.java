@@ -13,9 +13,7 @@ import com.laundrybuddy.R;
 import com.laundrybuddy.api.ApiClient;
 import com.laundrybuddy.databinding.ActivityResetPasswordBinding;
 import com.laundrybuddy.models.ApiResponse;
-
-import java.util.HashMap;
-import java.util.Map;
+import com.laundrybuddy.models.requests.AuthRequest;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -62,8 +60,7 @@ public class ResetPasswordActivity extends AppCompatActivity {
         pendingEmail = email;
         setLoading(true);
 
-        Map<String, Object> body = new HashMap<>();
-        body.put("email", email);
+        AuthRequest body = AuthRequest.email(email);
 
         ApiClient.getInstance().getAuthApi().requestResetOTP(body).enqueue(new Callback<ApiResponse<Void>>() {
             @Override
@@ -128,10 +125,7 @@ public class ResetPasswordActivity extends AppCompatActivity {
 
         setLoading(true);
 
-        Map<String, Object> body = new HashMap<>();
-        body.put("email", pendingEmail);
-        body.put("otp", otp);
-        body.put("newPassword", newPassword);
+        AuthRequest body = AuthRequest.resetPassword(pendingEmail, otp, newPassword);
 
         ApiClient.getInstance().getAuthApi().verifyResetOTP(body).enqueue(new Callback<ApiResponse<Void>>() {
             @Override
@@ -168,8 +162,7 @@ public class ResetPasswordActivity extends AppCompatActivity {
     private void resendOTP() {
         binding.resendOtp.setEnabled(false);
 
-        Map<String, Object> body = new HashMap<>();
-        body.put("email", pendingEmail);
+        AuthRequest body = AuthRequest.email(pendingEmail);
 
         ApiClient.getInstance().getAuthApi().requestResetOTP(body).enqueue(new Callback<ApiResponse<Void>>() {
             @Override
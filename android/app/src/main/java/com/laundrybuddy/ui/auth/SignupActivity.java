@@ -27,11 +27,9 @@ import com.laundrybuddy.api.ApiClient;
 import com.laundrybuddy.databinding.ActivitySignupBinding;
 import com.laundrybuddy.models.ApiResponse;
 import com.laundrybuddy.models.User;
+import com.laundrybuddy.models.requests.AuthRequest;
 import com.laundrybuddy.ui.home.MainActivity;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -49,7 +47,7 @@ public class SignupActivity extends AppCompatActivity {
     private GoogleSignInClient googleSignInClient;
 
     // Store signup data for OTP flow
-    private Map<String, Object> pendingSignupData;
+    private AuthRequest pendingSignupData;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -109,8 +107,7 @@ public class SignupActivity extends AppCompatActivity {
     private void sendGoogleTokenToBackend(String idToken) {
         setLoading(true);
 
-        Map<String, Object> body = new HashMap<>();
-        body.put("credential", idToken);
+        AuthRequest body = AuthRequest.google(idToken);
 
         ApiClient.getInstance().getAuthApi().googleLogin(body).enqueue(new Callback<ApiResponse<User>>() {
             @Override
@@ -214,14 +211,8 @@ public class SignupActivity extends AppCompatActivity {
         setLoading(true);
 
         // Build signup data
-        pendingSignupData = new HashMap<>();
-        pendingSignupData.put("name", name);
-        pendingSignupData.put("email", email);
-        pendingSignupData.put("hostelRoom", hostelRoom);
-        pendingSignupData.put("password", password);
-        if (!TextUtils.isEmpty(phone)) {
-            pendingSignupData.put("phone", phone);
-        }
+        pendingSignupData = AuthRequest.signup(name, email, hostelRoom, password,
+                TextUtils.isEmpty(phone) ? null : phone);
 
         // Request Signup OTP
         ApiClient.getInstance().getAuthApi().requestSignupOTP(pendingSignupData).enqueue(new Callback<ApiResponse<Void>>() {
@@ -288,9 +279,7 @@ public class SignupActivity extends AppCompatActivity {
             verifyButton.setEnabled(false);
             otpLoading.setVisibility(View.VISIBLE);
 
-            Map<String, Object> body = new HashMap<>();
-            body.put("email", email);
-            body.put("otp", otp);
+            AuthRequest body = AuthRequest.otp(email, otp);
 
             ApiClient.getInstance().getAuthApi().verifySignupOTP(body).enqueue(new Callback<ApiResponse<User>>() {
                 @Override
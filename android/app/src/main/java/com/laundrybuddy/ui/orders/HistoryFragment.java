@@ -16,7 +16,6 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AlertDialog;
 import androidx.fragment.app.Fragment;
-import androidx.recyclerview.widget.LinearLayoutManager;
 
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 import com.google.android.material.textfield.TextInputEditText;
@@ -26,19 +25,15 @@ import com.laundrybuddy.databinding.FragmentHistoryBinding;
 import com.laundrybuddy.models.ApiResponse;
 import com.laundrybuddy.models.Order;
 import com.laundrybuddy.models.User;
+import com.laundrybuddy.models.requests.UpdateOrderRequest;
 import com.laundrybuddy.utils.ToastManager;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
-import java.util.Map;
+import java.util.concurrent.Future;
 
 import android.content.ContentValues;
 import android.graphics.Bitmap;
@@ -57,6 +52,9 @@ import retrofit2.Callback;
 import retrofit2.Response;
 
 import com.laundrybuddy.utils.ExportUtils;
+import com.laundrybuddy.utils.IsoDates;
+import com.laundrybuddy.utils.RecyclerPools;
+import com.laundrybuddy.utils.TraceSection;
 
 /**
  * Fragment showing order history with filtering, search, and sorting
@@ -69,16 +67,18 @@ public class HistoryFragment extends Fragment {
     private OrderAdapter orderAdapter;
     private List<Order> allOrders = new ArrayList<>();
     private List<Order> filteredOrders = new ArrayList<>();
+    private OrderSortIndex sortIndex = new OrderSortIndex(Collections.emptyList());
 
     // QR Code vars
     private Bitmap currentQrBitmap;
     private String currentOrderNumber;
+    private Future<?> exportTask;
 
     // Filter states
     private String currentStatusFilter = "all";
     private String currentDateFilter = "all";
     private String currentSearchQuery = "";
-    private String currentSortMode = "date_desc"; // date_desc, date_asc, status
+    private String currentSortMode = OrderSortIndex.DATE_DESC;
 
     @Nullable
     @Override
@@ -110,7 +110,9 @@ public class HistoryFragment extends Fragment {
         // Handle rating click
         orderAdapter.setRateClickListener(this::showRatingDialog);
 
-        binding.ordersRecycler.setLayoutManager(new LinearLayoutManager(getContext()));
+        RecyclerPools.attach(binding.ordersRecycler, requireActivity());
+        // Sized by the layout weight, not by its rows
+        binding.ordersRecycler.setHasFixedSize(true);
         binding.ordersRecycler.setAdapter(orderAdapter);
     }
 
@@ -151,18 +153,7 @@ public class HistoryFragment extends Fragment {
     }
 
     private void submitRating(Order order, int rating, String comment, android.app.AlertDialog dialog) {
-        Map<String, Object> feedback = new HashMap<>();
-        feedback.put("rating", rating);
-        feedback.put("comment", comment);
-
-        // Use ISO 8601 format for date
-        java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'",
-                java.util.Locale.US);
-        sdf.setTimeZone(java.util.TimeZone.getTimeZone("UTC"));
-        feedback.put("submittedAt", sdf.format(new java.util.Date()));
-
-        Map<String, Object> body = new HashMap<>();
-        body.put("feedback", feedback);
+        UpdateOrderRequest body = UpdateOrderRequest.feedback(rating, comment, IsoDates.nowIso());
 
         binding.loadingProgress.setVisibility(View.VISIBLE);
 
@@ -259,13 +250,13 @@ public class HistoryFragment extends Fragment {
         popup.setOnMenuItemClickListener(item -> {
             switch (item.getItemId()) {
                 case 1:
-                    currentSortMode = "date_desc";
+                    currentSortMode = OrderSortIndex.DATE_DESC;
                     break;
                 case 2:
-                    currentSortMode = "date_asc";
+                    currentSortMode = OrderSortIndex.DATE_ASC;
                     break;
                 case 3:
-                    currentSortMode = "status";
+                    currentSortMode = OrderSortIndex.STATUS;
                     break;
             }
             applyFilters();
@@ -308,9 +299,10 @@ public class HistoryFragment extends Fragment {
 
     private void exportToCsv() {
         if (!isAdded() || getContext() == null) return;
+        if (isExportRunning()) return;
         
         ToastManager.showInfo(getContext(), "Generating CSV...");
-        ExportUtils.exportToCsv(getContext(), filteredOrders, new ExportUtils.ExportCallback() {
+        exportTask = ExportUtils.exportToCsv(getContext(), filteredOrders, new ExportUtils.ExportCallback() {
             @Override
             public void onSuccess(java.io.File file) {
                 if (!isAdded() || getContext() == null) return;
@@ -328,9 +320,10 @@ public class HistoryFragment extends Fragment {
 
     private void exportToJson() {
         if (!isAdded() || getContext() == null) return;
+        if (isExportRunning()) return;
         
         ToastManager.showInfo(getContext(), "Generating JSON...");
-        ExportUtils.exportToJson(getContext(), filteredOrders, new ExportUtils.ExportCallback() {
+        exportTask = ExportUtils.exportToJson(getContext(), filteredOrders, new ExportUtils.ExportCallback() {
             @Override
             public void onSuccess(java.io.File file) {
                 if (!isAdded() || getContext() == null) return;
@@ -346,6 +339,14 @@ public class HistoryFragment extends Fragment {
         });
     }
 
+    private boolean isExportRunning() {
+        if (exportTask != null && !exportTask.isDone()) {
+            ToastManager.showInfo(getContext(), "Export already in progress");
+            return true;
+        }
+        return false;
+    }
+
     private void setupSwipeRefresh() {
         binding.swipeRefresh.setColorSchemeResources(R.color.primary);
         binding.swipeRefresh.setOnRefreshListener(this::loadOrders);
@@ -475,11 +476,13 @@ public class HistoryFragment extends Fragment {
             binding.loadingProgress.setVisibility(View.GONE);
 
             if (orders != null && !orders.isEmpty()) {
+                // Keys are computed once here; filter and sort changes reuse them
+                sortIndex = new OrderSortIndex(orders);
                 allOrders.clear();
-                allOrders.addAll(orders);
-                // Ensure active orders are top? Or assume sorted.
-                // Re-sort by date desc to be sure for header logic
-                Collections.sort(allOrders, (o1, o2) -> compareOrderDates(o2.getCreatedAt(), o1.getCreatedAt()));
+                // Newest first for the live order header
+                for (int index : sortIndex.ordering(OrderSortIndex.DATE_DESC)) {
+                    allOrders.add(sortIndex.get(index));
+                }
 
                 applyFilters();
                 updateLiveOrderHeader();
@@ -493,27 +496,32 @@ public class HistoryFragment extends Fragment {
     }
 
     private void applyFilters() {
-        filteredOrders.clear();
+        TraceSection.begin("HistoryFragment.applyFilters");
+        try {
+            filteredOrders.clear();
+            long dateFrom = dateFilterStart();
 
-        for (Order order : allOrders) {
-            // Apply status filter
-            if (!matchesStatusFilter(order))
-                continue;
+            // Walking the cached ordering keeps the result sorted without re-sorting
+            for (int index : sortIndex.ordering(currentSortMode)) {
+                Order order = sortIndex.get(index);
+                // Apply status filter
+                if (!matchesStatusFilter(order))
+                    continue;
 
-            // Apply date filter
-            if (!matchesDateFilter(order))
-                continue;
+                // Apply date filter
+                if (dateFrom != OrderSortIndex.UNKNOWN_EPOCH && sortIndex.epochAt(index) < dateFrom)
+                    continue;
 
-            // Apply search query
-            if (!matchesSearch(order))
-                continue;
+                // Apply search query
+                if (!sortIndex.matchesSearch(index, currentSearchQuery))
+                    continue;
 
-            filteredOrders.add(order);
+                filteredOrders.add(order);
+            }
+        } finally {
+            TraceSection.end();
         }
 
-        // Apply sorting
-        sortOrders();
-
         orderAdapter.notifyDataSetChanged();
 
         // UI update
@@ -550,101 +558,29 @@ public class HistoryFragment extends Fragment {
         }
     }
 
-    private boolean matchesDateFilter(Order order) {
-        if ("all".equals(currentDateFilter))
-            return true;
-
-        String createdAt = order.getCreatedAt();
-        if (createdAt == null)
-            return false;
-
-        try {
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.getDefault());
-            Date orderDate = sdf.parse(createdAt);
-            if (orderDate == null)
-                return false;
-
-            Calendar cal = Calendar.getInstance();
-            Calendar orderCal = Calendar.getInstance();
-            orderCal.setTime(orderDate);
-
-            switch (currentDateFilter) {
-                case "today":
-                    return isSameDay(cal, orderCal);
-                case "week":
-                    return isWithinWeek(cal, orderCal);
-                case "month":
-                    return isSameMonth(cal, orderCal);
-                default:
-                    return true;
-            }
-        } catch (ParseException e) {
-            return true;
-        }
-    }
-
-    private boolean matchesSearch(Order order) {
-        if (currentSearchQuery.isEmpty())
-            return true;
-
-        String orderNumber = order.getOrderNumber();
-        String status = order.getStatus();
-
-        return (orderNumber != null && orderNumber.toLowerCase().contains(currentSearchQuery)) ||
-                (status != null && status.toLowerCase().contains(currentSearchQuery));
-    }
-
-    private void sortOrders() {
-        switch (currentSortMode) {
-            case "date_desc":
-                Collections.sort(filteredOrders, (o1, o2) -> compareOrderDates(o2.getCreatedAt(), o1.getCreatedAt()));
+    /**
+     * Earliest creation time the date filter accepts, or UNKNOWN_EPOCH for no filter.
+     * Orders without a date never pass an active date filter.
+     */
+    private long dateFilterStart() {
+        Calendar start = Calendar.getInstance();
+        switch (currentDateFilter) {
+            case "today":
                 break;
-            case "date_asc":
-                Collections.sort(filteredOrders, (o1, o2) -> compareOrderDates(o1.getCreatedAt(), o2.getCreatedAt()));
+            case "week":
+                start.add(Calendar.DAY_OF_YEAR, -7);
                 break;
-            case "status":
-                Collections.sort(filteredOrders, (o1, o2) -> {
-                    int s1 = getStatusPriority(o1.getStatus());
-                    int s2 = getStatusPriority(o2.getStatus());
-                    return Integer.compare(s1, s2);
-                });
+            case "month":
+                start.set(Calendar.DAY_OF_MONTH, 1);
                 break;
-        }
-    }
-
-    private int compareOrderDates(String date1, String date2) {
-        if (date1 == null && date2 == null)
-            return 0;
-        if (date1 == null)
-            return 1;
-        if (date2 == null)
-            return -1;
-        return date1.compareTo(date2);
-    }
-
-    private int getStatusPriority(String status) {
-        if (status == null)
-            return 99;
-        switch (status.toLowerCase()) {
-            case "pending":
-                return 1;
-            case "received":
-                return 2;
-            case "washing":
-                return 3;
-            case "drying":
-                return 4;
-            case "folding":
-                return 5;
-            case "ready":
-                return 6;
-            case "delivered":
-                return 7;
-            case "cancelled":
-                return 8;
             default:
-                return 99;
+                return OrderSortIndex.UNKNOWN_EPOCH;
         }
+        start.set(Calendar.HOUR_OF_DAY, 0);
+        start.set(Calendar.MINUTE, 0);
+        start.set(Calendar.SECOND, 0);
+        start.set(Calendar.MILLISECOND, 0);
+        return start.getTimeInMillis();
     }
 
     private int getStatusColor(String status) {
@@ -673,22 +609,6 @@ public class HistoryFragment extends Fragment {
         }
     }
 
-    private boolean isSameDay(Calendar cal1, Calendar cal2) {
-        return cal1.get(Calendar.YEAR) == cal2.get(Calendar.YEAR) &&
-                cal1.get(Calendar.DAY_OF_YEAR) == cal2.get(Calendar.DAY_OF_YEAR);
-    }
-
-    private boolean isWithinWeek(Calendar now, Calendar order) {
-        Calendar weekAgo = (Calendar) now.clone();
-        weekAgo.add(Calendar.DAY_OF_YEAR, -7);
-        return order.after(weekAgo) || isSameDay(now, order);
-    }
-
-    private boolean isSameMonth(Calendar cal1, Calendar cal2) {
-        return cal1.get(Calendar.YEAR) == cal2.get(Calendar.YEAR) &&
-                cal1.get(Calendar.MONTH) == cal2.get(Calendar.MONTH);
-    }
-
     private boolean isInProgress(String status) {
         return "received".equalsIgnoreCase(status) ||
                 "washing".equalsIgnoreCase(status) ||
@@ -740,18 +660,9 @@ public class HistoryFragment extends Fragment {
 
     private void showQrCodeDialog(Order order) {
         currentOrderNumber = order.getOrderNumber();
-        String userName = LaundryBuddyApp.getInstance().getUserName();
-
-        // Get total items
-        int totalItems = order.getTotalItems();
 
         // Generate QR code content
-        String qrContent = QrCodeGenerator.buildOrderQrContent(
-                currentOrderNumber,
-                userName != null ? userName : "User",
-                "", // hostel room
-                totalItems,
-                order.getStatus());
+        String qrContent = QrCodeGenerator.buildOrderQrContent(order);
 
         currentQrBitmap = QrCodeGenerator.generateQrCode(qrContent, 400);
 
@@ -824,6 +735,9 @@ public class HistoryFragment extends Fragment {
     @Override
     public void onDestroyView() {
         super.onDestroyView();
+        if (exportTask != null) {
+            exportTask.cancel(true);
+        }
         binding = null;
     }
 }
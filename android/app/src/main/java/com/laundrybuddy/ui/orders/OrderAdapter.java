@@ -12,12 +12,11 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.laundrybuddy.R;
 import com.laundrybuddy.databinding.ItemOrderBinding;
 import com.laundrybuddy.models.Order;
+import com.laundrybuddy.utils.IsoDates;
+import com.laundrybuddy.utils.StableIds;
+import com.laundrybuddy.utils.TraceSection;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
 import java.util.List;
-import java.util.Locale;
 
 /**
  * RecyclerView Adapter for Order items with rating support
@@ -27,6 +26,7 @@ public class OrderAdapter extends RecyclerView.Adapter<OrderAdapter.OrderViewHol
     private final List<Order> orders;
     private final OnOrderClickListener clickListener;
     private OnRateClickListener rateListener;
+    private final StableIds stableIds = new StableIds();
 
     public interface OnOrderClickListener {
         void onOrderClick(Order order);
@@ -39,6 +39,7 @@ public class OrderAdapter extends RecyclerView.Adapter<OrderAdapter.OrderViewHol
     public OrderAdapter(List<Order> orders, OnOrderClickListener listener) {
         this.orders = orders;
         this.clickListener = listener;
+        setHasStableIds(true);
     }
 
     public void setRateClickListener(OnRateClickListener listener) {
@@ -55,8 +56,24 @@ public class OrderAdapter extends RecyclerView.Adapter<OrderAdapter.OrderViewHol
 
     @Override
     public void onBindViewHolder(@NonNull OrderViewHolder holder, int position) {
-        Order order = orders.get(position);
-        holder.bind(order, clickListener, rateListener);
+        TraceSection.begin("OrderAdapter.bind");
+        try {
+            Order order = orders.get(position);
+            holder.bind(order, clickListener, rateListener);
+        } finally {
+            TraceSection.end();
+        }
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        // Layout id as the type keeps rows apart in the shared view pool
+        return R.layout.item_order;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return stableIds.idFor(orders.get(position).getId());
     }
 
     @Override
@@ -81,7 +98,7 @@ public class OrderAdapter extends RecyclerView.Adapter<OrderAdapter.OrderViewHol
             binding.orderNumber.setText(orderNum);
 
             // Date
-            binding.orderDate.setText(formatDate(order.getCreatedAt()));
+            binding.orderDate.setText(formatDate(order));
 
             // Items Summary
             if (order.getItems() != null && !order.getItems().isEmpty()) {
@@ -175,17 +192,11 @@ public class OrderAdapter extends RecyclerView.Adapter<OrderAdapter.OrderViewHol
 
         // Removed getStatusBgColor as it is no longer used
 
-        private String formatDate(String isoDate) {
-            if (isoDate == null)
+        private String formatDate(Order order) {
+            if (order.getCreatedAt() == null)
                 return "";
-            try {
-                SimpleDateFormat isoFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
-                SimpleDateFormat displayFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.US);
-                Date date = isoFormat.parse(isoDate);
-                return date != null ? displayFormat.format(date) : isoDate;
-            } catch (ParseException e) {
-                return isoDate;
-            }
+            long createdAt = order.getCreatedAtMillis();
+            return createdAt != IsoDates.UNKNOWN ? IsoDates.format(createdAt, "MMM dd, yyyy") : order.getCreatedAt();
         }
     }
 }
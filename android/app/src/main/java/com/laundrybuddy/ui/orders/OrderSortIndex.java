@@ -0,0 +1,171 @@
+package com.laundrybuddy.ui.orders;
+
+import com.laundrybuddy.models.Order;
+import com.laundrybuddy.utils.IsoDates;
+import com.laundrybuddy.utils.TraceSection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Sort keys for the order history list, computed once per load.
+ *
+ * Each order's creation time (epoch millis), status rank and lower-cased search text
+ * are derived up front. Each sort mode is built once by packing its primary key and
+ * the order's position into one long and sorting a long[], so comparisons neither
+ * call comparators nor allocate. Built orderings are kept, so changing a filter or
+ * search query is a linear walk over the cached ordering rather than a re-sort.
+ *
+ * Orders without a parseable date sort last in both date directions; status ties
+ * keep newest-first order.
+ */
+final class OrderSortIndex {
+
+    static final String DATE_DESC = "date_desc";
+    static final String DATE_ASC = "date_asc";
+    static final String STATUS = "status";
+
+    static final long UNKNOWN_EPOCH = IsoDates.UNKNOWN;
+
+    private static final int INDEX_BITS = 21;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+    // Epoch millis fit in 42 bits until the year 2109
+    private static final long MAX_EPOCH = (1L << 42) - 1;
+    private static final int UNKNOWN_STATUS_RANK = 99;
+
+    private final List<Order> orders;
+    private final long[] epochs;
+    private final int[] statusRanks;
+    private final String[] searchTexts;
+    private final Map<String, int[]> orderings = new HashMap<>();
+
+    OrderSortIndex(List<Order> orders) {
+        if (orders.size() > INDEX_MASK) {
+            throw new IllegalArgumentException("Too many orders to index: " + orders.size());
+        }
+        this.orders = new ArrayList<>(orders);
+        int size = this.orders.size();
+        epochs = new long[size];
+        statusRanks = new int[size];
+        searchTexts = new String[size];
+
+        for (int i = 0; i < size; i++) {
+            Order order = this.orders.get(i);
+            epochs[i] = order.getCreatedAtMillis();
+            String status = order.getStatus() != null ? order.getStatus().toLowerCase(Locale.ROOT) : null;
+            statusRanks[i] = statusRank(status);
+            String number = order.getOrderNumber() != null ? order.getOrderNumber().toLowerCase(Locale.ROOT) : "";
+            // Separator keeps a query from matching across the two fields
+            searchTexts[i] = number + '\n' + (status != null ? status : "");
+        }
+    }
+
+    int size() {
+        return orders.size();
+    }
+
+    Order get(int index) {
+        return orders.get(index);
+    }
+
+    /**
+     * Creation time in epoch millis, or {@link #UNKNOWN_EPOCH}
+     */
+    long epochAt(int index) {
+        return epochs[index];
+    }
+
+    /**
+     * Whether the lower-cased order number or status contains the (lower-case) query
+     */
+    boolean matchesSearch(int index, String query) {
+        if (query.isEmpty()) {
+            return true;
+        }
+        return searchTexts[index].contains(query);
+    }
+
+    /**
+     * Order indices in the given sort mode. Built on first use, then cached.
+     */
+    int[] ordering(String mode) {
+        int[] ordering = orderings.get(mode);
+        if (ordering == null) {
+            TraceSection.begin("OrderSortIndex.build " + mode);
+            try {
+                ordering = build(mode);
+            } finally {
+                TraceSection.end();
+            }
+            orderings.put(mode, ordering);
+        }
+        return ordering;
+    }
+
+    private int[] build(String mode) {
+        int size = orders.size();
+        long[] keys = new long[size];
+        if (STATUS.equals(mode)) {
+            // Rank first, then position in newest-first order
+            int[] newestFirst = ordering(DATE_DESC);
+            for (int position = 0; position < size; position++) {
+                keys[position] = ((long) statusRanks[newestFirst[position]] << INDEX_BITS) | position;
+            }
+            Arrays.sort(keys);
+            int[] result = new int[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = newestFirst[(int) (keys[i] & INDEX_MASK)];
+            }
+            return result;
+        }
+
+        boolean descending = !DATE_ASC.equals(mode);
+        for (int i = 0; i < size; i++) {
+            long epoch = epochs[i];
+            long primary;
+            if (epoch == UNKNOWN_EPOCH) {
+                primary = MAX_EPOCH;
+            } else {
+                long clamped = Math.min(Math.max(epoch, 0), MAX_EPOCH - 1);
+                primary = descending ? MAX_EPOCH - 1 - clamped : clamped;
+            }
+            keys[i] = (primary << INDEX_BITS) | i;
+        }
+        Arrays.sort(keys);
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = (int) (keys[i] & INDEX_MASK);
+        }
+        return result;
+    }
+
+    private static int statusRank(String status) {
+        if (status == null) {
+            return UNKNOWN_STATUS_RANK;
+        }
+        switch (status) {
+            case "pending":
+                return 1;
+            case "received":
+                return 2;
+            case "washing":
+                return 3;
+            case "drying":
+                return 4;
+            case "folding":
+                return 5;
+            case "ready":
+                return 6;
+            case "delivered":
+                return 7;
+            case "cancelled":
+                return 8;
+            default:
+                return UNKNOWN_STATUS_RANK;
+        }
+    }
+}
@@ -11,12 +11,11 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.laundrybuddy.R;
 import com.laundrybuddy.databinding.ItemRecentOrderBinding;
 import com.laundrybuddy.models.Order;
+import com.laundrybuddy.utils.IsoDates;
+import com.laundrybuddy.utils.StableIds;
+import com.laundrybuddy.utils.TraceSection;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
 import java.util.List;
-import java.util.Locale;
 
 /**
  * Adapter for displaying recent orders in horizontal scroll
@@ -25,6 +24,7 @@ public class RecentOrderAdapter extends RecyclerView.Adapter<RecentOrderAdapter.
 
     private final List<Order> orders;
     private final OnOrderClickListener listener;
+    private final StableIds stableIds = new StableIds();
 
     public interface OnOrderClickListener {
         void onOrderClick(Order order);
@@ -33,6 +33,7 @@ public class RecentOrderAdapter extends RecyclerView.Adapter<RecentOrderAdapter.
     public RecentOrderAdapter(List<Order> orders, OnOrderClickListener listener) {
         this.orders = orders;
         this.listener = listener;
+        setHasStableIds(true);
     }
 
     @NonNull
@@ -45,7 +46,23 @@ public class RecentOrderAdapter extends RecyclerView.Adapter<RecentOrderAdapter.
 
     @Override
     public void onBindViewHolder(@NonNull RecentOrderViewHolder holder, int position) {
-        holder.bind(orders.get(position));
+        TraceSection.begin("RecentOrderAdapter.bind");
+        try {
+            holder.bind(orders.get(position), listener);
+        } finally {
+            TraceSection.end();
+        }
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        // Layout id as the type keeps rows apart in the shared view pool
+        return R.layout.item_recent_order;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return stableIds.idFor(orders.get(position).getId());
     }
 
     @Override
@@ -53,7 +70,7 @@ public class RecentOrderAdapter extends RecyclerView.Adapter<RecentOrderAdapter.
         return orders.size();
     }
 
-    class RecentOrderViewHolder extends RecyclerView.ViewHolder {
+    static class RecentOrderViewHolder extends RecyclerView.ViewHolder {
         private final ItemRecentOrderBinding binding;
 
         RecentOrderViewHolder(ItemRecentOrderBinding binding) {
@@ -61,7 +78,7 @@ public class RecentOrderAdapter extends RecyclerView.Adapter<RecentOrderAdapter.
             this.binding = binding;
         }
 
-        void bind(Order order) {
+        void bind(Order order, OnOrderClickListener listener) {
             // Order number from backend already may have ORD prefix
             String orderNum = order.getOrderNumber();
             if (orderNum != null && !orderNum.startsWith("ORD")) {
@@ -78,7 +95,7 @@ public class RecentOrderAdapter extends RecyclerView.Adapter<RecentOrderAdapter.
             binding.statusText.setTextColor(statusColor);
             binding.accentBar.setBackgroundColor(statusColor);
 
-            binding.orderDate.setText(formatDate(order.getCreatedAt()));
+            binding.orderDate.setText(formatDate(order));
 
             // Items Summary
             binding.itemsSummary.setText(getItemsSummary(order));
@@ -189,17 +206,11 @@ public class RecentOrderAdapter extends RecyclerView.Adapter<RecentOrderAdapter.
             }
         }
 
-        private String formatDate(String dateString) {
-            if (dateString == null)
+        private String formatDate(Order order) {
+            if (order.getCreatedAt() == null)
                 return "";
-            try {
-                SimpleDateFormat inputFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.getDefault());
-                Date date = inputFormat.parse(dateString);
-                SimpleDateFormat outputFormat = new SimpleDateFormat("dd/MM/yyyy", Locale.getDefault());
-                return outputFormat.format(date);
-            } catch (ParseException e) {
-                return dateString;
-            }
+            long createdAt = order.getCreatedAtMillis();
+            return createdAt != IsoDates.UNKNOWN ? IsoDates.format(createdAt, "dd/MM/yyyy") : order.getCreatedAt();
         }
     }
 }
@@ -21,22 +21,17 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.google.android.material.button.MaterialButton;
 import com.laundrybuddy.LaundryBuddyApp;
 import com.laundrybuddy.R;
-import com.laundrybuddy.api.ApiClient;
 import com.laundrybuddy.databinding.ActivitySubmitOrderBinding;
-import com.laundrybuddy.models.ApiResponse;
 import com.laundrybuddy.models.Order;
+import com.laundrybuddy.models.requests.CreateOrderRequest;
+import com.laundrybuddy.repositories.OrderSubmissionQueue;
+import com.laundrybuddy.utils.IsoDates;
 import com.laundrybuddy.utils.QrCodeGenerator;
 import com.laundrybuddy.utils.ToastManager;
 
 import java.io.OutputStream;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
 
 /**
  * Activity for submitting new laundry orders
@@ -49,7 +44,7 @@ public class SubmitOrderActivity extends AppCompatActivity {
     private ActivitySubmitOrderBinding binding;
 
     // Dynamic list of items
-    private List<Map<String, Object>> dynamicItems = new ArrayList<>();
+    private List<Order.OrderItem> dynamicItems = new ArrayList<>();
 
     private Bitmap currentQrBitmap;
     private String currentOrderNumber;
@@ -103,10 +98,10 @@ public class SubmitOrderActivity extends AppCompatActivity {
         }
 
         // Add to list
-        Map<String, Object> item = new HashMap<>();
-        item.put("name", name);
-        item.put("quantity", qty);
-        item.put("category", "micellaneous"); // Default category
+        Order.OrderItem item = new Order.OrderItem();
+        item.setName(name);
+        item.setQuantity(qty);
+        item.setCategory("micellaneous"); // Default category
 
         dynamicItems.add(item);
 
@@ -121,9 +116,9 @@ public class SubmitOrderActivity extends AppCompatActivity {
         updateTotalItems();
     }
 
-    private void addItemView(Map<String, Object> item) {
-        String name = (String) item.get("name");
-        int quantity = (int) item.get("quantity");
+    private void addItemView(Order.OrderItem item) {
+        String name = item.getName();
+        int quantity = item.getQuantity();
 
         LinearLayout row = new LinearLayout(this);
         row.setOrientation(LinearLayout.HORIZONTAL);
@@ -162,16 +157,16 @@ public class SubmitOrderActivity extends AppCompatActivity {
 
     private void updateTotalItems() {
         int total = 0;
-        for (Map<String, Object> item : dynamicItems) {
-            total += (int) item.get("quantity");
+        for (Order.OrderItem item : dynamicItems) {
+            total += item.getQuantity();
         }
         binding.totalItems.setText(String.valueOf(total));
     }
 
     private void submitOrder() {
         int total = 0;
-        for (Map<String, Object> item : dynamicItems) {
-            total += (int) item.get("quantity");
+        for (Order.OrderItem item : dynamicItems) {
+            total += item.getQuantity();
         }
 
         if (total == 0 || dynamicItems.isEmpty()) {
@@ -181,116 +176,57 @@ public class SubmitOrderActivity extends AppCompatActivity {
 
         setLoading(true);
 
-        // Build request body
-        Map<String, Object> body = new HashMap<>();
-        body.put("items", dynamicItems);
-        body.put("totalItems", total);
-
-        // Add required fields
-        body.put("serviceType", "Wash & Fold"); // Default service
         // Format dates as proper ISO8601 (yyyy-MM-dd'T'HH:mm:ss.SSS'Z')
-        java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'",
-                java.util.Locale.US);
-        sdf.setTimeZone(java.util.TimeZone.getTimeZone("UTC"));
         java.util.Calendar calendar = java.util.Calendar.getInstance();
-        String today = sdf.format(calendar.getTime());
+        String today = IsoDates.toIso(calendar.getTimeInMillis());
 
         calendar.add(java.util.Calendar.DAY_OF_YEAR, 1);
-        String tomorrow = sdf.format(calendar.getTime());
-
-        body.put("pickupDate", today);
-        body.put("pickupTime", "Anytime");
-        body.put("deliveryDate", tomorrow);
-        body.put("totalAmount", total * 10);
+        String tomorrow = IsoDates.toIso(calendar.getTimeInMillis());
 
         // Include profile info in order
         LaundryBuddyApp appInstance = LaundryBuddyApp.getInstance();
         String hostelRoom = appInstance.getPrefs().getString("hostel_room", "");
         String phone = appInstance.getPrefs().getString("phone", "");
-        body.put("address", hostelRoom);
-        body.put("phone", phone);
 
         String instructions = binding.instructionsInput.getText().toString().trim();
-        if (!instructions.isEmpty()) {
-            body.put("specialInstructions", instructions);
-        }
 
-        Log.d(TAG, "Submitting order: " + new com.google.gson.Gson().toJson(body));
-        String token = appInstance.getAuthToken();
-        Log.d(TAG, "Auth token present: " + (token != null && !token.isEmpty()));
+        CreateOrderRequest request = new CreateOrderRequest(new ArrayList<>(dynamicItems))
+                .setService("Wash & Fold", total * 10) // Default service
+                .setSchedule(today, "Anytime", tomorrow)
+                .setContact(hostelRoom, phone)
+                .setSpecialInstructions(instructions.isEmpty() ? null : instructions);
+
+        Log.d(TAG, "Submitting order with " + dynamicItems.size() + " item types, " + total + " pieces");
 
-        ApiClient.getInstance().getOrderApi().createOrder(body).enqueue(new Callback<ApiResponse<Order>>() {
+        // Saved locally before sending, so a failed request never loses the order
+        OrderSubmissionQueue.getInstance(this).submit(request, new OrderSubmissionQueue.SubmitCallback() {
             @Override
-            public void onResponse(Call<ApiResponse<Order>> call, Response<ApiResponse<Order>> response) {
+            public void onSubmitted(Order order) {
                 setLoading(false);
+                showQrCodeDialog(order);
+            }
 
-                if (response.isSuccessful() && response.body() != null) {
-                    ApiResponse<Order> apiResponse = response.body();
-                    if (apiResponse.isSuccess() && apiResponse.getData() != null) {
-                        Order order = apiResponse.getData();
-                        showQrCodeDialog(order);
-                    } else {
-                        String error = apiResponse.getMessage() != null ? apiResponse.getMessage()
-                                : "Failed to submit order";
-                        ToastManager.showError(SubmitOrderActivity.this, error);
-                    }
-                } else {
-                    String errorBody = "";
-                    try {
-                        if (response.errorBody() != null) {
-                            errorBody = response.errorBody().string();
-                            Log.e(TAG, "Error " + response.code() + ": " + errorBody);
-                        }
-                    } catch (Exception e) {
-                        Log.e(TAG, "Error reading body", e);
-                    }
-                    // Try to extract message from error body
-                    String msg = "Failed: " + response.code();
-                    if (!errorBody.isEmpty()) {
-                        try {
-                            org.json.JSONObject json = new org.json.JSONObject(errorBody);
-                            if (json.has("message")) {
-                                msg = json.getString("message");
-                            }
-                        } catch (Exception ignored) {
-                        }
-                    }
-                    ToastManager.showError(SubmitOrderActivity.this, msg);
-                }
+            @Override
+            public void onQueued(Order provisionalOrder) {
+                setLoading(false);
+                ToastManager.showInfo(SubmitOrderActivity.this,
+                        "Server unreachable, your order will be sent automatically");
+                showQrCodeDialog(provisionalOrder);
             }
 
             @Override
-            public void onFailure(Call<ApiResponse<Order>> call, Throwable t) {
+            public void onRejected(String message) {
                 setLoading(false);
-                Log.e(TAG, "Network Failed", t);
-                String errorMsg;
-                if (t instanceof java.net.SocketTimeoutException) {
-                    errorMsg = "Server is waking up, please try again in a moment";
-                } else {
-                    errorMsg = "Network Error: " + t.getMessage();
-                }
-                ToastManager.showError(SubmitOrderActivity.this, errorMsg);
+                ToastManager.showError(SubmitOrderActivity.this, message);
             }
         });
     }
 
     private void showQrCodeDialog(Order order) {
         currentOrderNumber = order.getOrderNumber();
-        String userName = LaundryBuddyApp.getInstance().getUserName();
-        // Recalculate total for QR
-        int totalItems = 0;
-        for (Map<String, Object> item : dynamicItems) {
-            totalItems += (int) item.get("quantity");
-        }
 
         // Generate QR code content
-        String hostelRoom = LaundryBuddyApp.getInstance().getPrefs().getString("hostel_room", "");
-        String qrContent = QrCodeGenerator.buildOrderQrContent(
-                currentOrderNumber,
-                userName != null ? userName : "User",
-                hostelRoom,
-                totalItems,
-                order.getStatus());
+        String qrContent = QrCodeGenerator.buildOrderQrContent(order);
 
         currentQrBitmap = QrCodeGenerator.generateQrCode(qrContent, 400);
 
@@ -303,7 +239,12 @@ public class SubmitOrderActivity extends AppCompatActivity {
         MaterialButton shareBtn = dialogView.findViewById(R.id.shareQrButton);
         View doneBtn = dialogView.findViewById(R.id.doneButton);
 
-        orderNumberText.setText("Order #" + currentOrderNumber);
+        if (order.isProvisional()) {
+            // Replaced by the real order number once the queued submission goes through
+            orderNumberText.setText("Order #" + currentOrderNumber + " (waiting to send)");
+        } else {
+            orderNumberText.setText("Order #" + currentOrderNumber);
+        }
         if (currentQrBitmap != null) {
             qrCodeImage.setImageBitmap(currentQrBitmap);
         }
@@ -321,7 +262,8 @@ public class SubmitOrderActivity extends AppCompatActivity {
 
         doneBtn.setOnClickListener(v -> {
             dialog.dismiss();
-            ToastManager.showSuccess(this, "Order submitted successfully!");
+            ToastManager.showSuccess(this, order.isProvisional() ? "Order saved, it will be sent when online"
+                    : "Order submitted successfully!");
             finish();
         });
 
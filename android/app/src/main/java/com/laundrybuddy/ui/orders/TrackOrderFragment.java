@@ -16,7 +16,6 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
-import androidx.recyclerview.widget.LinearLayoutManager;
 import android.widget.TextView;
 import android.widget.ImageView;
 import com.google.android.material.button.MaterialButton;
@@ -30,10 +29,10 @@ import com.laundrybuddy.models.ApiResponse;
 import com.laundrybuddy.models.Order;
 import com.laundrybuddy.models.Tracking;
 import com.laundrybuddy.ui.scanner.QrScannerActivity;
+import com.laundrybuddy.utils.OrderQrPayload;
+import com.laundrybuddy.utils.RecyclerPools;
 import com.laundrybuddy.utils.ToastManager;
 
-import org.json.JSONObject;
-
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
@@ -153,8 +152,7 @@ public class TrackOrderFragment extends Fragment {
                 searchOrder(cleanOrdNum);
             }
         });
-        binding.recentOrdersRecycler.setLayoutManager(
-                new LinearLayoutManager(getContext()));
+        RecyclerPools.attach(binding.recentOrdersRecycler, requireActivity());
         binding.recentOrdersRecycler.setAdapter(recentOrderAdapter);
 
         // Setup Show My QR button for showing QR of first/selected order
@@ -218,20 +216,18 @@ public class TrackOrderFragment extends Fragment {
     }
 
     private void handleScannedContent(String content) {
-        try {
-            JSONObject json = new JSONObject(content);
-            String orderNumber = json.optString("t", "");
-            if (!orderNumber.isEmpty()) {
-                binding.searchInput.setText(orderNumber);
-                searchOrder(orderNumber);
-                return;
-            }
-        } catch (Exception e) {
-            // Not JSON, treat as plain order number
+        OrderQrPayload.Decoded decoded = OrderQrPayload.decode(content);
+        // Read-only lookup, so any label is fine: it carries no more than typing the number
+        if (!decoded.isSigned() && !decoded.isUnsigned()) {
+            // Unknown format: let the search decide
+            binding.searchInput.setText(content);
+            searchOrder(content);
+            return;
         }
 
-        binding.searchInput.setText(content);
-        searchOrder(content);
+        String orderNumber = decoded.getOrderNumber();
+        binding.searchInput.setText(orderNumber);
+        searchOrder(orderNumber);
     }
 
     private void searchOrder(String query) {
@@ -314,15 +310,8 @@ public class TrackOrderFragment extends Fragment {
         try {
             // Build QR dialog inline since QrCodeDialog class is not available
             String orderNumber = order.getOrderNumber();
-            int totalItems = order.getTotalItems();
-            String userName = com.laundrybuddy.LaundryBuddyApp.getInstance().getUserName();
-
-            String qrContent = com.laundrybuddy.utils.QrCodeGenerator.buildOrderQrContent(
-                    orderNumber,
-                    userName != null ? userName : "User",
-                    "",
-                    totalItems,
-                    order.getStatus());
+
+            String qrContent = com.laundrybuddy.utils.QrCodeGenerator.buildOrderQrContent(order);
 
             android.graphics.Bitmap qrBitmap = com.laundrybuddy.utils.QrCodeGenerator.generateQrCode(qrContent, 400);
 
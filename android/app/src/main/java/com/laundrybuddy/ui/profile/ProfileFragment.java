@@ -1,11 +1,8 @@
 package com.laundrybuddy.ui.profile;
 
-import android.content.ContentResolver;
 import android.content.Intent;
-import android.database.Cursor;
 import android.net.Uri;
 import android.os.Bundle;
-import android.provider.OpenableColumns;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -18,7 +15,6 @@ import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
 
 import com.bumptech.glide.Glide;
-import com.bumptech.glide.load.engine.DiskCacheStrategy;
 import com.laundrybuddy.LaundryBuddyApp;
 import com.laundrybuddy.R;
 import com.laundrybuddy.api.ApiClient;
@@ -26,21 +22,18 @@ import com.laundrybuddy.databinding.FragmentProfileBinding;
 import com.laundrybuddy.models.ApiResponse;
 import com.laundrybuddy.models.Order;
 import com.laundrybuddy.models.User;
+import com.laundrybuddy.models.requests.AuthRequest;
+import com.laundrybuddy.repositories.ProfilePhotoUploader;
 import com.laundrybuddy.ui.auth.LoginActivity;
 import com.laundrybuddy.ui.support.ContactActivity;
+import com.laundrybuddy.utils.AvatarLoader;
+import com.laundrybuddy.utils.NetworkScheduler;
+import com.laundrybuddy.utils.PhotoCompressor;
 import com.laundrybuddy.utils.ThemeManager;
 import com.laundrybuddy.utils.ToastManager;
 
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.InputStream;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
-import okhttp3.MediaType;
-import okhttp3.MultipartBody;
-import okhttp3.RequestBody;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -81,8 +74,16 @@ public class ProfileFragment extends Fragment {
         setupSettings();
         setupClickListeners();
         setupEditMode();
-        loadProfilePhoto();
-        loadOrderStatistics();
+        // Avatar and stats are non-critical; hold them back on congested links
+        NetworkScheduler scheduler = NetworkScheduler.getInstance();
+        scheduler.runDeferrable(() -> {
+            if (binding != null)
+                loadProfilePhoto();
+        });
+        scheduler.runDeferrable(() -> {
+            if (binding != null)
+                loadOrderStatistics();
+        });
         refreshUserInfo();
     }
 
@@ -108,7 +109,10 @@ public class ProfileFragment extends Fragment {
                     if (user != null) {
                         app.saveFullUserInfo(user);
                         setupUserInfo();
-                        loadProfilePhoto();
+                        // On a poor link the deferred load picks up the new photo later
+                        if (NetworkScheduler.getInstance().shouldLoadImages()) {
+                            loadProfilePhoto();
+                        }
                     }
                 }
             }
@@ -121,32 +125,11 @@ public class ProfileFragment extends Fragment {
     }
 
     private void loadProfilePhoto() {
-        String profilePhotoUrl = app.getPrefs().getString("profile_photo", null);
-        if (profilePhotoUrl != null && !profilePhotoUrl.isEmpty()) {
-            String fullUrl;
-            if (profilePhotoUrl.startsWith("http")) {
-                fullUrl = profilePhotoUrl;
-            } else {
-                String baseUrl = ApiClient.getBaseUrl().replace("/api", "");
-                // Ensure baseUrl doesn't end with slash if profilePhotoUrl starts with one
-                if (baseUrl.endsWith("/") && profilePhotoUrl.startsWith("/")) {
-                    fullUrl = baseUrl + profilePhotoUrl.substring(1);
-                } else if (!baseUrl.endsWith("/") && !profilePhotoUrl.startsWith("/")) {
-                    fullUrl = baseUrl + "/" + profilePhotoUrl;
-                } else {
-                    fullUrl = baseUrl + profilePhotoUrl;
-                }
-            }
-
-            Log.d(TAG, "Loading profile photo: " + fullUrl);
-
-            Glide.with(this)
-                    .load(fullUrl)
-                    .diskCacheStrategy(DiskCacheStrategy.NONE)
-                    .skipMemoryCache(true)
-                    .placeholder(android.R.drawable.ic_menu_gallery)
-                    .error(android.R.drawable.ic_menu_gallery)
-                    .into(binding.profilePhoto);
+        String profilePhoto = app.getPrefs().getString("profile_photo", null);
+        if (profilePhoto != null && !profilePhoto.isEmpty()) {
+            Log.d(TAG, "Loading profile photo: " + profilePhoto);
+            AvatarLoader.load(Glide.with(this), profilePhoto, binding.profilePhoto,
+                    binding.profilePhoto.getLayoutParams().width, android.R.drawable.ic_menu_gallery);
         }
     }
 
@@ -251,12 +234,7 @@ public class ProfileFragment extends Fragment {
             return;
         }
 
-        // Create request body
-        Map<String, String> updates = new HashMap<>();
-        updates.put("hostelRoom", newHostelRoom);
-        updates.put("phone", newPhone);
-
-        ApiClient.getInstance().getAuthApi().updateProfile(updates)
+        ApiClient.getInstance().getAuthApi().updateProfile(AuthRequest.profile(newHostelRoom, newPhone))
                 .enqueue(new Callback<ApiResponse<User>>() {
                     @Override
                     public void onResponse(Call<ApiResponse<User>> call, Response<ApiResponse<User>> response) {
@@ -316,146 +294,73 @@ public class ProfileFragment extends Fragment {
         if (uri == null || !isAdded())
             return;
 
-        if (getContext() != null) {
-            ToastManager.showInfo(getContext(), "Uploading photo...");
-        }
-
-        try {
-            File file = getFileFromUri(uri);
-            if (file == null) {
-                if (getContext() != null) {
-                    ToastManager.showError(getContext(), "Failed to process image");
-                }
-                return;
-            }
-
-            RequestBody requestBody = RequestBody.create(MediaType.parse("image/*"), file);
-            MultipartBody.Part photoPart = MultipartBody.Part.createFormData("photo", file.getName(), requestBody);
-
-            ApiClient.getInstance().getAuthApi().uploadProfilePhoto(photoPart)
-                    .enqueue(new Callback<ApiResponse<User>>() {
-                        @Override
-                        public void onResponse(Call<ApiResponse<User>> call, Response<ApiResponse<User>> response) {
-                            if (binding == null || !isAdded())
-                                return;
-
-                            Log.d(TAG, "Upload response: " + response.code() + " " + response.message());
-                            if (response.isSuccessful() && response.body() != null) {
-                                ApiResponse<User> apiResponse = response.body();
-                                Log.d(TAG, "Upload success: " + apiResponse.isSuccess() + ", msg: "
-                                        + apiResponse.getMessage());
-                                if (apiResponse.isSuccess()) {
-                                    User user = apiResponse.getData();
-                                    if (user == null) {
-                                        user = apiResponse.getUser();
-                                    }
+        setUploading(true);
+        binding.changePhotoText.setText("Preparing photo...");
+        PhotoCompressor.compressAsync(requireContext(), uri, PhotoCompressor.AVATAR_SIZE,
+                new PhotoCompressor.Callback() {
+                    @Override
+                    public void onSuccess(PhotoCompressor.Result result) {
+                        if (binding == null || !isAdded())
+                            return;
+                        uploadPhoto(result);
+                    }
 
-                                    if (user != null && user.getProfilePhoto() != null) {
-                                        Log.d(TAG, "New photo URL: " + user.getProfilePhoto());
-                                        app.getPrefs().edit()
-                                                .putString("profile_photo", user.getProfilePhoto())
-                                                .apply();
-                                        loadProfilePhoto();
-                                        if (getContext() != null) {
-                                            ToastManager.showSuccess(getContext(), "Profile photo updated!");
-                                        }
-                                    } else {
-                                        Log.w(TAG, "User or photo URL null in response");
-                                        if (getContext() != null) {
-                                            ToastManager.showError(getContext(), "Response missing photo data");
-                                        }
-                                    }
-                                } else {
-                                    if (getContext() != null) {
-                                        ToastManager.showError(getContext(),
-                                                apiResponse.getMessage() != null ? apiResponse.getMessage()
-                                                        : "Upload failed");
-                                    }
-                                }
-                            } else {
-                                try {
-                                    String errorBody = response.errorBody() != null ? response.errorBody().string()
-                                            : "Unknown error";
-                                    Log.e(TAG, "Upload failed: " + errorBody);
-                                } catch (Exception e) {
-                                }
-                                if (getContext() != null) {
-                                    ToastManager.showError(getContext(), "Failed to upload photo");
-                                }
-                            }
-                        }
+                    @Override
+                    public void onError(String message) {
+                        if (binding == null || !isAdded())
+                            return;
+                        setUploading(false);
+                        ToastManager.showError(requireContext(), message);
+                    }
+                });
+    }
 
-                        @Override
-                        public void onFailure(Call<ApiResponse<User>> call, Throwable t) {
-                            if (!isAdded())
-                                return;
+    private void uploadPhoto(PhotoCompressor.Result photo) {
+        ProfilePhotoUploader.getInstance(requireContext()).upload(photo.file, photo.mediaType,
+                new ProfilePhotoUploader.UploadCallback() {
+                    @Override
+                    public void onProgress(int percent) {
+                        if (binding == null)
+                            return;
+                        binding.photoUploadProgress.setProgressCompat(percent, true);
+                        binding.changePhotoText.setText("Uploading " + percent + "%");
+                    }
 
-                            Log.e(TAG, "Photo upload failed", t);
-                            if (getContext() != null) {
-                                ToastManager.showError(getContext(), getString(R.string.error_network));
-                            }
-                        }
-                    });
+                    @Override
+                    public void onUploaded(User user) {
+                        if (binding == null || !isAdded())
+                            return;
+                        setUploading(false);
+                        loadProfilePhoto();
+                        ToastManager.showSuccess(requireContext(), "Profile photo updated!");
+                    }
 
-        } catch (Exception e) {
-            Log.e(TAG, "Error processing image", e);
-            if (getContext() != null) {
-                ToastManager.showError(getContext(), "Failed to process image");
-            }
-        }
-    }
+                    @Override
+                    public void onQueued() {
+                        if (binding == null || !isAdded())
+                            return;
+                        setUploading(false);
+                        ToastManager.showInfo(requireContext(), "Connection lost. Photo will finish uploading later");
+                    }
 
-    private File getFileFromUri(Uri uri) {
-        if (getContext() == null)
-            return null;
-
-        try {
-            ContentResolver contentResolver = getContext().getContentResolver();
-            String fileName = getFileName(uri);
-            File tempFile = new File(getContext().getCacheDir(), fileName);
-
-            InputStream inputStream = contentResolver.openInputStream(uri);
-            if (inputStream != null) {
-                FileOutputStream outputStream = new FileOutputStream(tempFile);
-                byte[] buffer = new byte[4096];
-                int bytesRead;
-                while ((bytesRead = inputStream.read(buffer)) != -1) {
-                    outputStream.write(buffer, 0, bytesRead);
-                }
-                outputStream.close();
-                inputStream.close();
-                return tempFile;
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error getting file from URI", e);
-        }
-        return null;
+                    @Override
+                    public void onFailed(String message) {
+                        if (binding == null || !isAdded())
+                            return;
+                        setUploading(false);
+                        ToastManager.showError(requireContext(), message);
+                    }
+                });
     }
 
-    private String getFileName(Uri uri) {
-        String result = "profile_photo.jpg";
-        if (getContext() == null)
-            return result;
-
-        if (uri.getScheme().equals("content")) {
-            try (Cursor cursor = getContext().getContentResolver().query(uri, null, null, null, null)) {
-                if (cursor != null && cursor.moveToFirst()) {
-                    int index = cursor.getColumnIndex(OpenableColumns.DISPLAY_NAME);
-                    if (index >= 0) {
-                        result = cursor.getString(index);
-                    }
-                }
-            }
-        } else {
-            String path = uri.getPath();
-            if (path != null) {
-                int lastSlash = path.lastIndexOf('/');
-                if (lastSlash != -1) {
-                    result = path.substring(lastSlash + 1);
-                }
-            }
+    private void setUploading(boolean uploading) {
+        binding.profilePhoto.setEnabled(!uploading);
+        binding.changePhotoText.setEnabled(!uploading);
+        binding.photoUploadProgress.setProgressCompat(0, false);
+        binding.photoUploadProgress.setVisibility(uploading ? View.VISIBLE : View.GONE);
+        if (!uploading) {
+            binding.changePhotoText.setText(R.string.change_photo);
         }
-        return result;
     }
 
     private void logout() {
@@ -19,30 +19,52 @@ import androidx.camera.view.PreviewView;
 import androidx.core.app.ActivityCompat;
 import androidx.core.content.ContextCompat;
 
+import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 import com.google.mlkit.vision.barcode.BarcodeScanning;
 import com.google.mlkit.vision.barcode.common.Barcode;
 import com.google.mlkit.vision.common.InputImage;
 import com.laundrybuddy.databinding.ActivityQrScannerBinding;
+import com.laundrybuddy.utils.HapticFeedback;
+import com.laundrybuddy.utils.OrderQrPayload;
 import com.laundrybuddy.utils.QrCodeScanner;
 import com.laundrybuddy.utils.ToastManager;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * QR Code Scanner Activity
- * Uses CameraX and ML Kit for barcode scanning
+ * Uses CameraX and ML Kit for barcode scanning.
+ * With {@link #EXTRA_CONTINUOUS} it stays open and collects a batch for bulk intake,
+ * returned as {@link #EXTRA_SCANNED_BATCH}: v1 label payloads, which the caller verifies
+ * with the server, and bare order numbers that staff typed or confirmed by hand.
  */
 public class QrScannerActivity extends AppCompatActivity implements QrCodeScanner.QrScanCallback {
 
     public static final String EXTRA_SCANNED_CONTENT = "scanned_content";
+    public static final String EXTRA_CONTINUOUS = "continuous";
+    public static final String EXTRA_SCANNED_BATCH = "scanned_batch";
+    // Set when staff typed the token instead of scanning a label
+    public static final String EXTRA_MANUAL_ENTRY = "manual_entry";
     public static final int RESULT_SCANNED = 1001;
+    public static final int RESULT_BATCH = 1002;
     private static final int CAMERA_PERMISSION_CODE = 100;
+    private static final String STATE_BATCH = "batch";
+    private static final String STATE_UNSIGNED_BATCH = "unsigned_batch";
 
     private ActivityQrScannerBinding binding;
     private QrCodeScanner qrScanner;
     private boolean torchEnabled = false;
+    private boolean continuousMode = false;
+    // Order number to what is returned for it (label payload or typed number), in scan order;
+    // the keys also reject repeats beyond the scanner's dedupe window
+    private final LinkedHashMap<String, String> batch = new LinkedHashMap<>();
+    // Unsigned (pre-signing) labels, only returned if staff confirm them when finishing
+    private final LinkedHashSet<String> unsignedBatch = new LinkedHashSet<>();
 
     private final ActivityResultLauncher<Intent> galleryLauncher = registerForActivityResult(
             new ActivityResultContracts.StartActivityForResult(),
@@ -62,6 +84,13 @@ public class QrScannerActivity extends AppCompatActivity implements QrCodeScanne
         setContentView(binding.getRoot());
 
         qrScanner = new QrCodeScanner(this, this);
+        continuousMode = getIntent().getBooleanExtra(EXTRA_CONTINUOUS, false);
+        if (continuousMode) {
+            qrScanner.setContinuousMode(true, QrCodeScanner.DEFAULT_DEDUPE_WINDOW_MS);
+            binding.scannerTitle.setText("Batch Intake");
+            binding.batchDoneButton.setVisibility(View.VISIBLE);
+            restoreBatch(savedInstanceState);
+        }
 
         setupCameraSpinner();
         setupClickListeners();
@@ -77,7 +106,8 @@ public class QrScannerActivity extends AppCompatActivity implements QrCodeScanne
     }
 
     private void setupClickListeners() {
-        binding.closeButton.setOnClickListener(v -> finish());
+        binding.closeButton.setOnClickListener(v -> onBackPressed());
+        binding.batchDoneButton.setOnClickListener(v -> finishBatch());
 
         binding.galleryButton.setOnClickListener(v -> {
             Intent intent = new Intent(Intent.ACTION_PICK, MediaStore.Images.Media.EXTERNAL_CONTENT_URI);
@@ -97,6 +127,7 @@ public class QrScannerActivity extends AppCompatActivity implements QrCodeScanne
         binding.retryButton.setOnClickListener(v -> {
             if (qrScanner != null) {
                 qrScanner.stopScanning();
+                qrScanner.clearRecentCodes();
                 startScanning();
             }
             updateStatus("⚠️ Scanning... Hold QR steady, ensure good lighting");
@@ -119,10 +150,25 @@ public class QrScannerActivity extends AppCompatActivity implements QrCodeScanne
             }
             
             binding.manualError.setVisibility(View.GONE);
-            onQrCodeScanned(token);
+            onTokenEntered(token);
         });
     }
 
+    /**
+     * A token typed by staff is their own lookup, so unlike a scanned label it needs no signature
+     */
+    private void onTokenEntered(String token) {
+        if (continuousMode) {
+            addToBatch(token, true);
+            return;
+        }
+        Intent resultIntent = new Intent();
+        resultIntent.putExtra(EXTRA_SCANNED_CONTENT, token);
+        resultIntent.putExtra(EXTRA_MANUAL_ENTRY, true);
+        setResult(RESULT_SCANNED, resultIntent);
+        finish();
+    }
+
     private String extractToken(String input) {
         // Try to extract token from URL or raw text
         // Pattern: LB-YYYYMMDD-#### or LB-YYYY-####
@@ -202,6 +248,10 @@ public class QrScannerActivity extends AppCompatActivity implements QrCodeScanne
 
     @Override
     public void onQrCodeScanned(String content) {
+        if (continuousMode) {
+            runOnUiThread(() -> addToBatch(content, false));
+            return;
+        }
         runOnUiThread(() -> {
             updateStatus("QR Code found!");
             ToastManager.showSuccess(this, "QR Code scanned!");
@@ -214,6 +264,122 @@ public class QrScannerActivity extends AppCompatActivity implements QrCodeScanne
         });
     }
 
+    /**
+     * Check a scanned label (or typed number) and add its order to the batch
+     */
+    private void addToBatch(String content, boolean manual) {
+        OrderQrPayload.Decoded decoded = OrderQrPayload.decode(content);
+        if (!decoded.isSigned() && !decoded.isUnsigned()) {
+            HapticFeedback.error(this);
+            updateStatus("❌ Unrecognized QR code");
+            return;
+        }
+
+        String orderNumber = decoded.getOrderNumber();
+        if (decoded.isUnsigned() && !manual) {
+            if (batch.containsKey(orderNumber) || !unsignedBatch.add(orderNumber)) {
+                updateStatus("Already scanned #" + orderNumber + " (" + batchSize() + " scanned)");
+                return;
+            }
+            HapticFeedback.error(this);
+            updateStatus("⚠️ #" + orderNumber + " has an unsigned label - confirm it when finishing");
+            updateDoneButton();
+            return;
+        }
+
+        // A signed scan or typed number supersedes an earlier unsigned scan of the same order
+        unsignedBatch.remove(orderNumber);
+        if (batch.putIfAbsent(orderNumber, decoded.isSigned() ? decoded.getPayload() : orderNumber) == null) {
+            HapticFeedback.success(this);
+            updateStatus("✅ #" + orderNumber + " added (" + batchSize() + " scanned)");
+            updateDoneButton();
+        } else {
+            updateStatus("Already scanned #" + orderNumber + " (" + batchSize() + " scanned)");
+        }
+    }
+
+    /**
+     * Bring back a batch saved before the process was killed, so a long intake session isn't lost
+     */
+    private void restoreBatch(Bundle savedInstanceState) {
+        if (savedInstanceState == null) {
+            return;
+        }
+        ArrayList<String> saved = savedInstanceState.getStringArrayList(STATE_BATCH);
+        ArrayList<String> savedUnsigned = savedInstanceState.getStringArrayList(STATE_UNSIGNED_BATCH);
+        if (saved != null) {
+            for (String entry : saved) {
+                batch.put(OrderQrPayload.decode(entry).getOrderNumber(), entry);
+            }
+        }
+        if (savedUnsigned != null) {
+            unsignedBatch.addAll(savedUnsigned);
+        }
+        updateDoneButton();
+    }
+
+    @Override
+    protected void onSaveInstanceState(@NonNull Bundle outState) {
+        super.onSaveInstanceState(outState);
+        outState.putStringArrayList(STATE_BATCH, new ArrayList<>(batch.values()));
+        outState.putStringArrayList(STATE_UNSIGNED_BATCH, new ArrayList<>(unsignedBatch));
+    }
+
+    private int batchSize() {
+        return batch.size() + unsignedBatch.size();
+    }
+
+    private void updateDoneButton() {
+        binding.batchDoneButton.setText("Done (" + batchSize() + ")");
+        binding.batchDoneButton.setEnabled(batchSize() > 0);
+    }
+
+    private void finishBatch() {
+        if (unsignedBatch.isEmpty()) {
+            returnBatch(new ArrayList<>(batch.values()));
+            return;
+        }
+        // Unsigned labels can be forged; staff confirm each bag by hand before they count
+        new MaterialAlertDialogBuilder(this)
+                .setTitle(unsignedBatch.size() + " unsigned labels")
+                .setMessage("These old labels have no signature:\n#" + String.join(", #", unsignedBatch)
+                        + "\n\nInclude them only if you have checked each bag by hand.")
+                .setPositiveButton("Include", (dialog, which) -> {
+                    ArrayList<String> all = new ArrayList<>(batch.values());
+                    all.addAll(unsignedBatch);
+                    returnBatch(all);
+                })
+                .setNegativeButton("Skip them", (dialog, which) -> returnBatch(new ArrayList<>(batch.values())))
+                .setNeutralButton("Keep scanning", null)
+                .show();
+    }
+
+    private void returnBatch(ArrayList<String> entries) {
+        if (entries.isEmpty()) {
+            finish();
+            return;
+        }
+        Intent resultIntent = new Intent();
+        resultIntent.putStringArrayListExtra(EXTRA_SCANNED_BATCH, entries);
+        setResult(RESULT_BATCH, resultIntent);
+        finish();
+    }
+
+    @Override
+    public void onBackPressed() {
+        if (continuousMode && batchSize() > 0) {
+            new MaterialAlertDialogBuilder(this)
+                    .setTitle("Finish batch?")
+                    .setMessage(batchSize() + " orders scanned.")
+                    .setPositiveButton("Use batch", (dialog, which) -> finishBatch())
+                    .setNegativeButton("Discard", (dialog, which) -> finish())
+                    .setNeutralButton("Keep scanning", null)
+                    .show();
+        } else {
+            super.onBackPressed();
+        }
+    }
+
     @Override
     public void onError(String error) {
         runOnUiThread(() -> {
@@ -0,0 +1,129 @@
+package com.laundrybuddy.ui.staff;
+
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.view.View;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.laundrybuddy.BuildConfig;
+import com.laundrybuddy.LaundryBuddyApp;
+import com.laundrybuddy.api.ApiClient;
+import com.laundrybuddy.api.NetworkDiagnostics;
+import com.laundrybuddy.api.PayloadMetrics;
+import com.laundrybuddy.databinding.ActivityDiagnosticsBinding;
+import com.laundrybuddy.utils.ConnectionQualityMonitor;
+import com.laundrybuddy.utils.ExportUtils;
+import com.laundrybuddy.utils.ScanMetrics;
+import com.laundrybuddy.utils.ToastManager;
+import com.laundrybuddy.utils.TraceSection;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Hidden staff screen showing per-endpoint latency percentiles, payload sizes and
+ * QR scan pipeline stats and startup timings. Debug builds can also export recorded
+ * trace sections for ui.perfetto.dev.
+ * Opened by long-pressing the staff dashboard toolbar.
+ */
+public class DiagnosticsActivity extends AppCompatActivity {
+
+    private static final String TAG = "DiagnosticsActivity";
+
+    private ActivityDiagnosticsBinding binding;
+    private final ExecutorService traceExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        binding = ActivityDiagnosticsBinding.inflate(getLayoutInflater());
+        setContentView(binding.getRoot());
+
+        binding.toolbar.setNavigationOnClickListener(v -> finish());
+        binding.resetBtn.setOnClickListener(v -> {
+            NetworkDiagnostics.getInstance().reset();
+            PayloadMetrics.getInstance().reset();
+            ScanMetrics.getInstance().reset();
+            TraceSection.clear();
+            render();
+        });
+        binding.exportBtn.setOnClickListener(v -> export());
+        if (BuildConfig.DEBUG) {
+            binding.traceBtn.setVisibility(View.VISIBLE);
+            binding.traceBtn.setOnClickListener(v -> exportTrace());
+        }
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        render();
+    }
+
+    private void render() {
+        ApiClient client = ApiClient.getInstance();
+        ConnectionQualityMonitor monitor = ConnectionQualityMonitor.getInstance();
+        binding.connectionSummary.setText(String.format(Locale.US,
+                "Protocol: %s (max %d per host)\nLink: %s%s, ~%d ms latency, ~%d kbps",
+                client.getNegotiatedProtocol(), client.getMaxRequestsPerHost(),
+                monitor.getQuality(), monitor.isMetered() ? " (metered)" : "",
+                Math.round(monitor.getLatencyMs()), Math.round(monitor.getThroughputKbps())));
+        binding.latencyReport.setText(NetworkDiagnostics.getInstance().formatReport());
+        binding.payloadReport.setText(PayloadMetrics.getInstance().formatReport());
+        binding.scanReport.setText(ScanMetrics.getInstance().formatReport());
+        binding.startupReport.setText(LaundryBuddyApp.getInstance().getStartup().formatReport());
+    }
+
+    private void export() {
+        try {
+            File file = NetworkDiagnostics.getInstance().exportToJson(this);
+            ExportUtils.shareJson(this, file);
+        } catch (IOException e) {
+            Log.e(TAG, "Error exporting diagnostics", e);
+            ToastManager.showError(this, "Failed to export diagnostics: " + e.getMessage());
+        }
+    }
+
+    private void exportTrace() {
+        if (TraceSection.getRecordedCount() == 0) {
+            ToastManager.showInfo(this, "No trace sections recorded yet");
+            return;
+        }
+        // Up to 20k events; writing them on the main thread would drop frames
+        binding.traceBtn.setEnabled(false);
+        traceExecutor.execute(() -> {
+            try {
+                File file = TraceSection.exportChromeTrace(getApplicationContext());
+                mainHandler.post(() -> {
+                    if (isDestroyed()) {
+                        return;
+                    }
+                    binding.traceBtn.setEnabled(true);
+                    ExportUtils.shareJson(this, file);
+                });
+            } catch (IOException e) {
+                Log.e(TAG, "Error exporting trace", e);
+                mainHandler.post(() -> {
+                    if (isDestroyed()) {
+                        return;
+                    }
+                    binding.traceBtn.setEnabled(true);
+                    ToastManager.showError(this, "Failed to export trace: " + e.getMessage());
+                });
+            }
+        });
+    }
+
+    @Override
+    protected void onDestroy() {
+        traceExecutor.shutdown();
+        super.onDestroy();
+    }
+}
@@ -2,6 +2,8 @@ package com.laundrybuddy.ui.staff;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.text.Editable;
 import android.text.TextWatcher;
 import android.util.Log;
@@ -11,11 +13,12 @@ import android.widget.ArrayAdapter;
 
 import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.annotation.Nullable;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
-import androidx.recyclerview.widget.LinearLayoutManager;
 
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
+import com.laundrybuddy.BuildConfig;
 import com.laundrybuddy.LaundryBuddyApp;
 import com.laundrybuddy.R;
 import com.laundrybuddy.api.ApiClient;
@@ -24,21 +27,36 @@ import com.laundrybuddy.databinding.DialogStaffTicketDetailBinding;
 import com.laundrybuddy.models.ApiResponse;
 import com.laundrybuddy.models.Order;
 import com.laundrybuddy.models.SupportTicket;
+import com.laundrybuddy.models.requests.BulkStatusRequest;
+import com.laundrybuddy.models.requests.StatusUpdateRequest;
+import com.laundrybuddy.models.requests.TicketRequest;
+import com.laundrybuddy.models.requests.UpdateOrderRequest;
+import com.laundrybuddy.models.requests.VerifyLabelsRequest;
 import com.laundrybuddy.ui.auth.LoginActivity;
 import com.laundrybuddy.ui.scanner.QrScannerActivity;
 import com.laundrybuddy.ui.support.TicketAdapter;
+import com.laundrybuddy.utils.ExportUtils;
+import com.laundrybuddy.utils.IsoDates;
+import com.laundrybuddy.utils.OrderQrPayload;
+import com.laundrybuddy.utils.QrLabelSheetGenerator;
+import com.laundrybuddy.utils.RecyclerPools;
 import com.laundrybuddy.utils.ToastManager;
+import com.laundrybuddy.utils.TraceSection;
+import com.laundrybuddy.repositories.AdminOrderPager;
 import com.laundrybuddy.repositories.OrderRepository;
+import com.laundrybuddy.repositories.SupportRepository;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Calendar;
-import java.util.Date;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -54,13 +72,22 @@ public class StaffDashboardActivity extends AppCompatActivity {
 
     private ActivityStaffDashboardBinding binding;
     private OrderRepository repository;
+    private SupportRepository supportRepository;
     private StaffOrderAdapter orderAdapter;
     private TicketAdapter ticketAdapter;
     private List<Order> orders = new ArrayList<>();
     private List<Order> allOrders = new ArrayList<>();
     private List<Order> filteredOrders = new ArrayList<>();
+    // Order number -> order over the full local dataset, so scans ignore the active filters
+    private final Map<String, Order> ordersByNumber = new HashMap<>();
     private List<SupportTicket> tickets = new ArrayList<>();
     private int currentTab = 0;
+    private Future<?> labelSheetTask;
+    private Future<?> exportTask;
+    // Row models are formatted here so scrolling only assigns fields
+    private final ExecutorService rowModelExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private int ordersGeneration;
 
     // Pagination
     private int currentPage = 1;
@@ -88,14 +115,32 @@ public class StaffDashboardActivity extends AppCompatActivity {
     private final String[] TIME_FILTER_OPTIONS = { "", "today", "yesterday", "week", "month" };
     private final String[] TIME_FILTER_DISPLAY = { "All Time", "Today", "Yesterday", "This Week", "This Month" };
 
+    // Statuses a bag can be in when it is dropped off and scanned in at the counter
+    private static final String[] INTAKE_SOURCE_STATUSES = { "pending", "submitted" };
+    private static final String INTAKE_TARGET_STATUS = "received";
+
     // QR Scanner launcher
     private final ActivityResultLauncher<Intent> qrScannerLauncher = registerForActivityResult(
             new ActivityResultContracts.StartActivityForResult(),
             result -> {
                 if (result.getResultCode() == QrScannerActivity.RESULT_SCANNED && result.getData() != null) {
                     String scannedCode = result.getData().getStringExtra(QrScannerActivity.EXTRA_SCANNED_CONTENT);
+                    boolean manual = result.getData().getBooleanExtra(QrScannerActivity.EXTRA_MANUAL_ENTRY, false);
                     if (scannedCode != null && !scannedCode.isEmpty()) {
-                        handleScannedOrder(scannedCode);
+                        handleScannedOrder(scannedCode, manual);
+                    }
+                }
+            });
+
+    // Continuous scanner launcher for bulk intake
+    private final ActivityResultLauncher<Intent> batchScannerLauncher = registerForActivityResult(
+            new ActivityResultContracts.StartActivityForResult(),
+            result -> {
+                if (result.getResultCode() == QrScannerActivity.RESULT_BATCH && result.getData() != null) {
+                    ArrayList<String> scanned = result.getData()
+                            .getStringArrayListExtra(QrScannerActivity.EXTRA_SCANNED_BATCH);
+                    if (scanned != null && !scanned.isEmpty()) {
+                        handleScannedBatch(scanned);
                     }
                 }
             });
@@ -108,21 +153,23 @@ public class StaffDashboardActivity extends AppCompatActivity {
 
         repository = new OrderRepository(this);
         repository.getOrders().observe(this, newOrders -> {
-            allOrders.clear();
-            if (newOrders != null) {
-                allOrders.addAll(newOrders);
-            }
-            applyFilters();
-
-            if (binding != null && binding.swipeRefresh != null) {
-                binding.swipeRefresh.setRefreshing(false);
-                if (filteredOrders.isEmpty()) {
-                    showEmptyState("No orders found");
-                } else {
-                    binding.emptyState.setVisibility(View.GONE);
-                    binding.recyclerView.setVisibility(View.VISIBLE);
+            // Format rows off the main thread, then show them; a newer emission supersedes this one
+            int generation = ++ordersGeneration;
+            List<Order> snapshot = newOrders != null ? new ArrayList<>(newOrders) : new ArrayList<>();
+            rowModelExecutor.execute(() -> {
+                TraceSection.begin("StaffDashboard.buildRowModels");
+                Map<Order, StaffOrderRowModel> rowModels;
+                try {
+                    rowModels = StaffOrderRowModel.buildAll(snapshot);
+                } finally {
+                    TraceSection.end();
                 }
-            }
+                mainHandler.post(() -> {
+                    if (generation == ordersGeneration && !isDestroyed()) {
+                        showOrders(snapshot, rowModels);
+                    }
+                });
+            });
         });
 
         setupToolbar();
@@ -135,15 +182,68 @@ public class StaffDashboardActivity extends AppCompatActivity {
         setupSearch();
         setupFilters();
 
+        supportRepository = new SupportRepository(this);
+        observeTickets();
+
         loadOrders();
     }
 
+    private void showOrders(List<Order> newOrders, Map<Order, StaffOrderRowModel> rowModels) {
+        orderAdapter.setRowModels(rowModels);
+        TraceSection.begin("StaffDashboard.indexOrders");
+        try {
+            allOrders.clear();
+            ordersByNumber.clear();
+            allOrders.addAll(newOrders);
+            for (Order order : newOrders) {
+                if (order.getOrderNumber() != null) {
+                    ordersByNumber.put(order.getOrderNumber(), order);
+                }
+            }
+        } finally {
+            TraceSection.end();
+        }
+        applyFilters();
+
+        if (binding != null && binding.swipeRefresh != null && currentTab == 0) {
+            binding.swipeRefresh.setRefreshing(false);
+            if (filteredOrders.isEmpty()) {
+                showEmptyState("No orders found");
+            } else {
+                binding.emptyState.setVisibility(View.GONE);
+                binding.recyclerView.setVisibility(View.VISIBLE);
+            }
+        }
+    }
+
     private void setupToolbar() {
         binding.toolbar.setNavigationOnClickListener(v -> finish());
+        // Diagnostics: menu entry in debug builds, hidden long-press everywhere
+        binding.toolbar.getMenu().findItem(R.id.action_diagnostics).setVisible(BuildConfig.DEBUG);
+        binding.toolbar.setOnLongClickListener(v -> {
+            startActivity(new Intent(this, DiagnosticsActivity.class));
+            return true;
+        });
         binding.toolbar.setOnMenuItemClickListener(item -> {
             if (item.getItemId() == R.id.action_select) {
                 toggleSelectionMode();
                 return true;
+            } else if (item.getItemId() == R.id.action_batch_intake) {
+                startBatchIntake();
+                return true;
+            } else if (item.getItemId() == R.id.action_print_labels) {
+                printReceivedLabels();
+                return true;
+            } else if (item.getItemId() == R.id.action_export_all) {
+                runExport("text/csv", callback -> ExportUtils.exportServerOrders(
+                        this, ExportUtils.Format.CSV, callback));
+                return true;
+            } else if (item.getItemId() == R.id.action_export_analytics) {
+                runExport("application/zip", callback -> ExportUtils.exportAnalytics(this, callback));
+                return true;
+            } else if (item.getItemId() == R.id.action_diagnostics) {
+                startActivity(new Intent(this, DiagnosticsActivity.class));
+                return true;
             } else if (item.getItemId() == R.id.action_logout) {
                 logout();
                 return true;
@@ -153,7 +253,8 @@ public class StaffDashboardActivity extends AppCompatActivity {
     }
 
     private void setupRecyclerView() {
-        binding.recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        RecyclerPools.attach(binding.recyclerView, this);
+        binding.recyclerView.setHasFixedSize(true);
 
         orderAdapter = new StaffOrderAdapter(orders,
                 order -> showOrderStatusDialog(order),
@@ -180,6 +281,8 @@ public class StaffDashboardActivity extends AppCompatActivity {
         });
 
         binding.recyclerView.setAdapter(orderAdapter);
+        // Inflate ticket rows while idle so the first switch to the Tickets tab only binds
+        RecyclerPools.preinflate(binding.recyclerView, ticketAdapter, R.layout.item_ticket, 6);
     }
 
     private void setupSearch() {
@@ -248,44 +351,49 @@ public class StaffDashboardActivity extends AppCompatActivity {
     }
 
     private void applyFilters() {
-        filteredOrders.clear();
+        TraceSection.begin("StaffDashboard.applyFilters");
+        try {
+            filteredOrders.clear();
 
-        for (Order order : allOrders) {
-            // Apply status filter
-            if (!currentStatusFilter.isEmpty() && !currentStatusFilter.equalsIgnoreCase(order.getStatus())) {
-                continue;
-            }
+            for (Order order : allOrders) {
+                // Apply status filter
+                if (!currentStatusFilter.isEmpty() && !currentStatusFilter.equalsIgnoreCase(order.getStatus())) {
+                    continue;
+                }
 
-            // Apply time filter
-            if (!currentTimeFilter.isEmpty() && !matchesTimeFilter(order, currentTimeFilter)) {
-                continue;
-            }
+                // Apply time filter
+                if (!currentTimeFilter.isEmpty() && !matchesTimeFilter(order, currentTimeFilter)) {
+                    continue;
+                }
 
-            // Apply search query
-            if (!currentSearchQuery.isEmpty()) {
-                boolean matches = false;
+                // Apply search query
+                if (!currentSearchQuery.isEmpty()) {
+                    boolean matches = false;
 
-                String orderNum = order.getOrderNumber();
-                if (orderNum != null && orderNum.toLowerCase().contains(currentSearchQuery)) {
-                    matches = true;
-                }
+                    String orderNum = order.getOrderNumber();
+                    if (orderNum != null && orderNum.toLowerCase().contains(currentSearchQuery)) {
+                        matches = true;
+                    }
 
-                String hostelRoom = order.getHostelRoom();
-                if (hostelRoom != null && hostelRoom.toLowerCase().contains(currentSearchQuery)) {
-                    matches = true;
-                }
+                    String hostelRoom = order.getHostelRoom();
+                    if (hostelRoom != null && hostelRoom.toLowerCase().contains(currentSearchQuery)) {
+                        matches = true;
+                    }
 
-                String userName = order.getUserName();
-                if (userName != null && userName.toLowerCase().contains(currentSearchQuery)) {
-                    matches = true;
-                }
+                    String userName = order.getUserName();
+                    if (userName != null && userName.toLowerCase().contains(currentSearchQuery)) {
+                        matches = true;
+                    }
 
-                if (!matches) {
-                    continue;
+                    if (!matches) {
+                        continue;
+                    }
                 }
-            }
 
-            filteredOrders.add(order);
+                filteredOrders.add(order);
+            }
+        } finally {
+            TraceSection.end();
         }
 
         // Reset to page 1 after filter
@@ -295,32 +403,13 @@ public class StaffDashboardActivity extends AppCompatActivity {
     }
 
     private boolean matchesTimeFilter(Order order, String timeFilter) {
-        String createdAt = order.getCreatedAt();
-        if (createdAt == null)
+        long createdAt = order.getCreatedAtMillis();
+        if (createdAt == IsoDates.UNKNOWN)
             return false;
 
         try {
-            SimpleDateFormat[] formats = {
-                    new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.getDefault()),
-                    new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.getDefault()),
-                    new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault())
-            };
-
-            Date date = null;
-            for (SimpleDateFormat fmt : formats) {
-                try {
-                    date = fmt.parse(createdAt);
-                    if (date != null)
-                        break;
-                } catch (ParseException ignored) {
-                }
-            }
-
-            if (date == null)
-                return false;
-
             Calendar orderCal = Calendar.getInstance();
-            orderCal.setTime(date);
+            orderCal.setTimeInMillis(createdAt);
 
             Calendar now = Calendar.getInstance();
 
@@ -362,13 +451,14 @@ public class StaffDashboardActivity extends AppCompatActivity {
             public void onTabSelected(com.google.android.material.tabs.TabLayout.Tab tab) {
                 currentTab = tab.getPosition();
                 exitSelectionMode();
+                // swapAdapter keeps the pool's rows; setAdapter would clear it on every switch
                 if (currentTab == 0) {
-                    binding.recyclerView.setAdapter(orderAdapter);
+                    binding.recyclerView.swapAdapter(orderAdapter, true);
                     binding.scanFab.setVisibility(View.VISIBLE);
                     binding.searchLayout.setVisibility(View.VISIBLE);
                     loadOrders();
                 } else {
-                    binding.recyclerView.setAdapter(ticketAdapter);
+                    binding.recyclerView.swapAdapter(ticketAdapter, true);
                     binding.scanFab.setVisibility(View.GONE);
                     binding.searchLayout.setVisibility(View.GONE);
                     loadTickets();
@@ -401,6 +491,16 @@ public class StaffDashboardActivity extends AppCompatActivity {
             Intent intent = new Intent(this, QrScannerActivity.class);
             qrScannerLauncher.launch(intent);
         });
+        binding.scanFab.setOnLongClickListener(v -> {
+            startBatchIntake();
+            return true;
+        });
+    }
+
+    private void startBatchIntake() {
+        Intent intent = new Intent(this, QrScannerActivity.class);
+        intent.putExtra(QrScannerActivity.EXTRA_CONTINUOUS, true);
+        batchScannerLauncher.launch(intent);
     }
 
     private void setupBulkActions() {
@@ -458,6 +558,80 @@ public class StaffDashboardActivity extends AppCompatActivity {
         binding.paginationBar.setVisibility(totalPages > 1 ? View.VISIBLE : View.GONE);
     }
 
+    /**
+     * Render QR labels for today's orders in "received" status, paged from the server, into one PDF sheet
+     */
+    private void printReceivedLabels() {
+        if (labelSheetTask != null && !labelSheetTask.isDone()) {
+            ToastManager.showInfo(this, "Labels are already being generated");
+            return;
+        }
+
+        // The dashboard holds only its loaded page, so ask the server for the whole day
+        AdminOrderPager received = new AdminOrderPager(ApiClient.getInstance().getAdminApi(), "received", "today");
+        binding.loadingProgress.setVisibility(View.VISIBLE);
+        ToastManager.showInfo(this, "Generating labels for today's received orders...");
+        labelSheetTask = QrLabelSheetGenerator.generatePdf(this, received::readAll,
+                new QrLabelSheetGenerator.LabelSheetCallback() {
+                    @Override
+                    public void onProgress(int pagesDone, int totalPages) {
+                        Log.d(TAG, "Label sheet page " + pagesDone + "/" + totalPages);
+                    }
+
+                    @Override
+                    public void onSuccess(File file) {
+                        binding.loadingProgress.setVisibility(View.GONE);
+                        ExportUtils.shareFile(StaffDashboardActivity.this, file, "application/pdf");
+                    }
+
+                    @Override
+                    public void onError(String message) {
+                        binding.loadingProgress.setVisibility(View.GONE);
+                        ToastManager.showError(StaffDashboardActivity.this, message);
+                    }
+                });
+    }
+
+    /**
+     * Run a background export behind a cancellable progress dialog, then share the file
+     */
+    private void runExport(String mimeType, Function<ExportUtils.ExportCallback, Future<?>> starter) {
+        if (exportTask != null && !exportTask.isDone()) {
+            ToastManager.showInfo(this, "Export already in progress");
+            return;
+        }
+
+        AlertDialog progressDialog = new MaterialAlertDialogBuilder(this)
+                .setTitle("Exporting orders")
+                .setMessage("Preparing...")
+                .setCancelable(false)
+                .setNegativeButton("Cancel", (dialog, which) -> {
+                    if (exportTask != null) {
+                        exportTask.cancel(true);
+                    }
+                })
+                .show();
+
+        exportTask = starter.apply(new ExportUtils.ExportCallback() {
+            @Override
+            public void onProgress(int done, int total) {
+                progressDialog.setMessage(done + " / " + total + " rows");
+            }
+
+            @Override
+            public void onSuccess(File file) {
+                progressDialog.dismiss();
+                ExportUtils.shareFile(StaffDashboardActivity.this, file, mimeType);
+            }
+
+            @Override
+            public void onError(String message) {
+                progressDialog.dismiss();
+                ToastManager.showError(StaffDashboardActivity.this, message);
+            }
+        });
+    }
+
     private void toggleSelectionMode() {
         if (currentTab != 0)
             return;
@@ -484,14 +658,250 @@ public class StaffDashboardActivity extends AppCompatActivity {
         }
     }
 
-    private void handleScannedOrder(String orderNumber) {
-        for (Order order : filteredOrders) {
-            if (orderNumber.equals(order.getOrderNumber())) {
-                showOrderStatusDialog(order);
-                return;
+    private void handleScannedOrder(String scannedContent, boolean manual) {
+        OrderQrPayload.Decoded decoded = OrderQrPayload.decode(scannedContent);
+        if (decoded.isSigned()) {
+            verifyScannedLabel(decoded);
+        } else if (decoded.isUnsigned() && manual) {
+            // Typed by staff, so it is their own lookup rather than a label to trust
+            openScannedOrder(decoded.getOrderNumber());
+        } else if (decoded.isUnsigned()) {
+            // Old labels carry no signature; staff vouch for the bag before any status change
+            String orderNumber = decoded.getOrderNumber();
+            new MaterialAlertDialogBuilder(this)
+                    .setTitle("Unsigned label")
+                    .setMessage("This is an old label without a signature. Check that the bag really is order #"
+                            + orderNumber + " before continuing.")
+                    .setPositiveButton("It matches", (dialog, which) -> openScannedOrder(orderNumber))
+                    .setNegativeButton("Cancel", null)
+                    .show();
+        } else {
+            ToastManager.showError(this, "Unrecognized QR code");
+        }
+    }
+
+    /**
+     * Have the server check a v1 label's signature; only a genuine label opens its order
+     */
+    private void verifyScannedLabel(OrderQrPayload.Decoded decoded) {
+        String orderNumber = decoded.getOrderNumber();
+        binding.loadingProgress.setVisibility(View.VISIBLE);
+        ApiClient.getInstance().getAdminApi()
+                .verifyLabels(new VerifyLabelsRequest(Collections.singletonList(decoded.getPayload())))
+                .enqueue(new Callback<ApiResponse<List<Order>>>() {
+                    @Override
+                    public void onResponse(Call<ApiResponse<List<Order>>> call,
+                            Response<ApiResponse<List<Order>>> response) {
+                        binding.loadingProgress.setVisibility(View.GONE);
+                        if (!response.isSuccessful() || response.body() == null || !response.body().isSuccess()) {
+                            ToastManager.showError(StaffDashboardActivity.this, "Couldn't verify the label");
+                            return;
+                        }
+                        List<Order> verified = response.body().getData();
+                        if (verified == null || verified.isEmpty()) {
+                            ToastManager.showError(StaffDashboardActivity.this,
+                                    "Invalid QR label for #" + orderNumber + " - signature does not match");
+                            return;
+                        }
+                        showOrderStatusDialog(verified.get(0));
+                    }
+
+                    @Override
+                    public void onFailure(Call<ApiResponse<List<Order>>> call, Throwable t) {
+                        binding.loadingProgress.setVisibility(View.GONE);
+                        Log.e(TAG, "Label verification failed", t);
+                        ToastManager.showError(StaffDashboardActivity.this,
+                                "Can't verify the label offline - type the order number instead");
+                    }
+                });
+    }
+
+    private void openScannedOrder(String orderNumber) {
+        Order order = ordersByNumber.get(orderNumber);
+        if (order != null) {
+            showOrderStatusDialog(order);
+            return;
+        }
+
+        // Not in the loaded dataset yet: ask Room, then the server
+        binding.loadingProgress.setVisibility(View.VISIBLE);
+        repository.findOrderByNumber(orderNumber, new OrderRepository.OrderLookupCallback() {
+            @Override
+            public void onFound(Order found) {
+                binding.loadingProgress.setVisibility(View.GONE);
+                showOrderStatusDialog(found);
+            }
+
+            @Override
+            public void onNotFound() {
+                binding.loadingProgress.setVisibility(View.GONE);
+                ToastManager.showError(StaffDashboardActivity.this, "Order #" + orderNumber + " not found");
+            }
+
+            @Override
+            public void onError(String message) {
+                binding.loadingProgress.setVisibility(View.GONE);
+                ToastManager.showError(StaffDashboardActivity.this, message);
+            }
+        });
+    }
+
+    /**
+     * Resolve a scanned batch to orders and offer a single bulk transition to "received"
+     * for the ones still awaiting intake. Signed labels go to the server, which checks
+     * them and returns their orders; typed or hand-confirmed numbers are looked up like a single scan.
+     */
+    private void handleScannedBatch(List<String> entries) {
+        List<String> labels = new ArrayList<>();
+        List<String> orderNumbers = new ArrayList<>();
+        OrderQrPayload.Decoded decoded = new OrderQrPayload.Decoded();
+        for (String entry : entries) {
+            OrderQrPayload.decode(entry, decoded);
+            if (decoded.isSigned()) {
+                labels.add(decoded.getPayload());
+            } else if (decoded.isUnsigned()) {
+                orderNumbers.add(decoded.getOrderNumber());
+            }
+        }
+        if (labels.isEmpty()) {
+            offerBatchIntake(entries.size(), new ArrayList<>(), orderNumbers, 0);
+            return;
+        }
+
+        binding.loadingProgress.setVisibility(View.VISIBLE);
+        ApiClient.getInstance().getAdminApi().verifyLabels(new VerifyLabelsRequest(labels))
+                .enqueue(new Callback<ApiResponse<List<Order>>>() {
+                    @Override
+                    public void onResponse(Call<ApiResponse<List<Order>>> call,
+                            Response<ApiResponse<List<Order>>> response) {
+                        binding.loadingProgress.setVisibility(View.GONE);
+                        if (!response.isSuccessful() || response.body() == null || !response.body().isSuccess()) {
+                            ToastManager.showError(StaffDashboardActivity.this,
+                                    "Couldn't verify the scanned labels - try again");
+                            return;
+                        }
+                        List<Order> verified = response.body().getData() != null
+                                ? response.body().getData()
+                                : new ArrayList<>();
+                        offerBatchIntake(entries.size(), verified, orderNumbers, labels.size() - verified.size());
+                    }
+
+                    @Override
+                    public void onFailure(Call<ApiResponse<List<Order>>> call, Throwable t) {
+                        binding.loadingProgress.setVisibility(View.GONE);
+                        Log.e(TAG, "Batch label verification failed", t);
+                        ToastManager.showError(StaffDashboardActivity.this,
+                                "Can't verify the scanned labels offline - try again when connected");
+                    }
+                });
+    }
+
+    /**
+     * Resolve typed or confirmed numbers the way a single scan does: loaded orders first,
+     * then the repository (Room, then the tracking endpoint) for the rest
+     */
+    private void offerBatchIntake(int scanned, List<Order> verified, List<String> orderNumbers, int rejected) {
+        List<Order> found = new ArrayList<>(verified);
+        List<String> missing = new ArrayList<>();
+        for (String number : orderNumbers) {
+            Order order = ordersByNumber.get(number);
+            if (order == null) {
+                missing.add(number);
+            } else {
+                found.add(order);
+            }
+        }
+        if (missing.isEmpty()) {
+            showBatchIntake(scanned, found, 0, 0, rejected);
+            return;
+        }
+
+        binding.loadingProgress.setVisibility(View.VISIBLE);
+        int[] pending = { missing.size() };
+        int[] notFound = { 0 };
+        int[] failed = { 0 };
+        for (String number : missing) {
+            repository.findOrderByNumber(number, new OrderRepository.OrderLookupCallback() {
+                @Override
+                public void onFound(Order order) {
+                    found.add(order);
+                    finishLookup();
+                }
+
+                @Override
+                public void onNotFound() {
+                    notFound[0]++;
+                    finishLookup();
+                }
+
+                @Override
+                public void onError(String message) {
+                    failed[0]++;
+                    finishLookup();
+                }
+
+                private void finishLookup() {
+                    if (--pending[0] == 0) {
+                        binding.loadingProgress.setVisibility(View.GONE);
+                        showBatchIntake(scanned, found, notFound[0], failed[0], rejected);
+                    }
+                }
+            });
+        }
+    }
+
+    private void showBatchIntake(int scanned, List<Order> found, int notFound, int failedLookups, int rejected) {
+        List<Order> eligible = new ArrayList<>();
+        int alreadyAdvanced = 0;
+        for (Order order : found) {
+            if (isIntakeSource(order.getStatus())) {
+                eligible.add(order);
+            } else {
+                alreadyAdvanced++;
+            }
+        }
+
+        StringBuilder message = new StringBuilder();
+        message.append(scanned).append(" scanned, ")
+                .append(eligible.size()).append(" awaiting intake.");
+        if (alreadyAdvanced > 0) {
+            message.append("\n").append(alreadyAdvanced).append(" already past pending - skipped.");
+        }
+        if (rejected > 0) {
+            message.append("\n").append(rejected).append(" labels failed verification - skipped.");
+        }
+        if (notFound > 0) {
+            message.append("\n").append(notFound).append(" not found - skipped.");
+        }
+        if (failedLookups > 0) {
+            message.append("\n").append(failedLookups).append(" couldn't be looked up - skipped, scan them again.");
+        }
+
+        if (eligible.isEmpty()) {
+            new MaterialAlertDialogBuilder(this)
+                    .setTitle("Nothing to receive")
+                    .setMessage(message)
+                    .setPositiveButton("OK", null)
+                    .show();
+            return;
+        }
+
+        new MaterialAlertDialogBuilder(this)
+                .setTitle("Mark " + eligible.size() + " orders received?")
+                .setMessage(message)
+                .setPositiveButton("Mark Received", (dialog, which) ->
+                        bulkUpdateStatus(eligible, INTAKE_TARGET_STATUS))
+                .setNegativeButton("Cancel", null)
+                .show();
+    }
+
+    private static boolean isIntakeSource(String status) {
+        for (String source : INTAKE_SOURCE_STATUSES) {
+            if (source.equalsIgnoreCase(status)) {
+                return true;
             }
         }
-        ToastManager.showError(this, "Order #" + orderNumber + " not found");
+        return false;
     }
 
     private void showOrderStatusDialog(Order order) {
@@ -529,8 +939,7 @@ public class StaffDashboardActivity extends AppCompatActivity {
     }
 
     private void updateOrderStatus(Order order, String newStatus) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("status", newStatus);
+        StatusUpdateRequest body = new StatusUpdateRequest(newStatus);
 
         // Use AdminApi for staff to update any order's status
         ApiClient.getInstance().getAdminApi().updateOrderStatus(order.getId(), body)
@@ -558,47 +967,58 @@ public class StaffDashboardActivity extends AppCompatActivity {
                 });
     }
 
+    /**
+     * One all-or-nothing request: either every selected order moves or none does
+     */
     private void bulkUpdateStatus(List<Order> selectedOrders, String newStatus) {
         int total = selectedOrders.size();
-        int[] completed = { 0 };
-        int[] failed = { 0 };
-
+        List<String> ids = new ArrayList<>(total);
         for (Order order : selectedOrders) {
-            Map<String, Object> body = new HashMap<>();
-            body.put("status", newStatus);
-
-            // Use AdminApi for staff bulk updates
-            ApiClient.getInstance().getAdminApi().updateOrderStatus(order.getId(), body)
-                    .enqueue(new Callback<ApiResponse<Order>>() {
-                        @Override
-                        public void onResponse(Call<ApiResponse<Order>> call, Response<ApiResponse<Order>> response) {
-                            completed[0]++;
-                            if (!response.isSuccessful() || response.body() == null || !response.body().isSuccess()) {
-                                failed[0]++;
-                            }
-                            checkBulkComplete(total, completed[0], failed[0]);
-                        }
+            ids.add(order.getId());
+        }
 
-                        @Override
-                        public void onFailure(Call<ApiResponse<Order>> call, Throwable t) {
-                            completed[0]++;
-                            failed[0]++;
-                            checkBulkComplete(total, completed[0], failed[0]);
+        ApiClient.getInstance().getAdminApi().bulkUpdateStatus(new BulkStatusRequest(ids, newStatus))
+                .enqueue(new Callback<ApiResponse<List<Order>>>() {
+                    @Override
+                    public void onResponse(Call<ApiResponse<List<Order>>> call,
+                            Response<ApiResponse<List<Order>>> response) {
+                        if (response.isSuccessful() && response.body() != null && response.body().isSuccess()) {
+                            exitSelectionMode();
+                            ToastManager.showSuccess(StaffDashboardActivity.this, "All " + total + " orders updated!");
+                            loadOrders();
+                            return;
                         }
-                    });
-        }
+                        String reason = readErrorMessage(response);
+                        Log.e(TAG, "Bulk status update failed: HTTP " + response.code() + " " + reason);
+                        // Selection is kept so the same orders can be retried
+                        ToastManager.showError(StaffDashboardActivity.this,
+                                "No orders were updated" + (reason != null ? ": " + reason : ""));
+                        loadOrders();
+                    }
+
+                    @Override
+                    public void onFailure(Call<ApiResponse<List<Order>>> call, Throwable t) {
+                        Log.e(TAG, "Bulk status update failed", t);
+                        // The server may have applied it before the link dropped; the refresh shows which
+                        ToastManager.showError(StaffDashboardActivity.this,
+                                "Network error: check the list before retrying");
+                        loadOrders();
+                    }
+                });
     }
 
-    private void checkBulkComplete(int total, int completed, int failed) {
-        if (completed == total) {
-            exitSelectionMode();
-            if (failed == 0) {
-                ToastManager.showSuccess(this, "All " + total + " orders updated!");
-            } else {
-                ToastManager.showError(this, failed + " of " + total + " updates failed");
+    @Nullable
+    private static String readErrorMessage(Response<?> response) {
+        try {
+            if (response.errorBody() != null) {
+                org.json.JSONObject json = new org.json.JSONObject(response.errorBody().string());
+                if (json.has("message")) {
+                    return json.getString("message");
+                }
             }
-            loadOrders();
+        } catch (Exception ignored) {
         }
+        return null;
     }
 
     private void loadOrders() {
@@ -613,43 +1033,44 @@ public class StaffDashboardActivity extends AppCompatActivity {
         }
     }
 
-    private void loadTickets() {
-        binding.loadingProgress.setVisibility(View.VISIBLE);
-        binding.emptyState.setVisibility(View.GONE);
+    private void observeTickets() {
+        supportRepository.getAllTickets().observe(this, cached -> {
+            tickets.clear();
+            if (cached != null) {
+                tickets.addAll(cached);
+            }
+            ticketAdapter.notifyDataSetChanged();
+            if (currentTab == 1) {
+                showTicketsState("No tickets found");
+            }
+        });
+    }
 
-        ApiClient.getInstance().getSupportApi().getAllTickets()
-                .enqueue(new Callback<ApiResponse<List<SupportTicket>>>() {
-                    @Override
-                    public void onResponse(Call<ApiResponse<List<SupportTicket>>> call,
-                            Response<ApiResponse<List<SupportTicket>>> response) {
-                        binding.swipeRefresh.setRefreshing(false);
-                        binding.loadingProgress.setVisibility(View.GONE);
+    private void loadTickets() {
+        // Cached tickets render straight away; only block on the first, empty load
+        if (tickets.isEmpty()) {
+            binding.loadingProgress.setVisibility(View.VISIBLE);
+        }
+        showTicketsState("No tickets found");
 
-                        if (response.isSuccessful() && response.body() != null) {
-                            ApiResponse<List<SupportTicket>> apiResponse = response.body();
-                            if (apiResponse.isSuccess() && apiResponse.getData() != null) {
-                                tickets.clear();
-                                tickets.addAll(apiResponse.getData());
-                                ticketAdapter.notifyDataSetChanged();
-
-                                if (tickets.isEmpty()) {
-                                    showEmptyState("No tickets found");
-                                } else {
-                                    binding.emptyState.setVisibility(View.GONE);
-                                    binding.recyclerView.setVisibility(View.VISIBLE);
-                                }
-                            }
-                        }
-                    }
+        supportRepository.refreshAllTickets(success -> {
+            if (binding == null)
+                return;
+            binding.swipeRefresh.setRefreshing(false);
+            binding.loadingProgress.setVisibility(View.GONE);
+            if (currentTab == 1) {
+                showTicketsState(success ? "No tickets found" : "Failed to load tickets");
+            }
+        });
+    }
 
-                    @Override
-                    public void onFailure(Call<ApiResponse<List<SupportTicket>>> call, Throwable t) {
-                        binding.swipeRefresh.setRefreshing(false);
-                        binding.loadingProgress.setVisibility(View.GONE);
-                        Log.e(TAG, "Failed to load tickets", t);
-                        showEmptyState("Failed to load tickets");
-                    }
-                });
+    private void showTicketsState(String emptyMessage) {
+        if (tickets.isEmpty()) {
+            showEmptyState(emptyMessage);
+        } else {
+            binding.emptyState.setVisibility(View.GONE);
+            binding.recyclerView.setVisibility(View.VISIBLE);
+        }
     }
 
     private void updateStats() {
@@ -725,38 +1146,24 @@ public class StaffDashboardActivity extends AppCompatActivity {
     }
 
     private void updateTicketStatus(SupportTicket ticket, String newStatus, String response) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("status", newStatus);
-        if (!response.isEmpty()) {
-            body.put("response", response);
-        }
+        TicketRequest body = TicketRequest.update(newStatus, response.isEmpty() ? null : response);
 
-        ApiClient.getInstance().getSupportApi().updateTicket(ticket.getId(), body)
-                .enqueue(new Callback<ApiResponse<SupportTicket>>() {
-                    @Override
-                    public void onResponse(Call<ApiResponse<SupportTicket>> call,
-                            Response<ApiResponse<SupportTicket>> response) {
-                        if (response.isSuccessful() && response.body() != null && response.body().isSuccess()) {
-                            ToastManager.showSuccess(StaffDashboardActivity.this, "Ticket updated successfully");
-                            loadTickets();
-                        } else {
-                            ToastManager.showError(StaffDashboardActivity.this, "Failed to update ticket");
-                        }
-                    }
+        supportRepository.updateTicket(ticket.getId(), body, new SupportRepository.TicketCallback() {
+            @Override
+            public void onSuccess(SupportTicket updated) {
+                // The cached row is replaced from the response; the tickets observer redraws
+                ToastManager.showSuccess(StaffDashboardActivity.this, "Ticket updated successfully");
+            }
 
-                    @Override
-                    public void onFailure(Call<ApiResponse<SupportTicket>> call, Throwable t) {
-                        Log.e(TAG, "Failed to update ticket", t);
-                        ToastManager.showError(StaffDashboardActivity.this, "Failed to update ticket");
-                    }
-                });
+            @Override
+            public void onError(String message) {
+                ToastManager.showError(StaffDashboardActivity.this, message);
+            }
+        });
     }
 
     private void updateOrderPriority(Order order, boolean isPriority) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("isPriority", isPriority);
-
-        ApiClient.getInstance().getOrderApi().updateOrder(order.getId(), body)
+        ApiClient.getInstance().getOrderApi().updateOrder(order.getId(), UpdateOrderRequest.priority(isPriority))
                 .enqueue(new Callback<ApiResponse<Order>>() {
                     @Override
                     public void onResponse(Call<ApiResponse<Order>> call, Response<ApiResponse<Order>> response) {
@@ -795,6 +1202,18 @@ public class StaffDashboardActivity extends AppCompatActivity {
         finish();
     }
 
+    @Override
+    protected void onDestroy() {
+        if (labelSheetTask != null) {
+            labelSheetTask.cancel(true);
+        }
+        if (exportTask != null) {
+            exportTask.cancel(true);
+        }
+        rowModelExecutor.shutdownNow();
+        super.onDestroy();
+    }
+
     @Override
     public void onBackPressed() {
         if (orderAdapter.isSelectionMode()) {
@@ -10,22 +10,24 @@ import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.bumptech.glide.Glide;
 import com.laundrybuddy.R;
 import com.laundrybuddy.databinding.ItemStaffOrderBinding;
 import com.laundrybuddy.models.Order;
+import com.laundrybuddy.utils.AvatarLoader;
+import com.laundrybuddy.utils.StableIds;
+import com.laundrybuddy.utils.TraceSection;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Calendar;
-import java.util.Date;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 
 /**
- * RecyclerView Adapter for Staff Order management with selection support
+ * RecyclerView Adapter for Staff Order management with selection support.
+ * Rows bind from precomputed {@link StaffOrderRowModel}s supplied via {@link #setRowModels}.
  */
 public class StaffOrderAdapter extends RecyclerView.Adapter<StaffOrderAdapter.OrderViewHolder> {
 
@@ -35,6 +37,8 @@ public class StaffOrderAdapter extends RecyclerView.Adapter<StaffOrderAdapter.Or
     private final OnPriorityToggleListener priorityListener;
     private final OnQuickActionListener quickActionListener;
     private final Set<String> selectedOrderIds = new HashSet<>();
+    private final Map<Order, StaffOrderRowModel> rowModels = new IdentityHashMap<>();
+    private final StableIds stableIds = new StableIds();
     private boolean selectionMode = false;
 
     public interface OnOrderClickListener {
@@ -72,6 +76,7 @@ public class StaffOrderAdapter extends RecyclerView.Adapter<StaffOrderAdapter.Or
         this.longClickListener = longClickListener;
         this.priorityListener = priorityListener;
         this.quickActionListener = quickActionListener;
+        setHasStableIds(true);
     }
 
     @NonNull
@@ -84,10 +89,48 @@ public class StaffOrderAdapter extends RecyclerView.Adapter<StaffOrderAdapter.Or
 
     @Override
     public void onBindViewHolder(@NonNull OrderViewHolder holder, int position) {
-        Order order = orders.get(position);
-        boolean isSelected = selectedOrderIds.contains(order.getId());
-        holder.bind(order, isSelected, selectionMode, clickListener, longClickListener, 
-                priorityListener, quickActionListener, this);
+        TraceSection.begin("StaffOrderAdapter.bind");
+        try {
+            Order order = orders.get(position);
+            boolean isSelected = selectedOrderIds.contains(order.getId());
+            holder.bind(rowModel(order), isSelected, selectionMode, clickListener, longClickListener,
+                    priorityListener, quickActionListener, this);
+        } finally {
+            TraceSection.end();
+        }
+    }
+
+    /**
+     * Replace the row models, normally built off the main thread as orders arrive
+     */
+    void setRowModels(Map<Order, StaffOrderRowModel> models) {
+        rowModels.clear();
+        rowModels.putAll(models);
+    }
+
+    private StaffOrderRowModel rowModel(Order order) {
+        StaffOrderRowModel model = rowModels.get(order);
+        if (model == null) {
+            // Not expected once models are supplied; build inline rather than show nothing
+            model = StaffOrderRowModel.from(order);
+            rowModels.put(order, model);
+        }
+        return model;
+    }
+
+    void updateRowModel(StaffOrderRowModel model) {
+        rowModels.put(model.order, model);
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        // Layout id as the type keeps rows apart in the shared view pool
+        return R.layout.item_staff_order;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return stableIds.idFor(orders.get(position).getId());
     }
 
     @Override
@@ -142,68 +185,60 @@ public class StaffOrderAdapter extends RecyclerView.Adapter<StaffOrderAdapter.Or
 
     static class OrderViewHolder extends RecyclerView.ViewHolder {
         private final ItemStaffOrderBinding binding;
+        // Resolved once per holder rather than on every bind
+        private final int textOnPrimary;
+        private final int priorityOnColor;
+        private final int priorityOffColor;
+        private final int selectedStrokeColor;
 
         OrderViewHolder(ItemStaffOrderBinding binding) {
             super(binding.getRoot());
             this.binding = binding;
+            android.content.Context context = binding.getRoot().getContext();
+            textOnPrimary = ContextCompat.getColor(context, R.color.text_on_primary);
+            priorityOnColor = ContextCompat.getColor(context, R.color.status_pending);
+            priorityOffColor = ContextCompat.getColor(context, R.color.text_hint);
+            selectedStrokeColor = ContextCompat.getColor(context, R.color.primary);
         }
 
-        void bind(Order order, boolean isSelected, boolean selectionMode,
+        void bind(StaffOrderRowModel model, boolean isSelected, boolean selectionMode,
                 OnOrderClickListener clickListener, OnOrderLongClickListener longClickListener,
                 OnPriorityToggleListener priorityListener, OnQuickActionListener quickActionListener,
                 StaffOrderAdapter adapter) {
+            Order order = model.order;
 
-            // Order number
-            binding.orderNumber.setText("#" + order.getOrderNumber());
+            binding.orderNumber.setText(model.orderNumber);
+            binding.roomInfo.setText(model.roomInfo);
+            binding.userName.setText(model.userName);
 
-            // Room info
-            String roomInfo = order.getHostelRoom();
-            if (roomInfo == null || roomInfo.isEmpty()) {
-                roomInfo = "No room specified";
-            }
-            binding.roomInfo.setText(roomInfo);
-
-            // User name
-            String userName = order.getUserName();
-            if (userName == null || userName.isEmpty()) {
-                userName = "Unknown User";
+            // Avatar, normally served from the disk cache filled during refresh
+            if (model.userPhoto != null) {
+                binding.userAvatar.setVisibility(View.VISIBLE);
+                AvatarLoader.load(Glide.with(binding.userAvatar), model.userPhoto, binding.userAvatar,
+                        binding.userAvatar.getLayoutParams().width, android.R.drawable.ic_menu_myplaces);
+            } else {
+                Glide.with(binding.userAvatar).clear(binding.userAvatar);
+                binding.userAvatar.setVisibility(View.GONE);
             }
-            binding.userName.setText(userName);
 
-            // Items count
-            binding.itemsCount.setText(order.getTotalItems() + " items");
+            binding.itemsCount.setText(model.itemsCount);
 
             // Status chip
-            binding.statusChip.setText(order.getStatusDisplay());
-            binding.statusChip.setChipBackgroundColor(ColorStateList.valueOf(
-                    getStatusColor(order.getStatus())));
-            binding.statusChip.setTextColor(ContextCompat.getColor(
-                    binding.getRoot().getContext(), R.color.text_on_primary));
+            binding.statusChip.setText(model.statusText);
+            binding.statusChip.setChipBackgroundColor(ColorStateList.valueOf(model.statusColor));
+            binding.statusChip.setTextColor(textOnPrimary);
 
-            // Submitted date
-            binding.submittedDate.setText(formatDateTime(order.getCreatedAt()));
-
-            // ETA - calculate as 24-48 hours from creation based on status
-            binding.etaDate.setText(calculateEta(order));
+            binding.submittedDate.setText(model.submittedDate);
+            binding.etaDate.setText(model.etaDate);
 
             // Priority icon
-            boolean isPriority = order.isPriority();
-            binding.priorityIcon.setImageResource(isPriority
-                    ? android.R.drawable.star_big_on
-                    : android.R.drawable.star_big_off);
-            binding.priorityIcon.setColorFilter(isPriority
-                    ? ContextCompat.getColor(binding.getRoot().getContext(), R.color.status_pending)
-                    : ContextCompat.getColor(binding.getRoot().getContext(), R.color.text_hint));
+            showPriority(model.priority);
 
             binding.priorityIcon.setOnClickListener(v -> {
                 boolean newPriority = !order.isPriority();
                 order.setIsPriority(newPriority);
-                binding.priorityIcon.setImageResource(newPriority
-                        ? android.R.drawable.star_big_on
-                        : android.R.drawable.star_big_off);
-                binding.priorityIcon.setColorFilter(newPriority
-                        ? ContextCompat.getColor(binding.getRoot().getContext(), R.color.status_pending)
-                        : ContextCompat.getColor(binding.getRoot().getContext(), R.color.text_hint));
+                adapter.updateRowModel(model.withPriority(newPriority));
+                showPriority(newPriority);
                 if (priorityListener != null) {
                     priorityListener.onPriorityToggle(order, newPriority);
                 }
@@ -215,17 +250,14 @@ public class StaffOrderAdapter extends RecyclerView.Adapter<StaffOrderAdapter.Or
 
             // Card highlight when selected
             if (isSelected) {
-                binding.getRoot().setStrokeColor(ContextCompat.getColor(
-                        binding.getRoot().getContext(), R.color.primary));
+                binding.getRoot().setStrokeColor(selectedStrokeColor);
                 binding.getRoot().setStrokeWidth(4);
             } else {
                 binding.getRoot().setStrokeWidth(0);
             }
 
             // Mark complete button - hide if already completed/delivered
-            String status = order.getStatus();
-            boolean isCompleted = "delivered".equalsIgnoreCase(status) || "completed".equalsIgnoreCase(status);
-            binding.markCompleteBtn.setVisibility(isCompleted ? View.GONE : View.VISIBLE);
+            binding.markCompleteBtn.setVisibility(model.completed ? View.GONE : View.VISIBLE);
 
             binding.markCompleteBtn.setOnClickListener(v -> {
                 if (quickActionListener != null) {
@@ -260,6 +292,13 @@ public class StaffOrderAdapter extends RecyclerView.Adapter<StaffOrderAdapter.Or
             });
         }
 
+        private void showPriority(boolean isPriority) {
+            binding.priorityIcon.setImageResource(isPriority
+                    ? android.R.drawable.star_big_on
+                    : android.R.drawable.star_big_off);
+            binding.priorityIcon.setColorFilter(isPriority ? priorityOnColor : priorityOffColor);
+        }
+
         private void showPopupMenu(View anchor, Order order, OnQuickActionListener listener) {
             PopupMenu popup = new PopupMenu(anchor.getContext(), anchor);
             popup.getMenuInflater().inflate(R.menu.menu_order_actions, popup.getMenu());
@@ -288,103 +327,5 @@ public class StaffOrderAdapter extends RecyclerView.Adapter<StaffOrderAdapter.Or
 
             popup.show();
         }
-
-        private String calculateEta(Order order) {
-            String createdAt = order.getCreatedAt();
-            if (createdAt == null) return "N/A";
-
-            try {
-                SimpleDateFormat[] formats = {
-                    new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.getDefault()),
-                    new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.getDefault()),
-                    new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault())
-                };
-
-                Date date = null;
-                for (SimpleDateFormat fmt : formats) {
-                    try {
-                        date = fmt.parse(createdAt);
-                        if (date != null) break;
-                    } catch (ParseException ignored) {}
-                }
-
-                if (date == null) return "N/A";
-
-                // Add 24-48 hours based on status
-                Calendar cal = Calendar.getInstance();
-                cal.setTime(date);
-
-                String status = order.getStatus();
-                if ("pending".equalsIgnoreCase(status) || "received".equalsIgnoreCase(status)) {
-                    cal.add(Calendar.HOUR, 48);
-                } else if ("washing".equalsIgnoreCase(status) || "drying".equalsIgnoreCase(status)) {
-                    cal.add(Calendar.HOUR, 24);
-                } else if ("folding".equalsIgnoreCase(status)) {
-                    cal.add(Calendar.HOUR, 12);
-                } else if ("ready".equalsIgnoreCase(status)) {
-                    cal.add(Calendar.HOUR, 6);
-                } else {
-                    return "Completed";
-                }
-
-                SimpleDateFormat outFmt = new SimpleDateFormat("MMM dd, HH:mm", Locale.getDefault());
-                return outFmt.format(cal.getTime());
-
-            } catch (Exception e) {
-                return "N/A";
-            }
-        }
-
-        private String formatDateTime(String dateStr) {
-            if (dateStr == null) return "N/A";
-
-            try {
-                SimpleDateFormat[] formats = {
-                    new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.getDefault()),
-                    new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.getDefault()),
-                    new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault())
-                };
-
-                Date date = null;
-                for (SimpleDateFormat fmt : formats) {
-                    try {
-                        date = fmt.parse(dateStr);
-                        if (date != null) break;
-                    } catch (ParseException ignored) {}
-                }
-
-                if (date != null) {
-                    SimpleDateFormat outFmt = new SimpleDateFormat("MMM dd, HH:mm", Locale.getDefault());
-                    return outFmt.format(date);
-                }
-            } catch (Exception e) {
-                // Fall through
-            }
-            return dateStr.length() > 10 ? dateStr.substring(0, 10) : dateStr;
-        }
-
-        private int getStatusColor(String status) {
-            if (status == null) return 0xFF757575;
-
-            switch (status.toLowerCase()) {
-                case "pending":
-                case "submitted":
-                    return 0xFFE67E22; // Orange
-                case "received":
-                case "washing":
-                case "drying":
-                case "folding":
-                    return 0xFF3498DB; // Blue
-                case "ready":
-                    return 0xFF9B59B6; // Purple
-                case "delivered":
-                case "completed":
-                    return 0xFF27AE60; // Green
-                case "cancelled":
-                    return 0xFFE74C3C; // Red
-                default:
-                    return 0xFF757575; // Grey
-            }
-        }
     }
 }
@@ -0,0 +1,158 @@
+package com.laundrybuddy.ui.staff;
+
+import androidx.annotation.Nullable;
+
+import com.laundrybuddy.models.Order;
+import com.laundrybuddy.utils.IsoDates;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Everything a staff order row displays, formatted ahead of time.
+ *
+ * Built off the main thread when orders arrive (see {@link #buildAll}), so
+ * {@link StaffOrderAdapter} binds by assigning fields rather than concatenating
+ * strings and formatting dates while the list scrolls. Immutable; a priority toggle
+ * swaps in a copy from {@link #withPriority}.
+ */
+final class StaffOrderRowModel {
+
+    private static final long HOUR_MILLIS = 3_600_000L;
+    private static final String TIME_PATTERN = "MMM dd, HH:mm";
+
+    final Order order;
+    final String orderNumber;
+    final String roomInfo;
+    final String userName;
+    @Nullable
+    final String userPhoto;
+    final String itemsCount;
+    final String statusText;
+    final int statusColor;
+    final String submittedDate;
+    final String etaDate;
+    final boolean priority;
+    final boolean completed;
+
+    private StaffOrderRowModel(Order order, String orderNumber, String roomInfo, String userName,
+            @Nullable String userPhoto, String itemsCount, String statusText, int statusColor,
+            String submittedDate, String etaDate, boolean priority, boolean completed) {
+        this.order = order;
+        this.orderNumber = orderNumber;
+        this.roomInfo = roomInfo;
+        this.userName = userName;
+        this.userPhoto = userPhoto;
+        this.itemsCount = itemsCount;
+        this.statusText = statusText;
+        this.statusColor = statusColor;
+        this.submittedDate = submittedDate;
+        this.etaDate = etaDate;
+        this.priority = priority;
+        this.completed = completed;
+    }
+
+    static StaffOrderRowModel from(Order order) {
+        String roomInfo = order.getHostelRoom();
+        if (roomInfo == null || roomInfo.isEmpty()) {
+            roomInfo = "No room specified";
+        }
+        String userName = order.getUserName();
+        if (userName == null || userName.isEmpty()) {
+            userName = "Unknown User";
+        }
+        String userPhoto = order.getUserPhoto();
+        if (userPhoto != null && userPhoto.isEmpty()) {
+            userPhoto = null;
+        }
+        String status = order.getStatus();
+        boolean completed = "delivered".equalsIgnoreCase(status) || "completed".equalsIgnoreCase(status);
+
+        return new StaffOrderRowModel(order,
+                "#" + order.getOrderNumber(),
+                roomInfo,
+                userName,
+                userPhoto,
+                order.getTotalItems() + " items",
+                order.getStatusDisplay(),
+                statusColor(status),
+                formatSubmitted(order),
+                formatEta(order),
+                order.isPriority(),
+                completed);
+    }
+
+    /**
+     * Models for every order, keyed by instance. Call off the main thread.
+     */
+    static Map<Order, StaffOrderRowModel> buildAll(List<Order> orders) {
+        Map<Order, StaffOrderRowModel> models = new IdentityHashMap<>(orders.size() * 2);
+        for (Order order : orders) {
+            models.put(order, from(order));
+        }
+        return models;
+    }
+
+    StaffOrderRowModel withPriority(boolean priority) {
+        return new StaffOrderRowModel(order, orderNumber, roomInfo, userName, userPhoto, itemsCount,
+                statusText, statusColor, submittedDate, etaDate, priority, completed);
+    }
+
+    private static String formatSubmitted(Order order) {
+        String dateStr = order.getCreatedAt();
+        if (dateStr == null) return "N/A";
+
+        long createdAt = order.getCreatedAtMillis();
+        if (createdAt != IsoDates.UNKNOWN) {
+            return IsoDates.format(createdAt, TIME_PATTERN);
+        }
+        return dateStr.length() > 10 ? dateStr.substring(0, 10) : dateStr;
+    }
+
+    private static String formatEta(Order order) {
+        long createdAt = order.getCreatedAtMillis();
+        if (createdAt == IsoDates.UNKNOWN) return "N/A";
+
+        // Add 6-48 hours based on status
+        long hours;
+        String status = order.getStatus();
+        if ("pending".equalsIgnoreCase(status) || "received".equalsIgnoreCase(status)) {
+            hours = 48;
+        } else if ("washing".equalsIgnoreCase(status) || "drying".equalsIgnoreCase(status)) {
+            hours = 24;
+        } else if ("folding".equalsIgnoreCase(status)) {
+            hours = 12;
+        } else if ("ready".equalsIgnoreCase(status)) {
+            hours = 6;
+        } else {
+            return "Completed";
+        }
+        return IsoDates.format(createdAt + hours * HOUR_MILLIS, TIME_PATTERN);
+    }
+
+    private static int statusColor(String status) {
+        if (status == null) return 0xFF757575;
+
+        switch (status.toLowerCase(Locale.ROOT)) {
+            case "pending":
+            case "submitted":
+                return 0xFFE67E22; // Orange
+            case "received":
+            case "washing":
+            case "drying":
+            case "folding":
+                return 0xFF3498DB; // Blue
+            case "ready":
+                return 0xFF9B59B6; // Purple
+            case "delivered":
+            case "completed":
+                return 0xFF27AE60; // Green
+            case "cancelled":
+                return 0xFFE74C3C; // Red
+            default:
+                return 0xFF757575; // Grey
+        }
+    }
+}
@@ -16,9 +16,7 @@ import com.laundrybuddy.databinding.ActivityContactBinding;
 import com.laundrybuddy.models.ApiResponse;
 import com.laundrybuddy.models.ContactMessage;
 import com.laundrybuddy.models.User;
-
-import java.util.HashMap;
-import java.util.Map;
+import com.laundrybuddy.models.requests.ContactRequest;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -144,12 +142,8 @@ public class ContactActivity extends AppCompatActivity {
 
         setLoading(true);
 
-        Map<String, Object> body = new HashMap<>();
-        body.put("name", name);
-        body.put("email", email);
-        body.put("subject", subject);
-        body.put("message", message);
-        body.put("hostelRoom", LaundryBuddyApp.getInstance().getPrefs().getString("hostel_room", ""));
+        ContactRequest body = new ContactRequest(name, email, subject, message,
+                LaundryBuddyApp.getInstance().getPrefs().getString("hostel_room", ""));
 
         ApiClient.getInstance().getSupportApi().sendContactMessage(body)
                 .enqueue(new Callback<ApiResponse<ContactMessage>>() {
@@ -15,16 +15,18 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 import com.google.android.material.textfield.TextInputEditText;
+import com.laundrybuddy.LaundryBuddyApp;
 import com.laundrybuddy.R;
 import com.laundrybuddy.api.ApiClient;
 import com.laundrybuddy.databinding.FragmentSupportBinding;
 import com.laundrybuddy.models.ApiResponse;
 import com.laundrybuddy.models.SupportTicket;
+import com.laundrybuddy.models.requests.TicketRequest;
+import com.laundrybuddy.repositories.SupportRepository;
+import com.laundrybuddy.utils.IsoDates;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -39,6 +41,7 @@ public class SupportFragment extends Fragment {
 
     private FragmentSupportBinding binding;
     private TicketAdapter ticketAdapter;
+    private SupportRepository supportRepository;
     private List<SupportTicket> tickets = new ArrayList<>();
 
     @Nullable
@@ -57,9 +60,12 @@ public class SupportFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
 
+        supportRepository = new SupportRepository(requireContext());
+
         setupRecyclerView();
         setupClickListeners();
 
+        observeTickets();
         loadTickets();
         loadOrdersForDropdown();
     }
@@ -205,14 +211,12 @@ public class SupportFragment extends Fragment {
         int currentMonth = cal.get(java.util.Calendar.MONTH);
         int currentYear = cal.get(java.util.Calendar.YEAR);
 
-        java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("yyyy-MM-dd", java.util.Locale.US);
-
         for (com.laundrybuddy.models.Order order : orderList) {
             try {
                 if (order.getCreatedAt() != null) {
-                    java.util.Date date = sdf.parse(order.getCreatedAt()); // Assumes ISO starts with YYYY-MM-DD
-                    if (date != null) {
-                        cal.setTime(date);
+                    long createdAt = order.getCreatedAtMillis();
+                    if (createdAt != IsoDates.UNKNOWN) {
+                        cal.setTimeInMillis(createdAt);
                         if (cal.get(java.util.Calendar.MONTH) == currentMonth &&
                                 cal.get(java.util.Calendar.YEAR) == currentYear) {
 
@@ -230,7 +234,7 @@ public class SupportFragment extends Fragment {
         }
 
         String report = "Summary for "
-                + new java.text.SimpleDateFormat("MMMM yyyy", java.util.Locale.US).format(new java.util.Date()) + "\n\n"
+                + IsoDates.format(System.currentTimeMillis(), "MMMM yyyy") + "\n\n"
                 +
                 "Orders Placed: " + totalOrders + "\n" +
                 "Clothes Washed: " + totalClothes + "\n" +
@@ -315,23 +319,10 @@ public class SupportFragment extends Fragment {
                     if (position >= 0 && position < eligibleOrders.size()) {
                         selectedOrder = eligibleOrders.get(position);
 
-                        String dateStr = selectedOrder.getCreatedAt();
-                        try {
-                            String formatPattern = dateStr.length() > 20 ? "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'"
-                                    : "yyyy-MM-dd";
-                            java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat(formatPattern,
-                                    java.util.Locale.US);
-                            if (dateStr.endsWith("Z")) {
-                                sdf.setTimeZone(java.util.TimeZone.getTimeZone("UTC"));
-                            }
-                            java.util.Date date = sdf.parse(dateStr);
-
-                            java.text.SimpleDateFormat displayFormat = new java.text.SimpleDateFormat(
-                                    "MMM dd, yyyy 'at' hh:mm a", java.util.Locale.US);
-                            binding.selectedOrderDetails.setText("Ordered on: " + displayFormat.format(date));
-                        } catch (Exception e) {
-                            binding.selectedOrderDetails.setText("Ordered on: " + dateStr);
-                        }
+                        long createdAt = selectedOrder.getCreatedAtMillis();
+                        binding.selectedOrderDetails.setText("Ordered on: " + (createdAt != IsoDates.UNKNOWN
+                                ? IsoDates.format(createdAt, "MMM dd, yyyy 'at' hh:mm a")
+                                : selectedOrder.getCreatedAt()));
                         binding.selectedOrderDetails.setVisibility(View.VISIBLE);
                     }
                 });
@@ -359,10 +350,6 @@ public class SupportFragment extends Fragment {
     }
 
     private void createTicket(com.laundrybuddy.models.Order order, String description, String category) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("orderId", order.getId());
-        body.put("orderNumber", order.getOrderNumber());
-
         // Map category to backend enum: 'missing-clothes', 'damage', 'contact'
         String type = "contact";
         if (category != null) {
@@ -371,17 +358,12 @@ public class SupportFragment extends Fragment {
             else if (category.contains("Damage"))
                 type = "damage";
         }
-        body.put("type", type);
-
-        // Backend requires 'items' string. We'll use description.
-        body.put("items", description);
-        body.put("details", description);
 
         // Optional damageType if type is damage. Not implemented in UI yet, defaulting
         // to null or generic.
-        if ("damage".equals(type)) {
-            body.put("damageType", "General Damage");
-        }
+        String damageType = "damage".equals(type) ? "General Damage" : null;
+        TicketRequest body = TicketRequest.create(order.getId(), order.getOrderNumber(), type, description,
+                damageType);
 
         binding.loadingProgress.setVisibility(View.VISIBLE);
 
@@ -418,48 +400,33 @@ public class SupportFragment extends Fragment {
         });
     }
 
-    private void loadTickets() {
-        // binding.loadingProgress.setVisibility(View.VISIBLE); // Don't block whole UI
-        binding.noTicketsText.setVisibility(View.GONE);
-
-        ApiClient.getInstance().getSupportApi().getMyTickets()
-                .enqueue(new Callback<ApiResponse<List<SupportTicket>>>() {
-                    @Override
-                    public void onResponse(Call<ApiResponse<List<SupportTicket>>> call,
-                            Response<ApiResponse<List<SupportTicket>>> response) {
-                        if (!isAdded() || binding == null)
-                            return;
-                        // binding.swipeRefresh.setRefreshing(false);
-                        // binding.loadingProgress.setVisibility(View.GONE);
-
-                        if (response.isSuccessful() && response.body() != null) {
-                            ApiResponse<List<SupportTicket>> apiResponse = response.body();
-                            if (apiResponse.isSuccess() && apiResponse.getData() != null) {
-                                tickets.clear();
-                                tickets.addAll(apiResponse.getData());
-                                ticketAdapter.notifyDataSetChanged();
-
-                                if (tickets.isEmpty()) {
-                                    binding.noTicketsText.setVisibility(View.VISIBLE);
-                                    binding.ticketsRecycler.setVisibility(View.GONE);
-                                } else {
-                                    binding.noTicketsText.setVisibility(View.GONE);
-                                    binding.ticketsRecycler.setVisibility(View.VISIBLE);
-                                }
-                            }
-                        } else {
-                            binding.noTicketsText.setVisibility(View.VISIBLE);
-                        }
-                    }
+    private void observeTickets() {
+        String userId = LaundryBuddyApp.getInstance().getUserId();
+        supportRepository.getMyTickets(userId).observe(getViewLifecycleOwner(), cached -> {
+            if (binding == null)
+                return;
+            tickets.clear();
+            if (cached != null) {
+                tickets.addAll(cached);
+            }
+            ticketAdapter.notifyDataSetChanged();
+
+            if (tickets.isEmpty()) {
+                binding.noTicketsText.setVisibility(View.VISIBLE);
+                binding.ticketsRecycler.setVisibility(View.GONE);
+            } else {
+                binding.noTicketsText.setVisibility(View.GONE);
+                binding.ticketsRecycler.setVisibility(View.VISIBLE);
+            }
+        });
+    }
 
-                    @Override
-                    public void onFailure(Call<ApiResponse<List<SupportTicket>>> call, Throwable t) {
-                        if (!isAdded() || binding == null)
-                            return;
-                        Log.e(TAG, "Failed to load tickets", t);
-                        // Show error or just leave empty state
-                    }
-                });
+    private void loadTickets() {
+        // Cached tickets are already on screen; this only pulls changes
+        supportRepository.refreshMyTickets(LaundryBuddyApp.getInstance().getUserId(), success -> {
+            if (!success)
+                Log.w(TAG, "Ticket refresh failed, showing cached tickets");
+        });
     }
 
     private void showEmptyState() {
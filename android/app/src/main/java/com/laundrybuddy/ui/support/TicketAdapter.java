@@ -11,6 +11,7 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.laundrybuddy.R;
 import com.laundrybuddy.databinding.ItemTicketBinding;
 import com.laundrybuddy.models.SupportTicket;
+import com.laundrybuddy.utils.StableIds;
 
 import java.util.List;
 
@@ -21,6 +22,7 @@ public class TicketAdapter extends RecyclerView.Adapter<TicketAdapter.TicketView
 
     private final List<SupportTicket> tickets;
     private final OnTicketClickListener listener;
+    private final StableIds stableIds = new StableIds();
 
     public interface OnTicketClickListener {
         void onTicketClick(SupportTicket ticket);
@@ -29,6 +31,7 @@ public class TicketAdapter extends RecyclerView.Adapter<TicketAdapter.TicketView
     public TicketAdapter(List<SupportTicket> tickets, OnTicketClickListener listener) {
         this.tickets = tickets;
         this.listener = listener;
+        setHasStableIds(true);
     }
 
     @NonNull
@@ -45,6 +48,17 @@ public class TicketAdapter extends RecyclerView.Adapter<TicketAdapter.TicketView
         holder.bind(ticket, listener);
     }
 
+    @Override
+    public int getItemViewType(int position) {
+        // Layout id as the type keeps rows apart in the shared view pool
+        return R.layout.item_ticket;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return stableIds.idFor(tickets.get(position).getId());
+    }
+
     @Override
     public int getItemCount() {
         return tickets.size();
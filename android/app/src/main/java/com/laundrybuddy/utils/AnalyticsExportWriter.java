@@ -0,0 +1,276 @@
+package com.laundrybuddy.utils;
+
+import com.laundrybuddy.api.AdminApi;
+import com.laundrybuddy.api.TrackingApi;
+import com.laundrybuddy.models.ApiResponse;
+import com.laundrybuddy.models.Order;
+import com.laundrybuddy.models.Tracking;
+import com.laundrybuddy.repositories.AdminOrderPager;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import retrofit2.Response;
+
+/**
+ * Writes the analytics export: one zip holding normalised CSV tables that load
+ * directly into spreadsheets or pandas.
+ *
+ * <pre>
+ * orders.csv           one row per order, status as a dictionary code
+ * order_items.csv      one row per item, category as a dictionary code
+ * status_timeline.csv  one row per tracking timeline entry
+ * dict_status.csv      code -> status
+ * dict_category.csv    code -> category
+ * </pre>
+ *
+ * Orders and timelines are read from the server a page at a time (Room holds only
+ * the dashboard's newest page) and each table is streamed into its own zip entry,
+ * so the file is never held in memory. Item rows are spooled to a side file while
+ * orders stream, so every order is fetched once. Any page that fails to load fails
+ * the whole export: a bundle missing rows would skew whatever is computed from it.
+ */
+class AnalyticsExportWriter {
+
+    private static final int TIMELINE_PAGE_SIZE = 200;
+    private static final int PROGRESS_INTERVAL = 100;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final AdminApi adminApi;
+    private final TrackingApi trackingApi;
+    private final Dictionary statuses = new Dictionary();
+    private final Dictionary categories = new Dictionary();
+    private int done;
+    private int total;
+
+    AnalyticsExportWriter(AdminApi adminApi, TrackingApi trackingApi) {
+        this.adminApi = adminApi;
+        this.trackingApi = trackingApi;
+    }
+
+    void write(File file, ExportUtils.ProgressListener progress) throws IOException, InterruptedException {
+        done = 0;
+        total = 0;
+        File itemsFile = new File(file.getParentFile(), file.getName() + ".items");
+
+        ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(file), WRITE_BUFFER_SIZE));
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE)) {
+            beginEntry(zip, out, "orders.csv",
+                    "order_id,order_number,user_id,status,total_items,is_priority,rating,feedback_comment,"
+                            + "created_at,updated_at,estimated_delivery");
+            try (Writer items = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(itemsFile), StandardCharsets.UTF_8), WRITE_BUFFER_SIZE)) {
+                writeOrders(out, items, progress);
+            }
+            endEntry(zip, out);
+
+            beginEntry(zip, out, "order_items.csv", "order_number,item_name,category,quantity");
+            out.flush();
+            copy(itemsFile, zip);
+            endEntry(zip, out);
+
+            beginEntry(zip, out, "status_timeline.csv", "order_number,seq,status,timestamp,note");
+            writeTimelines(out, progress);
+            endEntry(zip, out);
+
+            writeDictionary(zip, out, "dict_status.csv", "code,status", statuses);
+            writeDictionary(zip, out, "dict_category.csv", "code,category", categories);
+        } finally {
+            itemsFile.delete();
+        }
+        progress.onProgress(total, total);
+    }
+
+    private void writeOrders(Writer out, Writer items, ExportUtils.ProgressListener progress)
+            throws IOException, InterruptedException {
+        AdminOrderPager orders = new AdminOrderPager(adminApi, null, null);
+        for (List<Order> page = orders.next(); !page.isEmpty(); page = orders.next()) {
+            // Timelines are estimated at one per order
+            total = Math.max(total, orders.getTotal() * 2);
+            for (Order order : page) {
+                checkCancelled();
+                writeOrderRow(out, order);
+                writeItemRows(items, order);
+                step(progress);
+            }
+        }
+    }
+
+    private static void copy(File source, OutputStream target) throws IOException {
+        byte[] buffer = new byte[WRITE_BUFFER_SIZE];
+        try (InputStream in = new FileInputStream(source)) {
+            for (int read; (read = in.read(buffer)) != -1; ) {
+                target.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private void writeOrderRow(Writer out, Order order) throws IOException {
+        Order.Feedback feedback = order.getFeedback();
+        out.write(csv(order.getId()));
+        out.write(',');
+        out.write(csv(order.getOrderNumber()));
+        out.write(',');
+        out.write(csv(order.getUserId()));
+        out.write(',');
+        out.write(statuses.code(order.getStatus()));
+        out.write(',');
+        out.write(Integer.toString(order.getTotalItems()));
+        out.write(',');
+        out.write(order.isPriority() ? '1' : '0');
+        out.write(',');
+        if (order.getRating() != null) {
+            out.write(Integer.toString(order.getRating()));
+        }
+        out.write(',');
+        out.write(csv(feedback != null ? feedback.getComment() : null));
+        out.write(',');
+        out.write(csv(order.getCreatedAt()));
+        out.write(',');
+        out.write(csv(order.getUpdatedAt()));
+        out.write(',');
+        out.write(csv(order.getEstimatedDelivery()));
+        out.write('\n');
+    }
+
+    private void writeItemRows(Writer out, Order order) throws IOException {
+        List<Order.OrderItem> items = order.getItems();
+        if (items == null) {
+            return;
+        }
+        String orderNumber = csv(order.getOrderNumber());
+        for (Order.OrderItem item : items) {
+            // The backend has used both name/category/quantity and type/count
+            String category = item.getCategory() != null ? item.getCategory() : item.getType();
+            int quantity = item.getQuantity() > 0 ? item.getQuantity() : item.getCount();
+            out.write(orderNumber);
+            out.write(',');
+            out.write(csv(item.getName() != null ? item.getName() : item.getType()));
+            out.write(',');
+            out.write(categories.code(category));
+            out.write(',');
+            out.write(Integer.toString(quantity));
+            out.write('\n');
+        }
+    }
+
+    private void writeTimelines(Writer out, ExportUtils.ProgressListener progress)
+            throws IOException, InterruptedException {
+        for (int page = 1;; page++) {
+            checkCancelled();
+            // Failures (including the InterruptedIOException of a cancel) propagate and fail the export
+            Response<ApiResponse<List<Tracking>>> response = trackingApi
+                    .getAllTracking(null, page, TIMELINE_PAGE_SIZE).execute();
+            if (!response.isSuccessful() || response.body() == null) {
+                throw new IOException("Timeline page " + page + " failed: HTTP " + response.code());
+            }
+            List<Tracking> trackings = response.body().getData();
+            if (trackings == null) {
+                return;
+            }
+
+            for (Tracking tracking : trackings) {
+                List<Tracking.StatusUpdate> history = tracking.getStatusHistory();
+                if (history != null) {
+                    String orderNumber = csv(tracking.getOrderNumber());
+                    for (int seq = 0; seq < history.size(); seq++) {
+                        Tracking.StatusUpdate update = history.get(seq);
+                        out.write(orderNumber);
+                        out.write(',');
+                        out.write(Integer.toString(seq));
+                        out.write(',');
+                        out.write(statuses.code(update.getStatus()));
+                        out.write(',');
+                        out.write(csv(update.getTimestamp()));
+                        out.write(',');
+                        out.write(csv(update.getNote()));
+                        out.write('\n');
+                    }
+                }
+                step(progress);
+            }
+            if (trackings.size() < TIMELINE_PAGE_SIZE) {
+                return;
+            }
+        }
+    }
+
+    private void writeDictionary(ZipOutputStream zip, Writer out, String name, String header, Dictionary dictionary)
+            throws IOException {
+        beginEntry(zip, out, name, header);
+        for (Map.Entry<String, Integer> entry : dictionary.codes.entrySet()) {
+            out.write(Integer.toString(entry.getValue()));
+            out.write(',');
+            out.write(csv(entry.getKey()));
+            out.write('\n');
+        }
+        endEntry(zip, out);
+    }
+
+    private static void beginEntry(ZipOutputStream zip, Writer out, String name, String header) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        out.write(header);
+        out.write('\n');
+    }
+
+    private static void endEntry(ZipOutputStream zip, Writer out) throws IOException {
+        // Buffered text must reach the entry before it is closed
+        out.flush();
+        zip.closeEntry();
+    }
+
+    private void step(ExportUtils.ProgressListener progress) {
+        done++;
+        if (done > total) {
+            total = done;
+        }
+        if (done % PROGRESS_INTERVAL == 0) {
+            progress.onProgress(done, total);
+        }
+    }
+
+    private static void checkCancelled() throws InterruptedException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    private static String csv(String value) {
+        return ExportUtils.escapeCSV(value);
+    }
+
+    /**
+     * Assigns small integer codes to repeated values in first-seen order
+     */
+    private static class Dictionary {
+        final Map<String, Integer> codes = new LinkedHashMap<>();
+
+        String code(String value) {
+            if (value == null || value.isEmpty()) {
+                return "";
+            }
+            String key = value.trim().toLowerCase(Locale.ROOT);
+            Integer code = codes.get(key);
+            if (code == null) {
+                code = codes.size();
+                codes.put(key, code);
+            }
+            return Integer.toString(code);
+        }
+    }
+}
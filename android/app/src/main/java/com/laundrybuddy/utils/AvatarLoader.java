@@ -0,0 +1,129 @@
+package com.laundrybuddy.utils;
+
+import android.content.Context;
+import android.util.Log;
+import android.widget.ImageView;
+
+import androidx.annotation.DrawableRes;
+import androidx.annotation.Nullable;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.bumptech.glide.request.RequestOptions;
+import com.laundrybuddy.api.ApiClient;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Loads user avatars through Glide with one set of options, so every screen and the
+ * background prefetch share cache entries.
+ *
+ * Photo URLs change on every upload, so fetched bytes are cached on disk indefinitely
+ * and an avatar opens from cache without a network hit. Avatars have no alpha and are
+ * decoded as RGB_565 at half the memory of ARGB_8888. Cloudinary URLs are requested
+ * at a bucketed size so the server resizes and nearby view sizes share one entry.
+ */
+public final class AvatarLoader {
+
+    private static final String TAG = "AvatarLoader";
+    private static final int[] SIZE_BUCKETS_PX = { 64, 128, 256, 512 };
+    private static final String CLOUDINARY_UPLOAD = "/image/upload/";
+    // Matches the avatar in item_staff_order.xml
+    private static final int LIST_AVATAR_DP = 20;
+
+    private static final RequestOptions AVATAR_OPTIONS = new RequestOptions()
+            .format(DecodeFormat.PREFER_RGB_565)
+            .diskCacheStrategy(DiskCacheStrategy.DATA);
+
+    private AvatarLoader() {
+    }
+
+    /**
+     * Load a stored profile photo (absolute or server-relative) into the view
+     */
+    public static void load(RequestManager glide, @Nullable String photo, ImageView target, int sizePx,
+            @DrawableRes int placeholder) {
+        String url = resolveUrl(photo);
+        if (url == null) {
+            glide.clear(target);
+            target.setImageResource(placeholder);
+            return;
+        }
+        glide.load(bucketedUrl(url, sizePx))
+                .apply(AVATAR_OPTIONS)
+                .placeholder(placeholder)
+                .error(placeholder)
+                .into(target);
+    }
+
+    /**
+     * Fetch avatars into the disk cache ahead of display. Safe to call from any thread.
+     */
+    public static void prefetch(Context context, Collection<String> photos, int sizePx) {
+        Set<String> urls = new LinkedHashSet<>();
+        for (String photo : photos) {
+            String url = resolveUrl(photo);
+            if (url != null) {
+                urls.add(bucketedUrl(url, sizePx));
+            }
+        }
+        RequestManager glide = Glide.with(context.getApplicationContext());
+        for (String url : urls) {
+            // downloadOnly() caches the source bytes at low priority, the entry load() reads
+            glide.downloadOnly().load(url).preload();
+        }
+        if (!urls.isEmpty()) {
+            Log.d(TAG, "Prefetching " + urls.size() + " avatars");
+        }
+    }
+
+    /**
+     * Pixel size of the avatar shown in order lists, for prefetching the matching bucket
+     */
+    public static int listAvatarPx(Context context) {
+        return Math.round(LIST_AVATAR_DP * context.getResources().getDisplayMetrics().density);
+    }
+
+    @Nullable
+    public static String resolveUrl(@Nullable String photo) {
+        if (photo == null || photo.isEmpty()) {
+            return null;
+        }
+        if (photo.startsWith("http")) {
+            return photo;
+        }
+        String baseUrl = ApiClient.getBaseUrl().replace("/api", "");
+        // Join without doubling or dropping the slash
+        if (baseUrl.endsWith("/") && photo.startsWith("/")) {
+            return baseUrl + photo.substring(1);
+        } else if (!baseUrl.endsWith("/") && !photo.startsWith("/")) {
+            return baseUrl + "/" + photo;
+        }
+        return baseUrl + photo;
+    }
+
+    /**
+     * Cloudinary URL asking for a square crop at the smallest bucket covering the
+     * view; other URLs are returned unchanged (local uploads are already small)
+     */
+    static String bucketedUrl(String url, int sizePx) {
+        int index = url.indexOf(CLOUDINARY_UPLOAD);
+        if (index < 0 || !url.contains("res.cloudinary.com")) {
+            return url;
+        }
+        int bucket = SIZE_BUCKETS_PX[SIZE_BUCKETS_PX.length - 1];
+        for (int candidate : SIZE_BUCKETS_PX) {
+            if (candidate >= sizePx) {
+                bucket = candidate;
+                break;
+            }
+        }
+        int insertAt = index + CLOUDINARY_UPLOAD.length();
+        return url.substring(0, insertAt) + "c_fill,g_face,w_" + bucket + ",h_" + bucket + "/"
+                + url.substring(insertAt);
+    }
+}
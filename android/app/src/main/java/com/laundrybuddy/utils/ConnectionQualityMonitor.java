@@ -0,0 +1,181 @@
+package com.laundrybuddy.utils;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Estimates connection quality from recent OkHttp call timings.
+ *
+ * A network interceptor measures time-to-first-byte for every call, and effective
+ * throughput (wire bytes / time from headers received until the body is fully read)
+ * for responses large enough to say something about bandwidth. Both are
+ * smoothed with an EWMA and combined with the metered state of the active
+ * network into a coarse {@link Quality} bucket that {@link NetworkScheduler}
+ * uses to size and defer requests.
+ */
+public class ConnectionQualityMonitor {
+
+    private static final String TAG = "ConnectionQuality";
+
+    public enum Quality {
+        OFFLINE, POOR, MODERATE, GOOD, UNKNOWN
+    }
+
+    public interface QualityListener {
+        void onQualityChanged(Quality quality);
+    }
+
+    // EWMA weight of the newest sample
+    private static final double ALPHA = 0.3;
+    // Samples older than this no longer describe the current link
+    private static final long SAMPLE_TTL_MS = 5 * 60 * 1000;
+    // Smaller bodies arrive in a round trip or two, so their rate reflects latency, not bandwidth
+    private static final long MIN_THROUGHPUT_BYTES = 32 * 1024;
+
+    private static final long POOR_LATENCY_MS = 2000;
+    private static final long MODERATE_LATENCY_MS = 800;
+    private static final double POOR_KBPS = 150;
+    private static final double MODERATE_KBPS = 550;
+
+    private static ConnectionQualityMonitor instance;
+
+    private final Context context;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<QualityListener> listeners = new CopyOnWriteArrayList<>();
+
+    private double latencyMs = -1;
+    private double throughputKbps = -1;
+    private long lastSampleAt;
+    private Quality lastReported = Quality.UNKNOWN;
+
+    private ConnectionQualityMonitor(Context context) {
+        this.context = context.getApplicationContext();
+    }
+
+    public static synchronized void init(Context context) {
+        if (instance == null) {
+            instance = new ConnectionQualityMonitor(context);
+        }
+    }
+
+    public static ConnectionQualityMonitor getInstance() {
+        if (instance == null) {
+            throw new IllegalStateException(
+                    "ConnectionQualityMonitor must be initialized first. Call init() in Application.onCreate()");
+        }
+        return instance;
+    }
+
+    /**
+     * Network interceptor that feeds timing samples into this monitor.
+     */
+    public Interceptor getInterceptor() {
+        return chain -> {
+            long start = SystemClock.elapsedRealtime();
+            Response response;
+            try {
+                response = chain.proceed(chain.request());
+            } catch (IOException e) {
+                // Timeouts and resets are the strongest signal of a bad link
+                recordLatency(SystemClock.elapsedRealtime() - start);
+                throw e;
+            }
+            // Headers are in: upload and time-to-first-byte end here, body transfer starts
+            long headersAt = SystemClock.elapsedRealtime();
+            recordLatency(headersAt - start);
+
+            ResponseBody body = response.body();
+            if (body == null) {
+                return response;
+            }
+            return response.newBuilder()
+                    .body(new ObservedResponseBody(body,
+                            bytes -> recordThroughput(bytes, SystemClock.elapsedRealtime() - headersAt)))
+                    .build();
+        };
+    }
+
+    public void addListener(QualityListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(QualityListener listener) {
+        listeners.remove(listener);
+    }
+
+    public synchronized Quality getQuality() {
+        if (!NetworkUtils.isNetworkAvailable(context)) {
+            return Quality.OFFLINE;
+        }
+        if (lastSampleAt == 0 || SystemClock.elapsedRealtime() - lastSampleAt > SAMPLE_TTL_MS) {
+            return Quality.UNKNOWN;
+        }
+        if (latencyMs >= POOR_LATENCY_MS || (throughputKbps >= 0 && throughputKbps < POOR_KBPS)) {
+            return Quality.POOR;
+        }
+        if (latencyMs >= MODERATE_LATENCY_MS || (throughputKbps >= 0 && throughputKbps < MODERATE_KBPS)) {
+            return Quality.MODERATE;
+        }
+        return Quality.GOOD;
+    }
+
+    public boolean isMetered() {
+        return NetworkUtils.isActiveNetworkMetered(context);
+    }
+
+    public synchronized double getLatencyMs() {
+        return latencyMs;
+    }
+
+    public synchronized double getThroughputKbps() {
+        return throughputKbps;
+    }
+
+    private void recordLatency(long elapsedMs) {
+        synchronized (this) {
+            latencyMs = latencyMs < 0 ? elapsedMs : ALPHA * elapsedMs + (1 - ALPHA) * latencyMs;
+            lastSampleAt = SystemClock.elapsedRealtime();
+        }
+        notifyIfChanged();
+    }
+
+    private void recordThroughput(long bytes, long elapsedMs) {
+        if (bytes < MIN_THROUGHPUT_BYTES || elapsedMs <= 0) {
+            return;
+        }
+        double kbps = (bytes * 8.0) / elapsedMs; // bits per ms == kbit/s
+        synchronized (this) {
+            throughputKbps = throughputKbps < 0 ? kbps : ALPHA * kbps + (1 - ALPHA) * throughputKbps;
+            lastSampleAt = SystemClock.elapsedRealtime();
+        }
+        notifyIfChanged();
+    }
+
+    private void notifyIfChanged() {
+        Quality quality = getQuality();
+        synchronized (this) {
+            if (quality == lastReported) {
+                return;
+            }
+            lastReported = quality;
+        }
+        Log.d(TAG, "Connection quality: " + quality + " (latency=" + Math.round(getLatencyMs())
+                + "ms, throughput=" + Math.round(getThroughputKbps()) + "kbps)");
+        mainHandler.post(() -> {
+            for (QualityListener listener : listeners) {
+                listener.onQualityChanged(quality);
+            }
+        });
+    }
+}
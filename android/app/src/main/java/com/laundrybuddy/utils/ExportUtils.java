@@ -3,103 +3,350 @@ package com.laundrybuddy.utils;
 import android.content.Context;
 import android.content.Intent;
 import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 
+import androidx.annotation.Nullable;
 import androidx.core.content.FileProvider;
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
+import com.laundrybuddy.api.ApiClient;
+import com.laundrybuddy.db.AppDatabase;
+import com.laundrybuddy.db.OrderDao;
 import com.laundrybuddy.models.Order;
+import com.laundrybuddy.repositories.AdminOrderPager;
 
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntSupplier;
 
 /**
- * Utility class for exporting order data to CSV/JSON files
+ * Utility class for exporting order data to CSV/JSON files.
+ *
+ * Exports run on a background thread and stream rows through a buffered writer,
+ * reading orders a page at a time, so memory stays flat regardless of history size.
+ * Callbacks arrive on the main thread; cancelling the returned future deletes the
+ * partial file and suppresses any pending callbacks.
  */
 public class ExportUtils {
 
     private static final String TAG = "ExportUtils";
     private static final String EXPORT_DIR = "exports";
+    private static final int PAGE_SIZE = 500;
+    private static final int PROGRESS_INTERVAL = 100;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private static final Gson gson = new Gson();
+
+    public enum Format {
+        CSV("csv"), JSON("json");
+
+        final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+    }
 
     public interface ExportCallback {
+        default void onProgress(int done, int total) {
+        }
+
         void onSuccess(File file);
 
         void onError(String message);
     }
 
+    /**
+     * Supplies orders to an export one page at a time; an empty page ends the export
+     */
+    private interface OrderPager {
+        List<Order> next() throws IOException;
+    }
+
+    /**
+     * Reads orders by offset and limit, e.g. from Room
+     */
+    private interface OrderQuery {
+        List<Order> page(int offset, int limit) throws IOException;
+    }
+
+    /**
+     * Writes one export file on the export thread, reporting progress as it goes.
+     * Implementations should check for interruption so cancellation stays prompt.
+     */
+    interface ExportBody {
+        void write(File file, ProgressListener progress) throws IOException, InterruptedException;
+    }
+
+    interface ProgressListener {
+        void onProgress(int done, int total);
+    }
+
     /**
      * Export orders to CSV format
      */
-    public static void exportToCsv(Context context, List<Order> orders, ExportCallback callback) {
-        try {
-            File exportDir = new File(context.getCacheDir(), EXPORT_DIR);
-            if (!exportDir.exists()) {
-                exportDir.mkdirs();
+    public static Future<?> exportToCsv(Context context, List<Order> orders, ExportCallback callback) {
+        return exportOrders(context, orders, Format.CSV, callback);
+    }
+
+    /**
+     * Export orders to JSON format
+     */
+    public static Future<?> exportToJson(Context context, List<Order> orders, ExportCallback callback) {
+        return exportOrders(context, orders, Format.JSON, callback);
+    }
+
+    /**
+     * Export an in-memory list (e.g. the currently filtered orders)
+     */
+    public static Future<?> exportOrders(Context context, List<Order> orders, Format format,
+            ExportCallback callback) {
+        List<Order> snapshot = new ArrayList<>(orders);
+        return submit(context, format, snapshot::size,
+                (offset, limit) -> snapshot.subList(Math.min(offset, snapshot.size()),
+                        Math.min(offset + limit, snapshot.size())),
+                callback);
+    }
+
+    /**
+     * Export every cached order straight from Room, optionally for one user only
+     */
+    public static Future<?> exportAllOrders(Context context, @Nullable String userId, Format format,
+            ExportCallback callback) {
+        OrderDao orderDao = AppDatabase.getDatabase(context).orderDao();
+        return submit(context, format, () -> orderDao.countOrders(userId),
+                (offset, limit) -> orderDao.getOrdersPage(userId, limit, offset),
+                callback);
+    }
+
+    /**
+     * Export every order on the server (staff only), paged from the admin endpoint.
+     * The dashboard caches just its newest page, so Room would miss most of history.
+     * A page that fails to load fails the export instead of leaving it short.
+     */
+    public static Future<?> exportServerOrders(Context context, Format format, ExportCallback callback) {
+        return submit(context, "orders", format.extension, format.name(), (file, progress) -> {
+            AdminOrderPager pager = new AdminOrderPager(ApiClient.getInstance().getAdminApi(), null, null);
+            writeRows(file, format, pager::getTotal, pager::next, progress);
+        }, callback);
+    }
+
+    /**
+     * Export a compressed analytics bundle: normalised CSV tables for orders, items and
+     * status timelines with dictionary-encoded status/category columns, in one zip.
+     * See {@link AnalyticsExportWriter} for the layout.
+     */
+    public static Future<?> exportAnalytics(Context context, ExportCallback callback) {
+        ApiClient api = ApiClient.getInstance();
+        AnalyticsExportWriter writer = new AnalyticsExportWriter(api.getAdminApi(), api.getTrackingApi());
+        return submit(context, "orders_analytics", "zip", "analytics", writer::write, callback);
+    }
+
+    private static Future<?> submit(Context context, Format format, IntSupplier total, OrderQuery query,
+            ExportCallback callback) {
+        return submit(context, "orders", format.extension, format.name(), (file, progress) -> {
+            int count = total.getAsInt();
+            writeRows(file, format, () -> count, byOffset(query), progress);
+        }, callback);
+    }
+
+    private static OrderPager byOffset(OrderQuery query) {
+        int[] offset = { 0 };
+        return () -> {
+            if (offset[0] < 0) {
+                return Collections.emptyList();
+            }
+            List<Order> page = query.page(offset[0], PAGE_SIZE);
+            // A short page is the last one
+            offset[0] = page.size() < PAGE_SIZE ? -1 : offset[0] + page.size();
+            return page;
+        };
+    }
+
+    private static Future<?> submit(Context context, String prefix, String extension, String label,
+            ExportBody body, ExportCallback callback) {
+        Context appContext = context.getApplicationContext();
+        MainThreadCallback dispatcher = new MainThreadCallback(callback);
+        Future<?> task = executor.submit(() -> {
+            File file = null;
+            try {
+                file = newExportFile(appContext, prefix, extension);
+                body.write(file, dispatcher::onProgress);
+                dispatcher.onSuccess(file);
+            } catch (InterruptedException e) {
+                Log.d(TAG, "Export cancelled");
+                if (file != null) {
+                    file.delete();
+                }
+            } catch (IOException | RuntimeException e) {
+                Log.e(TAG, "Error exporting " + label, e);
+                if (file != null) {
+                    file.delete();
+                }
+                dispatcher.onError("Failed to export " + label + ": " + e.getMessage());
             }
+        });
+        dispatcher.task = task;
+        return task;
+    }
+
+    private static void writeRows(File file, Format format, IntSupplier total, OrderPager pager,
+            ProgressListener progress) throws IOException, InterruptedException {
+        int done = 0;
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(file), StandardCharsets.UTF_8), WRITE_BUFFER_SIZE)) {
+            RowWriter rows = format == Format.CSV ? new CsvRowWriter(out) : new JsonRowWriter(out);
+            rows.begin();
+            for (List<Order> page = pager.next(); !page.isEmpty(); page = pager.next()) {
+                for (Order order : page) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedException();
+                    }
+                    rows.write(order);
+                    if (++done % PROGRESS_INTERVAL == 0) {
+                        progress.onProgress(done, total.getAsInt());
+                    }
+                }
+            }
+            rows.end();
+        }
+        progress.onProgress(done, Math.max(done, total.getAsInt()));
+    }
 
-            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss", Locale.getDefault()).format(new Date());
-            File csvFile = new File(exportDir, "orders_" + timestamp + ".csv");
+    private static File newExportFile(Context context, String prefix, String extension) {
+        File exportDir = new File(context.getCacheDir(), EXPORT_DIR);
+        if (!exportDir.exists()) {
+            exportDir.mkdirs();
+        }
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss", Locale.getDefault()).format(new Date());
+        return new File(exportDir, prefix + "_" + timestamp + "." + extension);
+    }
+
+    private interface RowWriter {
+        void begin() throws IOException;
 
-            FileWriter writer = new FileWriter(csvFile);
+        void write(Order order) throws IOException;
 
-            // Write CSV header
-            writer.append(
-                    "Order Number,Status,Total Items,Special Instructions,Created At,Estimated Delivery,Rating\n");
+        void end() throws IOException;
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+        private final Writer out;
 
-            // Write order data
-            for (Order order : orders) {
-                writer.append(escapeCSV(order.getOrderNumber())).append(",");
-                writer.append(escapeCSV(order.getStatus())).append(",");
-                writer.append(String.valueOf(order.getTotalItems())).append(",");
-                writer.append(escapeCSV(order.getSpecialInstructions())).append(",");
-                writer.append(escapeCSV(formatDate(order.getCreatedAt()))).append(",");
-                writer.append(escapeCSV(formatDate(order.getEstimatedDelivery()))).append(",");
-                writer.append(order.getRating() != null ? String.valueOf(order.getRating()) : "").append("\n");
+        CsvRowWriter(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void begin() throws IOException {
+            out.write("Order Number,Status,Total Items,Special Instructions,Created At,Estimated Delivery,Rating\n");
+        }
+
+        @Override
+        public void write(Order order) throws IOException {
+            out.write(escapeCSV(order.getOrderNumber()));
+            out.write(',');
+            out.write(escapeCSV(order.getStatus()));
+            out.write(',');
+            out.write(Integer.toString(order.getTotalItems()));
+            out.write(',');
+            out.write(escapeCSV(order.getSpecialInstructions()));
+            out.write(',');
+            out.write(escapeCSV(formatDate(order.getCreatedAt(), order.getCreatedAtMillis())));
+            out.write(',');
+            out.write(escapeCSV(formatDate(order.getEstimatedDelivery(), order.getEstimatedDeliveryMillis())));
+            out.write(',');
+            if (order.getRating() != null) {
+                out.write(Integer.toString(order.getRating()));
             }
+            out.write('\n');
+        }
 
-            writer.flush();
-            writer.close();
+        @Override
+        public void end() {
+        }
+
+        private String formatDate(String dateString, long epochMillis) {
+            if (dateString == null)
+                return "";
+            return epochMillis != IsoDates.UNKNOWN ? IsoDates.format(epochMillis, "yyyy-MM-dd HH:mm") : dateString;
+        }
+    }
+
+    private static class JsonRowWriter implements RowWriter {
+        private final JsonWriter writer;
 
-            callback.onSuccess(csvFile);
+        JsonRowWriter(Writer out) {
+            this.writer = new JsonWriter(out);
+            this.writer.setIndent("  ");
+        }
 
-        } catch (IOException e) {
-            Log.e(TAG, "Error exporting CSV", e);
-            callback.onError("Failed to export CSV: " + e.getMessage());
+        @Override
+        public void begin() throws IOException {
+            writer.beginArray();
+        }
+
+        @Override
+        public void write(Order order) {
+            gson.toJson(order, Order.class, writer);
+        }
+
+        @Override
+        public void end() throws IOException {
+            writer.endArray();
+            writer.flush();
         }
     }
 
     /**
-     * Export orders to JSON format
+     * Forwards export callbacks to the main thread, dropping them once the task is cancelled
      */
-    public static void exportToJson(Context context, List<Order> orders, ExportCallback callback) {
-        try {
-            File exportDir = new File(context.getCacheDir(), EXPORT_DIR);
-            if (!exportDir.exists()) {
-                exportDir.mkdirs();
-            }
+    private static class MainThreadCallback {
+        private final ExportCallback callback;
+        volatile Future<?> task;
 
-            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss", Locale.getDefault()).format(new Date());
-            File jsonFile = new File(exportDir, "orders_" + timestamp + ".json");
+        MainThreadCallback(ExportCallback callback) {
+            this.callback = callback;
+        }
 
-            Gson gson = new GsonBuilder().setPrettyPrinting().create();
-            String json = gson.toJson(orders);
+        private void post(Runnable action) {
+            mainHandler.post(() -> {
+                Future<?> current = task;
+                if (current == null || !current.isCancelled()) {
+                    action.run();
+                }
+            });
+        }
 
-            FileWriter writer = new FileWriter(jsonFile);
-            writer.write(json);
-            writer.flush();
-            writer.close();
+        void onProgress(int done, int total) {
+            post(() -> callback.onProgress(done, total));
+        }
 
-            callback.onSuccess(jsonFile);
+        void onSuccess(File file) {
+            post(() -> callback.onSuccess(file));
+        }
 
-        } catch (IOException e) {
-            Log.e(TAG, "Error exporting JSON", e);
-            callback.onError("Failed to export JSON: " + e.getMessage());
+        void onError(String message) {
+            post(() -> callback.onError(message));
         }
     }
 
@@ -134,7 +381,7 @@ public class ExportUtils {
         shareFile(context, file, "application/json");
     }
 
-    private static String escapeCSV(String value) {
+    static String escapeCSV(String value) {
         if (value == null)
             return "";
         if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
@@ -143,17 +390,4 @@ public class ExportUtils {
         }
         return value;
     }
-
-    private static String formatDate(String dateString) {
-        if (dateString == null)
-            return "";
-        try {
-            SimpleDateFormat inputFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.getDefault());
-            Date date = inputFormat.parse(dateString);
-            SimpleDateFormat outputFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm", Locale.getDefault());
-            return outputFormat.format(date);
-        } catch (Exception e) {
-            return dateString;
-        }
-    }
 }
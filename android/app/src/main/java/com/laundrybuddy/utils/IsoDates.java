@@ -0,0 +1,233 @@
+package com.laundrybuddy.utils;
+
+import androidx.annotation.Nullable;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * The app's one ISO-8601 timestamp parser and formatter. Thread-safe.
+ *
+ * Parsing is hand-rolled and allocation-free, and accepts every variant the
+ * backend and Postgres emit:
+ * <pre>
+ * 2025-01-31                       date only (midnight UTC)
+ * 2025-01-31T09:05                 no seconds
+ * 2025-01-31T09:05:07              no zone (treated as UTC)
+ * 2025-01-31T09:05:07.123Z         fraction of any length, Z
+ * 2025-01-31 09:05:07.123456+05:30 space separator, offsets as +HH:MM, +HHMM or +HH
+ * </pre>
+ * Recently parsed strings are memoised in a small lock-free cache, so rebinding
+ * the same rows costs a hash lookup. Display formatting uses per-thread
+ * formatters in the device's locale and time zone.
+ */
+public final class IsoDates {
+
+    /**
+     * Returned for null or unparseable input
+     */
+    public static final long UNKNOWN = Long.MIN_VALUE;
+
+    private static final int CACHE_SIZE = 1024; // power of two
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    // Direct-mapped; entries are immutable, so a racing read sees a whole entry or another one
+    private static final Entry[] cache = new Entry[CACHE_SIZE];
+
+    private static final ThreadLocal<Map<String, SimpleDateFormat>> displayFormats =
+            ThreadLocal.withInitial(HashMap::new);
+
+    private static final ThreadLocal<SimpleDateFormat> isoFormat = ThreadLocal.withInitial(() -> {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format;
+    });
+
+    private static final class Entry {
+        final String text;
+        final long epochMillis;
+
+        Entry(String text, long epochMillis) {
+            this.text = text;
+            this.epochMillis = epochMillis;
+        }
+    }
+
+    private IsoDates() {
+    }
+
+    /**
+     * Epoch millis of an ISO-8601 timestamp, or {@link #UNKNOWN}
+     */
+    public static long parse(@Nullable String text) {
+        if (text == null) {
+            return UNKNOWN;
+        }
+        int slot = (text.hashCode() ^ (text.hashCode() >>> 16)) & (CACHE_SIZE - 1);
+        Entry entry = cache[slot];
+        if (entry != null && entry.text.equals(text)) {
+            return entry.epochMillis;
+        }
+        long epochMillis = parseUncached(text);
+        cache[slot] = new Entry(text, epochMillis);
+        return epochMillis;
+    }
+
+    static long parseUncached(String s) {
+        int length = s.length();
+        if (length < 10 || s.charAt(4) != '-' || s.charAt(7) != '-') {
+            return UNKNOWN;
+        }
+        int year = digits(s, 0, 4);
+        int month = digits(s, 5, 2);
+        int day = digits(s, 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)) {
+            return UNKNOWN;
+        }
+        long millis = daysFromCivil(year, month, day) * MILLIS_PER_DAY;
+        if (length == 10) {
+            return millis;
+        }
+
+        char separator = s.charAt(10);
+        if ((separator != 'T' && separator != 't' && separator != ' ') || length < 16 || s.charAt(13) != ':') {
+            return UNKNOWN;
+        }
+        int hour = digits(s, 11, 2);
+        int minute = digits(s, 14, 2);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return UNKNOWN;
+        }
+        millis += hour * 3_600_000L + minute * 60_000L;
+
+        int i = 16;
+        if (i < length && s.charAt(i) == ':') {
+            int second = digits(s, i + 1, 2);
+            if (second < 0 || second > 60) {
+                return UNKNOWN;
+            }
+            millis += second * 1000L;
+            i += 3;
+            if (i < length && (s.charAt(i) == '.' || s.charAt(i) == ',')) {
+                i++;
+                int fractionStart = i;
+                int fractionMillis = 0;
+                while (i < length && isDigit(s.charAt(i))) {
+                    // Only the first three digits matter at millisecond precision
+                    if (i - fractionStart < 3) {
+                        fractionMillis = fractionMillis * 10 + (s.charAt(i) - '0');
+                    }
+                    i++;
+                }
+                if (i == fractionStart) {
+                    return UNKNOWN;
+                }
+                for (int scale = i - fractionStart; scale < 3; scale++) {
+                    fractionMillis *= 10;
+                }
+                millis += fractionMillis;
+            }
+        }
+
+        if (i == length) {
+            return millis; // No zone: the backend stores UTC
+        }
+        char zone = s.charAt(i);
+        if ((zone == 'Z' || zone == 'z') && i + 1 == length) {
+            return millis;
+        }
+        if (zone != '+' && zone != '-') {
+            return UNKNOWN;
+        }
+        int offsetHours = digits(s, i + 1, 2);
+        int offsetMinutes = 0;
+        int rest = length - (i + 3);
+        if (rest == 3 && s.charAt(i + 3) == ':') {
+            offsetMinutes = digits(s, i + 4, 2);
+        } else if (rest == 2) {
+            offsetMinutes = digits(s, i + 3, 2);
+        } else if (rest != 0) {
+            return UNKNOWN;
+        }
+        if (offsetHours < 0 || offsetHours > 18 || offsetMinutes < 0 || offsetMinutes > 59) {
+            return UNKNOWN;
+        }
+        long offset = offsetHours * 3_600_000L + offsetMinutes * 60_000L;
+        return zone == '+' ? millis - offset : millis + offset;
+    }
+
+    /**
+     * Format epoch millis with a display pattern in the device's locale and time zone
+     */
+    public static String format(long epochMillis, String pattern) {
+        Map<String, SimpleDateFormat> formats = displayFormats.get();
+        SimpleDateFormat format = formats.get(pattern);
+        if (format == null) {
+            format = new SimpleDateFormat(pattern, Locale.getDefault());
+            formats.put(pattern, format);
+        }
+        return format.format(new Date(epochMillis));
+    }
+
+    /**
+     * Reformat an ISO timestamp for display, or return the fallback if it can't be parsed
+     */
+    public static String format(@Nullable String iso, String pattern, String fallback) {
+        long epochMillis = parse(iso);
+        return epochMillis == UNKNOWN ? fallback : format(epochMillis, pattern);
+    }
+
+    /**
+     * Canonical UTC form sent to the backend, e.g. 2025-01-31T09:05:07.123Z
+     */
+    public static String toIso(long epochMillis) {
+        return isoFormat.get().format(new Date(epochMillis));
+    }
+
+    public static String nowIso() {
+        return toIso(System.currentTimeMillis());
+    }
+
+    private static int digits(String s, int start, int count) {
+        if (start + count > s.length()) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = s.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int daysInMonth(int year, int month) {
+        if (month == 2) {
+            boolean leap = year % 4 == 0 && (year % 100 != 0 || year % 400 == 0);
+            return leap ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    /**
+     * Days since 1970-01-01 in the proleptic Gregorian calendar (H. Hinnant's algorithm)
+     */
+    private static long daysFromCivil(int year, int month, int day) {
+        year -= month <= 2 ? 1 : 0;
+        long era = (year >= 0 ? year : year - 399) / 400;
+        long yearOfEra = year - era * 400;
+        long dayOfYear = (153L * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+}
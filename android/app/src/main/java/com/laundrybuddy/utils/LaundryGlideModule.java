@@ -0,0 +1,66 @@
+package com.laundrybuddy.utils;
+
+import android.app.ActivityManager;
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.bumptech.glide.GlideBuilder;
+import com.bumptech.glide.annotation.GlideModule;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruBitmapPool;
+import com.bumptech.glide.load.engine.cache.InternalCacheDiskCacheFactory;
+import com.bumptech.glide.load.engine.cache.LruResourceCache;
+import com.bumptech.glide.load.engine.cache.MemorySizeCalculator;
+import com.bumptech.glide.module.AppGlideModule;
+
+/**
+ * Glide configuration: memory and disk caches sized to the device's RAM class.
+ *
+ * The app only shows small images (avatars), so a couple of screens' worth of
+ * memory cache is plenty even on large devices, while low-RAM devices get less
+ * so image caching doesn't crowd out the order lists.
+ */
+@GlideModule
+public final class LaundryGlideModule extends AppGlideModule {
+
+    private static final String TAG = "LaundryGlideModule";
+    private static final long MB = 1024 * 1024;
+
+    @Override
+    public void applyOptions(@NonNull Context context, @NonNull GlideBuilder builder) {
+        ActivityManager activityManager = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        boolean lowRam = activityManager != null && activityManager.isLowRamDevice();
+        int memoryClassMb = activityManager != null ? activityManager.getMemoryClass() : 0;
+
+        float memoryScreens;
+        long diskCacheBytes;
+        if (lowRam || memoryClassMb < 128) {
+            memoryScreens = 1;
+            diskCacheBytes = 50 * MB;
+        } else if (memoryClassMb < 256) {
+            memoryScreens = 2;
+            diskCacheBytes = 100 * MB;
+        } else {
+            memoryScreens = 3;
+            diskCacheBytes = 200 * MB;
+        }
+
+        MemorySizeCalculator calculator = new MemorySizeCalculator.Builder(context)
+                .setMemoryCacheScreens(memoryScreens)
+                .setBitmapPoolScreens(memoryScreens)
+                .build();
+        builder.setMemoryCache(new LruResourceCache(calculator.getMemoryCacheSize()));
+        builder.setBitmapPool(new LruBitmapPool(calculator.getBitmapPoolSize()));
+        builder.setDiskCache(new InternalCacheDiskCacheFactory(context, "image_cache", diskCacheBytes));
+        Log.d(TAG, "Memory class " + memoryClassMb + " MB" + (lowRam ? " (low RAM)" : "")
+                + ": memory cache " + calculator.getMemoryCacheSize() / 1024 + " KB, disk cache "
+                + diskCacheBytes / MB + " MB");
+    }
+
+    @Override
+    public boolean isManifestParsingEnabled() {
+        // No library registers a manifest GlideModule; skip the scan at startup
+        return false;
+    }
+}
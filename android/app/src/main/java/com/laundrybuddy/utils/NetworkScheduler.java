@@ -0,0 +1,115 @@
+package com.laundrybuddy.utils;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Decides how much to ask the backend for, based on {@link ConnectionQualityMonitor}.
+ *
+ * On poor links it shrinks page sizes, holds back non-critical calls (stats,
+ * images) until the link recovers, and lets critical calls through unchanged.
+ * Deferred work always runs eventually: either when quality improves or after
+ * {@link #MAX_DEFERRAL_MS}, whichever comes first.
+ */
+public class NetworkScheduler implements ConnectionQualityMonitor.QualityListener {
+
+    private static final String TAG = "NetworkScheduler";
+
+    public static final int PAGE_SIZE_POOR = 20;
+    public static final int PAGE_SIZE_MODERATE = 50;
+    public static final int PAGE_SIZE_GOOD = 100;
+
+    private static final long MAX_DEFERRAL_MS = 30 * 1000;
+
+    private static NetworkScheduler instance;
+
+    private final ConnectionQualityMonitor monitor;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<Runnable> deferred = new ArrayList<>();
+
+    private NetworkScheduler(ConnectionQualityMonitor monitor) {
+        this.monitor = monitor;
+        monitor.addListener(this);
+    }
+
+    public static synchronized NetworkScheduler getInstance() {
+        if (instance == null) {
+            instance = new NetworkScheduler(ConnectionQualityMonitor.getInstance());
+        }
+        return instance;
+    }
+
+    /**
+     * Page size for list endpoints such as AdminApi.getAllOrders().
+     * Metered links never get the largest page.
+     */
+    public int getOrdersPageSize() {
+        switch (monitor.getQuality()) {
+            case POOR:
+                return PAGE_SIZE_POOR;
+            case GOOD:
+                return monitor.isMetered() ? PAGE_SIZE_MODERATE : PAGE_SIZE_GOOD;
+            default:
+                return PAGE_SIZE_MODERATE;
+        }
+    }
+
+    public boolean isPoorLink() {
+        return monitor.getQuality() == ConnectionQualityMonitor.Quality.POOR;
+    }
+
+    public boolean shouldLoadImages() {
+        return !isPoorLink();
+    }
+
+    /**
+     * Run a non-critical task now, or hold it until the link recovers.
+     * Must be called on the main thread; the task also runs on the main thread.
+     */
+    public void runDeferrable(Runnable task) {
+        if (!isPoorLink()) {
+            task.run();
+            return;
+        }
+
+        AtomicBoolean done = new AtomicBoolean(false);
+        Runnable once = () -> {
+            if (done.compareAndSet(false, true)) {
+                task.run();
+            }
+        };
+        synchronized (deferred) {
+            deferred.add(once);
+        }
+        mainHandler.postDelayed(() -> {
+            synchronized (deferred) {
+                deferred.remove(once);
+            }
+            once.run();
+        }, MAX_DEFERRAL_MS);
+        Log.d(TAG, "Deferred non-critical request on poor link");
+    }
+
+    @Override
+    public void onQualityChanged(ConnectionQualityMonitor.Quality quality) {
+        if (quality == ConnectionQualityMonitor.Quality.POOR || quality == ConnectionQualityMonitor.Quality.OFFLINE) {
+            return;
+        }
+        List<Runnable> ready;
+        synchronized (deferred) {
+            ready = new ArrayList<>(deferred);
+            deferred.clear();
+        }
+        if (!ready.isEmpty()) {
+            Log.d(TAG, "Link recovered (" + quality + "), running " + ready.size() + " deferred requests");
+        }
+        for (Runnable task : ready) {
+            task.run();
+        }
+    }
+}
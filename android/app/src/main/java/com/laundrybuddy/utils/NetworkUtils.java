@@ -36,4 +36,16 @@ public class NetworkUtils {
         }
         return false;
     }
+
+    /**
+     * Whether the active network is billed per byte (mobile data, hotspots)
+     */
+    public static boolean isActiveNetworkMetered(Context context) {
+        if (context == null)
+            return true;
+
+        ConnectivityManager connectivityManager = (ConnectivityManager) context
+                .getSystemService(Context.CONNECTIVITY_SERVICE);
+        return connectivityManager == null || connectivityManager.isActiveNetworkMetered();
+    }
 }
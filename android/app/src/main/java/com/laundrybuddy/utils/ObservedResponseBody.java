@@ -0,0 +1,91 @@
+package com.laundrybuddy.utils;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+/**
+ * Response body wrapper that reports how many bytes were read once the body
+ * is exhausted or closed. Used by interceptors that measure payload size and
+ * throughput without buffering the body themselves.
+ */
+public class ObservedResponseBody extends ResponseBody {
+
+    public interface Listener {
+        void onBodyRead(long bytes);
+    }
+
+    private final ResponseBody delegate;
+    private final Listener listener;
+    private BufferedSource source;
+
+    public ObservedResponseBody(ResponseBody delegate, Listener listener) {
+        this.delegate = delegate;
+        this.listener = listener;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return delegate.contentType();
+    }
+
+    @Override
+    public long contentLength() {
+        return delegate.contentLength();
+    }
+
+    @NonNull
+    @Override
+    public BufferedSource source() {
+        if (source == null) {
+            source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                private long totalBytes;
+                private boolean reported;
+
+                @Override
+                public long read(@NonNull Buffer sink, long byteCount) throws IOException {
+                    long read = super.read(sink, byteCount);
+                    if (read == -1) {
+                        report();
+                    } else {
+                        totalBytes += read;
+                    }
+                    return read;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    report();
+                    super.close();
+                }
+
+                private void report() {
+                    if (!reported) {
+                        reported = true;
+                        listener.onBodyRead(totalBytes);
+                    }
+                }
+            });
+        }
+        return source;
+    }
+
+    @Override
+    public void close() {
+        if (source != null) {
+            try {
+                source.close();
+            } catch (IOException ignored) {
+                // Closing the delegate below is what matters
+            }
+        }
+        delegate.close();
+    }
+}
@@ -0,0 +1,197 @@
+package com.laundrybuddy.utils;
+
+/**
+ * Order QR payload formats and the single decoder every scan path uses.
+ *
+ * Format (v1): {@code LB1:<orderNumber>:<itemCount>:<mac>} where mac is the
+ * first 64 bits of HMAC-SHA256 over everything before the last colon, in
+ * RFC 4648 base32 (13 chars, no padding). With backend order numbers
+ * ({@code ORD<digits>}) the whole string stays within QR alphanumeric mode,
+ * which gives a lower QR version than the old JSON label.
+ *
+ * The key lives only on the server: orders arrive with their signed payload
+ * ({@link com.laundrybuddy.models.Order#getQrPayload()}) and staff screens send
+ * scanned v1 labels back to be verified before changing an order's status.
+ * Older JSON labels and bare order numbers decode as unsigned: read-only lookups
+ * may use them, and status-changing paths ask staff to confirm the bag first.
+ * A number typed by hand is the staff member's own lookup and needs no label.
+ */
+public final class OrderQrPayload {
+
+    public static final String PREFIX = "LB1:";
+    private static final int MAC_CHARS = 13; // ceil(64 / 5)
+    private static final String LEGACY_ORDER_KEY = "\"t\":\"";
+
+    public enum Kind {
+        /** v1 payload with a well-formed signature; only the server can tell whether it is genuine */
+        SIGNED,
+        /** Pre-v1 JSON label, unsigned */
+        LEGACY_JSON,
+        /** Bare order number (manual entry, old prints) */
+        PLAIN,
+        /** Nothing usable */
+        UNRECOGNIZED
+    }
+
+    /**
+     * Reusable decode result. Holds indices into the scanned string instead of
+     * copying, so decoding into an existing instance allocates nothing.
+     */
+    public static final class Decoded {
+        private Kind kind = Kind.UNRECOGNIZED;
+        private String source;
+        private int orderStart;
+        private int orderEnd;
+        private int itemCount = -1;
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * True for a v1 label. Verify it with the server before changing an order's status.
+         */
+        public boolean isSigned() {
+            return kind == Kind.SIGNED;
+        }
+
+        /**
+         * True for a pre-v1 label (legacy JSON or bare order number), which carries no signature.
+         */
+        public boolean isUnsigned() {
+            return kind == Kind.LEGACY_JSON || kind == Kind.PLAIN;
+        }
+
+        public String getOrderNumber() {
+            return kind == Kind.UNRECOGNIZED ? null : source.substring(orderStart, orderEnd);
+        }
+
+        /**
+         * The scanned text with surrounding whitespace removed, e.g. to send a v1 label for verification
+         */
+        public String getPayload() {
+            return kind == Kind.UNRECOGNIZED ? null : source.trim();
+        }
+
+        /**
+         * Item count printed on the label, or -1 if the format does not carry one.
+         */
+        public int getItemCount() {
+            return itemCount;
+        }
+
+        /**
+         * Whether the order number equals the given one, without allocating.
+         */
+        public boolean orderNumberEquals(String other) {
+            int length = orderEnd - orderStart;
+            return kind != Kind.UNRECOGNIZED && other != null && other.length() == length
+                    && source.regionMatches(orderStart, other, 0, length);
+        }
+
+        private Decoded set(Kind kind, String source, int orderStart, int orderEnd, int itemCount) {
+            this.kind = kind;
+            this.source = source;
+            this.orderStart = orderStart;
+            this.orderEnd = orderEnd;
+            this.itemCount = itemCount;
+            return this;
+        }
+    }
+
+    private OrderQrPayload() {
+    }
+
+    public static Decoded decode(String content) {
+        return decode(content, new Decoded());
+    }
+
+    /**
+     * Decode any supported label format into {@code into}.
+     */
+    public static Decoded decode(String content, Decoded into) {
+        if (content == null) {
+            return into.set(Kind.UNRECOGNIZED, null, 0, 0, -1);
+        }
+        int start = 0;
+        int end = content.length();
+        while (start < end && content.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && content.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return into.set(Kind.UNRECOGNIZED, content, 0, 0, -1);
+        }
+
+        if (content.startsWith(PREFIX, start)) {
+            return decodeV1(content, start, end, into);
+        }
+        if (content.charAt(start) == '{') {
+            return decodeLegacyJson(content, start, end, into);
+        }
+        for (int i = start; i < end; i++) {
+            char c = content.charAt(i);
+            if (c == ':' || c == '{' || c == '"' || c <= ' ') {
+                return into.set(Kind.UNRECOGNIZED, content, 0, 0, -1);
+            }
+        }
+        return into.set(Kind.PLAIN, content, start, end, -1);
+    }
+
+    private static Decoded decodeV1(String content, int start, int end, Decoded into) {
+        int orderStart = start + PREFIX.length();
+        int orderEnd = content.indexOf(':', orderStart);
+        if (orderEnd <= orderStart || orderEnd >= end) {
+            return into.set(Kind.UNRECOGNIZED, content, 0, 0, -1);
+        }
+        int macSeparator = content.indexOf(':', orderEnd + 1);
+        if (macSeparator < 0 || macSeparator >= end || end - macSeparator - 1 != MAC_CHARS) {
+            return into.set(Kind.UNRECOGNIZED, content, 0, 0, -1);
+        }
+
+        int itemCount = 0;
+        for (int i = orderEnd + 1; i < macSeparator; i++) {
+            char c = content.charAt(i);
+            if (c < '0' || c > '9' || itemCount > 100_000) {
+                return into.set(Kind.UNRECOGNIZED, content, 0, 0, -1);
+            }
+            itemCount = itemCount * 10 + (c - '0');
+        }
+
+        for (int i = macSeparator + 1; i < end; i++) {
+            char c = content.charAt(i);
+            if ((c < 'A' || c > 'Z') && (c < '2' || c > '7')) {
+                return into.set(Kind.UNRECOGNIZED, content, 0, 0, -1);
+            }
+        }
+        return into.set(Kind.SIGNED, content, orderStart, orderEnd, itemCount);
+    }
+
+    private static Decoded decodeLegacyJson(String content, int start, int end, Decoded into) {
+        int key = content.indexOf(LEGACY_ORDER_KEY, start);
+        if (key < 0) {
+            return into.set(Kind.UNRECOGNIZED, content, 0, 0, -1);
+        }
+        int orderStart = key + LEGACY_ORDER_KEY.length();
+        int orderEnd = content.indexOf('"', orderStart);
+        if (orderEnd <= orderStart || orderEnd > end) {
+            return into.set(Kind.UNRECOGNIZED, content, 0, 0, -1);
+        }
+
+        int itemCount = -1;
+        int countKey = content.indexOf("\"c\":", start);
+        if (countKey >= 0) {
+            itemCount = 0;
+            for (int i = countKey + 4; i < end; i++) {
+                char c = content.charAt(i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                itemCount = itemCount * 10 + (c - '0');
+            }
+        }
+        return into.set(Kind.LEGACY_JSON, content, orderStart, orderEnd, itemCount);
+    }
+}
@@ -0,0 +1,227 @@
+package com.laundrybuddy.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Minimal PDF writer that streams each page to the output as soon as it is finished.
+ *
+ * {@link android.graphics.pdf.PdfDocument} keeps every page in memory until
+ * writeTo(), which for a few hundred labels is the whole sheet. This writer holds
+ * only the page being drawn: endPage() compresses it, writes it and flushes, and
+ * finish() appends the page tree and cross-reference table. It supports what label
+ * sheets need: filled black rectangles and Helvetica text in Latin-1 (anything
+ * outside it prints as '?').
+ *
+ * Coordinates are in points with the origin at the top left, like a Canvas.
+ */
+final class PdfStreamWriter implements Closeable {
+
+    // Fixed object numbers; pages are numbered from FIRST_PAGE_OBJECT as they are written
+    private static final int CATALOG = 1;
+    private static final int PAGE_TREE = 2;
+    private static final int FONT_REGULAR = 3;
+    private static final int FONT_BOLD = 4;
+    private static final int FIRST_PAGE_OBJECT = 5;
+
+    private final OutputStream out;
+    private final int pageWidth;
+    private final int pageHeight;
+    private final List<Long> offsets = new ArrayList<>();
+    private final List<Integer> pageObjects = new ArrayList<>();
+    private final StringBuilder content = new StringBuilder(16 * 1024);
+    private long position;
+    private int nextObject = FIRST_PAGE_OBJECT;
+    private boolean inPage;
+    private boolean pendingFill;
+
+    PdfStreamWriter(OutputStream out, int pageWidth, int pageHeight) throws IOException {
+        this.out = out;
+        this.pageWidth = pageWidth;
+        this.pageHeight = pageHeight;
+        // The binary comment tells transfer tools the file isn't plain text
+        write("%PDF-1.4\n%\u00e2\u00e3\u00cf\u00d3\n");
+    }
+
+    void beginPage() {
+        if (inPage) {
+            throw new IllegalStateException("Previous page not ended");
+        }
+        inPage = true;
+        content.setLength(0);
+        content.append("0 g\n");
+    }
+
+    /**
+     * Fill a black rectangle. Consecutive rectangles share one fill operation.
+     */
+    void fillRect(float left, float top, float right, float bottom) {
+        number(left);
+        number(pageHeight - bottom);
+        number(right - left);
+        number(bottom - top);
+        content.append("re\n");
+        pendingFill = true;
+    }
+
+    /**
+     * Draw one line of text with its baseline at {@code baseline}
+     *
+     * @param gray 0 for black up to 1 for white
+     */
+    void drawText(String text, float x, float baseline, float size, boolean bold, float gray) {
+        flushFill();
+        content.append("q ");
+        number(gray);
+        content.append("g BT /").append(bold ? "F2 " : "F1 ");
+        number(size);
+        content.append("Tf ");
+        number(x);
+        number(pageHeight - baseline);
+        content.append("Td (");
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '(' || c == ')' || c == '\\') {
+                content.append('\\').append(c);
+            } else if (c < 0x20) {
+                content.append(' ');
+            } else {
+                // WinAnsi matches Latin-1 except in the C1 control range
+                content.append(c <= 0xFF && (c < 0x7F || c > 0x9F) ? c : '?');
+            }
+        }
+        content.append(") Tj ET Q\n");
+    }
+
+    /**
+     * Compress the page, write it out and flush, so nothing of it stays in memory
+     */
+    void endPage() throws IOException {
+        if (!inPage) {
+            throw new IllegalStateException("No page started");
+        }
+        flushFill();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length() / 4);
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(compressed)) {
+            deflater.write(content.toString().getBytes(StandardCharsets.ISO_8859_1));
+        }
+
+        int contentObject = nextObject++;
+        beginObject(contentObject);
+        write("<< /Length " + compressed.size() + " /Filter /FlateDecode >>\nstream\n");
+        compressed.writeTo(out);
+        position += compressed.size();
+        write("\nendstream\nendobj\n");
+
+        int pageObject = nextObject++;
+        beginObject(pageObject);
+        write("<< /Type /Page /Parent " + PAGE_TREE + " 0 R /MediaBox [0 0 " + pageWidth + " " + pageHeight
+                + "] /Resources << /Font << /F1 " + FONT_REGULAR + " 0 R /F2 " + FONT_BOLD + " 0 R >> >>"
+                + " /Contents " + contentObject + " 0 R >>\nendobj\n");
+        pageObjects.add(pageObject);
+
+        inPage = false;
+        content.setLength(0);
+        out.flush();
+    }
+
+    int getPageCount() {
+        return pageObjects.size();
+    }
+
+    /**
+     * Write the document trailer. Call once, after the last page.
+     */
+    void finish() throws IOException {
+        if (inPage) {
+            throw new IllegalStateException("Last page not ended");
+        }
+        beginObject(FONT_REGULAR);
+        write("<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>\nendobj\n");
+        beginObject(FONT_BOLD);
+        write("<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica-Bold /Encoding /WinAnsiEncoding >>\nendobj\n");
+
+        beginObject(PAGE_TREE);
+        StringBuilder kids = new StringBuilder();
+        for (int page : pageObjects) {
+            kids.append(page).append(" 0 R ");
+        }
+        write("<< /Type /Pages /Kids [" + kids + "] /Count " + pageObjects.size() + " >>\nendobj\n");
+        beginObject(CATALOG);
+        write("<< /Type /Catalog /Pages " + PAGE_TREE + " 0 R >>\nendobj\n");
+
+        long xref = position;
+        StringBuilder table = new StringBuilder();
+        table.append("xref\n0 ").append(offsets.size()).append('\n');
+        // Each entry is exactly 20 bytes
+        table.append("0000000000 65535 f \n");
+        for (int i = 1; i < offsets.size(); i++) {
+            String offset = Long.toString(offsets.get(i));
+            for (int pad = offset.length(); pad < 10; pad++) {
+                table.append('0');
+            }
+            table.append(offset).append(" 00000 n \n");
+        }
+        table.append("trailer\n<< /Size ").append(offsets.size()).append(" /Root ").append(CATALOG)
+                .append(" 0 R >>\nstartxref\n").append(xref).append("\n%%EOF\n");
+        write(table.toString());
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void flushFill() {
+        if (pendingFill) {
+            content.append("f\n");
+            pendingFill = false;
+        }
+    }
+
+    private void beginObject(int number) throws IOException {
+        while (offsets.size() <= number) {
+            offsets.add(0L);
+        }
+        offsets.set(number, position);
+        write(number + " 0 obj\n");
+    }
+
+    private void write(String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+        out.write(bytes);
+        position += bytes.length;
+    }
+
+    /**
+     * Append a number with at most two decimals and a trailing space, without String.format
+     */
+    private void number(float value) {
+        long hundredths = Math.round(value * 100.0);
+        if (hundredths < 0) {
+            content.append('-');
+            hundredths = -hundredths;
+        }
+        content.append(hundredths / 100);
+        long fraction = hundredths % 100;
+        if (fraction != 0) {
+            content.append('.');
+            if (fraction % 10 == 0) {
+                content.append(fraction / 10);
+            } else {
+                if (fraction < 10) {
+                    content.append('0');
+                }
+                content.append(fraction);
+            }
+        }
+        content.append(' ');
+    }
+}
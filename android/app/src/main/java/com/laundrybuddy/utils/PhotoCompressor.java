@@ -0,0 +1,195 @@
+package com.laundrybuddy.utils;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Matrix;
+import android.media.ExifInterface;
+import android.net.Uri;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import okhttp3.MediaType;
+
+/**
+ * Turns a picked image into a small upload-ready file.
+ *
+ * The source is streamed from the ContentResolver and decoded with a power-of-two
+ * sample size, so a 12 MP camera JPEG never lands in memory at full resolution.
+ * The decoded bitmap is scaled so its short side matches the target, rotated per
+ * EXIF, and re-encoded (lossy WebP where available, JPEG otherwise) into the cache
+ * directory. Work runs on a background thread; callbacks arrive on the main thread.
+ */
+public final class PhotoCompressor {
+
+    private static final String TAG = "PhotoCompressor";
+
+    /**
+     * Short side of uploaded avatars: the 100dp profile photo at xxxhdpi with headroom
+     */
+    public static final int AVATAR_SIZE = 512;
+
+    private static final int WEBP_QUALITY = 80;
+    private static final int JPEG_QUALITY = 85;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    public static final class Result {
+        public final File file;
+        public final MediaType mediaType;
+
+        Result(File file, MediaType mediaType) {
+            this.file = file;
+            this.mediaType = mediaType;
+        }
+    }
+
+    public interface Callback {
+        void onSuccess(Result result);
+
+        void onError(String message);
+    }
+
+    private PhotoCompressor() {
+    }
+
+    /**
+     * Compress on the background thread and deliver the result on the main thread
+     */
+    public static Future<?> compressAsync(Context context, Uri uri, int targetSize, Callback callback) {
+        Context appContext = context.getApplicationContext();
+        return executor.submit(() -> {
+            try {
+                Result result = compress(appContext, uri, targetSize);
+                mainHandler.post(() -> callback.onSuccess(result));
+            } catch (IOException | RuntimeException e) {
+                Log.e(TAG, "Failed to compress " + uri, e);
+                mainHandler.post(() -> callback.onError("Failed to process image"));
+            }
+        });
+    }
+
+    /**
+     * Blocking; call off the main thread
+     */
+    public static Result compress(Context context, Uri uri, int targetSize) throws IOException {
+        long start = SystemClock.elapsedRealtime();
+        TraceSection.begin("PhotoCompressor.compress");
+        try {
+            ContentResolver resolver = context.getContentResolver();
+
+            BitmapFactory.Options bounds = new BitmapFactory.Options();
+            bounds.inJustDecodeBounds = true;
+            try (InputStream in = open(resolver, uri)) {
+                BitmapFactory.decodeStream(in, null, bounds);
+            }
+            if (bounds.outWidth <= 0 || bounds.outHeight <= 0) {
+                throw new IOException("Not a decodable image");
+            }
+
+            BitmapFactory.Options options = new BitmapFactory.Options();
+            options.inSampleSize = sampleSize(bounds.outWidth, bounds.outHeight, targetSize);
+            Bitmap decoded;
+            try (InputStream in = open(resolver, uri)) {
+                decoded = BitmapFactory.decodeStream(in, null, options);
+            }
+            if (decoded == null) {
+                throw new IOException("Decoder returned no bitmap");
+            }
+
+            Bitmap scaled = transform(decoded, targetSize, readRotation(resolver, uri));
+            if (scaled != decoded) {
+                decoded.recycle();
+            }
+
+            boolean webp = Build.VERSION.SDK_INT >= Build.VERSION_CODES.R;
+            File file = new File(context.getCacheDir(), webp ? "profile_upload.webp" : "profile_upload.jpg");
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), WRITE_BUFFER_SIZE)) {
+                boolean written = webp
+                        ? scaled.compress(Bitmap.CompressFormat.WEBP_LOSSY, WEBP_QUALITY, out)
+                        : scaled.compress(Bitmap.CompressFormat.JPEG, JPEG_QUALITY, out);
+                if (!written) {
+                    throw new IOException("Encoder failed");
+                }
+            } finally {
+                scaled.recycle();
+            }
+
+            Log.d(TAG, String.format(Locale.US, "%dx%d -> %d KB %s in %d ms (sample %d)",
+                    bounds.outWidth, bounds.outHeight, file.length() / 1024, webp ? "webp" : "jpeg",
+                    SystemClock.elapsedRealtime() - start, options.inSampleSize));
+            return new Result(file, MediaType.get(webp ? "image/webp" : "image/jpeg"));
+        } finally {
+            TraceSection.end();
+        }
+    }
+
+    private static InputStream open(ContentResolver resolver, Uri uri) throws IOException {
+        InputStream in = resolver.openInputStream(uri);
+        if (in == null) {
+            throw new IOException("Cannot open " + uri);
+        }
+        return in;
+    }
+
+    /**
+     * Largest power of two that keeps the short side at or above the target
+     */
+    static int sampleSize(int width, int height, int targetSize) {
+        int shortSide = Math.min(width, height);
+        int sample = 1;
+        while (shortSide / (sample * 2) >= targetSize) {
+            sample *= 2;
+        }
+        return sample;
+    }
+
+    private static Bitmap transform(Bitmap source, int targetSize, int rotation) {
+        int shortSide = Math.min(source.getWidth(), source.getHeight());
+        float scale = shortSide > targetSize ? (float) targetSize / shortSide : 1f;
+        if (scale == 1f && rotation == 0) {
+            return source;
+        }
+        Matrix matrix = new Matrix();
+        matrix.postScale(scale, scale);
+        matrix.postRotate(rotation);
+        return Bitmap.createBitmap(source, 0, 0, source.getWidth(), source.getHeight(), matrix, true);
+    }
+
+    private static int readRotation(ContentResolver resolver, Uri uri) {
+        // Camera JPEGs are usually stored sideways with the rotation in EXIF
+        try (InputStream in = open(resolver, uri)) {
+            int orientation = new ExifInterface(in).getAttributeInt(
+                    ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
+            switch (orientation) {
+                case ExifInterface.ORIENTATION_ROTATE_90:
+                    return 90;
+                case ExifInterface.ORIENTATION_ROTATE_180:
+                    return 180;
+                case ExifInterface.ORIENTATION_ROTATE_270:
+                    return 270;
+                default:
+                    return 0;
+            }
+        } catch (IOException | RuntimeException e) {
+            return 0;
+        }
+    }
+}
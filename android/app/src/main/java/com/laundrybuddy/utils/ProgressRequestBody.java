@@ -0,0 +1,64 @@
+package com.laundrybuddy.utils;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ForwardingSink;
+import okio.Okio;
+
+/**
+ * Request body wrapper that reports upload progress as bytes reach the socket.
+ * Listener calls arrive on the OkHttp thread.
+ */
+public class ProgressRequestBody extends RequestBody {
+
+    public interface Listener {
+        void onProgress(long bytesWritten, long contentLength);
+    }
+
+    private final RequestBody delegate;
+    private final Listener listener;
+
+    public ProgressRequestBody(RequestBody delegate, Listener listener) {
+        this.delegate = delegate;
+        this.listener = listener;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return delegate.contentType();
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        return delegate.contentLength();
+    }
+
+    @Override
+    public void writeTo(@NonNull BufferedSink sink) throws IOException {
+        if (sink instanceof Buffer) {
+            // Interceptors (debug logging) copying the body into memory, not the real upload
+            delegate.writeTo(sink);
+            return;
+        }
+
+        long contentLength = contentLength();
+        BufferedSink counting = Okio.buffer(new ForwardingSink(sink) {
+            private long written;
+
+            @Override
+            public void write(@NonNull Buffer source, long byteCount) throws IOException {
+                super.write(source, byteCount);
+                written += byteCount;
+                listener.onProgress(written, contentLength);
+            }
+        });
+        delegate.writeTo(counting);
+        counting.flush();
+    }
+}
@@ -1,25 +1,57 @@
 package com.laundrybuddy.utils;
 
-import android.content.Context;
 import android.graphics.Bitmap;
 import android.util.Log;
+import android.util.LruCache;
 
 import com.google.zxing.BarcodeFormat;
 import com.google.zxing.EncodeHintType;
 import com.google.zxing.WriterException;
 import com.google.zxing.common.BitMatrix;
 import com.google.zxing.qrcode.QRCodeWriter;
+import com.laundrybuddy.models.Order;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Map;
 
 /**
  * Utility class for generating QR codes
+ *
+ * Codes are encoded at module resolution (one bit per module) and scaled up
+ * into a pixel array in a single pass, then cached by content and size.
+ * Returned bitmaps are immutable and shared, so callers must not recycle them.
  */
 public class QrCodeGenerator {
 
     private static final String TAG = "QrCodeGenerator";
     private static final int DEFAULT_SIZE = 512;
+    private static final int BLACK = 0xFF000000;
+    private static final int WHITE = 0xFFFFFFFF;
+    private static final int QUIET_ZONE_MODULES = 1;
+
+    private static final Map<EncodeHintType, Object> HINTS;
+
+    static {
+        Map<EncodeHintType, Object> hints = new EnumMap<>(EncodeHintType.class);
+        hints.put(EncodeHintType.CHARACTER_SET, "UTF-8");
+        hints.put(EncodeHintType.MARGIN, QUIET_ZONE_MODULES);
+        HINTS = Collections.unmodifiableMap(hints);
+    }
+
+    // QRCodeWriter holds no state, so one instance is safe to share across threads
+    private static final QRCodeWriter WRITER = new QRCodeWriter();
+
+    // Bounded by bitmap bytes, at most 4 MB: at RGB_565 that is about a dozen of the
+    // 400 px dialog codes (320 KB each), or 8 at the 512 px default size
+    private static final LruCache<String, Bitmap> CACHE = new LruCache<String, Bitmap>(
+            (int) Math.min(Runtime.getRuntime().maxMemory() / 32, 4 * 1024 * 1024)) {
+        @Override
+        protected int sizeOf(String key, Bitmap bitmap) {
+            return bitmap.getByteCount();
+        }
+    };
 
     /**
      * Generate a QR code bitmap from text
@@ -32,39 +64,72 @@ public class QrCodeGenerator {
      * Generate a QR code bitmap with custom size
      */
     public static Bitmap generateQrCode(String content, int size) {
+        if (content == null || size <= 0) {
+            return null;
+        }
+
+        String key = size + ":" + content;
+        Bitmap cached = CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
         try {
-            Map<EncodeHintType, Object> hints = new HashMap<>();
-            hints.put(EncodeHintType.CHARACTER_SET, "UTF-8");
-            hints.put(EncodeHintType.MARGIN, 1);
+            BitMatrix modules = encodeModules(content);
+            Bitmap bitmap = render(modules, size);
+            CACHE.put(key, bitmap);
+            return bitmap;
+        } catch (WriterException | IllegalArgumentException e) {
+            Log.e(TAG, "Error generating QR code", e);
+            return null;
+        }
+    }
 
-            QRCodeWriter writer = new QRCodeWriter();
-            BitMatrix bitMatrix = writer.encode(content, BarcodeFormat.QR_CODE, size, size, hints);
+    /**
+     * Encode content as a bare module matrix (one bit per module, plus quiet zone).
+     * Useful for vector output such as printed label sheets.
+     */
+    public static BitMatrix encodeModules(String content) throws WriterException {
+        // Width/height 0 makes ZXing return the matrix without scaling
+        return WRITER.encode(content, BarcodeFormat.QR_CODE, 0, 0, HINTS);
+    }
+
+    /**
+     * Scale a module matrix to size x size pixels, centered on white.
+     * Each module row is expanded once and copied for every pixel row it covers.
+     */
+    private static Bitmap render(BitMatrix modules, int size) {
+        int moduleCount = modules.getWidth();
+        int scale = Math.max(1, size / moduleCount);
+        int offset = Math.max(0, (size - moduleCount * scale) / 2);
 
-            int width = bitMatrix.getWidth();
-            int height = bitMatrix.getHeight();
-            Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.RGB_565);
+        int[] pixels = new int[size * size];
+        Arrays.fill(pixels, WHITE);
 
-            for (int x = 0; x < width; x++) {
-                for (int y = 0; y < height; y++) {
-                    bitmap.setPixel(x, y, bitMatrix.get(x, y) ? 0xFF000000 : 0xFFFFFFFF);
+        int[] row = new int[size];
+        for (int my = 0; my < moduleCount && offset + my * scale < size; my++) {
+            Arrays.fill(row, WHITE);
+            for (int mx = 0; mx < moduleCount && offset + mx * scale < size; mx++) {
+                if (modules.get(mx, my)) {
+                    int start = offset + mx * scale;
+                    Arrays.fill(row, start, Math.min(start + scale, size), BLACK);
                 }
             }
-
-            return bitmap;
-        } catch (WriterException e) {
-            Log.e(TAG, "Error generating QR code", e);
-            return null;
+            int top = offset + my * scale;
+            for (int dy = 0; dy < scale && top + dy < size; dy++) {
+                System.arraycopy(row, 0, pixels, (top + dy) * size, size);
+            }
         }
+
+        return Bitmap.createBitmap(pixels, size, size, Bitmap.Config.RGB_565);
     }
 
     /**
-     * Generate QR code content for an order
+     * QR code content for an order: the server-signed payload (see OrderQrPayload), or
+     * the bare order number for orders the server hasn't signed, such as queued ones
      */
-    public static String buildOrderQrContent(String orderNumber, String studentName,
-            String hostelRoom, int itemCount, String status) {
-        // Compact JSON-like format for scanning
-        return String.format(
-                "{\"t\":\"%s\",\"n\":\"%s\",\"r\":\"%s\",\"c\":%d,\"s\":\"%s\"}",
-                orderNumber, studentName, hostelRoom, itemCount, status);
+    public static String buildOrderQrContent(Order order) {
+        String payload = order.getQrPayload();
+        return payload != null && !payload.isEmpty() ? payload : order.getOrderNumber();
     }
 }
@@ -4,6 +4,7 @@ import android.Manifest;
 import android.app.Activity;
 import android.content.Context;
 import android.content.pm.PackageManager;
+import android.os.SystemClock;
 import android.util.Log;
 import android.util.Size;
 
@@ -20,32 +21,96 @@ import androidx.core.content.ContextCompat;
 import androidx.lifecycle.LifecycleOwner;
 
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.mlkit.common.MlKitException;
 import com.google.mlkit.vision.barcode.BarcodeScanner;
 import com.google.mlkit.vision.barcode.BarcodeScannerOptions;
 import com.google.mlkit.vision.barcode.BarcodeScanning;
 import com.google.mlkit.vision.barcode.common.Barcode;
 import com.google.mlkit.vision.common.InputImage;
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.PlanarYUVLuminanceSource;
+import com.google.zxing.ReaderException;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.qrcode.QRCodeReader;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * QR Code Scanner using ML Kit and CameraX
+ * QR Code Scanner using ML Kit and CameraX.
+ *
+ * Frames are throttled to a target FPS and only a centred square region of the
+ * luminance plane is decoded. When decoding falls behind the frame budget the
+ * region is subsampled 2x; it returns to full resolution once there is headroom.
+ * If ML Kit is unavailable or keeps failing, decoding switches to ZXing.
  */
 public class QrCodeScanner {
 
     private static final String TAG = "QrCodeScanner";
     public static final int CAMERA_PERMISSION_CODE = 1001;
+    public static final long DEFAULT_DEDUPE_WINDOW_MS = 3000;
+    public static final int DEFAULT_TARGET_FPS = 10;
+    public static final float DEFAULT_ROI_FRACTION = 0.7f;
+
+    private static final int MAX_ML_KIT_FAILURES = 3;
+    // Don't subsample a region this small or less; labels would become undecodable
+    private static final int MIN_SUBSAMPLED_SIZE = 240;
+    // Frames to wait after a resolution change before judging latency again
+    private static final int ADAPT_COOLDOWN_FRAMES = 15;
+    private static final byte NEUTRAL_CHROMA = (byte) 128;
+
+    private enum Engine { ML_KIT, ZXING }
 
     private final Context context;
     private final LifecycleOwner lifecycleOwner;
     private ProcessCameraProvider cameraProvider;
     private Camera camera;
     private final ExecutorService cameraExecutor;
+    private final Executor mainExecutor;
     private BarcodeScanner barcodeScanner;
     private QrScanCallback callback;
-    private boolean isScanning = false;
+    private volatile boolean isScanning = false;
+    // Kept so resumeScanning() can rebind after stopScanning() unbound the use cases
+    private PreviewView previewView;
+    private boolean bound;
+    private boolean torchEnabled;
+
+    // Analysis pipeline state. Frame fields are only touched on cameraExecutor; the
+    // in-flight flag hands the NV21 buffer over to ML Kit until its result arrives.
+    private volatile long minFrameIntervalMs = 1000 / DEFAULT_TARGET_FPS;
+    private volatile float roiFraction = DEFAULT_ROI_FRACTION;
+    private volatile Engine engine = Engine.ML_KIT;
+    private final AtomicBoolean analysisInFlight = new AtomicBoolean(false);
+    private final ScanMetrics metrics = ScanMetrics.getInstance();
+    private long lastFrameAt;
+    private byte[] nv21;
+    private int nv21Size;
+    private volatile int subsample = 1;
+    private double avgLatencyMs;
+    private int framesSinceAdapt;
+    private int mlKitFailures;
+    private QRCodeReader zxingReader;
+    private Map<DecodeHintType, Object> zxingHints;
+
+    // Continuous mode: keep analysing after a hit, suppressing codes seen within the window.
+    // Only touched from decoder results delivered on the main thread, so no locking is needed.
+    private boolean continuousMode = false;
+    private long dedupeWindowMs = DEFAULT_DEDUPE_WINDOW_MS;
+    private final LinkedHashMap<String, Long> recentCodes = new LinkedHashMap<>();
 
     public interface QrScanCallback {
         void onQrCodeScanned(String content);
@@ -57,6 +122,7 @@ public class QrCodeScanner {
         this.context = context;
         this.lifecycleOwner = lifecycleOwner;
         this.cameraExecutor = Executors.newSingleThreadExecutor();
+        this.mainExecutor = ContextCompat.getMainExecutor(context);
 
         // Configure barcode scanner for QR codes only
         BarcodeScannerOptions options = new BarcodeScannerOptions.Builder()
@@ -87,6 +153,7 @@ public class QrCodeScanner {
      */
     public void startScanning(PreviewView previewView, QrScanCallback callback) {
         this.callback = callback;
+        this.previewView = previewView;
         this.isScanning = true;
 
         ListenableFuture<ProcessCameraProvider> cameraProviderFuture = ProcessCameraProvider.getInstance(context);
@@ -104,7 +171,6 @@ public class QrCodeScanner {
         }, ContextCompat.getMainExecutor(context));
     }
 
-    @androidx.annotation.OptIn(markerClass = androidx.camera.core.ExperimentalGetImage.class)
     private void bindPreview(PreviewView previewView) {
         if (cameraProvider == null)
             return;
@@ -131,6 +197,10 @@ public class QrCodeScanner {
 
         try {
             camera = cameraProvider.bindToLifecycle(lifecycleOwner, cameraSelector, preview, imageAnalysis);
+            bound = true;
+            if (torchEnabled) {
+                setTorch(true);
+            }
         } catch (Exception e) {
             Log.e(TAG, "Error binding camera", e);
             if (callback != null) {
@@ -139,41 +209,229 @@ public class QrCodeScanner {
         }
     }
 
+    /**
+     * Upper bound on analysed frames per second; extra frames are dropped unprocessed
+     */
+    public void setTargetFps(int fps) {
+        this.minFrameIntervalMs = 1000 / Math.max(1, fps);
+    }
+
+    /**
+     * Side of the centred square that is decoded, as a fraction of the shorter frame edge
+     */
+    public void setRoiFraction(float fraction) {
+        this.roiFraction = Math.max(0.2f, Math.min(1f, fraction));
+    }
+
+    /**
+     * Keep scanning after each hit instead of stopping at the first code. A code is
+     * reported again only once it has been out of view for longer than the window.
+     */
+    public void setContinuousMode(boolean continuous, long dedupeWindowMs) {
+        this.continuousMode = continuous;
+        this.dedupeWindowMs = dedupeWindowMs;
+        recentCodes.clear();
+    }
+
+    /**
+     * Forget recently seen codes so the next sighting is reported immediately
+     */
+    public void clearRecentCodes() {
+        recentCodes.clear();
+    }
+
+    /**
+     * Record a sighting and report whether the code was already seen inside the window.
+     * Re-inserting keeps the map in last-seen order, so expired entries are always at the head
+     * and a label held in front of the camera stays suppressed.
+     */
+    private boolean markSeen(String code, long now) {
+        Iterator<Long> it = recentCodes.values().iterator();
+        while (it.hasNext() && now - it.next() > dedupeWindowMs) {
+            it.remove();
+        }
+        boolean seen = recentCodes.remove(code) != null;
+        recentCodes.put(code, now);
+        return seen;
+    }
+
     /**
      * Toggle torch/flashlight
      */
     public void setTorch(boolean enabled) {
+        torchEnabled = enabled;
         if (camera != null && camera.getCameraInfo().hasFlashUnit()) {
             camera.getCameraControl().enableTorch(enabled);
         }
     }
 
-    @androidx.camera.core.ExperimentalGetImage
     private void analyzeImage(ImageProxy imageProxy) {
-        if (!isScanning || imageProxy.getImage() == null) {
+        long frameStart = SystemClock.elapsedRealtime();
+        metrics.recordReceived();
+        if (!isScanning) {
+            imageProxy.close();
+            return;
+        }
+        if (frameStart - lastFrameAt < minFrameIntervalMs || analysisInFlight.get()) {
+            metrics.recordThrottled();
             imageProxy.close();
             return;
         }
+        lastFrameAt = frameStart;
+
+        int size;
+        int rotation = imageProxy.getImageInfo().getRotationDegrees();
+        try {
+            size = copyRoi(imageProxy);
+        } finally {
+            // The region is copied out, so the camera can reuse its buffer straight away
+            imageProxy.close();
+        }
+
+        if (engine == Engine.ML_KIT) {
+            analyzeWithMlKit(size, rotation, frameStart);
+        } else {
+            analyzeWithZxing(size, frameStart);
+        }
+    }
+
+    /**
+     * Copy the centred ROI of the Y plane into a reusable NV21 buffer, subsampling if
+     * needed. Chroma is left neutral: QR decoding only looks at luminance.
+     *
+     * @return side length of the square written to the buffer
+     */
+    private int copyRoi(ImageProxy imageProxy) {
+        ImageProxy.PlaneProxy yPlane = imageProxy.getPlanes()[0];
+        ByteBuffer y = yPlane.getBuffer();
+        int rowStride = yPlane.getRowStride();
+        int pixelStride = yPlane.getPixelStride();
+
+        int roi = (int) (Math.min(imageProxy.getWidth(), imageProxy.getHeight()) * roiFraction);
+        int step = roi / 2 >= MIN_SUBSAMPLED_SIZE ? subsample : 1;
+        int size = (roi / step) & ~1; // NV21 needs even dimensions
+        int left = (imageProxy.getWidth() - size * step) / 2;
+        int top = (imageProxy.getHeight() - size * step) / 2;
+
+        if (nv21 == null || nv21Size != size) {
+            nv21 = new byte[size * size * 3 / 2];
+            Arrays.fill(nv21, size * size, nv21.length, NEUTRAL_CHROMA);
+            nv21Size = size;
+            metrics.setPipelineState(engine.name(), size);
+        }
 
-        InputImage image = InputImage.fromMediaImage(
-                imageProxy.getImage(),
-                imageProxy.getImageInfo().getRotationDegrees());
+        int colStep = step * pixelStride;
+        for (int row = 0; row < size; row++) {
+            int src = (top + row * step) * rowStride + left * pixelStride;
+            int dst = row * size;
+            if (colStep == 1) {
+                y.position(src);
+                y.get(nv21, dst, size);
+            } else {
+                for (int col = 0; col < size; col++) {
+                    nv21[dst + col] = y.get(src + col * colStep);
+                }
+            }
+        }
+        return size;
+    }
 
+    private void analyzeWithMlKit(int size, int rotation, long frameStart) {
+        analysisInFlight.set(true);
+        InputImage image = InputImage.fromByteArray(nv21, size, size, rotation, InputImage.IMAGE_FORMAT_NV21);
         barcodeScanner.process(image)
                 .addOnSuccessListener(barcodes -> {
+                    mlKitFailures = 0;
+                    List<String> values = new ArrayList<>(barcodes.size());
                     for (Barcode barcode : barcodes) {
-                        String rawValue = barcode.getRawValue();
-                        if (rawValue != null && !rawValue.isEmpty() && callback != null && isScanning) {
-                            isScanning = false; // Stop after first successful scan
-                            callback.onQrCodeScanned(rawValue);
-                            break;
-                        }
+                        values.add(barcode.getRawValue());
                     }
+                    onFrameDecoded(frameStart, values);
                 })
                 .addOnFailureListener(e -> {
                     Log.e(TAG, "Barcode scanning failed", e);
+                    metrics.recordError();
+                    boolean unavailable = e instanceof MlKitException
+                            && ((MlKitException) e).getErrorCode() == MlKitException.UNAVAILABLE;
+                    if (unavailable || ++mlKitFailures >= MAX_ML_KIT_FAILURES) {
+                        Log.w(TAG, "ML Kit unavailable, falling back to ZXing");
+                        engine = Engine.ZXING;
+                        metrics.setPipelineState(engine.name(), nv21Size);
+                    }
                 })
-                .addOnCompleteListener(task -> imageProxy.close());
+                .addOnCompleteListener(task -> analysisInFlight.set(false));
+    }
+
+    private void analyzeWithZxing(int size, long frameStart) {
+        if (zxingReader == null) {
+            zxingReader = new QRCodeReader();
+            zxingHints = new EnumMap<>(DecodeHintType.class);
+            zxingHints.put(DecodeHintType.POSSIBLE_FORMATS, Collections.singletonList(BarcodeFormat.QR_CODE));
+        }
+        String value = null;
+        try {
+            PlanarYUVLuminanceSource source = new PlanarYUVLuminanceSource(
+                    nv21, size, size, 0, 0, size, size, false);
+            value = zxingReader.decode(new BinaryBitmap(new HybridBinarizer(source)), zxingHints).getText();
+        } catch (ReaderException e) {
+            // No QR code in this frame
+        } finally {
+            zxingReader.reset();
+        }
+        List<String> values = value == null
+                ? Collections.emptyList() : Collections.singletonList(value);
+        mainExecutor.execute(() -> onFrameDecoded(frameStart, values));
+    }
+
+    /**
+     * Main-thread handling of one analysed frame: record metrics, adapt resolution, report codes
+     */
+    private void onFrameDecoded(long frameStart, List<String> values) {
+        long latency = SystemClock.elapsedRealtime() - frameStart;
+        metrics.recordAnalyzed(latency, !values.isEmpty());
+        adaptResolution(latency);
+
+        if (callback == null || !isScanning) {
+            return;
+        }
+        if (continuousMode) {
+            long now = SystemClock.elapsedRealtime();
+            for (String rawValue : values) {
+                if (rawValue != null && !rawValue.isEmpty() && !markSeen(rawValue, now)) {
+                    callback.onQrCodeScanned(rawValue);
+                }
+            }
+            return;
+        }
+        for (String rawValue : values) {
+            if (rawValue != null && !rawValue.isEmpty()) {
+                isScanning = false; // Stop after first successful scan
+                callback.onQrCodeScanned(rawValue);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Halve the decoded resolution when frames take longer than the FPS budget and
+     * restore it once latency drops well below. The cooldown avoids flip-flopping.
+     */
+    private void adaptResolution(long latencyMs) {
+        avgLatencyMs = avgLatencyMs == 0 ? latencyMs : avgLatencyMs * 0.8 + latencyMs * 0.2;
+        if (++framesSinceAdapt < ADAPT_COOLDOWN_FRAMES) {
+            return;
+        }
+        int next = subsample;
+        if (subsample == 1 && avgLatencyMs > minFrameIntervalMs) {
+            next = 2;
+        } else if (subsample == 2 && avgLatencyMs < minFrameIntervalMs * 0.4) {
+            next = 1;
+        }
+        if (next != subsample) {
+            Log.d(TAG, "Decode latency " + Math.round(avgLatencyMs) + " ms, subsample " + subsample + " -> " + next);
+            subsample = next;
+            framesSinceAdapt = 0;
+        }
     }
 
     /**
@@ -181,16 +439,22 @@ public class QrCodeScanner {
      */
     public void stopScanning() {
         isScanning = false;
+        bound = false;
         if (cameraProvider != null) {
             cameraProvider.unbindAll();
         }
     }
 
     /**
-     * Resume scanning
+     * Resume scanning, rebinding the camera if {@link #stopScanning()} unbound it
+     * (e.g. across onPause/onResume). A no-op binding-wise while the first start is
+     * still waiting for the camera provider; that start binds when it arrives.
      */
     public void resumeScanning() {
         isScanning = true;
+        if (!bound && cameraProvider != null && previewView != null) {
+            bindPreview(previewView);
+        }
     }
 
     /**
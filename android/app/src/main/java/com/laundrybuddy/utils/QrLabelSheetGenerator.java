@@ -0,0 +1,197 @@
+package com.laundrybuddy.utils;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.google.zxing.common.BitMatrix;
+import com.laundrybuddy.models.Order;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Renders QR labels for many orders into a printable, paginated A4 PDF.
+ *
+ * QR encoding (the expensive part) runs in parallel on a pool sized to the
+ * CPU count, one page ahead of drawing. Modules are drawn as vector
+ * rectangles rather than bitmaps, and {@link PdfStreamWriter} writes each page
+ * to the file as soon as it is drawn, so a 300-order sheet never holds more
+ * than one drawn page and two pages of encoded codes.
+ */
+public class QrLabelSheetGenerator {
+
+    private static final String TAG = "QrLabelSheetGenerator";
+    private static final String EXPORT_DIR = "exports";
+
+    // A4 in PostScript points (1/72 inch)
+    private static final int PAGE_WIDTH = 595;
+    private static final int PAGE_HEIGHT = 842;
+    private static final int MARGIN = 24;
+    private static final int COLUMNS = 3;
+    private static final int ROWS = 4;
+    private static final int LABELS_PER_PAGE = COLUMNS * ROWS;
+    private static final int CELL_PADDING = 8;
+    private static final int TEXT_BLOCK_HEIGHT = 42;
+    private static final float TITLE_SIZE = 12;
+    private static final float DETAIL_SIZE = 9;
+    // Color.DKGRAY
+    private static final float DETAIL_GRAY = 0x44 / 255f;
+
+    public interface LabelSheetCallback {
+        void onProgress(int pagesDone, int totalPages);
+
+        void onSuccess(File file);
+
+        void onError(String message);
+    }
+
+    /**
+     * Start rendering on a background thread. Callbacks arrive on the main thread.
+     * Cancel the returned future to abort; the partial file is deleted.
+     */
+    public static Future<?> generatePdf(Context context, List<Order> orders, LabelSheetCallback callback) {
+        List<Order> snapshot = new ArrayList<>(orders);
+        return generatePdf(context, () -> snapshot, callback);
+    }
+
+    /**
+     * As above, with the orders loaded on the background thread first (e.g. paged from
+     * the server). An empty result is reported through onError.
+     */
+    public static Future<?> generatePdf(Context context, Callable<List<Order>> orders, LabelSheetCallback callback) {
+        Handler mainHandler = new Handler(Looper.getMainLooper());
+        ExecutorService coordinator = Executors.newSingleThreadExecutor();
+        Future<?> task = coordinator.submit(() -> render(context.getApplicationContext(), orders, callback, mainHandler));
+        coordinator.shutdown();
+        return task;
+    }
+
+    private static void render(Context context, Callable<List<Order>> source, LabelSheetCallback callback,
+            Handler mainHandler) {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        ExecutorService encoder = Executors.newFixedThreadPool(threads);
+        File pdfFile = null;
+
+        try {
+            List<Order> orders = source.call();
+            if (orders.isEmpty()) {
+                mainHandler.post(() -> callback.onError("No received orders to label"));
+                return;
+            }
+            int totalPages = (orders.size() + LABELS_PER_PAGE - 1) / LABELS_PER_PAGE;
+
+            File exportDir = new File(context.getCacheDir(), EXPORT_DIR);
+            if (!exportDir.exists()) {
+                exportDir.mkdirs();
+            }
+            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss", Locale.getDefault()).format(new Date());
+            pdfFile = new File(exportDir, "qr_labels_" + timestamp + ".pdf");
+
+            try (PdfStreamWriter pdf = new PdfStreamWriter(
+                    new BufferedOutputStream(new FileOutputStream(pdfFile)), PAGE_WIDTH, PAGE_HEIGHT)) {
+                List<Future<BitMatrix>> current = encodePage(encoder, orders, 0);
+                for (int page = 0; page < totalPages; page++) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedException();
+                    }
+                    // Encode the next page while this one is drawn
+                    List<Future<BitMatrix>> next = page + 1 < totalPages
+                            ? encodePage(encoder, orders, page + 1)
+                            : null;
+
+                    pdf.beginPage();
+                    int first = page * LABELS_PER_PAGE;
+                    for (int i = 0; i < current.size(); i++) {
+                        drawLabel(pdf, i, orders.get(first + i), current.get(i).get());
+                    }
+                    pdf.endPage();
+
+                    int pagesDone = page + 1;
+                    mainHandler.post(() -> callback.onProgress(pagesDone, totalPages));
+                    current = next;
+                }
+                pdf.finish();
+            }
+            File result = pdfFile;
+            mainHandler.post(() -> callback.onSuccess(result));
+        } catch (InterruptedException e) {
+            Log.d(TAG, "Label sheet generation cancelled");
+            if (pdfFile != null) {
+                pdfFile.delete();
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error generating label sheet", e);
+            if (pdfFile != null) {
+                pdfFile.delete();
+            }
+            mainHandler.post(() -> callback.onError("Failed to generate labels: " + e.getMessage()));
+        } finally {
+            encoder.shutdownNow();
+        }
+    }
+
+    private static List<Future<BitMatrix>> encodePage(ExecutorService encoder, List<Order> orders, int page) {
+        int first = page * LABELS_PER_PAGE;
+        int last = Math.min(first + LABELS_PER_PAGE, orders.size());
+        List<Future<BitMatrix>> futures = new ArrayList<>(last - first);
+        for (int i = first; i < last; i++) {
+            Order order = orders.get(i);
+            futures.add(encoder.submit(() -> QrCodeGenerator.encodeModules(buildContent(order))));
+        }
+        return futures;
+    }
+
+    private static String buildContent(Order order) {
+        return QrCodeGenerator.buildOrderQrContent(order);
+    }
+
+    private static void drawLabel(PdfStreamWriter pdf, int slot, Order order, BitMatrix modules) {
+        float cellWidth = (PAGE_WIDTH - 2f * MARGIN) / COLUMNS;
+        float cellHeight = (PAGE_HEIGHT - 2f * MARGIN) / ROWS;
+        float left = MARGIN + (slot % COLUMNS) * cellWidth + CELL_PADDING;
+        float top = MARGIN + (slot / COLUMNS) * cellHeight + CELL_PADDING;
+        float innerWidth = cellWidth - 2 * CELL_PADDING;
+        float qrSide = Math.min(innerWidth, cellHeight - 2 * CELL_PADDING - TEXT_BLOCK_HEIGHT);
+        float qrLeft = left + (innerWidth - qrSide) / 2;
+
+        // Draw each horizontal run of dark modules as one rectangle
+        int count = modules.getWidth();
+        float moduleSize = qrSide / count;
+        for (int y = 0; y < count; y++) {
+            int x = 0;
+            while (x < count) {
+                if (!modules.get(x, y)) {
+                    x++;
+                    continue;
+                }
+                int runStart = x;
+                while (x < count && modules.get(x, y)) {
+                    x++;
+                }
+                pdf.fillRect(qrLeft + runStart * moduleSize, top + y * moduleSize,
+                        qrLeft + x * moduleSize, top + (y + 1) * moduleSize);
+            }
+        }
+
+        float textTop = top + qrSide + 14;
+        pdf.drawText("#" + order.getOrderNumber(), left, textTop, TITLE_SIZE, true, 0);
+        String who = order.getUserName() != null ? order.getUserName() : "";
+        if (order.getHostelRoom() != null && !order.getHostelRoom().isEmpty()) {
+            who += (who.isEmpty() ? "" : " · ") + "Room " + order.getHostelRoom();
+        }
+        pdf.drawText(who, left, textTop + 13, DETAIL_SIZE, false, DETAIL_GRAY);
+        pdf.drawText(order.getTotalItems() + " items", left, textTop + 25, DETAIL_SIZE, false, DETAIL_GRAY);
+    }
+}
@@ -0,0 +1,84 @@
+package com.laundrybuddy.utils;
+
+import android.app.Activity;
+import android.os.Looper;
+import android.view.View;
+
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.laundrybuddy.R;
+
+/**
+ * One RecycledViewPool per activity, shared by every list in it.
+ *
+ * Adapters report their row layout as the view type, so rows of different kinds
+ * never mix in the pool. Lists hand their rows back to the pool when they leave the
+ * screen, so returning to a screen (fragments are replaced, not kept) or switching
+ * adapters on the same list binds pooled rows instead of inflating new ones.
+ *
+ * <pre>
+ * RecyclerPools.attach(binding.ordersRecycler, requireActivity());
+ * binding.ordersRecycler.setAdapter(adapter);
+ * </pre>
+ */
+public final class RecyclerPools {
+
+    private RecyclerPools() {
+    }
+
+    /**
+     * The activity's pool, created on first use. Stored on the decor view so it lives
+     * and dies with the activity.
+     */
+    public static RecyclerView.RecycledViewPool shared(Activity activity) {
+        View decor = activity.getWindow().getDecorView();
+        Object tag = decor.getTag(R.id.shared_view_pool);
+        if (tag instanceof RecyclerView.RecycledViewPool) {
+            return (RecyclerView.RecycledViewPool) tag;
+        }
+        RecyclerView.RecycledViewPool pool = new RecyclerView.RecycledViewPool();
+        // About a screenful of each row kind; the default of 5 is less than one page of orders
+        pool.setMaxRecycledViews(R.layout.item_order, 12);
+        pool.setMaxRecycledViews(R.layout.item_staff_order, 12);
+        pool.setMaxRecycledViews(R.layout.item_ticket, 10);
+        pool.setMaxRecycledViews(R.layout.item_recent_order, 5);
+        decor.setTag(R.id.shared_view_pool, pool);
+        return pool;
+    }
+
+    /**
+     * Give a vertical list a layout manager and the activity's shared pool
+     */
+    public static LinearLayoutManager attach(RecyclerView recyclerView, Activity activity) {
+        LinearLayoutManager layoutManager = new LinearLayoutManager(activity);
+        // Recycle rows into the pool when the list is detached instead of dropping them
+        layoutManager.setRecycleChildrenOnDetach(true);
+        recyclerView.setLayoutManager(layoutManager);
+        recyclerView.setRecycledViewPool(shared(activity));
+        return layoutManager;
+    }
+
+    /**
+     * Inflate rows of one type into the list's pool while the main thread is idle, one
+     * row per idle pass, until the pool holds {@code count}. Call on the main thread.
+     */
+    public static void preinflate(RecyclerView recyclerView, RecyclerView.Adapter<?> adapter, int viewType,
+            int count) {
+        RecyclerView.RecycledViewPool pool = recyclerView.getRecycledViewPool();
+        Looper.myQueue().addIdleHandler(() -> {
+            Activity activity = recyclerView.getContext() instanceof Activity
+                    ? (Activity) recyclerView.getContext() : null;
+            if ((activity != null && activity.isFinishing()) || pool.getRecycledViewCount(viewType) >= count) {
+                return false;
+            }
+            TraceSection.begin("RecyclerPools.preinflate");
+            try {
+                pool.putRecycledView(adapter.createViewHolder(recyclerView, viewType));
+            } finally {
+                TraceSection.end();
+            }
+            return pool.getRecycledViewCount(viewType) < count;
+        });
+    }
+}
@@ -0,0 +1,109 @@
+package com.laundrybuddy.utils;
+
+import androidx.annotation.NonNull;
+
+import com.laundrybuddy.api.LatencyHistogram;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide counters for the QR frame analysis pipeline.
+ *
+ * "Throttled" frames were dropped before any work because they arrived faster than
+ * the target FPS or while the previous frame was still being decoded. Latency is
+ * measured per analysed frame, from arrival to decoder result.
+ */
+public class ScanMetrics {
+
+    private static final ScanMetrics instance = new ScanMetrics();
+
+    private final AtomicLong framesReceived = new AtomicLong();
+    private final AtomicLong framesThrottled = new AtomicLong();
+    private final AtomicLong framesAnalyzed = new AtomicLong();
+    private final AtomicLong framesDecoded = new AtomicLong();
+    private final AtomicLong decoderErrors = new AtomicLong();
+    private volatile LatencyHistogram frameLatency = new LatencyHistogram();
+    private volatile String engine = "-";
+    private volatile int analysisSize;
+
+    public static ScanMetrics getInstance() {
+        return instance;
+    }
+
+    void recordReceived() {
+        framesReceived.incrementAndGet();
+    }
+
+    void recordThrottled() {
+        framesThrottled.incrementAndGet();
+    }
+
+    void recordAnalyzed(long latencyMs, boolean decoded) {
+        framesAnalyzed.incrementAndGet();
+        if (decoded) {
+            framesDecoded.incrementAndGet();
+        }
+        frameLatency.record(latencyMs);
+    }
+
+    void recordError() {
+        decoderErrors.incrementAndGet();
+    }
+
+    void setPipelineState(String engine, int analysisSize) {
+        this.engine = engine;
+        this.analysisSize = analysisSize;
+    }
+
+    public long getFramesReceived() {
+        return framesReceived.get();
+    }
+
+    public long getFramesAnalyzed() {
+        return framesAnalyzed.get();
+    }
+
+    public long getFramesDecoded() {
+        return framesDecoded.get();
+    }
+
+    /**
+     * Share of analysed frames in which at least one QR code was decoded.
+     */
+    public double getDecodeRate() {
+        long analyzed = framesAnalyzed.get();
+        return analyzed == 0 ? 0 : (double) framesDecoded.get() / analyzed;
+    }
+
+    public LatencyHistogram getFrameLatency() {
+        return frameLatency;
+    }
+
+    public void reset() {
+        framesReceived.set(0);
+        framesThrottled.set(0);
+        framesAnalyzed.set(0);
+        framesDecoded.set(0);
+        decoderErrors.set(0);
+        frameLatency = new LatencyHistogram();
+    }
+
+    @NonNull
+    public String formatReport() {
+        if (framesReceived.get() == 0) {
+            return "No frames analysed yet";
+        }
+        LatencyHistogram latency = frameLatency;
+        return String.format(Locale.US,
+                "Engine: %s, ROI %d px\n"
+                        + "Frames: %d received, %d throttled, %d analysed\n"
+                        + "Decoded: %d (%.0f%%), errors: %d\n"
+                        + "Latency: p50 %d ms, p90 %d ms, p99 %d ms, max %d ms",
+                engine, analysisSize,
+                framesReceived.get(), framesThrottled.get(), framesAnalyzed.get(),
+                framesDecoded.get(), 100 * getDecodeRate(), decoderErrors.get(),
+                latency.getPercentileMs(50), latency.getPercentileMs(90),
+                latency.getPercentileMs(99), latency.getMaxMs());
+    }
+}
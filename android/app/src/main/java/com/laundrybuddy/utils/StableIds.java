@@ -0,0 +1,35 @@
+package com.laundrybuddy.utils;
+
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Long item ids for RecyclerView stable ids, assigned per string key.
+ *
+ * String hash codes can collide, and duplicate stable ids corrupt RecyclerView's
+ * bookkeeping, so each distinct key gets the next counter value instead. An item
+ * keeps its id across reloads for as long as the adapter lives. Main thread only.
+ */
+public final class StableIds {
+
+    private final Map<String, Long> ids = new HashMap<>();
+    private long next;
+
+    /**
+     * The id for this key, or {@link RecyclerView#NO_ID} for items without one
+     */
+    public long idFor(@Nullable String key) {
+        if (key == null) {
+            return RecyclerView.NO_ID;
+        }
+        Long id = ids.get(key);
+        if (id == null) {
+            id = next++;
+            ids.put(key, id);
+        }
+        return id;
+    }
+}
@@ -0,0 +1,171 @@
+package com.laundrybuddy.utils;
+
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Dependency-ordered, lazily initialised application components.
+ *
+ * Each component is built at most once, on whichever thread needs it first:
+ * {@link #start()} builds main-thread components and queues background ones on a
+ * small pool, but a caller that gets there before the pool runs the initialiser
+ * inline, and a caller that arrives mid-build waits for it. Dependencies are
+ * resolved the same way, so registration order doesn't matter.
+ *
+ * Per-component timings are logged under the "StartupTiming" tag, relative to
+ * process start, so cold-start cost can be compared across builds.
+ */
+public class StartupOrchestrator {
+
+    private static final String TAG = "StartupTiming";
+    private static final int POOL_SIZE = 2;
+
+    public interface Initializer<T> {
+        T create();
+    }
+
+    public final class Component<T> {
+        private final String name;
+        private final boolean background;
+        private final FutureTask<T> task;
+        private volatile long startMs = -1;
+        private volatile long durationMs = -1;
+        private volatile String threadName;
+
+        private Component(String name, boolean background, Initializer<T> initializer, Component<?>[] dependencies) {
+            this.name = name;
+            this.background = background;
+            this.task = new FutureTask<>(() -> {
+                for (Component<?> dependency : dependencies) {
+                    dependency.get();
+                }
+                long start = clock.getAsLong();
+                startMs = start - processStartMs;
+                threadName = Thread.currentThread().getName();
+                T value;
+                TraceSection.begin("startup:" + name);
+                try {
+                    value = initializer.create();
+                } finally {
+                    TraceSection.end();
+                }
+                durationMs = clock.getAsLong() - start;
+                Log.d(TAG, String.format(Locale.US, "%s: %d ms on %s (at +%d ms)",
+                        name, durationMs, threadName, startMs));
+                return value;
+            });
+        }
+
+        /**
+         * Value of the component, building it on this thread if nobody has started yet
+         */
+        public T get() {
+            task.run(); // no-op if already running or done
+            try {
+                return task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while initialising " + name, e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Failed to initialise " + name, e.getCause());
+            }
+        }
+
+        public boolean isReady() {
+            return task.isDone();
+        }
+    }
+
+    private final LongSupplier clock;
+    private final long processStartMs;
+    private final List<Component<?>> components = new ArrayList<>();
+
+    public StartupOrchestrator() {
+        this(SystemClock::elapsedRealtime, Process.getStartElapsedRealtime());
+    }
+
+    /**
+     * Timed by another millisecond clock, e.g. in JVM tests where SystemClock is a stub
+     */
+    public StartupOrchestrator(LongSupplier clock, long processStartMs) {
+        this.clock = clock;
+        this.processStartMs = processStartMs;
+    }
+
+    /**
+     * Component that is built on the main thread when first needed, or eagerly via {@link #start()}
+     */
+    public <T> Component<T> main(String name, Initializer<T> initializer, Component<?>... dependencies) {
+        return register(name, false, initializer, dependencies);
+    }
+
+    /**
+     * Component that {@link #start()} prebuilds on a background thread
+     */
+    public <T> Component<T> background(String name, Initializer<T> initializer, Component<?>... dependencies) {
+        return register(name, true, initializer, dependencies);
+    }
+
+    private synchronized <T> Component<T> register(String name, boolean background, Initializer<T> initializer,
+            Component<?>[] dependencies) {
+        Component<T> component = new Component<>(name, background, initializer, dependencies);
+        components.add(component);
+        return component;
+    }
+
+    /**
+     * Build main-thread components inline, then hand background components to the pool
+     */
+    public synchronized void start() {
+        long start = clock.getAsLong();
+        for (Component<?> component : components) {
+            if (!component.background) {
+                component.get();
+            }
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(POOL_SIZE, runnable -> {
+            Thread thread = new Thread(runnable, "startup-" + threadCount.incrementAndGet());
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+        for (Component<?> component : components) {
+            if (component.background) {
+                executor.execute(component.task);
+            }
+        }
+        executor.shutdown();
+        Log.d(TAG, String.format(Locale.US, "Application.onCreate startup work: %d ms on main (at +%d ms)",
+                clock.getAsLong() - start, start - processStartMs));
+    }
+
+    @NonNull
+    public synchronized String formatReport() {
+        StringBuilder report = new StringBuilder();
+        for (Component<?> component : components) {
+            report.append(component.name).append(": ");
+            if (component.durationMs < 0) {
+                report.append(component.isReady() ? "failed" : "pending");
+            } else {
+                report.append(String.format(Locale.US, "%d ms on %s (at +%d ms)",
+                        component.durationMs, component.threadName, component.startMs));
+            }
+            report.append('\n');
+        }
+        return report.toString().trim();
+    }
+}
@@ -0,0 +1,173 @@
+package com.laundrybuddy.utils;
+
+import android.content.Context;
+import android.os.Process;
+import android.os.SystemClock;
+import android.os.Trace;
+
+import com.google.gson.stream.JsonWriter;
+import com.laundrybuddy.BuildConfig;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Begin/end trace markers for hot paths (repository loads, filters, sorts, binds, parsing).
+ *
+ * Sections always go to {@link android.os.Trace}, so they show up in system traces
+ * captured with Perfetto or Android Studio. Debug builds additionally keep the last
+ * {@value #CAPACITY} completed sections in memory, exportable from the diagnostics
+ * screen as a Chrome JSON trace that ui.perfetto.dev opens directly.
+ *
+ * Always pair calls on the same thread:
+ * <pre>
+ * TraceSection.begin("HistoryFragment.applyFilters");
+ * try { ... } finally { TraceSection.end(); }
+ * </pre>
+ */
+public final class TraceSection {
+
+    private static final int CAPACITY = 20_000;
+    // android.os.Trace rejects longer names
+    private static final int MAX_NAME_LENGTH = 127;
+    private static final boolean RECORDING = BuildConfig.DEBUG;
+
+    private static final ThreadLocal<ArrayDeque<Open>> openSections = ThreadLocal.withInitial(ArrayDeque::new);
+
+    // Ring buffer of completed sections, guarded by the class lock
+    private static final String[] names = new String[CAPACITY];
+    private static final long[] startsNanos = new long[CAPACITY];
+    private static final long[] durationsNanos = new long[CAPACITY];
+    private static final int[] threadIds = new int[CAPACITY];
+    private static int next;
+    private static int size;
+    private static final Map<Integer, String> threadNames = new ConcurrentHashMap<>();
+
+    private static final class Open {
+        final String name;
+        final long startNanos;
+
+        Open(String name, long startNanos) {
+            this.name = name;
+            this.startNanos = startNanos;
+        }
+    }
+
+    private TraceSection() {
+    }
+
+    public static void begin(String name) {
+        if (name.length() > MAX_NAME_LENGTH) {
+            name = name.substring(0, MAX_NAME_LENGTH);
+        }
+        Trace.beginSection(name);
+        if (RECORDING) {
+            openSections.get().push(new Open(name, SystemClock.elapsedRealtimeNanos()));
+        }
+    }
+
+    public static void end() {
+        Trace.endSection();
+        if (RECORDING) {
+            Open open = openSections.get().poll();
+            if (open != null) {
+                int tid = Process.myTid();
+                threadNames.putIfAbsent(tid, Thread.currentThread().getName());
+                record(open.name, open.startNanos, SystemClock.elapsedRealtimeNanos() - open.startNanos, tid);
+            }
+        }
+    }
+
+    private static synchronized void record(String name, long startNanos, long durationNanos, int tid) {
+        names[next] = name;
+        startsNanos[next] = startNanos;
+        durationsNanos[next] = durationNanos;
+        threadIds[next] = tid;
+        next = (next + 1) % CAPACITY;
+        if (size < CAPACITY) {
+            size++;
+        }
+    }
+
+    public static synchronized int getRecordedCount() {
+        return size;
+    }
+
+    public static synchronized void clear() {
+        next = 0;
+        size = 0;
+    }
+
+    /**
+     * Write recorded sections as Chrome trace-event JSON ("X" complete events, microseconds).
+     * Only debug builds record anything. Blocking file I/O: call off the main thread.
+     */
+    public static File exportChromeTrace(Context context) throws IOException {
+        // Copy under the lock and write without it, so recording threads wait only for the copy
+        String[] eventNames;
+        long[] starts;
+        long[] durations;
+        int[] tids;
+        synchronized (TraceSection.class) {
+            eventNames = new String[size];
+            starts = new long[size];
+            durations = new long[size];
+            tids = new int[size];
+            int first = (next - size + CAPACITY) % CAPACITY;
+            for (int i = 0; i < size; i++) {
+                int index = (first + i) % CAPACITY;
+                eventNames[i] = names[index];
+                starts[i] = startsNanos[index];
+                durations[i] = durationsNanos[index];
+                tids[i] = threadIds[index];
+            }
+        }
+
+        File exportDir = new File(context.getCacheDir(), "exports");
+        if (!exportDir.exists()) {
+            exportDir.mkdirs();
+        }
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss", Locale.getDefault()).format(new Date());
+        File file = new File(exportDir, "trace_" + timestamp + ".json");
+        int pid = Process.myPid();
+
+        try (JsonWriter writer = new JsonWriter(new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(file), StandardCharsets.UTF_8)))) {
+            writer.beginObject();
+            writer.name("displayTimeUnit").value("ms");
+            writer.name("traceEvents").beginArray();
+            for (Map.Entry<Integer, String> thread : threadNames.entrySet()) {
+                writer.beginObject();
+                writer.name("name").value("thread_name");
+                writer.name("ph").value("M");
+                writer.name("pid").value(pid);
+                writer.name("tid").value(thread.getKey());
+                writer.name("args").beginObject().name("name").value(thread.getValue()).endObject();
+                writer.endObject();
+            }
+            for (int i = 0; i < eventNames.length; i++) {
+                writer.beginObject();
+                writer.name("name").value(eventNames[i]);
+                writer.name("ph").value("X");
+                writer.name("ts").value(starts[i] / 1000);
+                writer.name("dur").value(durations[i] / 1000);
+                writer.name("pid").value(pid);
+                writer.name("tid").value(tids[i]);
+                writer.endObject();
+            }
+            writer.endArray();
+            writer.endObject();
+        }
+        return file;
+    }
+}
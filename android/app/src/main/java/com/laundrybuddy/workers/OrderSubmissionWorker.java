@@ -0,0 +1,31 @@
+package com.laundrybuddy.workers;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.laundrybuddy.repositories.OrderSubmissionQueue;
+
+/**
+ * Sends queued order submissions; scheduled by {@link OrderSubmissionQueue}
+ * with a network constraint and exponential backoff.
+ */
+public class OrderSubmissionWorker extends Worker {
+
+    private static final String TAG = "OrderSubmissionWorker";
+
+    public OrderSubmissionWorker(@NonNull Context context, @NonNull WorkerParameters workerParams) {
+        super(context, workerParams);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        boolean pending = OrderSubmissionQueue.getInstance(getApplicationContext()).drain();
+        Log.d(TAG, pending ? "Submissions still queued, retrying later" : "Submission queue drained");
+        return pending ? Result.retry() : Result.success();
+    }
+}
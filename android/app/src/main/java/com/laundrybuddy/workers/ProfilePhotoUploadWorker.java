@@ -0,0 +1,31 @@
+package com.laundrybuddy.workers;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.laundrybuddy.repositories.ProfilePhotoUploader;
+
+/**
+ * Resumes an interrupted profile photo upload; scheduled by {@link ProfilePhotoUploader}
+ * with a network constraint and exponential backoff.
+ */
+public class ProfilePhotoUploadWorker extends Worker {
+
+    private static final String TAG = "ProfilePhotoUploadWorker";
+
+    public ProfilePhotoUploadWorker(@NonNull Context context, @NonNull WorkerParameters workerParams) {
+        super(context, workerParams);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        boolean pending = ProfilePhotoUploader.getInstance(getApplicationContext()).resume();
+        Log.d(TAG, pending ? "Photo upload incomplete, retrying later" : "No photo upload pending");
+        return pending ? Result.retry() : Result.success();
+    }
+}
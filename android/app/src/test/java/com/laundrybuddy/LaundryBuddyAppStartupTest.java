@@ -0,0 +1,191 @@
+package com.laundrybuddy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+
+import com.laundrybuddy.api.ApiClient;
+import com.laundrybuddy.db.AppDatabase;
+import com.laundrybuddy.utils.SessionManager;
+import com.laundrybuddy.utils.StartupOrchestrator;
+import com.laundrybuddy.utils.ThemeManager;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * LaundryBuddyApp's startup graph driven through StartupOrchestrator on the JVM.
+ *
+ * The graph (names, dependencies, main vs background) is the app's own; only the
+ * work inside each step is replaced with a stand-in that records which thread ran
+ * it and in what order, since ThemeManager, Room and friends need a device. These
+ * tests check ordering, threads and build-once; they say nothing about cold start
+ * time, which needs a device and a macrobenchmark.
+ */
+public class LaundryBuddyAppStartupTest {
+
+    private static final Pattern REPORT_LINE =
+            Pattern.compile("(\\w+): \\d+ ms on (.+) \\(at \\+\\d+ ms\\)");
+
+    private RecordingApp app;
+    private StartupOrchestrator startup;
+
+    @Before
+    public void setUp() {
+        app = new RecordingApp();
+        startup = new StartupOrchestrator(LaundryBuddyAppStartupTest::nowMs, nowMs());
+        app.registerStartup(startup);
+    }
+
+    @Test
+    public void mainComponentsRunInlineAndDependenciesFirst() throws Exception {
+        String caller = Thread.currentThread().getName();
+        startup.start();
+
+        // start() returns only once the main-thread components are built, on the caller
+        for (String name : new String[] { "theme", "sessionManager", "network" }) {
+            assertTrue(name + " not finished when start() returned", app.events.contains("end " + name));
+            assertEquals(caller, app.threads.get(name));
+        }
+
+        app.getDatabase();
+        assertTrue("apiClient never built", app.apiClientBuilt.await(5, TimeUnit.SECONDS));
+        assertTrue(app.events.indexOf("end network") < app.events.indexOf("start apiClient"));
+        assertTrue(app.threads.get("apiClient").startsWith("startup-"));
+    }
+
+    @Test
+    public void eachComponentIsBuiltOnceUnderConcurrentGet() throws Exception {
+        int callers = 8;
+        CountDownLatch go = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(callers + 1);
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            boolean database = i % 2 == 0;
+            threads.add(new Thread(() -> {
+                try {
+                    go.await();
+                    if (database) {
+                        app.getDatabase();
+                    } else {
+                        app.getThemeManager();
+                    }
+                } catch (Throwable t) {
+                    failures.add(t);
+                } finally {
+                    done.countDown();
+                }
+            }, "caller-" + i));
+        }
+        // start() races the callers for the same components
+        threads.add(new Thread(() -> {
+            try {
+                go.await();
+                startup.start();
+            } catch (Throwable t) {
+                failures.add(t);
+            } finally {
+                done.countDown();
+            }
+        }, "start"));
+        for (Thread thread : threads) {
+            thread.start();
+        }
+
+        go.countDown();
+        assertTrue("callers timed out", done.await(10, TimeUnit.SECONDS));
+        assertTrue("apiClient never built", app.apiClientBuilt.await(5, TimeUnit.SECONDS));
+        assertEquals(new ArrayList<Throwable>(), failures);
+        for (String name : new String[] { "theme", "sessionManager", "network", "apiClient", "database" }) {
+            assertEquals(name + " built more than once", 1, app.builds.get(name).get());
+        }
+    }
+
+    @Test
+    public void reportListsEveryComponentInGraphOrderWithItsThread() {
+        assertEquals("theme: pending\nsessionManager: pending\nnetwork: pending\napiClient: pending\n"
+                + "database: pending", startup.formatReport());
+
+        startup.start();
+        app.getDatabase();
+
+        String[] lines = startup.formatReport().split("\n");
+        String[] names = { "theme", "sessionManager", "network", "apiClient", "database" };
+        assertEquals(names.length, lines.length);
+        for (int i = 0; i < names.length; i++) {
+            assertTrue(lines[i], lines[i].startsWith(names[i] + ": "));
+            if (names[i].equals("apiClient")) {
+                // Still running on the pool or just finished; either way it is listed
+                continue;
+            }
+            Matcher line = REPORT_LINE.matcher(lines[i]);
+            assertTrue(lines[i], line.matches());
+            assertEquals(lines[i], app.threads.get(names[i]), line.group(2));
+        }
+    }
+
+    private static long nowMs() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    /**
+     * The real registerStartup graph with each step's work replaced by a recording
+     */
+    private static final class RecordingApp extends LaundryBuddyApp {
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final Map<String, String> threads = new ConcurrentHashMap<>();
+        final Map<String, AtomicInteger> builds = new ConcurrentHashMap<>();
+        final CountDownLatch apiClientBuilt = new CountDownLatch(1);
+
+        @Override
+        ThemeManager createThemeManager() {
+            step("theme");
+            return null;
+        }
+
+        @Override
+        SessionManager startSessionManager() {
+            step("sessionManager");
+            return null;
+        }
+
+        @Override
+        Context initNetwork() {
+            step("network");
+            return this;
+        }
+
+        @Override
+        ApiClient createApiClient() {
+            step("apiClient");
+            apiClientBuilt.countDown();
+            return null;
+        }
+
+        @Override
+        AppDatabase openDatabase() {
+            step("database");
+            return null;
+        }
+
+        private void step(String name) {
+            builds.computeIfAbsent(name, key -> new AtomicInteger()).incrementAndGet();
+            threads.put(name, Thread.currentThread().getName());
+            events.add("start " + name);
+            events.add("end " + name);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.laundrybuddy.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.tls.HandshakeCertificates;
+import okhttp3.tls.HeldCertificate;
+
+/**
+ * Throughput and tail latency of ApiClient's dispatcher against a local HTTP/2
+ * MockWebServer, at 1, 10 and 100 concurrent calls.
+ *
+ * The server holds each response for {@link #SERVER_DELAY_MS} to stand in for backend
+ * work, so the numbers show how much of that wait the client overlaps. The assertions
+ * check the properties the tuning is for: calls overlap, the per-host cap is honoured,
+ * and everything shares one multiplexed connection.
+ */
+public class ApiClientConcurrencyBenchmarkTest {
+
+    private static final long SERVER_DELAY_MS = 50;
+    private static final int CALLS_PER_RUN = 200;
+
+    private MockWebServer server;
+    private OkHttpClient client;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @Before
+    public void setUp() throws IOException {
+        HeldCertificate localhost = new HeldCertificate.Builder()
+                .addSubjectAlternativeName("localhost")
+                .build();
+        HandshakeCertificates serverCertificates = new HandshakeCertificates.Builder()
+                .heldCertificate(localhost)
+                .build();
+        HandshakeCertificates clientCertificates = new HandshakeCertificates.Builder()
+                .addTrustedCertificate(localhost.certificate())
+                .build();
+
+        server = new MockWebServer();
+        server.useHttps(serverCertificates.sslSocketFactory(), false);
+        server.setProtocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1));
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                int now = inFlight.incrementAndGet();
+                maxInFlight.accumulateAndGet(now, Math::max);
+                try {
+                    Thread.sleep(SERVER_DELAY_MS);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+                return new MockResponse().setBody("{\"success\":true,\"data\":[]}");
+            }
+        });
+        server.start();
+
+        client = new OkHttpClient.Builder()
+                .dispatcher(ApiClient.newDispatcher())
+                .sslSocketFactory(clientCertificates.sslSocketFactory(), clientCertificates.trustManager())
+                .build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+        server.shutdown();
+    }
+
+    @Test
+    public void singleCall() throws Exception {
+        Result result = run(1);
+        // Sequential calls can't beat the server delay
+        assertTrue(result.throughputPerSecond() < 1000.0 / SERVER_DELAY_MS);
+    }
+
+    @Test
+    public void tenConcurrentCalls() throws Exception {
+        Result sequential = run(1);
+        Result parallel = run(10);
+        // Below the per-host cap, all ten should overlap on the one connection
+        assertTrue("10 concurrent calls should be several times faster than sequential: " + parallel
+                + " vs " + sequential, parallel.throughputPerSecond() > 4 * sequential.throughputPerSecond());
+    }
+
+    @Test
+    public void hundredConcurrentCalls() throws Exception {
+        run(100);
+        // The dispatcher queues beyond the per-host cap
+        assertTrue("max in flight " + maxInFlight.get(),
+                maxInFlight.get() <= ApiClient.DEFAULT_MAX_REQUESTS_PER_HOST);
+    }
+
+    @Test
+    public void callsMultiplexOverOneHttp2Connection() throws Exception {
+        run(10);
+        assertEquals(1, client.connectionPool().connectionCount());
+        try (Response response = client.newCall(new Request.Builder().url(server.url("/orders")).build())
+                .execute()) {
+            assertEquals(Protocol.HTTP_2, response.protocol());
+        }
+    }
+
+    /**
+     * Issue {@link #CALLS_PER_RUN} calls with at most {@code concurrency} outstanding
+     */
+    private Result run(int concurrency) throws Exception {
+        long[] latenciesNanos = new long[CALLS_PER_RUN];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(CALLS_PER_RUN);
+        Request request = new Request.Builder().url(server.url("/orders")).build();
+
+        long start = System.nanoTime();
+        // Each completion starts the next call, keeping `concurrency` calls outstanding
+        Runnable[] issue = new Runnable[1];
+        issue[0] = () -> {
+            int index = next.getAndIncrement();
+            if (index >= CALLS_PER_RUN) {
+                return;
+            }
+            long callStart = System.nanoTime();
+            client.newCall(request).enqueue(new Callback() {
+                @Override
+                public void onResponse(Call call, Response response) {
+                    try (Response closed = response) {
+                        if (closed.body() != null) {
+                            closed.body().string();
+                        }
+                        if (!closed.isSuccessful()) {
+                            failures.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        failures.incrementAndGet();
+                    }
+                    latenciesNanos[index] = System.nanoTime() - callStart;
+                    done.countDown();
+                    issue[0].run();
+                }
+
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    failures.incrementAndGet();
+                    latenciesNanos[index] = System.nanoTime() - callStart;
+                    done.countDown();
+                    issue[0].run();
+                }
+            });
+        };
+        for (int i = 0; i < concurrency; i++) {
+            issue[0].run();
+        }
+        assertTrue("timed out", done.await(2, TimeUnit.MINUTES));
+        long elapsedNanos = System.nanoTime() - start;
+        assertEquals(0, failures.get());
+
+        return new Result(concurrency, elapsedNanos, latenciesNanos);
+    }
+
+    private static final class Result {
+        final int concurrency;
+        final long elapsedNanos;
+        final long[] sortedLatenciesNanos;
+
+        Result(int concurrency, long elapsedNanos, long[] latenciesNanos) {
+            this.concurrency = concurrency;
+            this.elapsedNanos = elapsedNanos;
+            this.sortedLatenciesNanos = latenciesNanos.clone();
+            Arrays.sort(sortedLatenciesNanos);
+        }
+
+        double throughputPerSecond() {
+            return sortedLatenciesNanos.length / (elapsedNanos / 1e9);
+        }
+
+        double percentileMs(double percentile) {
+            int index = (int) Math.ceil(percentile / 100 * sortedLatenciesNanos.length) - 1;
+            return sortedLatenciesNanos[Math.max(0, index)] / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "concurrency=%d: %.0f req/s, p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms",
+                    concurrency, throughputPerSecond(), percentileMs(50), percentileMs(95), percentileMs(99),
+                    percentileMs(100));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.laundrybuddy.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParser;
+import com.laundrybuddy.models.Order;
+import com.laundrybuddy.models.requests.CreateOrderRequest;
+import com.laundrybuddy.models.requests.JsonRequest;
+import com.laundrybuddy.models.requests.StatusUpdateRequest;
+import com.laundrybuddy.utils.Allocations;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * JsonRequest bodies against the HashMap bodies they replaced: same JSON on the wire,
+ * and fewer bytes allocated to build and serialise each body.
+ */
+public class JsonRequestSerializationTest {
+
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int ITERATIONS = 10_000;
+
+    private Gson apiGson;
+    private Gson mapGson;
+
+    @Before
+    public void setUp() {
+        // As configured in ApiClient
+        apiGson = new GsonBuilder()
+                .registerTypeAdapterFactory(new JsonRequestAdapterFactory())
+                .create();
+        mapGson = new Gson();
+    }
+
+    @Test
+    public void createOrderMatchesMapBody() {
+        String expected = mapGson.toJson(createOrderMap());
+        assertEquals(JsonParser.parseString(expected), JsonParser.parseString(createOrderRequest().toJson()));
+        assertEquals(JsonParser.parseString(expected), JsonParser.parseString(apiGson.toJson(createOrderRequest())));
+    }
+
+    @Test
+    public void nullFieldsAreOmittedLikeMissingMapKeys() {
+        assertEquals("{}", apiGson.toJson(new StatusUpdateRequest(null)));
+        assertEquals("null", apiGson.toJson(null, StatusUpdateRequest.class));
+    }
+
+    @Test
+    public void requestsCanBeReadBack() {
+        String json = "{\"status\":\"ready\"}";
+        StatusUpdateRequest request = apiGson.fromJson(json, StatusUpdateRequest.class);
+        assertEquals(json, apiGson.toJson(request));
+        assertNull(apiGson.fromJson("null", StatusUpdateRequest.class));
+    }
+
+    @Test
+    public void requestBodyAllocatesLessThanTheMapBody() throws Exception {
+        // Each side builds its body too, as the call sites do per submission
+        double mapBytes = Allocations.bytesPerOp(WARMUP_ITERATIONS, ITERATIONS,
+                () -> mapGson.toJson(createOrderMap()));
+        double requestBytes = Allocations.bytesPerOp(WARMUP_ITERATIONS, ITERATIONS,
+                () -> apiGson.toJson(createOrderRequest(), JsonRequest.class));
+        double toJsonBytes = Allocations.bytesPerOp(WARMUP_ITERATIONS, ITERATIONS,
+                () -> createOrderRequest().toJson());
+
+        String summary = String.format(Locale.US, "map %.0f B/op, JsonRequest via Gson %.0f B/op, toJson() %.0f B/op",
+                mapBytes, requestBytes, toJsonBytes);
+        assertTrue(summary, requestBytes < mapBytes);
+        assertTrue(summary, toJsonBytes < mapBytes);
+    }
+
+    private static CreateOrderRequest createOrderRequest() {
+        List<Order.OrderItem> items = new ArrayList<>();
+        for (String name : new String[] { "Shirt", "Trousers", "Towel", "Bedsheet" }) {
+            Order.OrderItem item = new Order.OrderItem();
+            item.setName(name);
+            item.setQuantity(3);
+            item.setCategory("micellaneous");
+            items.add(item);
+        }
+        return new CreateOrderRequest(items)
+                .setService("Wash & Fold", 120)
+                .setSchedule("2026-10-18T09:00:00.000Z", "Anytime", "2026-10-19T09:00:00.000Z")
+                .setContact("B-214", "9876543210")
+                .setSpecialInstructions("Cold wash only");
+    }
+
+    /**
+     * The body SubmitOrderActivity used to build before JsonRequest
+     */
+    private static Map<String, Object> createOrderMap() {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (String name : new String[] { "Shirt", "Trousers", "Towel", "Bedsheet" }) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("name", name);
+            item.put("quantity", 3);
+            item.put("category", "micellaneous");
+            items.add(item);
+        }
+        Map<String, Object> body = new HashMap<>();
+        body.put("items", items);
+        body.put("totalItems", 12);
+        body.put("serviceType", "Wash & Fold");
+        body.put("pickupDate", "2026-10-18T09:00:00.000Z");
+        body.put("pickupTime", "Anytime");
+        body.put("deliveryDate", "2026-10-19T09:00:00.000Z");
+        body.put("totalAmount", 120);
+        body.put("address", "B-214");
+        body.put("phone", "9876543210");
+        body.put("specialInstructions", "Cold wash only");
+        return body;
+    }
+}
@@ -0,0 +1,371 @@
+package com.laundrybuddy.repositories;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.content.SharedPreferences;
+
+import com.laundrybuddy.api.AuthApi;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Resume behaviour of the chunked photo upload against a MockWebServer that keeps
+ * session state the way backend/services/chunkedUploadService.js does.
+ */
+public class ProfilePhotoUploaderTest {
+
+    private static final int CHUNK_SIZE = 1024;
+    private static final Pattern CHUNK_PATH = Pattern.compile(".*/uploads/([^/]+)/chunks/(\\d+)$");
+    private static final Pattern COMPLETE_PATH = Pattern.compile(".*/uploads/([^/]+)/complete$");
+    private static final Pattern SESSION_PATH = Pattern.compile(".*/uploads/([^/]+)$");
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final Map<String, byte[]> uploads = new HashMap<>();
+    private final Map<String, Set<Integer>> received = new HashMap<>();
+    private final List<String> chunkPuts = Collections.synchronizedList(new ArrayList<>());
+    private volatile Integer chunkLostBeforeComplete;
+    private int sessionsCreated;
+
+    private MockWebServer server;
+    private MemoryPrefs prefs;
+    private ProfilePhotoUploader uploader;
+    private byte[] photo;
+    private File pending;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new UploadDispatcher());
+        server.start();
+
+        AuthApi api = new Retrofit.Builder()
+                .baseUrl(server.url("/api/"))
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(AuthApi.class);
+        prefs = new MemoryPrefs();
+        // One chunk at a time keeps the request order deterministic
+        uploader = new ProfilePhotoUploader(null, prefs, () -> api, () -> 1);
+
+        // Two and a half chunks
+        photo = new byte[CHUNK_SIZE * 5 / 2];
+        for (int i = 0; i < photo.length; i++) {
+            photo[i] = (byte) (i * 31);
+        }
+        pending = folder.newFile("pending_photo.jpg");
+        Files.write(pending.toPath(), photo);
+        prefs.edit()
+                .putString("photo_upload_file", pending.getPath())
+                .putString("photo_upload_type", "image/jpeg")
+                .apply();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void resumeSendsOnlyTheChunksTheServerIsMissing() {
+        String uploadId = storedSession(0, 2);
+
+        assertFalse(uploader.resume());
+
+        assertEquals(Collections.singletonList(uploadId + "/1"), chunkPuts);
+        assertEquals(0, sessionsCreated);
+        assertArrayEquals(photo, uploads.get(uploadId));
+        assertEquals("/uploads/profiles/photo.jpg", prefs.getString("profile_photo", null));
+        assertUploadStateCleared();
+    }
+
+    @Test
+    public void chunkLostBeforeCompletionIsResentOnTheNextResume() {
+        chunkLostBeforeComplete = 1;
+
+        // The first attempt sends everything, then completion finds chunk 1 gone
+        assertTrue(uploader.resume());
+        String uploadId = prefs.getString("photo_upload_id", null);
+        assertEquals(3, chunkPuts.size());
+        assertTrue("state kept for the retry", pending.exists());
+
+        chunkPuts.clear();
+        assertFalse(uploader.resume());
+
+        assertEquals(Collections.singletonList(uploadId + "/1"), chunkPuts);
+        assertEquals(1, sessionsCreated);
+        assertArrayEquals(photo, uploads.get(uploadId));
+        assertUploadStateCleared();
+    }
+
+    @Test
+    public void expiredSessionStartsOver() {
+        prefs.edit().putString("photo_upload_id", "expired").apply();
+
+        assertFalse(uploader.resume());
+
+        assertEquals(1, sessionsCreated);
+        assertEquals(3, chunkPuts.size());
+        assertFalse(chunkPuts.get(0).startsWith("expired/"));
+        assertUploadStateCleared();
+    }
+
+    /**
+     * A server session already holding the given chunks, recorded as the pending upload
+     */
+    private String storedSession(int... chunks) {
+        String uploadId = "stored";
+        uploads.put(uploadId, new byte[photo.length]);
+        Set<Integer> have = new TreeSet<>();
+        for (int chunk : chunks) {
+            int offset = chunk * CHUNK_SIZE;
+            System.arraycopy(photo, offset, uploads.get(uploadId), offset,
+                    Math.min(CHUNK_SIZE, photo.length - offset));
+            have.add(chunk);
+        }
+        received.put(uploadId, have);
+        prefs.edit().putString("photo_upload_id", uploadId).apply();
+        return uploadId;
+    }
+
+    private void assertUploadStateCleared() {
+        assertFalse(pending.exists());
+        assertNull(prefs.getString("photo_upload_file", null));
+        assertNull(prefs.getString("photo_upload_id", null));
+    }
+
+    private class UploadDispatcher extends Dispatcher {
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            synchronized (ProfilePhotoUploaderTest.this) {
+                String path = request.getPath();
+                Matcher chunk = CHUNK_PATH.matcher(path);
+                Matcher complete = COMPLETE_PATH.matcher(path);
+                Matcher session = SESSION_PATH.matcher(path);
+
+                if ("POST".equals(request.getMethod()) && path.endsWith("/uploads")) {
+                    String uploadId = "upload" + (++sessionsCreated);
+                    uploads.put(uploadId, new byte[photo.length]);
+                    received.put(uploadId, new TreeSet<>());
+                    return json(201, session(uploadId));
+                }
+                if ("PUT".equals(request.getMethod()) && chunk.matches()) {
+                    String uploadId = chunk.group(1);
+                    int index = Integer.parseInt(chunk.group(2));
+                    byte[] body = request.getBody().readByteArray();
+                    System.arraycopy(body, 0, uploads.get(uploadId), index * CHUNK_SIZE, body.length);
+                    received.get(uploadId).add(index);
+                    chunkPuts.add(uploadId + "/" + index);
+                    return json(200, session(uploadId));
+                }
+                if ("POST".equals(request.getMethod()) && complete.matches()) {
+                    Set<Integer> have = received.get(complete.group(1));
+                    if (chunkLostBeforeComplete != null) {
+                        have.remove(chunkLostBeforeComplete);
+                        chunkLostBeforeComplete = null;
+                    }
+                    if (have.size() < 3) {
+                        return new MockResponse().setResponseCode(409)
+                                .setBody("{\"success\":false,\"message\":\"Upload is missing chunks\"}");
+                    }
+                    return json(200, "\"user\":{\"id\":\"u1\",\"profilePhoto\":\"/uploads/profiles/photo.jpg\"}");
+                }
+                if ("GET".equals(request.getMethod()) && session.matches()) {
+                    String uploadId = session.group(1);
+                    if (!uploads.containsKey(uploadId)) {
+                        return new MockResponse().setResponseCode(404)
+                                .setBody("{\"success\":false,\"message\":\"Upload not found\"}");
+                    }
+                    return json(200, session(uploadId));
+                }
+                return new MockResponse().setResponseCode(400);
+            }
+        }
+
+        private String session(String uploadId) {
+            StringBuilder chunks = new StringBuilder();
+            for (int index : received.get(uploadId)) {
+                chunks.append(chunks.length() == 0 ? "" : ",").append(index);
+            }
+            return "\"data\":{\"uploadId\":\"" + uploadId + "\",\"size\":" + photo.length
+                    + ",\"chunkSize\":" + CHUNK_SIZE + ",\"mimeType\":\"image/jpeg\",\"receivedChunks\":["
+                    + chunks + "]}";
+        }
+
+        private MockResponse json(int code, String fields) {
+            return new MockResponse().setResponseCode(code).setBody("{\"success\":true," + fields + "}");
+        }
+    }
+
+    /**
+     * SharedPreferences backed by a map; edits apply immediately
+     */
+    private static class MemoryPrefs implements SharedPreferences {
+        private final Map<String, Object> values = new HashMap<>();
+
+        @Override
+        public synchronized Map<String, ?> getAll() {
+            return new HashMap<>(values);
+        }
+
+        @Override
+        public synchronized String getString(String key, String defValue) {
+            Object value = values.get(key);
+            return value != null ? (String) value : defValue;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public synchronized Set<String> getStringSet(String key, Set<String> defValues) {
+            Object value = values.get(key);
+            return value != null ? (Set<String>) value : defValues;
+        }
+
+        @Override
+        public synchronized int getInt(String key, int defValue) {
+            Object value = values.get(key);
+            return value != null ? (Integer) value : defValue;
+        }
+
+        @Override
+        public synchronized long getLong(String key, long defValue) {
+            Object value = values.get(key);
+            return value != null ? (Long) value : defValue;
+        }
+
+        @Override
+        public synchronized float getFloat(String key, float defValue) {
+            Object value = values.get(key);
+            return value != null ? (Float) value : defValue;
+        }
+
+        @Override
+        public synchronized boolean getBoolean(String key, boolean defValue) {
+            Object value = values.get(key);
+            return value != null ? (Boolean) value : defValue;
+        }
+
+        @Override
+        public synchronized boolean contains(String key) {
+            return values.containsKey(key);
+        }
+
+        @Override
+        public Editor edit() {
+            return new MemoryEditor();
+        }
+
+        @Override
+        public void registerOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {
+        }
+
+        @Override
+        public void unregisterOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {
+        }
+
+        private class MemoryEditor implements Editor {
+            private final Map<String, Object> changes = new HashMap<>();
+            private boolean clear;
+
+            @Override
+            public Editor putString(String key, String value) {
+                changes.put(key, value);
+                return this;
+            }
+
+            @Override
+            public Editor putStringSet(String key, Set<String> values) {
+                changes.put(key, values);
+                return this;
+            }
+
+            @Override
+            public Editor putInt(String key, int value) {
+                changes.put(key, value);
+                return this;
+            }
+
+            @Override
+            public Editor putLong(String key, long value) {
+                changes.put(key, value);
+                return this;
+            }
+
+            @Override
+            public Editor putFloat(String key, float value) {
+                changes.put(key, value);
+                return this;
+            }
+
+            @Override
+            public Editor putBoolean(String key, boolean value) {
+                changes.put(key, value);
+                return this;
+            }
+
+            @Override
+            public Editor remove(String key) {
+                // A null value removes the key when applied
+                changes.put(key, null);
+                return this;
+            }
+
+            @Override
+            public Editor clear() {
+                clear = true;
+                return this;
+            }
+
+            @Override
+            public boolean commit() {
+                apply();
+                return true;
+            }
+
+            @Override
+            public void apply() {
+                synchronized (MemoryPrefs.this) {
+                    if (clear) {
+                        values.clear();
+                    }
+                    for (Map.Entry<String, Object> change : changes.entrySet()) {
+                        if (change.getValue() == null) {
+                            values.remove(change.getKey());
+                        } else {
+                            values.put(change.getKey(), change.getValue());
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
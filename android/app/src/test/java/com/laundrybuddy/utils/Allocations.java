@@ -0,0 +1,40 @@
+package com.laundrybuddy.utils;
+
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Bytes the current thread allocates per call, for tests that compare allocation
+ * rather than time. Unlike timings, these counts don't depend on the machine.
+ */
+public final class Allocations {
+
+    public interface Op {
+        void run() throws Exception;
+    }
+
+    private Allocations() {
+    }
+
+    /**
+     * Run {@code op} {@code warmup} times, then return the mean bytes allocated over
+     * {@code iterations} further runs. Skips the test on JVMs that can't count.
+     */
+    public static double bytesPerOp(int warmup, int iterations, Op op) throws Exception {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue("Per-thread allocation counting unsupported", threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        for (int i = 0; i < warmup; i++) {
+            op.run();
+        }
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < iterations; i++) {
+            op.run();
+        }
+        return (threads.getThreadAllocatedBytes(thread) - before) / (double) iterations;
+    }
+}
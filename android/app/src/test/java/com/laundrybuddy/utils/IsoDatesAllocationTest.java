@@ -0,0 +1,71 @@
+package com.laundrybuddy.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * IsoDates against the per-call SimpleDateFormat parsing it replaced, over the
+ * timestamps one page of orders binds (createdAt and updatedAt per row), compared
+ * by bytes allocated per parse.
+ */
+public class IsoDatesAllocationTest {
+
+    private static final int ROWS = 50;
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int ROUNDS = 1_000;
+
+    private long sink;
+
+    @Test
+    public void parsingAllocatesNothingWhereSimpleDateFormatAllocatesPerCall() throws Exception {
+        String[] timestamps = new String[ROWS * 2];
+        for (int i = 0; i < timestamps.length; i++) {
+            timestamps[i] = String.format(Locale.US, "2025-01-%02dT%02d:%02d:07.%03dZ",
+                    1 + i % 28, i % 24, i % 60, i);
+        }
+        // Same answers before comparing anything
+        for (String timestamp : timestamps) {
+            assertEquals(parseWithSimpleDateFormat(timestamp), IsoDates.parseUncached(timestamp));
+        }
+
+        double simpleDateFormatBytes = Allocations.bytesPerOp(WARMUP_ROUNDS, ROUNDS, () -> {
+            for (String timestamp : timestamps) {
+                sink += parseWithSimpleDateFormat(timestamp);
+            }
+        }) / timestamps.length;
+        double uncachedBytes = Allocations.bytesPerOp(WARMUP_ROUNDS, ROUNDS, () -> {
+            for (String timestamp : timestamps) {
+                sink += IsoDates.parseUncached(timestamp);
+            }
+        }) / timestamps.length;
+
+        assertTrue("SimpleDateFormat " + simpleDateFormatBytes + " B/op", simpleDateFormatBytes > 1_000);
+        assertTrue("parseUncached " + uncachedBytes + " B/op", uncachedBytes < 1);
+    }
+
+    @Test
+    public void rebindingTheSameRowIsServedFromTheCacheWithoutAllocating() throws Exception {
+        String timestamp = "2025-01-31T09:05:07.123Z";
+
+        double cachedBytes = Allocations.bytesPerOp(WARMUP_ROUNDS, ROUNDS * ROWS, () ->
+                sink += IsoDates.parse(timestamp));
+
+        assertTrue("parse " + cachedBytes + " B/op", cachedBytes < 1);
+    }
+
+    /**
+     * How call sites parsed dates before IsoDates: a new formatter per call
+     */
+    private static long parseWithSimpleDateFormat(String text) throws ParseException {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format.parse(text).getTime();
+    }
+}
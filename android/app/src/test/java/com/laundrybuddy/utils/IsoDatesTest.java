@@ -0,0 +1,130 @@
+package com.laundrybuddy.utils;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+
+public class IsoDatesTest {
+
+    private static long utc(String instant) {
+        return Instant.parse(instant).toEpochMilli();
+    }
+
+    private static long offset(String offsetDateTime) {
+        return OffsetDateTime.parse(offsetDateTime).toInstant().toEpochMilli();
+    }
+
+    @Test
+    public void dateOnlyIsMidnightUtc() {
+        assertEquals(utc("2025-01-31T00:00:00Z"), IsoDates.parseUncached("2025-01-31"));
+        assertEquals(utc("1970-01-01T00:00:00Z"), IsoDates.parseUncached("1970-01-01"));
+        assertEquals(utc("2024-02-29T00:00:00Z"), IsoDates.parseUncached("2024-02-29"));
+    }
+
+    @Test
+    public void daysBeyondTheEndOfTheMonthAreUnknown() {
+        String[] invalid = { "2025-02-29", "2025-02-31", "2025-04-31", "2025-06-31", "2025-09-31",
+                "2025-11-31", "1900-02-29", "2100-02-29T09:05:07Z" };
+        for (String text : invalid) {
+            assertEquals(text, IsoDates.UNKNOWN, IsoDates.parseUncached(text));
+        }
+        // Leap years, including the 400-year rule
+        assertEquals(utc("2000-02-29T00:00:00Z"), IsoDates.parseUncached("2000-02-29"));
+        assertEquals(utc("2024-02-29T09:05:07Z"), IsoDates.parseUncached("2024-02-29T09:05:07Z"));
+        assertEquals(utc("2025-12-31T00:00:00Z"), IsoDates.parseUncached("2025-12-31"));
+        assertEquals(utc("2025-04-30T00:00:00Z"), IsoDates.parseUncached("2025-04-30"));
+    }
+
+    @Test
+    public void noSeconds() {
+        assertEquals(utc("2025-01-31T09:05:00Z"), IsoDates.parseUncached("2025-01-31T09:05"));
+        assertEquals(utc("2025-01-31T09:05:00Z"), IsoDates.parseUncached("2025-01-31T09:05Z"));
+    }
+
+    @Test
+    public void noZoneIsUtc() {
+        assertEquals(utc("2025-01-31T09:05:07Z"), IsoDates.parseUncached("2025-01-31T09:05:07"));
+        assertEquals(utc("2025-01-31T09:05:07.123Z"), IsoDates.parseUncached("2025-01-31T09:05:07.123"));
+    }
+
+    @Test
+    public void spaceAndLowercaseSeparators() {
+        assertEquals(utc("2025-01-31T09:05:07Z"), IsoDates.parseUncached("2025-01-31 09:05:07"));
+        assertEquals(utc("2025-01-31T09:05:07Z"), IsoDates.parseUncached("2025-01-31t09:05:07z"));
+    }
+
+    @Test
+    public void fractionsOfOneThreeAndSixDigits() {
+        assertEquals(utc("2025-01-31T09:05:07.100Z"), IsoDates.parseUncached("2025-01-31T09:05:07.1Z"));
+        assertEquals(utc("2025-01-31T09:05:07.123Z"), IsoDates.parseUncached("2025-01-31T09:05:07.123Z"));
+        // Truncated to millis, not rounded
+        assertEquals(utc("2025-01-31T09:05:07.123Z"), IsoDates.parseUncached("2025-01-31T09:05:07.123999Z"));
+        assertEquals(utc("2025-01-31T09:05:07.120Z"), IsoDates.parseUncached("2025-01-31T09:05:07,12Z"));
+    }
+
+    @Test
+    public void offsetForms() {
+        long expected = offset("2025-01-31T09:05:07.123+05:30");
+        assertEquals(expected, IsoDates.parseUncached("2025-01-31T09:05:07.123+05:30"));
+        assertEquals(expected, IsoDates.parseUncached("2025-01-31T09:05:07.123+0530"));
+        assertEquals(offset("2025-01-31T09:05:07+05:00"), IsoDates.parseUncached("2025-01-31T09:05:07+05"));
+        // Postgres timestamptz text
+        assertEquals(offset("2025-01-31T09:05:07.123456+05:30"),
+                IsoDates.parseUncached("2025-01-31 09:05:07.123456+05:30"));
+    }
+
+    @Test
+    public void negativeOffsets() {
+        assertEquals(offset("2025-01-31T09:05:07-03:30"), IsoDates.parseUncached("2025-01-31T09:05:07-03:30"));
+        assertEquals(offset("2025-01-31T09:05:07-03:30"), IsoDates.parseUncached("2025-01-31T09:05:07-0330"));
+        assertEquals(offset("2025-01-31T22:00:00-08:00"), IsoDates.parseUncached("2025-01-31T22:00:00-08"));
+    }
+
+    @Test
+    public void invalidInputIsUnknown() {
+        String[] invalid = {
+                "",
+                "yesterday",
+                "2025-1-31",
+                "2025/01/31",
+                "2025-13-01",
+                "2025-01-00",
+                "2025-01-32",
+                "2025-01-31X09:05:07",
+                "2025-01-31T9:05",
+                "2025-01-31T24:00",
+                "2025-01-31T09:60",
+                "2025-01-31T09:05:61",
+                "2025-01-31T09:05:07.",
+                "2025-01-31T09:05:07.123Q",
+                "2025-01-31T09:05:07Z+",
+                "2025-01-31T09:05:07+5",
+                "2025-01-31T09:05:07+05:3",
+                "2025-01-31T09:05:07+05:300",
+                "2025-01-31T09:05:07+19:00",
+                "2025-01-31T09:05:07+05:60",
+        };
+        for (String text : invalid) {
+            assertEquals(text, IsoDates.UNKNOWN, IsoDates.parseUncached(text));
+        }
+        assertEquals(IsoDates.UNKNOWN, IsoDates.parse(null));
+    }
+
+    @Test
+    public void parseMatchesParseUncached() {
+        String text = "2025-01-31T09:05:07.123Z";
+        assertEquals(IsoDates.parseUncached(text), IsoDates.parse(text));
+        // Second call is served from the cache
+        assertEquals(IsoDates.parseUncached(text), IsoDates.parse(text));
+    }
+
+    @Test
+    public void toIsoRoundTrips() {
+        long millis = utc("2025-01-31T09:05:07.123Z");
+        assertEquals("2025-01-31T09:05:07.123Z", IsoDates.toIso(millis));
+        assertEquals(millis, IsoDates.parseUncached(IsoDates.toIso(millis)));
+    }
+}
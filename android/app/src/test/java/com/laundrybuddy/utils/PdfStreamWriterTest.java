@@ -0,0 +1,77 @@
+package com.laundrybuddy.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.InflaterInputStream;
+
+public class PdfStreamWriterTest {
+
+    @Test
+    public void crossReferenceOffsetsPointAtTheirObjects() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PdfStreamWriter pdf = new PdfStreamWriter(out, 595, 842)) {
+            for (int page = 0; page < 3; page++) {
+                pdf.beginPage();
+                pdf.fillRect(10, 10, 20, 20);
+                pdf.drawText("#LB-" + page, 10, 40, 12, true, 0);
+                pdf.endPage();
+            }
+            assertEquals(3, pdf.getPageCount());
+            pdf.finish();
+        }
+        String text = new String(out.toByteArray(), StandardCharsets.ISO_8859_1);
+
+        assertTrue(text.startsWith("%PDF-1.4\n"));
+        assertTrue(text.endsWith("%%EOF\n"));
+        assertTrue(text.contains("/Count 3 >>"));
+
+        int startxref = Integer.parseInt(text.substring(text.lastIndexOf("startxref\n") + 10,
+                text.lastIndexOf("\n%%EOF")));
+        assertTrue(text.startsWith("xref\n", startxref));
+
+        Matcher entry = Pattern.compile("(\\d{10}) 00000 n \n").matcher(text.substring(startxref));
+        int object = 1;
+        while (entry.find()) {
+            int offset = Integer.parseInt(entry.group(1));
+            assertTrue("object " + object, text.startsWith(object + " 0 obj\n", offset));
+            object++;
+        }
+        // Catalog, page tree, two fonts, then a content stream and page object per page
+        assertEquals(4 + 3 * 2 + 1, object);
+    }
+
+    @Test
+    public void textIsEscapedAndLimitedToWinAnsi() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PdfStreamWriter pdf = new PdfStreamWriter(out, 100, 100)) {
+            pdf.beginPage();
+            pdf.drawText("a(b)\\c\tRené €\u0085", 1.5f, 10, 9, false, 0.25f);
+            pdf.endPage();
+            pdf.finish();
+        }
+        String text = new String(out.toByteArray(), StandardCharsets.ISO_8859_1);
+        int start = text.indexOf("stream\n") + 7;
+        int end = text.indexOf("\nendstream");
+        byte[] compressed = out.toByteArray();
+        ByteArrayOutputStream inflated = new ByteArrayOutputStream();
+        try (InflaterInputStream in = new InflaterInputStream(
+                new ByteArrayInputStream(compressed, start, end - start))) {
+            byte[] buffer = new byte[256];
+            for (int read; (read = in.read(buffer)) != -1; ) {
+                inflated.write(buffer, 0, read);
+            }
+        }
+
+        assertEquals("0 g\nq 0.25 g BT /F1 9 Tf 1.5 90 Td (a\\(b\\)\\\\c René ??) Tj ET Q\n",
+                new String(inflated.toByteArray(), StandardCharsets.ISO_8859_1));
+    }
+}
@@ -22,7 +22,8 @@ const requiredEnvVars = {
     'SESSION_SECRET',
     'RESEND_API_KEY',
     'RESEND_FROM',
-    'ALLOWED_ORIGINS'
+    'ALLOWED_ORIGINS',
+    'QR_SIGNING_KEY'
   ],
   development: [
     'NODE_ENV',
@@ -16,6 +16,7 @@ const { getRefreshTokenModel } = require('../models/RefreshToken');
 const bcrypt = require('bcryptjs');
 const crypto = require('crypto');
 const { Op } = require('sequelize');
+const chunkedUploadService = require('../services/chunkedUploadService');
 const {
   generateAccessToken,
   generateRefreshToken,
@@ -632,52 +633,111 @@ exports.changePassword = async (req, res) => {
 };
 
 // Upload Profile Photo (Multipart)
+/**
+ * Store an uploaded photo file (Cloudinary when configured, local otherwise) and
+ * point the user's profile at it
+ */
+const applyProfilePhoto = async (userId, filePath, filename) => {
+  const User = getUserModel();
+  let profilePhotoUrl = '';
+
+  if (process.env.CLOUDINARY_CLOUD_NAME && process.env.CLOUDINARY_API_KEY && process.env.CLOUDINARY_API_SECRET) {
+    const cloudinary = require('../config/cloudinary');
+    try {
+      const result = await cloudinary.uploader.upload(filePath, {
+        folder: 'laundry-buddy/profiles',
+        resource_type: 'image',
+        transformation: [
+          { width: 500, height: 500, crop: 'limit' },
+          { quality: 'auto' }
+        ]
+      });
+      profilePhotoUrl = result.secure_url;
+      const fs = require('fs');
+      fs.unlinkSync(filePath);
+    } catch (uploadErr) {
+      console.error('Cloudinary upload failed:', uploadErr);
+      profilePhotoUrl = `/uploads/profiles/${filename}`;
+    }
+  } else {
+    profilePhotoUrl = `/uploads/profiles/${filename}`;
+  }
+
+  await User.update({ profilePhoto: profilePhotoUrl }, { where: { id: userId } });
+  return User.findByPk(userId);
+};
+
+const sendProfilePhoto = (res, user) => {
+  if (!user) {
+    return res.status(404).json({ success: false, message: 'User not found' });
+  }
+
+  res.json({
+    success: true,
+    message: 'Profile photo updated successfully',
+    user: { id: user.id, profilePhoto: user.profilePhoto }
+  });
+};
+
 exports.uploadProfilePhoto = async (req, res) => {
   try {
-    const User = getUserModel();
     if (!req.file) {
       return res.status(400).json({ success: false, message: 'No photo uploaded' });
     }
 
-    const userId = req.user.id;
-    let profilePhotoUrl = '';
-
-    if (process.env.CLOUDINARY_CLOUD_NAME && process.env.CLOUDINARY_API_KEY && process.env.CLOUDINARY_API_SECRET) {
-      const cloudinary = require('../config/cloudinary');
-      try {
-        const result = await cloudinary.uploader.upload(req.file.path, {
-          folder: 'laundry-buddy/profiles',
-          resource_type: 'image',
-          transformation: [
-            { width: 500, height: 500, crop: 'limit' },
-            { quality: 'auto' }
-          ]
-        });
-        profilePhotoUrl = result.secure_url;
-        const fs = require('fs');
-        fs.unlinkSync(req.file.path);
-      } catch (uploadErr) {
-        console.error('Cloudinary upload failed:', uploadErr);
-        profilePhotoUrl = `/uploads/profiles/${req.file.filename}`;
-      }
-    } else {
-      profilePhotoUrl = `/uploads/profiles/${req.file.filename}`;
-    }
+    const user = await applyProfilePhoto(req.user.id, req.file.path, req.file.filename);
+    sendProfilePhoto(res, user);
+  } catch (error) {
+    console.error('Profile photo upload error:', error);
+    res.status(500).json({ success: false, message: 'Error uploading profile photo', error: error.message });
+  }
+};
+
+const sendUploadError = (res, error, action) => {
+  if (error instanceof chunkedUploadService.UploadError) {
+    return res.status(error.status).json({ success: false, message: error.message });
+  }
+  console.error(`Profile photo ${action} error:`, error);
+  res.status(500).json({ success: false, message: `Error ${action}`, error: error.message });
+};
 
-    await User.update({ profilePhoto: profilePhotoUrl }, { where: { id: userId } });
-    const user = await User.findByPk(userId);
+// Resumable profile photo upload: create a session, PUT chunks (any order, retry-safe),
+// GET the session to see which chunks arrived, then complete
+exports.createPhotoUpload = async (req, res) => {
+  try {
+    const session = await chunkedUploadService.createSession(req.user.id, req.body || {});
+    res.status(201).json({ success: true, data: session });
+  } catch (error) {
+    sendUploadError(res, error, 'starting upload');
+  }
+};
 
-    if (!user) {
-      return res.status(404).json({ success: false, message: 'User not found' });
-    }
+exports.getPhotoUpload = async (req, res) => {
+  try {
+    const session = await chunkedUploadService.getSession(req.user.id, req.params.uploadId);
+    res.json({ success: true, data: session });
+  } catch (error) {
+    sendUploadError(res, error, 'reading upload');
+  }
+};
 
-    res.json({
-      success: true,
-      message: 'Profile photo updated successfully',
-      user: { id: user.id, profilePhoto: user.profilePhoto }
-    });
+exports.putPhotoChunk = async (req, res) => {
+  try {
+    const session = await chunkedUploadService.writeChunk(req.user.id, req.params.uploadId,
+      req.params.index, req.body);
+    res.json({ success: true, data: session });
   } catch (error) {
-    console.error('Profile photo upload error:', error);
-    res.status(500).json({ success: false, message: 'Error uploading profile photo', error: error.message });
+    sendUploadError(res, error, 'uploading chunk');
+  }
+};
+
+exports.completePhotoUpload = async (req, res) => {
+  try {
+    const file = await chunkedUploadService.completeSession(req.user.id, req.params.uploadId,
+      'uploads/profiles', 'profile');
+    const user = await applyProfilePhoto(req.user.id, file.path, file.filename);
+    sendProfilePhoto(res, user);
+  } catch (error) {
+    sendUploadError(res, error, 'completing upload');
   }
 };
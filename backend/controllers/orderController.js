@@ -75,6 +75,16 @@ exports.createOrder = async (req, res) => {
       return res.status(400).json({ success: false, message: 'serviceType is required' });
     }
 
+    // Retries of an already-accepted submission (offline queue, flaky network) get the original order back
+    const idempotencyKey = req.get('Idempotency-Key') || null;
+    if (idempotencyKey) {
+      const existing = await Order.findOne({ where: { userId: req.user.id, idempotencyKey }, transaction: t });
+      if (existing) {
+        await t.rollback();
+        return res.status(200).json({ success: true, message: 'Order already created', order: existing });
+      }
+    }
+
     const normalizedItems = Array.isArray(items)
       ? items.map((it) => ({
         type: it.type || it.name || 'unknown',
@@ -100,7 +110,8 @@ exports.createOrder = async (req, res) => {
       phone,
       specialInstructions,
       status: initialStatus,
-      paymentStatus: 'pending'
+      paymentStatus: 'pending',
+      idempotencyKey
     }, { transaction: t });
 
     // Create Initial Tracking with transaction
@@ -117,6 +128,14 @@ exports.createOrder = async (req, res) => {
     res.status(201).json({ success: true, message: 'Order created successfully', order });
   } catch (error) {
     await t.rollback();
+    // Two concurrent retries with the same key: the loser returns the winner's order
+    const idempotencyKey = req.get('Idempotency-Key');
+    if (error.name === 'SequelizeUniqueConstraintError' && idempotencyKey) {
+      const existing = await getOrderModel().findOne({ where: { userId: req.user.id, idempotencyKey } });
+      if (existing) {
+        return res.status(200).json({ success: true, message: 'Order already created', order: existing });
+      }
+    }
     console.error('❌ Error creating order:', error);
     res.status(500).json({ success: false, message: 'Error creating order', error: error.message });
   }
@@ -48,6 +48,42 @@ exports.getTrackingItems = async (req, res) => {
   }
 };
 
+// Get all tracking timelines (admin only, paginated) - used by analytics exports
+exports.getAllTracking = async (req, res) => {
+  try {
+    const Tracking = getTrackingModel();
+    const page = parseInt(req.query.page) || 1;
+    const limit = Math.min(parseInt(req.query.limit) || 50, 500);
+    const offset = (page - 1) * limit;
+
+    const where = {};
+    if (req.query.status) {
+      where.status = req.query.status.toLowerCase();
+    }
+
+    const { count, rows: tracking } = await Tracking.findAndCountAll({
+      where,
+      attributes: ['id', 'orderNumber', 'status', 'timeline', 'createdAt', 'updatedAt'],
+      order: [['id', 'ASC']],
+      offset,
+      limit
+    });
+
+    res.json({
+      success: true,
+      tracking,
+      pagination: {
+        page,
+        limit,
+        total: count,
+        pages: Math.ceil(count / limit)
+      }
+    });
+  } catch (error) {
+    res.status(500).json({ success: false, message: 'Error fetching tracking items', error: error.message });
+  }
+};
+
 // Get single tracking item
 exports.getTrackingItem = async (req, res) => {
   try {
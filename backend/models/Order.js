@@ -13,6 +13,7 @@
 
 const { DataTypes } = require('sequelize');
 const { getSequelize } = require('../config/db');
+const { labelForOrder } = require('../services/qrLabelService');
 
 /**
  * Global Order Model Reference
@@ -125,6 +126,24 @@ function initOrder(sequelize) {
     feedbackSubmittedAt: {
       type: DataTypes.DATE,
       defaultValue: null
+    },
+    /**
+     * Client-generated key from the Idempotency-Key header; a retried submission
+     * with the same key returns the original order instead of creating another
+     */
+    idempotencyKey: {
+      type: DataTypes.STRING(64),
+      defaultValue: null
+    },
+    /**
+     * Server-signed QR label payload for the apps to print; not stored, and null
+     * if the order number can't go on a label
+     */
+    qrPayload: {
+      type: DataTypes.VIRTUAL(DataTypes.STRING, ['orderNumber', 'items']),
+      get() {
+        return labelForOrder(this.getDataValue('orderNumber'), this.getDataValue('items'));
+      }
     }
   }, {
     tableName: 'orders',
@@ -134,7 +153,8 @@ function initOrder(sequelize) {
       { fields: ['orderNumber'], unique: true },
       { fields: ['status'] },
       { fields: ['createdAt'] },
-      { fields: ['userId', 'createdAt'] }
+      { fields: ['userId', 'createdAt'] },
+      { fields: ['userId', 'idempotencyKey'], unique: true }
     ]
   });
 
@@ -19,6 +19,10 @@ const { getTrackingModel } = require('../models/Tracking');
 const authMiddleware = require('../middleware/auth');
 const isAdmin = require('../middleware/admin');
 const { Op } = require('sequelize');
+const { verifyLabel } = require('../services/qrLabelService');
+const { getSequelize } = require('../config/db');
+
+const VALID_STATUSES = ['pending', 'submitted', 'received', 'washing', 'drying', 'folding', 'ready', 'ready-for-pickup', 'delivered', 'completed', 'cancelled'];
 
 // Get database stats
 router.get('/stats', authMiddleware, isAdmin, async (req, res) => {
@@ -162,9 +166,10 @@ router.get('/orders', authMiddleware, isAdmin, async (req, res) => {
       include: [{
         model: User,
         as: 'user',
-        attributes: ['name', 'email', 'phone', 'address']
+        attributes: ['name', 'email', 'phone', 'address', 'profilePhoto']
       }],
-      order: [['createdAt', 'DESC']],
+      // id breaks createdAt ties so offset pages neither repeat nor skip rows
+      order: [['createdAt', 'DESC'], ['id', 'DESC']],
       offset,
       limit,
       raw: false
@@ -180,6 +185,37 @@ router.get('/orders', authMiddleware, isAdmin, async (req, res) => {
   }
 });
 
+// Verify scanned QR labels; only orders whose label signature checks out are returned
+router.post('/orders/verify-labels', authMiddleware, isAdmin, async (req, res) => {
+  try {
+    const Order = getOrderModel();
+    const User = getUserModel();
+    const { labels } = req.body;
+
+    if (!Array.isArray(labels) || labels.length === 0 || labels.length > 500) {
+      return res.status(400).json({ success: false, message: 'labels must be an array of 1 to 500 payloads' });
+    }
+
+    const orderNumbers = [];
+    for (const label of labels) {
+      const verified = verifyLabel(label);
+      if (verified) {
+        orderNumbers.push(verified.orderNumber);
+      }
+    }
+
+    const orders = orderNumbers.length === 0 ? [] : await Order.findAll({
+      where: { orderNumber: { [Op.in]: orderNumbers } },
+      include: [{ model: User, as: 'user', attributes: ['name', 'email', 'phone', 'address', 'profilePhoto'] }]
+    });
+
+    res.json({ success: true, orders });
+  } catch (error) {
+    console.error('Error verifying labels:', error);
+    res.status(500).json({ success: false, message: 'Error verifying labels', error: error.message });
+  }
+});
+
 // Update order status (admin only)
 router.put('/orders/:id/status', authMiddleware, isAdmin, async (req, res) => {
   try {
@@ -192,8 +228,7 @@ router.put('/orders/:id/status', authMiddleware, isAdmin, async (req, res) => {
       return res.status(400).json({ success: false, message: 'Status is required' });
     }
 
-    const validStatuses = ['pending', 'submitted', 'received', 'washing', 'drying', 'folding', 'ready', 'ready-for-pickup', 'delivered', 'completed', 'cancelled'];
-    if (!validStatuses.includes(status.toLowerCase())) {
+    if (!VALID_STATUSES.includes(status.toLowerCase())) {
       return res.status(400).json({ success: false, message: 'Invalid status value' });
     }
 
@@ -237,7 +272,7 @@ router.put('/orders/:id/status', authMiddleware, isAdmin, async (req, res) => {
 
     // Reload with user info for response
     const updatedOrder = await Order.findByPk(req.params.id, {
-      include: [{ model: User, as: 'user', attributes: ['name', 'email', 'phone', 'address'] }]
+      include: [{ model: User, as: 'user', attributes: ['name', 'email', 'phone', 'address', 'profilePhoto'] }]
     });
 
     res.json({ success: true, message: 'Order status updated successfully', order: updatedOrder });
@@ -247,6 +282,102 @@ router.put('/orders/:id/status', authMiddleware, isAdmin, async (req, res) => {
   }
 });
 
+// Update the status of several orders at once (admin only). All or nothing: if any
+// order is missing or a write fails, the transaction rolls back and no order changes.
+router.post('/orders/bulk-status', authMiddleware, isAdmin, async (req, res) => {
+  const Order = getOrderModel();
+  const Tracking = getTrackingModel();
+  const User = getUserModel();
+  const { ids } = req.body;
+  const status = typeof req.body.status === 'string' ? req.body.status.toLowerCase() : null;
+
+  if (!Array.isArray(ids) || ids.length === 0 || ids.length > 500) {
+    return res.status(400).json({ success: false, message: 'ids must be an array of 1 to 500 order ids' });
+  }
+  const orderIds = [...new Set(ids.map(id => parseInt(id, 10)))];
+  if (orderIds.some(id => !Number.isInteger(id))) {
+    return res.status(400).json({ success: false, message: 'ids must be order ids' });
+  }
+  if (!status || !VALID_STATUSES.includes(status)) {
+    return res.status(400).json({ success: false, message: 'Invalid status value' });
+  }
+
+  const t = await getSequelize().transaction();
+  let changed;
+  try {
+    const orders = await Order.findAll({ where: { id: { [Op.in]: orderIds } }, transaction: t });
+    if (orders.length !== orderIds.length) {
+      await t.rollback();
+      const found = new Set(orders.map(order => order.id));
+      return res.status(404).json({
+        success: false,
+        message: 'Some orders were not found; no order was updated',
+        missingIds: orderIds.filter(id => !found.has(id))
+      });
+    }
+
+    const trackings = await Tracking.findAll({ where: { orderId: { [Op.in]: orderIds } }, transaction: t });
+    const trackingByOrder = new Map(trackings.map(tracking => [tracking.orderId, tracking]));
+    const now = new Date();
+    changed = [];
+
+    for (const order of orders) {
+      const previousStatus = order.status;
+      order.status = status;
+      await order.save({ transaction: t });
+
+      const tracking = trackingByOrder.get(order.id);
+      if (tracking) {
+        tracking.status = status;
+        const timeline = tracking.timeline || [];
+        timeline.push({
+          status,
+          timestamp: now,
+          note: `Status updated by staff from ${previousStatus} to ${status}`
+        });
+        tracking.timeline = timeline;
+        tracking.changed('timeline', true);
+        await tracking.save({ transaction: t });
+      }
+      if (previousStatus !== status) {
+        changed.push(order);
+      }
+    }
+
+    await t.commit();
+  } catch (error) {
+    await t.rollback();
+    console.error('Error updating order statuses:', error);
+    return res.status(500).json({ success: false, message: 'Error updating order statuses; no order was updated', error: error.message });
+  }
+
+  // Notifications go out only once every update is committed
+  const notificationController = require('../controllers/notificationController');
+  for (const order of changed) {
+    try {
+      await notificationController.sendNotificationToUser(order.userId, {
+        title: 'Order Status Updated',
+        body: `Your order #${order.orderNumber} status is now: ${status}`,
+        url: `/track.html?id=${order.id}`
+      });
+    } catch (notifyErr) {
+      console.error('Failed to send push notification:', notifyErr);
+    }
+  }
+
+  try {
+    const updatedOrders = await Order.findAll({
+      where: { id: { [Op.in]: orderIds } },
+      include: [{ model: User, as: 'user', attributes: ['name', 'email', 'phone', 'address', 'profilePhoto'] }]
+    });
+    res.json({ success: true, message: `${orderIds.length} orders updated`, orders: updatedOrders });
+  } catch (error) {
+    // The updates are committed; only the read-back failed
+    console.error('Error reloading updated orders:', error);
+    res.json({ success: true, message: `${orderIds.length} orders updated`, orders: [] });
+  }
+});
+
 // ================ ACTIVITY LOGS ================
 
 // Get all activity logs (paginated, filterable)
@@ -13,6 +13,7 @@
 
 const express = require('express');
 const router = express.Router();
+const { Op } = require('sequelize');
 const { getSupportTicketModel } = require('../models/SupportTicket');
 const { getUserModel } = require('../models/User');
 const { getOrderModel } = require('../models/Order');
@@ -21,6 +22,15 @@ const isAdmin = require('../middleware/admin');
 
 const { validate, validationRules } = require('../middleware/validation');
 
+// Optional ?updatedSince=<ISO date> lets clients fetch only tickets changed since their last sync
+function updatedSinceFilter(query) {
+  if (!query.updatedSince) {
+    return {};
+  }
+  const since = new Date(query.updatedSince);
+  return isNaN(since.getTime()) ? {} : { updatedAt: { [Op.gt]: since } };
+}
+
 // Submit support report
 router.post('/report', authMiddleware, validate(validationRules.createTicket), async (req, res) => {
   try {
@@ -76,7 +86,7 @@ router.get('/my-tickets', authMiddleware, async (req, res) => {
     const SupportTicket = getSupportTicketModel();
     const Order = getOrderModel();
     const tickets = await SupportTicket.findAll({
-      where: { userId: req.user.id },
+      where: { userId: req.user.id, ...updatedSinceFilter(req.query) },
       include: [{ model: Order, as: 'order', attributes: ['orderNumber', 'items', 'createdAt'] }],
       order: [['createdAt', 'DESC']]
     });
@@ -95,6 +105,7 @@ router.get('/all-tickets', authMiddleware, isAdmin, async (req, res) => {
     const User = getUserModel();
     const Order = getOrderModel();
     const tickets = await SupportTicket.findAll({
+      where: updatedSinceFilter(req.query),
       include: [
         { model: User, as: 'user', attributes: ['name', 'email', 'phone', 'address'] },
         { model: Order, as: 'order', attributes: ['orderNumber', 'items', 'createdAt', 'status'] }
@@ -15,6 +15,7 @@ const express = require('express');
 const router = express.Router();
 const trackingController = require('../controllers/trackingController');
 const authMiddleware = require('../middleware/auth');
+const isAdmin = require('../middleware/admin');
 
 // Public route for tracking by order number
 router.get('/order/:orderNumber', trackingController.trackByOrderNumber);
@@ -24,6 +25,7 @@ router.put('/order/:orderNumber', authMiddleware, trackingController.upsertByOrd
 // Protected routes
 router.use(authMiddleware);
 router.get('/', trackingController.getTrackingItems);
+router.get('/all', isAdmin, trackingController.getAllTracking);
 router.get('/:id', trackingController.getTrackingItem);
 router.post('/', trackingController.createTrackingItem);
 router.post('/notify/:orderNumber', trackingController.toggleNotifyWhenReady);
@@ -59,6 +59,14 @@ router.use(authMiddleware);
 router.put('/profile', authController.updateProfile);
 router.post('/profile-photo', upload.single('photo'), authController.uploadProfilePhoto);
 
+// Resumable profile photo upload (see services/chunkedUploadService.js)
+router.post('/profile-photo/uploads', authController.createPhotoUpload);
+router.get('/profile-photo/uploads/:uploadId', authController.getPhotoUpload);
+router.put('/profile-photo/uploads/:uploadId/chunks/:index',
+  express.raw({ type: 'application/octet-stream', limit: '512kb' }),
+  authController.putPhotoChunk);
+router.post('/profile-photo/uploads/:uploadId/complete', authController.completePhotoUpload);
+
 // Export user data (GDPR compliance)
 router.get('/export-data', dataExportController.exportUserData);
 
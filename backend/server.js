@@ -108,7 +108,7 @@ app.use(cors({
   },
   credentials: true,
   exposedHeaders: ['set-cookie'],
-  allowedHeaders: ['Content-Type', 'Authorization', 'Cookie', 'X-Requested-With', 'x-laundry-key', 'x-csrf-token']
+  allowedHeaders: ['Content-Type', 'Authorization', 'Cookie', 'X-Requested-With', 'x-laundry-key', 'x-csrf-token', 'Idempotency-Key']
 }));
 
 // Session configuration with PostgreSQL store (Supabase)
@@ -258,11 +258,13 @@ async function start() {
       await sequelize.query('ALTER TABLE "orders" ADD COLUMN IF NOT EXISTS "feedbackRating" INTEGER;');
       await sequelize.query('ALTER TABLE "orders" ADD COLUMN IF NOT EXISTS "feedbackComment" TEXT;');
       await sequelize.query('ALTER TABLE "orders" ADD COLUMN IF NOT EXISTS "feedbackSubmittedAt" TIMESTAMP WITH TIME ZONE;');
+      await sequelize.query('ALTER TABLE "orders" ADD COLUMN IF NOT EXISTS "idempotencyKey" VARCHAR(64);');
+      await sequelize.query('CREATE UNIQUE INDEX IF NOT EXISTS "orders_user_id_idempotency_key" ON "orders" ("userId", "idempotencyKey");');
       
       // Fix support_tickets constraints that sync won't update
       await sequelize.query('ALTER TABLE "support_tickets" ALTER COLUMN "orderId" DROP NOT NULL;');
       await sequelize.query('ALTER TABLE "support_tickets" ALTER COLUMN "orderNumber" DROP NOT NULL;');
-      console.log('✅ Checked/Added database schema updates (feedback columns, support constraints)');
+      console.log('✅ Checked/Added database schema updates (feedback/idempotency columns, support constraints)');
     } catch (err) {
       console.log('⚠️ Could not apply some manual schema updates:', err.message);
     }
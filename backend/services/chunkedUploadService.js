@@ -0,0 +1,211 @@
+/**
+ * ============================================================================
+ * LAUNDRY BUDDY - Smart Laundry Management System
+ * ============================================================================
+ *
+ * @project   Laundry Buddy
+ * @author    Ayush
+ * @status    Production Ready
+ * @description Part of the Laundry Buddy Evaluation Project.
+ *              Handles core application logic, API routing, and database integrations.
+ * ============================================================================
+ */
+
+/**
+ * Resumable, chunked uploads.
+ *
+ * A session preallocates a file of the declared size; chunks are fixed-size slices
+ * written at their own offset, so they may arrive in any order, in parallel, and be
+ * resent safely. Session state lives next to the data on disk (outside the public
+ * uploads directory), so a client can resume after either side restarts.
+ */
+
+const fs = require('fs');
+const fsp = fs.promises;
+const path = require('path');
+const crypto = require('crypto');
+
+const SESSION_DIR = 'upload-sessions';
+const CHUNK_SIZE = 256 * 1024;
+const MAX_UPLOAD_BYTES = 5 * 1024 * 1024; // Same limit as the multipart upload
+const SESSION_TTL_MS = 24 * 60 * 60 * 1000;
+const ALLOWED_TYPES = ['image/jpeg', 'image/png', 'image/webp'];
+const UPLOAD_ID_PATTERN = /^[0-9a-f-]{36}$/;
+
+// Serialises metadata updates per session; parallel chunks would otherwise race
+const locks = new Map();
+
+class UploadError extends Error {
+  constructor(status, message) {
+    super(message);
+    this.status = status;
+  }
+}
+
+const sessionPaths = (uploadId) => ({
+  meta: path.join(SESSION_DIR, `${uploadId}.json`),
+  data: path.join(SESSION_DIR, `${uploadId}.part`)
+});
+
+const withLock = (uploadId, fn) => {
+  const previous = locks.get(uploadId) || Promise.resolve();
+  const current = previous.then(fn, fn);
+  const tail = current.catch(() => {});
+  locks.set(uploadId, tail);
+  tail.then(() => {
+    if (locks.get(uploadId) === tail) {
+      locks.delete(uploadId);
+    }
+  });
+  return current;
+};
+
+const chunkCount = (session) => Math.ceil(session.size / session.chunkSize);
+
+const toResponse = (session) => ({
+  uploadId: session.uploadId,
+  size: session.size,
+  chunkSize: session.chunkSize,
+  mimeType: session.mimeType,
+  receivedChunks: session.receivedChunks
+});
+
+const readSession = async (uploadId) => {
+  try {
+    return JSON.parse(await fsp.readFile(sessionPaths(uploadId).meta, 'utf8'));
+  } catch (err) {
+    if (err.code === 'ENOENT') {
+      return null;
+    }
+    throw err;
+  }
+};
+
+const removeSession = async (uploadId) => {
+  const { meta, data } = sessionPaths(uploadId);
+  await fsp.rm(meta, { force: true });
+  await fsp.rm(data, { force: true });
+};
+
+/**
+ * Load a session owned by the user, or throw 404 if it is unknown or expired
+ */
+const loadSession = async (userId, uploadId) => {
+  if (!UPLOAD_ID_PATTERN.test(String(uploadId))) {
+    throw new UploadError(404, 'Upload not found');
+  }
+  const session = await readSession(uploadId);
+  if (!session || session.userId !== String(userId)) {
+    throw new UploadError(404, 'Upload not found');
+  }
+  if (Date.now() - session.createdAt > SESSION_TTL_MS) {
+    await removeSession(uploadId);
+    throw new UploadError(404, 'Upload expired');
+  }
+  return session;
+};
+
+const removeExpiredSessions = async () => {
+  let names;
+  try {
+    names = await fsp.readdir(SESSION_DIR);
+  } catch (err) {
+    return;
+  }
+  await Promise.all(names.filter((name) => name.endsWith('.json')).map(async (name) => {
+    const uploadId = path.basename(name, '.json');
+    const session = await readSession(uploadId).catch(() => null);
+    if (session && Date.now() - session.createdAt > SESSION_TTL_MS) {
+      await removeSession(uploadId);
+    }
+  }));
+};
+
+exports.UploadError = UploadError;
+exports.CHUNK_SIZE = CHUNK_SIZE;
+
+exports.createSession = async (userId, { size, mimeType }) => {
+  size = Number(size);
+  if (!Number.isInteger(size) || size <= 0) {
+    throw new UploadError(400, 'Invalid upload size');
+  }
+  if (size > MAX_UPLOAD_BYTES) {
+    throw new UploadError(413, 'Photo is too large');
+  }
+  if (!ALLOWED_TYPES.includes(mimeType)) {
+    throw new UploadError(400, 'Only JPEG, PNG and WebP images are allowed');
+  }
+
+  await fsp.mkdir(SESSION_DIR, { recursive: true });
+  removeExpiredSessions().catch((err) => console.error('Upload session cleanup failed:', err));
+
+  const session = {
+    uploadId: crypto.randomUUID(),
+    userId: String(userId),
+    size,
+    mimeType,
+    chunkSize: CHUNK_SIZE,
+    receivedChunks: [],
+    createdAt: Date.now()
+  };
+  const { meta, data } = sessionPaths(session.uploadId);
+  const handle = await fsp.open(data, 'w');
+  try {
+    await handle.truncate(size);
+  } finally {
+    await handle.close();
+  }
+  await fsp.writeFile(meta, JSON.stringify(session));
+  return toResponse(session);
+};
+
+exports.getSession = async (userId, uploadId) => toResponse(await loadSession(userId, uploadId));
+
+exports.writeChunk = async (userId, uploadId, index, buffer) => {
+  const session = await loadSession(userId, uploadId);
+  index = Number(index);
+  const count = chunkCount(session);
+  if (!Number.isInteger(index) || index < 0 || index >= count) {
+    throw new UploadError(400, 'Invalid chunk index');
+  }
+  const expected = index === count - 1 ? session.size - index * session.chunkSize : session.chunkSize;
+  if (!Buffer.isBuffer(buffer) || buffer.length !== expected) {
+    throw new UploadError(400, `Chunk ${index} must be ${expected} bytes`);
+  }
+
+  const handle = await fsp.open(sessionPaths(uploadId).data, 'r+');
+  try {
+    await handle.write(buffer, 0, buffer.length, index * session.chunkSize);
+  } finally {
+    await handle.close();
+  }
+
+  return withLock(uploadId, async () => {
+    const latest = await loadSession(userId, uploadId);
+    if (!latest.receivedChunks.includes(index)) {
+      latest.receivedChunks.push(index);
+      latest.receivedChunks.sort((a, b) => a - b);
+      await fsp.writeFile(sessionPaths(uploadId).meta, JSON.stringify(latest));
+    }
+    return toResponse(latest);
+  });
+};
+
+/**
+ * Move a fully received upload into the destination directory and end the session
+ * @returns {Promise<{path: string, filename: string}>}
+ */
+exports.completeSession = async (userId, uploadId, destinationDir, prefix) => withLock(uploadId, async () => {
+  const session = await loadSession(userId, uploadId);
+  if (session.receivedChunks.length !== chunkCount(session)) {
+    throw new UploadError(409, 'Upload is missing chunks');
+  }
+
+  const extension = { 'image/jpeg': '.jpg', 'image/png': '.png', 'image/webp': '.webp' }[session.mimeType];
+  const filename = `${prefix}-${Date.now()}-${Math.round(Math.random() * 1E9)}${extension}`;
+  const destination = path.join(destinationDir, filename);
+  await fsp.mkdir(destinationDir, { recursive: true });
+  await fsp.rename(sessionPaths(uploadId).data, destination);
+  await removeSession(uploadId);
+  return { path: destination, filename };
+});
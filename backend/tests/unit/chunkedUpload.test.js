@@ -0,0 +1,88 @@
+/**
+ * ============================================================================
+ * LAUNDRY BUDDY - Smart Laundry Management System
+ * ============================================================================
+ *
+ * @project   Laundry Buddy
+ * @author    Ayush
+ * @status    Production Ready
+ * @description Part of the Laundry Buddy Evaluation Project.
+ *              Handles core application logic, API routing, and database integrations.
+ * ============================================================================
+ */
+
+const fs = require('fs');
+const os = require('os');
+const path = require('path');
+const uploads = require('../../services/chunkedUploadService');
+
+describe('Chunked Upload Service', () => {
+  const originalCwd = process.cwd();
+  let workDir;
+
+  beforeEach(() => {
+    workDir = fs.mkdtempSync(path.join(os.tmpdir(), 'chunked-upload-'));
+    process.chdir(workDir);
+  });
+
+  afterEach(() => {
+    process.chdir(originalCwd);
+    fs.rmSync(workDir, { recursive: true, force: true });
+  });
+
+  const payload = (size) => {
+    const buffer = Buffer.alloc(size);
+    for (let i = 0; i < size; i++) {
+      buffer[i] = i % 251;
+    }
+    return buffer;
+  };
+
+  const chunk = (buffer, index) => buffer.subarray(index * uploads.CHUNK_SIZE, (index + 1) * uploads.CHUNK_SIZE);
+
+  it('should assemble chunks received out of order and in parallel', async () => {
+    const data = payload(uploads.CHUNK_SIZE * 2 + 1000);
+    const session = await uploads.createSession('user-1', { size: data.length, mimeType: 'image/webp' });
+
+    await Promise.all([2, 0, 1].map((index) =>
+      uploads.writeChunk('user-1', session.uploadId, index, chunk(data, index))));
+
+    const file = await uploads.completeSession('user-1', session.uploadId, 'out', 'profile');
+    expect(file.filename).toMatch(/^profile-.*\.webp$/);
+    expect(fs.readFileSync(file.path).equals(data)).toBe(true);
+  });
+
+  it('should report received chunks so a client can resume', async () => {
+    const data = payload(uploads.CHUNK_SIZE * 3);
+    const session = await uploads.createSession('user-1', { size: data.length, mimeType: 'image/jpeg' });
+
+    await uploads.writeChunk('user-1', session.uploadId, 1, chunk(data, 1));
+    await uploads.writeChunk('user-1', session.uploadId, 1, chunk(data, 1));
+
+    const resumed = await uploads.getSession('user-1', session.uploadId);
+    expect(resumed.receivedChunks).toEqual([1]);
+    await expect(uploads.completeSession('user-1', session.uploadId, 'out', 'profile'))
+      .rejects.toMatchObject({ status: 409 });
+  });
+
+  it('should reject chunks with the wrong length', async () => {
+    const session = await uploads.createSession('user-1', { size: 1000, mimeType: 'image/png' });
+
+    await expect(uploads.writeChunk('user-1', session.uploadId, 0, Buffer.alloc(999)))
+      .rejects.toMatchObject({ status: 400 });
+  });
+
+  it('should hide sessions from other users', async () => {
+    const session = await uploads.createSession('user-1', { size: 1000, mimeType: 'image/png' });
+
+    await expect(uploads.getSession('user-2', session.uploadId)).rejects.toMatchObject({ status: 404 });
+    await expect(uploads.getSession('user-1', '../../etc/passwd')).rejects.toMatchObject({ status: 404 });
+  });
+
+  it('should refuse oversized or non-image uploads', async () => {
+    await expect(uploads.createSession('user-1', { size: 6 * 1024 * 1024, mimeType: 'image/jpeg' }))
+      .rejects.toMatchObject({ status: 413 });
+    await expect(uploads.createSession('user-1', { size: 1000, mimeType: 'text/plain' }))
+      .rejects.toMatchObject({ status: 400 });
+  });
+});
@@ -0,0 +1,67 @@
+/**
+ * ============================================================================
+ * LAUNDRY BUDDY - Smart Laundry Management System
+ * ============================================================================
+ *
+ * @project   Laundry Buddy
+ * @author    Ayush
+ * @status    Production Ready
+ * @description Part of the Laundry Buddy Evaluation Project.
+ *              Handles core application logic, API routing, and database integrations.
+ * ============================================================================
+ */
+
+const { signLabel, verifyLabel, labelForOrder, countItems } = require('../../services/qrLabelService');
+
+describe('QR Label Service', () => {
+  const originalKey = process.env.QR_SIGNING_KEY;
+
+  beforeEach(() => {
+    process.env.QR_SIGNING_KEY = 'test-qr-key';
+  });
+
+  afterAll(() => {
+    if (originalKey === undefined) {
+      delete process.env.QR_SIGNING_KEY;
+    } else {
+      process.env.QR_SIGNING_KEY = originalKey;
+    }
+  });
+
+  it('should round-trip a signed label', () => {
+    const label = signLabel('ORD1712345678901', 7);
+
+    expect(label).toMatch(/^LB1:ORD1712345678901:7:[A-Z2-7]{13}$/);
+    expect(verifyLabel(label)).toEqual({ orderNumber: 'ORD1712345678901', itemCount: 7 });
+  });
+
+  it('should reject edited labels and labels signed with another key', () => {
+    const label = signLabel('ORD1', 3);
+
+    expect(verifyLabel(label.replace(':3:', ':4:'))).toBeNull();
+    expect(verifyLabel(label.replace('ORD1', 'ORD2'))).toBeNull();
+    process.env.QR_SIGNING_KEY = 'another-key';
+    expect(verifyLabel(label)).toBeNull();
+  });
+
+  it('should reject malformed payloads', () => {
+    expect(verifyLabel('ORD1')).toBeNull();
+    expect(verifyLabel('{"t":"ORD1","c":2}')).toBeNull();
+    expect(verifyLabel('LB1:ORD1:2')).toBeNull();
+    expect(verifyLabel(null)).toBeNull();
+  });
+
+  it('should refuse order numbers that cannot be carried in a label', () => {
+    expect(() => signLabel('ORD:1', 1)).toThrow(/can't be put on a QR label/);
+    expect(() => signLabel('ÖRD1', 1)).toThrow(/can't be put on a QR label/);
+    expect(() => signLabel('', 1)).toThrow(/can't be put on a QR label/);
+    expect(() => signLabel(undefined, 1)).toThrow(/can't be put on a QR label/);
+    expect(labelForOrder('ORD 1', [])).toBeNull();
+  });
+
+  it('should count items the way the apps show them', () => {
+    expect(countItems([{ count: 2 }, { quantity: 3 }])).toBe(5);
+    expect(countItems([{ type: 'shirt' }, { type: 'towel' }])).toBe(2);
+    expect(countItems(null)).toBe(0);
+  });
+});